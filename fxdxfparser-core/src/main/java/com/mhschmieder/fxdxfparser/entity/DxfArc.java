@@ -30,8 +30,12 @@
  */
 package com.mhschmieder.fxdxfparser.entity;
 
-import com.mhschmieder.fxdxfparser.geometry.DxfShapeContainer;
-import com.mhschmieder.fxdxfparser.loader.DxfLineType;
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.ArcUtilities;
+import com.mhschmieder.fxdxfparser.geometry.DistanceUtilities;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
+import com.mhschmieder.fxdxfparser.geometry.MeasurementUtilities;
+import com.mhschmieder.fxdxfparser.geometry.SnapPointBuffer;
 import com.mhschmieder.fxdxfparser.reader.DxfGroupCodes;
 import com.mhschmieder.fxdxfparser.reader.DxfPairContainer;
 import com.mhschmieder.fxdxfparser.reader.DxfReaderException;
@@ -39,13 +43,6 @@ import com.mhschmieder.fxdxfparser.reader.EntityType;
 import com.mhschmieder.fxdxfparser.structure.DxfDocument;
 import com.mhschmieder.jcommons.lang.NumberUtilities;
 
-import java.util.Collection;
-
-import javafx.collections.ObservableList;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Arc;
-import javafx.scene.transform.Affine;
-
 public class DxfArc extends DxfEntity {
 
     protected double _thickness;
@@ -70,54 +67,6 @@ public class DxfArc extends DxfEntity {
         super( pdoc, pc, entityType, ignorePaperSpace );
     }
 
-    @Override
-    public boolean convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
-                                      final Affine transform,
-                                      final double strokeScale ) {
-        if ( !_dxfDoc.getLayer( _layer ).isLayerOn() ) {
-            return false;
-        }
-
-        final Color color = getColor();
-        final DxfLineType lineType = getLineType();
-
-        // Both DXF and JavaFX set zero degrees to the positive x-axis and
-        // measure angles counter-clockwise, but JavaFX confuses matters by
-        // asking for an angle extent instead of an end angle, so we essentially
-        // have to invert the angle differential and then do a simple test to
-        // determine angle stroke direction (which we compensate using a 360
-        // degree offset). Accurate documentation was hard to come by!
-        double arcExtentDeg = _startAngle - _endAngle;
-        if ( _endAngle < _startAngle ) {
-            arcExtentDeg -= 360d;
-        }
-        final Arc arc = new Arc( _centerX,
-                                 _centerY,
-                                 _radius,
-                                 _radius,
-                                 -_startAngle,
-                                 arcExtentDeg );
-
-        arc.getTransforms().add( transform );
-        arc.setStroke( color );
-
-        // Arc is an outline-only entity.
-        arc.setFill( null );
-
-        if ( ( lineType != null ) && !lineType.isContinuous() ) {
-            final double lineTypeScale = _dxfDoc.getGlobalLineTypeScale()
-                                         * _lineTypeScale;
-            final Collection< Double > dashArrayCandidate
-                    = lineType.makeDashArray( lineTypeScale );
-            final ObservableList< Double > dashArray = arc.getStrokeDashArray();
-            dashArray.setAll( dashArrayCandidate );
-        }
-
-        dxfShapeContainer.addShape( strokeScale, arc );
-
-        return true;
-    }
-
     @Override
     @SuppressWarnings( "nls" )
     protected void parseEntityProperties( final DxfPairContainer pc ) {
@@ -160,4 +109,77 @@ public class DxfArc extends DxfEntity {
                 NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.NORMAL_Z,
                                                             "0" ) );
     }
+
+    @Override
+    protected void computeExtents( final Extents2D extents ) {
+        ArcUtilities.addExtents( extents,
+                                 _centerX,
+                                 _centerY,
+                                 _radius,
+                                 0.0d,
+                                 0.0d,
+                                 _radius,
+                                 _startAngle,
+                                 _endAngle );
+    }
+
+    @Override
+    protected void emitGeometry( final DxfGeometryTraversal traversal ) {
+        traversal.emitArc( _centerX, _centerY, _radius, _startAngle, _endAngle );
+    }
+
+    @Override
+    public double getDistance( final double x,
+                               final double y ) {
+        return DistanceUtilities.getArcDistance( x,
+                                                 y,
+                                                 _centerX,
+                                                 _centerY,
+                                                 _radius,
+                                                 _startAngle,
+                                                 _endAngle );
+    }
+
+    @Override
+    public void addSnapPoints( final SnapPointBuffer buffer ) {
+        ArcUtilities.addSnapPoints( buffer,
+                                    _centerX,
+                                    _centerY,
+                                    _radius,
+                                    0.0d,
+                                    0.0d,
+                                    _radius,
+                                    _startAngle,
+                                    _endAngle );
+    }
+
+    @Override
+    public double getLength( final Affine2D transform ) {
+        return MeasurementUtilities.getArcLength( _centerX,
+                                                  _centerY,
+                                                  _radius,
+                                                  _startAngle,
+                                                  _endAngle,
+                                                  transform );
+    }
+
+    public double getCenterX() {
+        return _centerX;
+    }
+
+    public double getCenterY() {
+        return _centerY;
+    }
+
+    public double getRadius() {
+        return _radius;
+    }
+
+    public double getStartAngle() {
+        return _startAngle;
+    }
+
+    public double getEndAngle() {
+        return _endAngle;
+    }
 }// class DxfArc
\ No newline at end of file
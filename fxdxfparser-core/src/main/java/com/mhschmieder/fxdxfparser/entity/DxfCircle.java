@@ -30,21 +30,18 @@
  */
 package com.mhschmieder.fxdxfparser.entity;
 
-import com.mhschmieder.fxdxfparser.geometry.DxfShapeContainer;
-import com.mhschmieder.fxdxfparser.loader.DxfLineType;
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.ArcUtilities;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
+import com.mhschmieder.fxdxfparser.geometry.MeasurementUtilities;
+import com.mhschmieder.fxdxfparser.geometry.SnapPointBuffer;
 import com.mhschmieder.fxdxfparser.reader.DxfGroupCodes;
 import com.mhschmieder.fxdxfparser.reader.DxfPairContainer;
 import com.mhschmieder.fxdxfparser.reader.DxfReaderException;
 import com.mhschmieder.fxdxfparser.reader.EntityType;
 import com.mhschmieder.fxdxfparser.structure.DxfDocument;
 import com.mhschmieder.jcommons.lang.NumberUtilities;
-
-import java.util.Collection;
-
-import javafx.collections.ObservableList;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Circle;
-import javafx.scene.transform.Affine;
+import org.apache.commons.math3.util.FastMath;
 
 public class DxfCircle extends DxfEntity {
 
@@ -68,39 +65,6 @@ public class DxfCircle extends DxfEntity {
         super( pdoc, pc, entityType, ignorePaperSpace );
     }
 
-    @Override
-    public boolean convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
-                                      final Affine transform,
-                                      final double strokeScale ) {
-        if ( !_dxfDoc.getLayer( _layer ).isLayerOn() ) {
-            return false;
-        }
-
-        final Color color = getColor();
-        final DxfLineType lineType = getLineType();
-
-        final Circle circle = new Circle( _centerX, _centerY, _radius );
-
-        circle.getTransforms().add( transform );
-        circle.setStroke( color );
-
-        // Circle is an outline-only entity.
-        circle.setFill( null );
-
-        if ( ( lineType != null ) && !lineType.isContinuous() ) {
-            final double lineTypeScale = _dxfDoc.getGlobalLineTypeScale()
-                                         * _lineTypeScale;
-            final Collection< Double > dashArrayCandidate
-                    = lineType.makeDashArray( lineTypeScale );
-            final ObservableList< Double > dashArray
-                    = circle.getStrokeDashArray();
-            dashArray.setAll( dashArrayCandidate );
-        }
-
-        dxfShapeContainer.addShape( strokeScale, circle );
-        return true;
-    }
-
     @Override
     @SuppressWarnings( "nls" )
     protected void parseEntityProperties( final DxfPairContainer pc ) {
@@ -136,4 +100,63 @@ public class DxfCircle extends DxfEntity {
                 NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.NORMAL_Z,
                                                             "0" ) );
     }
+
+    @Override
+    protected void computeExtents( final Extents2D extents ) {
+        extents.add( _centerX - _radius, _centerY - _radius );
+        extents.add( _centerX + _radius, _centerY + _radius );
+    }
+
+    @Override
+    protected void emitGeometry( final DxfGeometryTraversal traversal ) {
+        traversal.emitCircle( _centerX, _centerY, _radius );
+    }
+
+    @Override
+    public double getDistance( final double x,
+                               final double y ) {
+        return FastMath.abs( FastMath.hypot( x - _centerX, y - _centerY )
+                             - _radius );
+    }
+
+    @Override
+    public void addSnapPoints( final SnapPointBuffer buffer ) {
+        ArcUtilities.addSnapPoints( buffer,
+                                    _centerX,
+                                    _centerY,
+                                    _radius,
+                                    0.0d,
+                                    0.0d,
+                                    _radius,
+                                    0.0d,
+                                    360d );
+    }
+
+    @Override
+    public double getLength( final Affine2D transform ) {
+        return MeasurementUtilities.getArcLength( _centerX,
+                                                  _centerY,
+                                                  _radius,
+                                                  0.0d,
+                                                  360d,
+                                                  transform );
+    }
+
+    @Override
+    public double getArea( final Affine2D transform ) {
+        return FastMath.PI * _radius * _radius * FastMath.abs( transform
+                .getDeterminant() );
+    }
+
+    public double getCenterX() {
+        return _centerX;
+    }
+
+    public double getCenterY() {
+        return _centerY;
+    }
+
+    public double getRadius() {
+        return _radius;
+    }
 }// class DxfCircle
@@ -30,7 +30,7 @@
  */
 package com.mhschmieder.fxdxfparser.entity;
 
-import com.mhschmieder.fxdxfparser.geometry.DxfShapeContainer;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
 import com.mhschmieder.fxdxfparser.loader.DxfBlock;
 import com.mhschmieder.fxdxfparser.reader.DxfGroupCodes;
 import com.mhschmieder.fxdxfparser.reader.DxfPairContainer;
@@ -39,8 +39,6 @@ import com.mhschmieder.fxdxfparser.reader.EntityType;
 import com.mhschmieder.fxdxfparser.structure.DxfDocument;
 import com.mhschmieder.jcommons.lang.NumberUtilities;
 
-import javafx.scene.transform.Affine;
-
 public class DxfDimension extends DxfEntity {
 
     protected String _block;
@@ -106,17 +104,17 @@ public class DxfDimension extends DxfEntity {
     }
 
     @Override
-    public boolean convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
-                                      final Affine transform,
-                                      final double strokeScale ) {
-        if ( !_dxfDoc.getLayer( _layer ).isLayerOn() ) {
-            return false;
+    protected void computeExtents( final Extents2D extents ) {
+        // The dimension's graphics are an anonymous block, drawn untransformed.
+        final DxfBlock blk = ( _block != null )
+                             ? _dxfDoc.getBlock( _block )
+                             : null;
+        if ( blk != null ) {
+            extents.add( blk.getExtents() );
         }
+    }
 
-        final DxfBlock blk = _dxfDoc.getBlock( _block );
-        blk.setCurrentColor( getRealColorIndex() );
-        blk.convertToFxShapes( dxfShapeContainer, transform, strokeScale );
-
-        return true;
+    public String getBlockName() {
+        return _block;
     }
 }// class DxfDimension
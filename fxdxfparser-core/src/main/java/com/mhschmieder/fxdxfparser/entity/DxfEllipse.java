@@ -0,0 +1,225 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.entity;
+
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.ArcUtilities;
+import com.mhschmieder.fxdxfparser.geometry.EllipticalArc2D;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
+import com.mhschmieder.fxdxfparser.geometry.MeasurementUtilities;
+import com.mhschmieder.fxdxfparser.geometry.SnapPointBuffer;
+import com.mhschmieder.fxdxfparser.reader.DxfGroupCodes;
+import com.mhschmieder.fxdxfparser.reader.DxfPairContainer;
+import com.mhschmieder.fxdxfparser.reader.DxfReaderException;
+import com.mhschmieder.fxdxfparser.reader.EntityType;
+import com.mhschmieder.fxdxfparser.structure.DxfDocument;
+import com.mhschmieder.jcommons.lang.NumberUtilities;
+import org.apache.commons.math3.util.FastMath;
+
+public class DxfEllipse extends DxfEntity {
+
+    protected double _centerX;
+    protected double _centerY;
+    protected double _centerZ;
+
+    protected double _endMajorAxisOffsetX;
+    protected double _endMajorAxisOffsetY;
+    protected double _endMajorAxisOffsetZ;
+
+    protected double _normalX;
+    protected double _normalY;
+    protected double _normalZ;
+
+    protected double _ratioMinorAxis;
+
+    protected double _startAngle;
+    protected double _endAngle;
+
+    public DxfEllipse( final DxfDocument doc,
+                       final DxfPairContainer pc,
+                       final EntityType entityType,
+                       final boolean ignorePaperSpace )
+            throws DxfReaderException {
+        super( doc, pc, entityType, ignorePaperSpace );
+    }
+
+    @Override
+    @SuppressWarnings( "nls" )
+    protected void parseEntityProperties( final DxfPairContainer pc ) {
+        _centerX
+                =
+                NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.CODE10 ) );
+        _centerY
+                =
+                NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.CODE20 ) );
+        _centerZ
+                =
+                NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.CODE30 ) );
+
+        _endMajorAxisOffsetX = NumberUtilities.parseDouble( pc.getValue(
+                DxfGroupCodes.CODE11 ) );
+        _endMajorAxisOffsetY = NumberUtilities.parseDouble( pc.getValue(
+                DxfGroupCodes.CODE21 ) );
+        _endMajorAxisOffsetZ = NumberUtilities.parseDouble( pc.getValue(
+                DxfGroupCodes.CODE31 ) );
+
+        _normalX
+                =
+                NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.NORMAL_X,
+                                                            "0" ) );
+        _normalY
+                =
+                NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.NORMAL_Y,
+                                                            "0" ) );
+        _normalZ
+                =
+                NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.NORMAL_Z,
+                                                            "0" ) );
+
+        _ratioMinorAxis = NumberUtilities.parseDouble( pc.getValue(
+                DxfGroupCodes.CODE40 ) );
+
+        _startAngle
+                = FastMath.toDegrees( NumberUtilities.parseDouble( pc.getValue(
+                DxfGroupCodes.CODE41 ) ) );
+        _endAngle
+                = FastMath.toDegrees( NumberUtilities.parseDouble( pc.getValue(
+                DxfGroupCodes.CODE42 ) ) );
+    }
+
+    @Override
+    protected void computeExtents( final Extents2D extents ) {
+        // The minor axis is the major axis rotated by 90 degrees and scaled by
+        // the axis ratio, as for the vectorized form of the ellipse.
+        final double minorAxisX = -_endMajorAxisOffsetY * _ratioMinorAxis;
+        final double minorAxisY = _endMajorAxisOffsetX * _ratioMinorAxis;
+        ArcUtilities.addExtents( extents,
+                                 _centerX,
+                                 _centerY,
+                                 _endMajorAxisOffsetX,
+                                 _endMajorAxisOffsetY,
+                                 minorAxisX,
+                                 minorAxisY,
+                                 _startAngle,
+                                 _endAngle );
+    }
+
+    /**
+     * @return the ellipse as an elliptical arc, in its own coordinates
+     */
+    public EllipticalArc2D makeArc() {
+        /*
+         * Calculamos el vector del eje menor: Rotamos el eje mayor 90 grados
+         * alrededor del centro, y lo escalamos por la razón.
+         */
+        return new EllipticalArc2D( _centerX,
+                                    _centerY,
+                                    _endMajorAxisOffsetX,
+                                    _endMajorAxisOffsetY,
+                                    -_ratioMinorAxis * _endMajorAxisOffsetY,
+                                    _ratioMinorAxis * _endMajorAxisOffsetX,
+                                    _startAngle,
+                                    _endAngle );
+    }
+
+    @Override
+    protected void emitGeometry( final DxfGeometryTraversal traversal ) {
+        traversal.emitEllipticalArc( makeArc(), isClosed() );
+    }
+
+    @Override
+    public void addSnapPoints( final SnapPointBuffer buffer ) {
+        ArcUtilities.addSnapPoints( buffer,
+                                    _centerX,
+                                    _centerY,
+                                    _endMajorAxisOffsetX,
+                                    _endMajorAxisOffsetY,
+                                    -_ratioMinorAxis * _endMajorAxisOffsetY,
+                                    _ratioMinorAxis * _endMajorAxisOffsetX,
+                                    _startAngle,
+                                    _endAngle );
+    }
+
+    @Override
+    public double getLength( final Affine2D transform ) {
+        return MeasurementUtilities.getEllipticalArcLength( makeArc(),
+                                                            transform );
+    }
+
+    @Override
+    public double getArea( final Affine2D transform ) {
+        if ( ( _endAngle - _startAngle ) < 360d ) {
+            return 0.0d;
+        }
+
+        final double majorAxisLengthSquared = ( _endMajorAxisOffsetX
+                                                * _endMajorAxisOffsetX )
+                                              + ( _endMajorAxisOffsetY
+                                                  * _endMajorAxisOffsetY );
+        return FastMath.PI * majorAxisLengthSquared * FastMath.abs(
+                _ratioMinorAxis * transform.getDeterminant() );
+    }
+
+    public double getCenterX() {
+        return _centerX;
+    }
+
+    public double getCenterY() {
+        return _centerY;
+    }
+
+    public double getEndMajorAxisOffsetX() {
+        return _endMajorAxisOffsetX;
+    }
+
+    public double getEndMajorAxisOffsetY() {
+        return _endMajorAxisOffsetY;
+    }
+
+    public double getRatioMinorAxis() {
+        return _ratioMinorAxis;
+    }
+
+    public double getStartAngle() {
+        return _startAngle;
+    }
+
+    public double getEndAngle() {
+        return _endAngle;
+    }
+
+    /**
+     * @return {@code true} if the ellipse is full, rather than an arc
+     */
+    public boolean isClosed() {
+        return ( _endAngle - _startAngle ) >= 360d;
+    }
+}// class DxfEllipse
@@ -30,10 +30,11 @@
  */
 package com.mhschmieder.fxdxfparser.entity;
 
-import com.mhschmieder.fxdxfparser.geometry.DxfShapeContainer;
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
+import com.mhschmieder.fxdxfparser.geometry.SnapPointBuffer;
 import com.mhschmieder.fxdxfparser.loader.DxfBlock;
 import com.mhschmieder.fxdxfparser.loader.DxfColors;
-import com.mhschmieder.fxdxfparser.loader.DxfDrawable;
 import com.mhschmieder.fxdxfparser.loader.DxfLayer;
 import com.mhschmieder.fxdxfparser.loader.DxfLineType;
 import com.mhschmieder.fxdxfparser.loader.PropertyOverriding;
@@ -44,10 +45,12 @@ import com.mhschmieder.fxdxfparser.reader.EntityType;
 import com.mhschmieder.fxdxfparser.structure.DxfDocument;
 import com.mhschmieder.jcommons.lang.NumberUtilities;
 
-import javafx.scene.paint.Color;
-import javafx.scene.transform.Affine;
+public abstract class DxfEntity {
 
-public abstract class DxfEntity implements DxfDrawable {
+    // Where the line type of an entity comes from.
+    private static final int LINE_TYPE_BY_LAYER = 0;
+    private static final int LINE_TYPE_BY_BLOCK = 1;
+    private static final int LINE_TYPE_EXPLICIT = 2;
 
     public boolean _inPaperSpace;
     public double _lineTypeScale;
@@ -63,6 +66,15 @@ public abstract class DxfEntity implements DxfDrawable {
 
     private PropertyOverriding _propertyOverriding;
 
+    // The layer and line type, resolved from their names on first use, so
+    // that conversion does no case folding or hashing of names per entity.
+    private DxfLayer _resolvedLayer;
+    private int _lineTypeSource;
+    private DxfLineType _resolvedLineType;
+
+    // Cached bounds in the coordinates of the owning block; lazily computed.
+    private Extents2D _extents;
+
     protected DxfEntity( final DxfDocument pdoc,
                          final DxfPairContainer pc,
                          final EntityType entityType,
@@ -156,18 +168,109 @@ public abstract class DxfEntity implements DxfDrawable {
 
     protected abstract void parseEntityProperties( final DxfPairContainer pc );
 
-    @Override
-    public boolean convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
-                                      final Affine transform,
-                                      final double strokeScale ) {
-        return false; // nada que dibujar
+    /**
+     * Returns the 2D bounds of this entity in the coordinate system of its
+     * owning block, computed on first use and cached thereafter.
+     * <p>
+     * The bounds are not computed during parsing itself, as some entities
+     * (such as Polylines and Block References) depend on data that is only
+     * available once the rest of the file has been parsed.
+     *
+     * @return the bounds of the entity, which are empty if it has no geometry
+     */
+    public final Extents2D getExtents() {
+        if ( _extents == null ) {
+            final Extents2D extents = new Extents2D();
+            computeExtents( extents );
+            _extents = extents;
+        }
+
+        return _extents;
+    }
+
+    /**
+     * Adds the geometry of this entity to the given bounds; the default
+     * implementation is for entities that have no geometry of their own.
+     *
+     * @param extents The bounds to grow
+     */
+    protected void computeExtents( final Extents2D extents ) {
+    }
+
+    /**
+     * Emits the geometry of this entity, in its own coordinates, to a traversal
+     * that transforms it to world coordinates for its sink. Entities without
+     * 2D geometry emit nothing.
+     *
+     * @param traversal The traversal to emit the geometry to
+     */
+    protected void emitGeometry( final DxfGeometryTraversal traversal ) {
+    }
+
+    /**
+     * Returns the exact distance from a point to the geometry of this entity,
+     * in its own coordinates. Entities whose curves cannot be measured without
+     * flattening them return NaN, and are measured from their emitted geometry
+     * instead.
+     *
+     * @param x The x-coordinate of the point
+     * @param y The y-coordinate of the point
+     * @return the distance from the point to the nearest point of the entity,
+     *         or NaN if it is not known exactly
+     */
+    public double getDistance( final double x,
+                               final double y ) {
+        return Double.NaN;
+    }
+
+    /**
+     * Adds the points of this entity that object snapping can lock onto, such
+     * as its endpoints, midpoints and centers, in its own coordinates; the
+     * buffer transforms them to world coordinates. Entities without such
+     * points add nothing.
+     *
+     * @param buffer The buffer to add the snap points to
+     */
+    public void addSnapPoints( final SnapPointBuffer buffer ) {
+    }
+
+    /**
+     * Returns the length of the linework of this entity, such as for quantity
+     * takeoffs, once transformed to world coordinates. Entities without
+     * linework, including Block References themselves, return zero.
+     *
+     * @param transform The transform from the coordinates of the entity to
+     *                  world coordinates
+     * @return the length of the entity in world coordinates
+     */
+    public double getLength( final Affine2D transform ) {
+        return 0.0d;
+    }
+
+    /**
+     * Returns the area that this entity encloses, such as for quantity
+     * takeoffs, once transformed to world coordinates. Only closed polylines,
+     * circles and full ellipses enclose an area; all other entities return
+     * zero.
+     *
+     * @param transform The transform from the coordinates of the entity to
+     *                  world coordinates
+     * @return the enclosed area of the entity in world coordinates
+     */
+    public double getArea( final Affine2D transform ) {
+        return 0.0d;
     }
 
     /**
-     * @return color of the entity
+     * @return color of the entity, as packed 0xRRGGBB
      * @see #getColorIndex
+     * @see #getRealColorIndex
      */
-    public Color getColor() {
+    public int getColorRgb() {
+        return DxfColors.indexToRgb( getAdjustedColorIndex() );
+    }
+
+    private int getAdjustedColorIndex() {
         int colorIndex;
         if ( ( _propertyOverriding != null )
              && _propertyOverriding.flagColor() ) {
@@ -181,22 +284,17 @@ public abstract class DxfEntity implements DxfDrawable {
         // the two extrema are special flags for other behavior. The minimum
         // index says to get the color from the Parent; whereas the maximum
         // index says to get it from the Layer. Otherwise use the index as-is.
-        final int colorIndexAdjusted = ( colorIndex
-                                         == DxfColors.COLOR_BY_BLOCK_INDEX )
-                                       ? _parent.getCurrentColorIndex()
-                                       : ( colorIndex
-                                           == DxfColors.COLOR_BY_LAYER_INDEX )
-                                         ? _dxfDoc.getLayer( _layer )
-                                                  .getColorIndex()
-                                         : colorIndex;
-
-        return DxfColors.indexToColor( colorIndexAdjusted );
+        return ( colorIndex == DxfColors.COLOR_BY_BLOCK_INDEX )
+               ? _parent.getCurrentColorIndex()
+               : ( colorIndex == DxfColors.COLOR_BY_LAYER_INDEX )
+                 ? getLayer().getColorIndex()
+                 : colorIndex;
     }
 
     /**
      * @return índice del color de la entidad. Puede devolver los índices 0
      *         (byBlock) y 256 (byLayer).
-     * @see #getColor
+     * @see #getColorRgb
      * @see #getRealColorIndex
      */
     public int getColorIndex() {
@@ -223,31 +321,83 @@ public abstract class DxfEntity implements DxfDrawable {
         _handle = handle;
     }
 
+    /**
+     * @return the name of the layer of the entity, which is "0" for entities
+     *         of a block that take on the layer of the Block Reference
+     */
+    public String getLayerName() {
+        return _layer;
+    }
+
     /**
      * @return Capa de la entidad
      */
     public DxfLayer getLayer() {
-        return _dxfDoc.getLayer( _layer );
+        if ( _resolvedLayer == null ) {
+            resolveReferences();
+        }
+
+        return _resolvedLayer;
     }
 
     /**
-     * @return Tipo de línea de la entidad
+     * @return {@code true} if the layer of the entity is switched on
+     */
+    public final boolean isLayerOn() {
+        return getLayer().isLayerOn();
+    }
+
+    /**
+     * Entities on layer "0" that are part of a block take on the layer of the
+     * Block Reference that inserts them.
+     *
+     * @return {@code true} if the entity is on layer "0"
      */
     @SuppressWarnings( "nls" )
-    public DxfLineType getLineType() {
-        DxfLineType ret;
+    public final boolean isOnLayerZero() {
+        return "0".equals( _layer );
+    }
+
+    /**
+     * Looks up the layer and line type of this entity by name, and keeps them
+     * for all later use. This is done for all entities of a document once
+     * parsing finishes, and otherwise on first use.
+     */
+    @SuppressWarnings( "nls" )
+    public void resolveReferences() {
         if ( _lineType.equalsIgnoreCase( "BYLAYER" ) ) {
-            ret = _dxfDoc.getLineType( _dxfDoc.getLayer( _layer )
-                                              .getLineTypeName() );
+            _lineTypeSource = LINE_TYPE_BY_LAYER;
+            _resolvedLineType = null;
         }
         else if ( _lineType.equalsIgnoreCase( "BYBLOCK" ) ) {
-            ret = _parent.getCurrentLineType();
+            _lineTypeSource = LINE_TYPE_BY_BLOCK;
+            _resolvedLineType = null;
         }
         else {
-            ret = _dxfDoc.getLineType( _lineType );
+            _lineTypeSource = LINE_TYPE_EXPLICIT;
+            _resolvedLineType = _dxfDoc.getLineType( _lineType );
         }
 
-        return ret;
+        // The layer is set last, as it marks the references as resolved.
+        _resolvedLayer = _dxfDoc.getLayer( _layer );
+    }
+
+    /**
+     * @return Tipo de línea de la entidad
+     */
+    public DxfLineType getLineType() {
+        final DxfLayer layer = getLayer();
+        switch ( _lineTypeSource ) {
+            case LINE_TYPE_BY_LAYER:
+                final DxfLineType layerLineType = layer.getLineType();
+                return ( layerLineType != null )
+                       ? layerLineType
+                       : _dxfDoc.getLineType( layer.getLineTypeName() );
+            case LINE_TYPE_BY_BLOCK:
+                return _parent.getCurrentLineType();
+            default:
+                return _resolvedLineType;
+        }
     }
 
     /**
@@ -278,7 +428,7 @@ public abstract class DxfEntity implements DxfDrawable {
      *         entre 1 y 255.
      * @see #getColorIndex
      */
-    protected int getRealColorIndex() {
+    public int getRealColorIndex() {
         final int colorIndex = ( ( _propertyOverriding != null )
                                  && _propertyOverriding.flagColor() )
                                ? _propertyOverriding.getColorIndex()
@@ -315,7 +465,7 @@ public abstract class DxfEntity implements DxfDrawable {
      * @see #getColorIndex
      */
     public int getColorIndexByLayer() {
-        return _dxfDoc.getLayer( _layer ).getColorIndex();
+        return getLayer().getColorIndex();
     }
 
     public void initialize() {
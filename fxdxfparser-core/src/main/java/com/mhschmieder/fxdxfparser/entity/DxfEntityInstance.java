@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.entity;
+
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+
+/**
+ * This is an entity as it is placed in Model Space, either directly or by one
+ * or more nested Block References, along with the transform from its own
+ * coordinates to Model Space and the layer that it ends up on.
+ */
+public final class DxfEntityInstance {
+
+    private final DxfEntity _entity;
+    private final Affine2D _transform;
+    private final String _layerName;
+    private final DxfEntity _modelSpaceEntity;
+
+    public DxfEntityInstance( final DxfEntity entity,
+                              final Affine2D transform,
+                              final String layerName,
+                              final DxfEntity modelSpaceEntity ) {
+        _entity = entity;
+        _transform = transform;
+        _layerName = layerName;
+        _modelSpaceEntity = modelSpaceEntity;
+    }
+
+    public DxfEntity getEntity() {
+        return _entity;
+    }
+
+    /**
+     * @return the transform from the coordinates of the entity to Model
+     *         Space, which is shared with the other entities of the same Block
+     *         Reference and must not be modified
+     */
+    public Affine2D getTransform() {
+        return _transform;
+    }
+
+    /**
+     * @return the name of the layer of the entity, or of the Block Reference
+     *         that inserts it if the entity is on layer "0"
+     */
+    public String getLayerName() {
+        return _layerName;
+    }
+
+    /**
+     * @return the Model Space entity that this entity is placed by, which is
+     *         the outermost Block Reference if the entity is part of a block
+     */
+    public DxfEntity getModelSpaceEntity() {
+        return _modelSpaceEntity;
+    }
+
+    /**
+     * @return the length of the linework of the entity, in Model Space
+     */
+    public double getLength() {
+        return _entity.getLength( _transform );
+    }
+
+    /**
+     * @return the area that the entity encloses, in Model Space
+     */
+    public double getArea() {
+        return _entity.getArea( _transform );
+    }
+}// class DxfEntityInstance
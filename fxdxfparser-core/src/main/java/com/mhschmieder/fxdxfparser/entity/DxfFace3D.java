@@ -30,7 +30,8 @@
  */
 package com.mhschmieder.fxdxfparser.entity;
 
-import com.mhschmieder.fxdxfparser.geometry.DxfShapeContainer;
+import com.mhschmieder.fxdxfparser.geometry.CoordinateBuffer;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
 import com.mhschmieder.fxdxfparser.reader.DxfGroupCodes;
 import com.mhschmieder.fxdxfparser.reader.DxfPairContainer;
 import com.mhschmieder.fxdxfparser.reader.DxfReaderException;
@@ -38,14 +39,6 @@ import com.mhschmieder.fxdxfparser.reader.EntityType;
 import com.mhschmieder.fxdxfparser.structure.DxfDocument;
 import com.mhschmieder.jcommons.lang.NumberUtilities;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import javafx.collections.ObservableList;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Polygon;
-import javafx.scene.transform.Affine;
-
 public class DxfFace3D extends DxfEntity {
 
     public static final int TRIANGLE = 1;
@@ -116,60 +109,43 @@ public class DxfFace3D extends DxfEntity {
         }
     }
 
+    public int getPolygonType() {
+        return _polygonType;
+    }
+
     @Override
-    public boolean convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
-                                      final Affine transform,
-                                      final double strokeScale ) {
-        if ( !_dxfDoc.getLayer( _layer ).isLayerOn() ) {
-            return false;
+    protected void computeExtents( final Extents2D extents ) {
+        for ( int i = 0; i < _xCoordinates.length; i++ ) {
+            extents.add( _xCoordinates[ i ], _yCoordinates[ i ] );
         }
+    }
 
-        final Color color = getColor();
-
-        final int polygonType = getPolygonType();
-        int numberOfVertices = 1;
-        switch ( polygonType ) {
+    public int getNumberOfVertices() {
+        switch ( getPolygonType() ) {
             case TRIANGLE:
-                numberOfVertices = 3;
-                break;
+                return 3;
             case QUAD:
-                numberOfVertices = 4;
-                break;
+                return 4;
             default:
-                break;
+                return 1;
         }
+    }
 
-        // NOTE: AutoCAD does not necessarily use the four points in the
-        // order in which they are given; it treats them as a pair of pairs,
-        // and may change the order, resulting in illegal self-intersection.
-        final List< Double > coordinates = new ArrayList<>(
-                2 * numberOfVertices );
+    @Override
+    protected void emitGeometry( final DxfGeometryTraversal traversal ) {
+        final int numberOfVertices = getNumberOfVertices();
+        final CoordinateBuffer buffer = CoordinateBuffer.getScratchBuffer();
         for ( int i = 0; i < numberOfVertices; i++ ) {
-            final int j = 2 * i;
-            coordinates.add( j, Double.valueOf( _xCoordinates[ i ] ) );
-            coordinates.add( j + 1, Double.valueOf( _yCoordinates[ i ] ) );
+            buffer.add( _xCoordinates[ i ], _yCoordinates[ i ] );
         }
+        traversal.emitPolygon( buffer.getArray(), numberOfVertices );
+    }
 
-        // TODO: Eliminate common edges if the DXF flag for "isEdgeVisible" is
-        // off for that edge (is it being checked via the invisible flags?).
-        final Polygon polygon = new Polygon();
-        final ObservableList< Double > polygonCoordinates = polygon.getPoints();
-        polygonCoordinates.addAll( coordinates );
-
-        // Face3D is supposed to be filled with its stroke color.
-        // NOTE: We are better off sticking with wireframe-only for now.
-        // TODO: Only fill if shading is turned on (via invisible flags?).
-        polygon.setFill( null ); // color );
-
-        polygon.getTransforms().add( transform );
-        polygon.setStroke( color );
-
-        dxfShapeContainer.addShape( strokeScale, polygon );
-
-        return true;
+    public double getVertexX( final int index ) {
+        return _xCoordinates[ index ];
     }
 
-    public int getPolygonType() {
-        return _polygonType;
+    public double getVertexY( final int index ) {
+        return _yCoordinates[ index ];
     }
 }// class DxfFace3D
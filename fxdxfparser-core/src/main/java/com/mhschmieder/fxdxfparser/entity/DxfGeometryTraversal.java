@@ -0,0 +1,498 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.entity;
+
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.CoordinateBuffer;
+import com.mhschmieder.fxdxfparser.geometry.CoordinateTransforms;
+import com.mhschmieder.fxdxfparser.geometry.DxfConversionOptions;
+import com.mhschmieder.fxdxfparser.geometry.EllipticalArc2D;
+import com.mhschmieder.fxdxfparser.geometry.PolylineUtilities;
+import com.mhschmieder.fxdxfparser.geometry.Vectorization;
+import com.mhschmieder.fxdxfparser.loader.DxfBlock;
+import com.mhschmieder.fxdxfparser.loader.DxfLineType;
+import com.mhschmieder.fxdxfparser.render.DxfGeometrySink;
+import com.mhschmieder.fxdxfparser.render.DxfStyle;
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This walks a block and all of the blocks that it inserts, and emits the
+ * geometry of their entities in world coordinates to a
+ * {@link DxfGeometrySink}, so that output targets other than the JavaFX Scene
+ * Graph share one traversal rather than each re-walking the entity tree.
+ * <p>
+ * As for the conversion to JavaFX Shapes in the fxdxfparser module, nested
+ * Block References are kept on an explicit stack whose primitive transforms
+ * are re-used per level, by-block properties are restored for each entity,
+ * entities on switched-off layers are skipped, and nesting deeper than the
+ * maximum nesting depth is ignored.
+ * <p>
+ * Arcs and circles are emitted as such as long as the world transform is a
+ * similarity (rotation, reflection, uniform scale and translation); otherwise
+ * they become ellipses, which are flattened into polylines, as are bulged
+ * polylines and Ellipse entities.
+ * <p>
+ * A traversal is not thread-safe, but may be re-used for several blocks.
+ */
+public final class DxfGeometryTraversal {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final DxfGeometrySink _sink;
+
+    private final DxfStyle _style;
+    private boolean _styleBegun;
+
+    private Vectorization _vectorization;
+    private int _maximumNestingDepth;
+
+    // The stack of nested blocks, as parallel arrays indexed by level.
+    private DxfBlock[] _blocks;
+    private List< DxfEntity >[] _entities;
+    private int[] _nextEntityIndices;
+    private Affine2D[] _transforms;
+    private int[] _colorIndices;
+    private DxfLineType[] _lineTypes;
+    private int _depth;
+
+    // The world transform of the entity that is being emitted.
+    private Affine2D _transform;
+
+    // The world coordinates that are passed on to the sink.
+    private double[] _worldCoordinates;
+
+    @SuppressWarnings( { "unchecked", "rawtypes" } )
+    public DxfGeometryTraversal( final DxfGeometrySink sink ) {
+        _sink = sink;
+        _style = new DxfStyle();
+        _styleBegun = false;
+
+        _vectorization = new Vectorization();
+        _vectorization.setGrads( PolylineUtilities.NUMBER_OF_GRADS );
+        _maximumNestingDepth = DxfConversionOptions.DEFAULT_MAXIMUM_NESTING_DEPTH;
+
+        _blocks = new DxfBlock[ INITIAL_CAPACITY ];
+        _entities = new List[ INITIAL_CAPACITY ];
+        _nextEntityIndices = new int[ INITIAL_CAPACITY ];
+        _transforms = new Affine2D[ INITIAL_CAPACITY ];
+        for ( int i = 0; i < INITIAL_CAPACITY; i++ ) {
+            _transforms[ i ] = new Affine2D();
+        }
+        _colorIndices = new int[ INITIAL_CAPACITY ];
+        _lineTypes = new DxfLineType[ INITIAL_CAPACITY ];
+        _depth = 0;
+
+        _worldCoordinates = new double[ 256 ];
+    }
+
+    public DxfGeometrySink getSink() {
+        return _sink;
+    }
+
+    public Vectorization getVectorization() {
+        return _vectorization;
+    }
+
+    /**
+     * Sets the parameterization for flattening curves that are not emitted as
+     * arcs or circles; the default is the fixed angular step of conversion.
+     *
+     * @param vectorization The parameterization of the flattening
+     */
+    public void setVectorization( final Vectorization vectorization ) {
+        _vectorization = vectorization;
+    }
+
+    public int getMaximumNestingDepth() {
+        return _maximumNestingDepth;
+    }
+
+    public void setMaximumNestingDepth( final int maximumNestingDepth ) {
+        _maximumNestingDepth = maximumNestingDepth;
+    }
+
+    /**
+     * Emits the geometry of a block, including that of nested blocks.
+     *
+     * @param block     The block to emit
+     * @param transform The transform from the block to world coordinates
+     */
+    public void emitBlock( final DxfBlock block,
+                           final Affine2D transform ) {
+        emit( block,
+              block.getEntities(),
+              transform,
+              block.getCurrentColorIndex(),
+              block.getCurrentLineType() );
+    }
+
+    /**
+     * Emits the geometry of a block as if it were inserted by a Block
+     * Reference with the given color and line type.
+     * <p>
+     * Passing the by-block color index and a {@code null} line type leaves the
+     * by-block properties unresolved in the emitted styles, for output formats
+     * that resolve them per instance, such as SVG symbols.
+     *
+     * @param block      The block to emit
+     * @param transform  The transform from the block to world coordinates
+     * @param colorIndex The DXF Color Index of the by-block entities
+     * @param lineType   The line type of the by-block entities
+     */
+    public void emitBlock( final DxfBlock block,
+                           final Affine2D transform,
+                           final int colorIndex,
+                           final DxfLineType lineType ) {
+        emit( block, block.getEntities(), transform, colorIndex, lineType );
+    }
+
+    /**
+     * Emits the geometry of some of the entities of a block, including that of
+     * the blocks that they insert, such as to handle selected entities in a
+     * different way.
+     *
+     * @param block     The block that owns the entities
+     * @param entities  The entities to emit, in drawing order
+     * @param transform The transform from the block to world coordinates
+     */
+    public void emitEntities( final DxfBlock block,
+                              final List< DxfEntity > entities,
+                              final Affine2D transform ) {
+        emit( block,
+              entities,
+              transform,
+              block.getCurrentColorIndex(),
+              block.getCurrentLineType() );
+    }
+
+    private void emit( final DxfBlock block,
+                       final List< DxfEntity > entities,
+                       final Affine2D transform,
+                       final int colorIndex,
+                       final DxfLineType lineType ) {
+        try {
+            ensureCapacity( _depth + 1 );
+            _transforms[ _depth ].setTo( transform );
+            push( block, entities, colorIndex, lineType );
+            run();
+        }
+        finally {
+            while ( _depth > 0 ) {
+                pop();
+            }
+            _transform = null;
+        }
+    }
+
+    private void run() {
+        while ( _depth > 0 ) {
+            final int level = _depth - 1;
+            final List< DxfEntity > entities = _entities[ level ];
+            if ( _nextEntityIndices[ level ] >= entities.size() ) {
+                pop();
+                continue;
+            }
+
+            final DxfEntity dxfEntity = entities
+                    .get( _nextEntityIndices[ level ]++ );
+            if ( !dxfEntity.isLayerOn() ) {
+                continue;
+            }
+
+            // The by-block properties are restored for each entity, as they
+            // are shared by all nesting levels that insert the same block.
+            final DxfBlock block = _blocks[ level ];
+            block.setCurrentColor( _colorIndices[ level ] );
+            block.setCurrentLineType( _lineTypes[ level ] );
+
+            dxfEntity.setCurrentPropertyOverriding( block
+                    .getPropertyOverriding() );
+            try {
+                if ( dxfEntity instanceof DxfInsert ) {
+                    enterInsert( ( DxfInsert ) dxfEntity, level );
+                }
+                else if ( dxfEntity instanceof DxfDimension ) {
+                    enterDimension( ( DxfDimension ) dxfEntity, level );
+                }
+                else {
+                    emitEntity( dxfEntity, level );
+                }
+            }
+            finally {
+                dxfEntity.setCurrentPropertyOverriding( null );
+            }
+        }
+    }
+
+    private void emitEntity( final DxfEntity dxfEntity,
+                             final int level ) {
+        // Line type patterns scale along with the Block References, as they
+        // do when converting to JavaFX shapes.
+        _transform = _transforms[ level ];
+        _style.setTo( dxfEntity,
+                      dxfEntity._layer,
+                      dxfEntity.getRealColorIndex(),
+                      dxfEntity.getColorRgb(),
+                      dxfEntity.getLineType(),
+                      dxfEntity._dxfDoc.getGlobalLineTypeScale()
+                      * dxfEntity._lineTypeScale
+                      * _transform.getLengthScale() );
+
+        dxfEntity.emitGeometry( this );
+
+        if ( _styleBegun ) {
+            _styleBegun = false;
+            _sink.endStyle();
+        }
+    }
+
+    private void enterInsert( final DxfInsert insert,
+                              final int level ) {
+        final DxfBlock block = insert.getBlock();
+        if ( ( block == null ) || ( _depth >= _maximumNestingDepth ) ) {
+            return;
+        }
+
+        ensureCapacity( _depth + 1 );
+        _transforms[ _depth ].setToConcatenation( _transforms[ level ],
+                                                  insert.getBlockTransform() );
+        push( block,
+              block.getEntities(),
+              insert.getRealColorIndex(),
+              insert.getLineType() );
+    }
+
+    private void enterDimension( final DxfDimension dimension,
+                                 final int level ) {
+        // The block of a Dimension is already in the coordinates of the
+        // Dimension, and only takes on its color.
+        final DxfBlock block = dimension._dxfDoc.getBlock( dimension._block );
+        if ( ( block == null ) || ( _depth >= _maximumNestingDepth ) ) {
+            return;
+        }
+
+        ensureCapacity( _depth + 1 );
+        _transforms[ _depth ].setTo( _transforms[ level ] );
+        push( block,
+              block.getEntities(),
+              dimension.getRealColorIndex(),
+              block.getCurrentLineType() );
+    }
+
+    /**
+     * Emits a polyline that is in the coordinates of the current entity.
+     *
+     * @param coordinates    The interleaved x and y coordinates
+     * @param numberOfPoints The number of points in use
+     * @param closed         {@code true} if the polyline is closed
+     */
+    void emitPolyline( final double[] coordinates,
+                       final int numberOfPoints,
+                       final boolean closed ) {
+        if ( numberOfPoints < 2 ) {
+            return;
+        }
+
+        transformToWorld( coordinates, numberOfPoints );
+        beginStyle();
+        _sink.polyline( _worldCoordinates, numberOfPoints, closed );
+    }
+
+    /**
+     * Emits the outline of an area that is in the coordinates of the current
+     * entity.
+     *
+     * @param coordinates    The interleaved x and y coordinates
+     * @param numberOfPoints The number of points in use
+     */
+    void emitPolygon( final double[] coordinates,
+                      final int numberOfPoints ) {
+        if ( numberOfPoints < 2 ) {
+            return;
+        }
+
+        transformToWorld( coordinates, numberOfPoints );
+        beginStyle();
+        _sink.polygon( _worldCoordinates, numberOfPoints );
+    }
+
+    /**
+     * Emits a counter-clockwise circular arc that is in the coordinates of the
+     * current entity.
+     *
+     * @param centerX    The x-coordinate of the center
+     * @param centerY    The y-coordinate of the center
+     * @param radius     The radius
+     * @param startAngle The start angle, in degrees
+     * @param endAngle   The end angle, in degrees
+     */
+    void emitArc( final double centerX,
+                  final double centerY,
+                  final double radius,
+                  final double startAngle,
+                  final double endAngle ) {
+        final Affine2D transform = _transform;
+        final int orientation = transform.getSimilarityOrientation();
+        if ( orientation == 0 ) {
+            emitEllipticalArc( new EllipticalArc2D( centerX,
+                                                    centerY,
+                                                    radius,
+                                                    startAngle,
+                                                    endAngle ), false );
+            return;
+        }
+
+        // A reflection reverses the sweep, so it swaps the end angles.
+        final double rotation = FastMath.toDegrees( FastMath.atan2(
+                transform.getMyx(),
+                transform.getMxx() ) );
+        final double worldStartAngle = ( orientation > 0 )
+                                       ? rotation + startAngle
+                                       : rotation - endAngle;
+        final double worldEndAngle = ( orientation > 0 )
+                                     ? rotation + endAngle
+                                     : rotation - startAngle;
+
+        beginStyle();
+        _sink.arc( transform.transformX( centerX, centerY ),
+                   transform.transformY( centerX, centerY ),
+                   radius * transform.getScale(),
+                   normalizeAngle( worldStartAngle ),
+                   normalizeAngle( worldEndAngle ) );
+    }
+
+    /**
+     * Emits a circle that is in the coordinates of the current entity.
+     *
+     * @param centerX The x-coordinate of the center
+     * @param centerY The y-coordinate of the center
+     * @param radius  The radius
+     */
+    void emitCircle( final double centerX,
+                     final double centerY,
+                     final double radius ) {
+        final Affine2D transform = _transform;
+        if ( transform.getSimilarityOrientation() == 0 ) {
+            emitEllipticalArc( new EllipticalArc2D( centerX,
+                                                    centerY,
+                                                    radius,
+                                                    0.0d,
+                                                    360.0d ), true );
+            return;
+        }
+
+        beginStyle();
+        _sink.circle( transform.transformX( centerX, centerY ),
+                      transform.transformY( centerX, centerY ),
+                      radius * transform.getScale() );
+    }
+
+    /**
+     * Emits an elliptical arc that is in the coordinates of the current
+     * entity, flattened according to the vectorization of this traversal.
+     *
+     * @param arc    The arc to flatten
+     * @param closed {@code true} if the arc is a full ellipse
+     */
+    void emitEllipticalArc( final EllipticalArc2D arc,
+                            final boolean closed ) {
+        final CoordinateBuffer buffer = CoordinateBuffer.getScratchBuffer();
+        arc.vectorize( _vectorization, buffer );
+        emitPolyline( buffer.getArray(), buffer.getNumberOfPoints(), closed );
+    }
+
+    private void beginStyle() {
+        if ( !_styleBegun ) {
+            _styleBegun = true;
+            _sink.beginStyle( _style );
+        }
+    }
+
+    private void transformToWorld( final double[] coordinates,
+                                   final int numberOfPoints ) {
+        if ( _worldCoordinates.length < ( 2 * numberOfPoints ) ) {
+            _worldCoordinates = new double[ FastMath.max( 2 * numberOfPoints,
+                                                          2
+                                                          * _worldCoordinates.length ) ];
+        }
+        CoordinateTransforms.transform( coordinates,
+                                        _worldCoordinates,
+                                        numberOfPoints,
+                                        _transform );
+    }
+
+    private static double normalizeAngle( final double angle ) {
+        final double normalizedAngle = angle % 360.0d;
+        return ( normalizedAngle < 0.0d )
+               ? normalizedAngle + 360.0d
+               : normalizedAngle;
+    }
+
+    private void push( final DxfBlock block,
+                       final List< DxfEntity > entities,
+                       final int colorIndex,
+                       final DxfLineType lineType ) {
+        _blocks[ _depth ] = block;
+        _entities[ _depth ] = entities;
+        _nextEntityIndices[ _depth ] = 0;
+        _colorIndices[ _depth ] = colorIndex;
+        _lineTypes[ _depth ] = lineType;
+        _depth++;
+    }
+
+    private void pop() {
+        _depth--;
+        _blocks[ _depth ] = null;
+        _entities[ _depth ] = null;
+        _lineTypes[ _depth ] = null;
+    }
+
+    private void ensureCapacity( final int capacity ) {
+        if ( capacity <= _transforms.length ) {
+            return;
+        }
+
+        final int oldCapacity = _transforms.length;
+        final int newCapacity = FastMath.max( capacity, 2 * oldCapacity );
+        _blocks = Arrays.copyOf( _blocks, newCapacity );
+        _entities = Arrays.copyOf( _entities, newCapacity );
+        _nextEntityIndices = Arrays.copyOf( _nextEntityIndices, newCapacity );
+        _transforms = Arrays.copyOf( _transforms, newCapacity );
+        _colorIndices = Arrays.copyOf( _colorIndices, newCapacity );
+        _lineTypes = Arrays.copyOf( _lineTypes, newCapacity );
+        for ( int i = oldCapacity; i < newCapacity; i++ ) {
+            _transforms[ i ] = new Affine2D();
+        }
+    }
+}// class DxfGeometryTraversal
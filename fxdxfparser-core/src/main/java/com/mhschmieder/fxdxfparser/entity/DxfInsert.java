@@ -30,10 +30,10 @@
  */
 package com.mhschmieder.fxdxfparser.entity;
 
-import com.mhschmieder.fxdxfparser.geometry.DxfShapeContainer;
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
 import com.mhschmieder.fxdxfparser.loader.DxfBlock;
 import com.mhschmieder.fxdxfparser.loader.DxfEntityContainer;
-import com.mhschmieder.fxdxfparser.loader.DxfLineType;
 import com.mhschmieder.fxdxfparser.reader.DxfGroupCodes;
 import com.mhschmieder.fxdxfparser.reader.DxfPairContainer;
 import com.mhschmieder.fxdxfparser.reader.DxfReaderException;
@@ -41,16 +41,11 @@ import com.mhschmieder.fxdxfparser.reader.EntityType;
 import com.mhschmieder.fxdxfparser.structure.DxfDocument;
 import com.mhschmieder.jcommons.lang.NumberUtilities;
 
-import javafx.scene.transform.Affine;
-import javafx.scene.transform.Rotate;
-import javafx.scene.transform.Scale;
-import javafx.scene.transform.Translate;
-
 public class DxfInsert extends DxfEntity implements DxfEntityContainer {
 
     // private ArrayList< DxfAttrib > _attributes;
     private String _blockName;
-    private Affine _blockTransform;
+    private Affine2D _blockTransform;
     private double _strokeScale;
 
     public DxfInsert( final DxfDocument doc,
@@ -96,22 +91,14 @@ public class DxfInsert extends DxfEntity implements DxfEntityContainer {
                 DxfGroupCodes.CODE42,
                 "1" ) );
 
-        // Cambio sentido
-        final Rotate rotate = new Rotate( rotationAngleDegrees % 360d );
-
-        // Escalado
-        final Scale scale = new Scale( scaleX, scaleY );
-
-        // Traslacion
-        final Translate translate = new Translate( insertX, insertY );
-
-        // NOTE: We cannot translate as a concatenation at this point, so we
-        // set those matrix values directly after appending scale to rotation.
-        _blockTransform = new Affine( rotate );
-        _blockTransform.append( scale );
-        _blockTransform.setTx( translate.getX() );
-        _blockTransform.setTy( translate.getY() );
-        _blockTransform.setTz( 0.0d );
+        // NOTE: The transform is kept as primitive values, as it is composed
+        // with those of the enclosing blocks on every conversion.
+        _blockTransform = new Affine2D();
+        _blockTransform.setToRotateScaleTranslate( rotationAngleDegrees % 360d,
+                                                   scaleX,
+                                                   scaleY,
+                                                   insertX,
+                                                   insertY );
 
         // Cache the inverse magnitude of the scaling, to apply to strokes.
         // NOTE: We take the average, in case x-scaling and y-scaling differ.
@@ -119,39 +106,56 @@ public class DxfInsert extends DxfEntity implements DxfEntityContainer {
         _strokeScale = 1.0d / averageScaleFactor;
     }
 
-    @Override
-    public boolean convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
-                                      final Affine transform,
-                                      final double strokeScale ) {
-        // Ignore blocks if they are on switched-off layers.
-        if ( !_dxfDoc.getLayer( _layer ).isLayerOn() ) {
-            return false;
-        }
+    public String getBlockName() {
+        return _blockName;
+    }
 
+    /**
+     * Returns the block that this Block Reference inserts.
+     *
+     * @return the referenced block, or {@code null} if the block name is
+     *         missing or does not refer to a block of the document
+     */
+    public DxfBlock getBlock() {
         // NOTE: Block References must have a valid Block Name.
         if ( ( _blockName == null ) || _blockName.trim().isEmpty() ) {
-            return false;
+            return null;
         }
 
-        final DxfBlock block = _dxfDoc.getBlock( _blockName );
-        if ( block == null ) {
-            return false;
-        }
+        return _dxfDoc.getBlock( _blockName );
+    }
 
-        final Affine resultante = new Affine( transform );
-        resultante.append( _blockTransform );
+    /**
+     * @return the transform from block coordinates to the coordinates of the
+     *         block that contains this Block Reference
+     */
+    public Affine2D getBlockTransform() {
+        return _blockTransform;
+    }
 
-        final DxfLineType lineType = getLineType();
-        block.setCurrentLineType( lineType );
-        final int colorIndex = getRealColorIndex();
-        block.setCurrentColor( colorIndex );
-        // block.setCurrentAttributes( _attributes );
+    /**
+     * @return the stroke scale that compensates for the scale factors of this
+     *         Block Reference
+     */
+    public double getStrokeScale() {
+        return _strokeScale;
+    }
 
-        final double totalStrokeScale = _strokeScale * strokeScale;
-        block.convertToFxShapes( dxfShapeContainer,
-                                 resultante,
-                                 totalStrokeScale );
+    @Override
+    protected void computeExtents( final Extents2D extents ) {
+        final DxfBlock block = getBlock();
+        if ( block == null ) {
+            return;
+        }
 
-        return true;
+        // Transform the block bounds by all four corners, so that the result
+        // is still a tight enclosing box for rotated Block References.
+        extents.addTransformed( block.getExtents(),
+                                _blockTransform.getMxx(),
+                                _blockTransform.getMxy(),
+                                _blockTransform.getTx(),
+                                _blockTransform.getMyx(),
+                                _blockTransform.getMyy(),
+                                _blockTransform.getTy() );
     }
 }// class DxfInsert
\ No newline at end of file
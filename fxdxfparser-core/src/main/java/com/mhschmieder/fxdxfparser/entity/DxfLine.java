@@ -30,8 +30,13 @@
  */
 package com.mhschmieder.fxdxfparser.entity;
 
-import com.mhschmieder.fxdxfparser.geometry.DxfShapeContainer;
-import com.mhschmieder.fxdxfparser.loader.DxfLineType;
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.CoordinateBuffer;
+import com.mhschmieder.fxdxfparser.geometry.DistanceUtilities;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
+import com.mhschmieder.fxdxfparser.geometry.MeasurementUtilities;
+import com.mhschmieder.fxdxfparser.geometry.SnapPointBuffer;
+import com.mhschmieder.fxdxfparser.geometry.SnapType;
 import com.mhschmieder.fxdxfparser.reader.DxfGroupCodes;
 import com.mhschmieder.fxdxfparser.reader.DxfPairContainer;
 import com.mhschmieder.fxdxfparser.reader.DxfReaderException;
@@ -39,13 +44,6 @@ import com.mhschmieder.fxdxfparser.reader.EntityType;
 import com.mhschmieder.fxdxfparser.structure.DxfDocument;
 import com.mhschmieder.jcommons.lang.NumberUtilities;
 
-import java.util.Collection;
-
-import javafx.collections.ObservableList;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Line;
-import javafx.scene.transform.Affine;
-
 public class DxfLine extends DxfEntity {
 
     protected double _thickness;
@@ -69,37 +67,6 @@ public class DxfLine extends DxfEntity {
         super( pdoc, pc, entityType, ignorePaperSpace );
     }
 
-    @Override
-    public boolean convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
-                                      final Affine transform,
-                                      final double strokeScale ) {
-        if ( !_dxfDoc.getLayer( _layer ).isLayerOn() ) {
-            return false;
-        }
-
-        final Color color = getColor();
-        final DxfLineType lineType = getLineType();
-
-        final Line line = new Line( _startX, _startY, _endX, _endY );
-
-        line.getTransforms().add( transform );
-        line.setStroke( color );
-
-        if ( ( lineType != null ) && !lineType.isContinuous() ) {
-            final double lineTypeScale = _dxfDoc.getGlobalLineTypeScale()
-                                         * _lineTypeScale;
-            final Collection< Double > dashArrayCandidate
-                    = lineType.makeDashArray( lineTypeScale );
-            final ObservableList< Double > dashArray
-                    = line.getStrokeDashArray();
-            dashArray.setAll( dashArrayCandidate );
-        }
-
-        dxfShapeContainer.addShape( strokeScale, line );
-
-        return true;
-    }
-
     @Override
     @SuppressWarnings( "nls" )
     protected void parseEntityProperties( final DxfPairContainer pc ) {
@@ -141,4 +108,63 @@ public class DxfLine extends DxfEntity {
                 NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.NORMAL_Z,
                                                             "0" ) );
     }
+
+    @Override
+    protected void computeExtents( final Extents2D extents ) {
+        extents.add( _startX, _startY );
+        extents.add( _endX, _endY );
+    }
+
+    @Override
+    protected void emitGeometry( final DxfGeometryTraversal traversal ) {
+        final CoordinateBuffer buffer = CoordinateBuffer.getScratchBuffer();
+        buffer.add( _startX, _startY );
+        buffer.add( _endX, _endY );
+        traversal.emitPolyline( buffer.getArray(), 2, false );
+    }
+
+    @Override
+    public double getDistance( final double x,
+                               final double y ) {
+        return DistanceUtilities.getSegmentDistance( x,
+                                                     y,
+                                                     _startX,
+                                                     _startY,
+                                                     _endX,
+                                                     _endY );
+    }
+
+    @Override
+    public void addSnapPoints( final SnapPointBuffer buffer ) {
+        buffer.add( _startX, _startY, SnapType.ENDPOINT );
+        buffer.add( _endX, _endY, SnapType.ENDPOINT );
+        buffer.add( 0.5d * ( _startX + _endX ),
+                    0.5d * ( _startY + _endY ),
+                    SnapType.MIDPOINT );
+    }
+
+    @Override
+    public double getLength( final Affine2D transform ) {
+        return MeasurementUtilities.getSegmentLength( _startX,
+                                                      _startY,
+                                                      _endX,
+                                                      _endY,
+                                                      transform );
+    }
+
+    public double getStartX() {
+        return _startX;
+    }
+
+    public double getStartY() {
+        return _startY;
+    }
+
+    public double getEndX() {
+        return _endX;
+    }
+
+    public double getEndY() {
+        return _endY;
+    }
 }// class DxfLine
@@ -30,9 +30,15 @@
  */
 package com.mhschmieder.fxdxfparser.entity;
 
-import com.mhschmieder.fxdxfparser.geometry.DxfShapeContainer;
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.CoordinateBuffer;
+import com.mhschmieder.fxdxfparser.geometry.DistanceUtilities;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
+import com.mhschmieder.fxdxfparser.geometry.MeasurementUtilities;
 import com.mhschmieder.fxdxfparser.geometry.PolyVertex;
+import com.mhschmieder.fxdxfparser.geometry.PolylineLevelsOfDetail;
 import com.mhschmieder.fxdxfparser.geometry.PolylineUtilities;
+import com.mhschmieder.fxdxfparser.geometry.SnapPointBuffer;
 import com.mhschmieder.fxdxfparser.reader.DxfGroupCodes;
 import com.mhschmieder.fxdxfparser.reader.DxfPair;
 import com.mhschmieder.fxdxfparser.reader.DxfPairContainer;
@@ -45,8 +51,6 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
-import javafx.scene.transform.Affine;
-
 public class DxfLwPolyline extends DxfEntity {
 
     protected static final int FLAG_CLOSED = 1;
@@ -67,6 +71,10 @@ public class DxfLwPolyline extends DxfEntity {
 
     protected boolean _hasWidth;
 
+    // Simplified versions of long polylines; made on first use.
+    private PolylineLevelsOfDetail _levelsOfDetail;
+    private boolean _levelsOfDetailMade;
+
     public DxfLwPolyline( final DxfDocument pdoc,
                           final DxfPairContainer pc,
                           final EntityType entityType,
@@ -123,33 +131,21 @@ public class DxfLwPolyline extends DxfEntity {
                                                             "0" ) );
     }
 
-    @Override
-    public boolean convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
-                                      final Affine transform,
-                                      final double strokeScale ) {
-        if ( !_dxfDoc.getLayer( _layer ).isLayerOn() ) {
-            return false;
-        }
-        if ( isDegenerate() ) {
-            return false;
+    public final PolylineLevelsOfDetail getLevelsOfDetail() {
+        if ( !_levelsOfDetailMade ) {
+            _levelsOfDetail = PolylineUtilities.makeLevelsOfDetail(
+                    _polyVertices );
+            _levelsOfDetailMade = true;
         }
 
-        return PolylineUtilities.convertToFxShapes( dxfShapeContainer,
-                                                    transform,
-                                                    strokeScale,
-                                                    this,
-                                                    true,
-                                                    _polyVertices,
-                                                    null,
-                                                    needClose(),
-                                                    _hasWidth );
+        return _levelsOfDetail;
     }
 
-    protected boolean isDegenerate() {
+    public boolean isDegenerate() {
         return ( _polyVertices == null ) || ( _polyVertices.size() < 2 );
     }
 
-    protected boolean needClose() {
+    public boolean needClose() {
         return ( ( _polyFlags & DxfLwPolyline.FLAG_CLOSED ) != 0 ) && (
                 PolylineUtilities.compareVertex2D( _polyVertices.get( 0 ),
                                                    _polyVertices.get(
@@ -213,4 +209,62 @@ public class DxfLwPolyline extends DxfEntity {
             }
         }
     }
+
+    @Override
+    protected void computeExtents( final Extents2D extents ) {
+        PolylineUtilities.addExtents( extents, _polyVertices, isClosed() );
+    }
+
+    @Override
+    protected void emitGeometry( final DxfGeometryTraversal traversal ) {
+        if ( isDegenerate() ) {
+            return;
+        }
+
+        final CoordinateBuffer buffer = CoordinateBuffer.getScratchBuffer();
+        PolylineUtilities.flatten( traversal.getVectorization(),
+                                   _polyVertices,
+                                   needClose(),
+                                   buffer );
+        traversal.emitPolyline( buffer.getArray(),
+                                buffer.getNumberOfPoints(),
+                                isClosed() );
+    }
+
+    @Override
+    public double getDistance( final double x,
+                               final double y ) {
+        return DistanceUtilities.getPolylineDistance( x,
+                                                      y,
+                                                      _polyVertices,
+                                                      isClosed() );
+    }
+
+    @Override
+    public void addSnapPoints( final SnapPointBuffer buffer ) {
+        PolylineUtilities.addSnapPoints( buffer, _polyVertices, isClosed() );
+    }
+
+    @Override
+    public double getLength( final Affine2D transform ) {
+        return MeasurementUtilities.getPolylineLength( _polyVertices,
+                                                       isClosed(),
+                                                       transform );
+    }
+
+    @Override
+    public double getArea( final Affine2D transform ) {
+        return isClosed()
+               ? MeasurementUtilities.getPolylineArea( _polyVertices,
+                                                       transform )
+               : 0.0d;
+    }
+
+    public List< PolyVertex > getPolyVertices() {
+        return _polyVertices;
+    }
+
+    public boolean hasWidth() {
+        return _hasWidth;
+    }
 }// class DxfLwPolyline
@@ -30,7 +30,9 @@
  */
 package com.mhschmieder.fxdxfparser.entity;
 
-import com.mhschmieder.fxdxfparser.geometry.DxfShapeContainer;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
+import com.mhschmieder.fxdxfparser.geometry.SnapPointBuffer;
+import com.mhschmieder.fxdxfparser.geometry.SnapType;
 import com.mhschmieder.fxdxfparser.reader.DxfGroupCodes;
 import com.mhschmieder.fxdxfparser.reader.DxfPairContainer;
 import com.mhschmieder.fxdxfparser.reader.DxfReaderException;
@@ -38,8 +40,6 @@ import com.mhschmieder.fxdxfparser.reader.EntityType;
 import com.mhschmieder.fxdxfparser.structure.DxfDocument;
 import com.mhschmieder.jcommons.lang.NumberUtilities;
 
-import javafx.scene.transform.Affine;
-
 public class DxfPoint extends DxfEntity {
 
     public double _x;
@@ -54,24 +54,20 @@ public class DxfPoint extends DxfEntity {
         super( pdoc, pc, entityType, ignorePaperSpace );
     }
 
-    // TODO: Implement this, using the PDMODE and PDSIZE global variables to
-    // determine the shape to use for the "displayable point", vs. assuming just
-    // a point on screen (done as line with start=end).
-    @Override
-    public boolean convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
-                                      final Affine transform,
-                                      final double strokeScale ) {
-        // final Point2D point = new Point2D( _x, _y );
-
-        // TODO: Review what this ends up doing, with no geometry added.
-        // return _dxfDoc.getLayer( _layer ).isLayerOn();
-        return false;
-    }
-
     @Override
     protected void parseEntityProperties( final DxfPairContainer pc ) {
         _x = NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.CODE10 ) );
         _y = NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.CODE20 ) );
         _z = NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.CODE30 ) );
     }
+
+    @Override
+    protected void computeExtents( final Extents2D extents ) {
+        extents.add( _x, _y );
+    }
+
+    @Override
+    public void addSnapPoints( final SnapPointBuffer buffer ) {
+        buffer.add( _x, _y, SnapType.NODE );
+    }
 }// class DxfPoint
@@ -30,7 +30,9 @@
  */
 package com.mhschmieder.fxdxfparser.entity;
 
-import com.mhschmieder.fxdxfparser.geometry.DxfShapeContainer;
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.CoordinateBuffer;
+import com.mhschmieder.fxdxfparser.geometry.SnapPointBuffer;
 import com.mhschmieder.fxdxfparser.reader.DxfGroupCodes;
 import com.mhschmieder.fxdxfparser.reader.DxfPairContainer;
 import com.mhschmieder.fxdxfparser.reader.DxfReaderException;
@@ -41,11 +43,6 @@ import com.mhschmieder.jcommons.lang.NumberUtilities;
 import java.util.ArrayList;
 import java.util.List;
 
-import javafx.collections.ObservableList;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Polygon;
-import javafx.scene.transform.Affine;
-
 public class DxfPolyFaceMesh extends DxfPolyline {
 
     protected List< DxfFaceDef > _faces;
@@ -85,67 +82,65 @@ public class DxfPolyFaceMesh extends DxfPolyline {
                 DxfGroupCodes.CODE72 ) );
     }
 
-    @Override
-    public boolean convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
-                                      final Affine transform,
-                                      final double strokeScale ) {
-        if ( !_dxfDoc.getLayer( _layer ).isLayerOn() ) {
-            return false;
+    public static int getNumberOfVertices( final DxfFaceDef face ) {
+        switch ( face.getFaceType() ) {
+            case POINT:
+                return 1;
+            case LINE:
+                return 2;
+            case TRIANGLE:
+                return 3;
+            case QUAD:
+                return 4;
+            case UNDEFINED:
+            default:
+                return 0;
         }
+    }
 
-        if ( _faces.isEmpty() ) {
-            return true;
+    @Override
+    protected void emitGeometry( final DxfGeometryTraversal traversal ) {
+        if ( _faces == null ) {
+            return;
         }
 
-        // Make a closed polygon wireframe for each face.
-        final Color color = getColor();
+        // Each face is emitted as an area of its own.
         for ( final DxfFaceDef face : _faces ) {
-            int numberOfVertices = 0;
-            switch ( face.getFaceType() ) {
-                case UNDEFINED:
-                    break;
-                case POINT:
-                    numberOfVertices = 1;
-                    break;
-                case LINE:
-                    numberOfVertices = 2;
-                    break;
-                case TRIANGLE:
-                    numberOfVertices = 3;
-                    break;
-                case QUAD:
-                    numberOfVertices = 4;
-                    break;
-                default:
-                    break;
-            }
-
-            final List< Double > coordinates = new ArrayList<>(
-                    2 * numberOfVertices );
+            final int numberOfVertices = getNumberOfVertices( face );
+            final CoordinateBuffer buffer = CoordinateBuffer.getScratchBuffer();
             for ( int i = 0; i < numberOfVertices; i++ ) {
                 // NOTE: All of these are base 1 to 0.
                 final DxfVertex vertex = _vertices.get( face._iv[ i ] - 1 );
-
-                final int j = 2 * i;
-                coordinates.add( j, Double.valueOf( vertex._x ) );
-                coordinates.add( j + 1, Double.valueOf( vertex._y ) );
+                buffer.add( vertex._x, vertex._y );
             }
+            traversal.emitPolygon( buffer.getArray(), numberOfVertices );
+        }
+    }
 
-            final Polygon polygon = new Polygon();
-            final ObservableList< Double > polygonCoordinates
-                    = polygon.getPoints();
-            polygonCoordinates.addAll( coordinates );
+    @Override
+    public double getDistance( final double x,
+                               final double y ) {
+        // The faces are measured from their emitted geometry instead.
+        return Double.NaN;
+    }
 
-            // Polyface3D is supposed to be filled with its stroke color.
-            // NOTE: We are better off sticking with wireframe-only for now.
-            polygon.setFill( null ); // color );
+    @Override
+    public void addSnapPoints( final SnapPointBuffer buffer ) {
+        addVertexSnapPoints( buffer );
+    }
 
-            polygon.getTransforms().add( transform );
-            polygon.setStroke( color );
+    @Override
+    public double getLength( final Affine2D transform ) {
+        // The faces of a mesh are surfaces rather than linework.
+        return 0.0d;
+    }
 
-            dxfShapeContainer.addShape( strokeScale, polygon );
-        }
+    @Override
+    public double getArea( final Affine2D transform ) {
+        return 0.0d;
+    }
 
-        return true;
+    public List< DxfFaceDef > getFaces() {
+        return _faces;
     }
 }// class DxfPolyFaceMesh
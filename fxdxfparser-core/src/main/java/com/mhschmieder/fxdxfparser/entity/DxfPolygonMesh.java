@@ -30,7 +30,9 @@
  */
 package com.mhschmieder.fxdxfparser.entity;
 
-import com.mhschmieder.fxdxfparser.geometry.DxfShapeContainer;
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.CoordinateBuffer;
+import com.mhschmieder.fxdxfparser.geometry.SnapPointBuffer;
 import com.mhschmieder.fxdxfparser.reader.DxfGroupCodes;
 import com.mhschmieder.fxdxfparser.reader.DxfPairContainer;
 import com.mhschmieder.fxdxfparser.reader.DxfReaderException;
@@ -38,15 +40,6 @@ import com.mhschmieder.fxdxfparser.reader.EntityType;
 import com.mhschmieder.fxdxfparser.structure.DxfDocument;
 import com.mhschmieder.jcommons.lang.NumberUtilities;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import javafx.collections.ObservableList;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Polygon;
-import javafx.scene.shape.Polyline;
-import javafx.scene.transform.Affine;
-
 public class DxfPolygonMesh extends DxfPolyline {
 
     private static final int FLAG_MCLOSED = 1;
@@ -87,89 +80,65 @@ public class DxfPolygonMesh extends DxfPolyline {
     }
 
     @Override
-    public boolean convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
-                                      final Affine transform,
-                                      final double strokeScale ) {
-        if ( !_dxfDoc.getLayer( _layer ).isLayerOn() ) {
-            return false;
-        }
-
-        final Color color = getColor();
+    protected void emitGeometry( final DxfGeometryTraversal traversal ) {
+        // The mesh is a wireframe of its M rows and its N columns.
+        final boolean mClosed = ( _polyFlags & FLAG_MCLOSED ) != 0;
         for ( int n = 0; n < _nCount; n++ ) {
-            final List< Double > coordinates = new ArrayList<>( 2 * _mCount );
+            final CoordinateBuffer buffer = CoordinateBuffer.getScratchBuffer();
             for ( int m = 0; m < _mCount; m++ ) {
                 final DxfVertex vertex = _vertices.get( ( _nCount * m ) + n );
-
-                final int j = 2 * m;
-                coordinates.add( j, Double.valueOf( vertex._x ) );
-                coordinates.add( j + 1, Double.valueOf( vertex._y ) );
-            }
-
-            if ( ( _polyFlags & FLAG_MCLOSED ) != 0 ) {
-                final Polygon polygon = new Polygon();
-                final ObservableList< Double > polygonCoordinates
-                        = polygon.getPoints();
-                polygonCoordinates.addAll( coordinates );
-
-                // Polygon3D is supposed to be treated like a wireframe.
-                polygon.setFill( null );
-
-                polygon.getTransforms().add( transform );
-                polygon.setStroke( color );
-
-                dxfShapeContainer.addShape( strokeScale, polygon );
-            }
-            else {
-                final Polyline polyline = new Polyline();
-                final ObservableList< Double > polylineCoordinates
-                        = polyline.getPoints();
-                polylineCoordinates.addAll( coordinates );
-
-                polyline.getTransforms().add( transform );
-                polyline.setStroke( color );
-
-                dxfShapeContainer.addShape( strokeScale, polyline );
+                buffer.add( vertex._x, vertex._y );
             }
+            traversal.emitPolyline( buffer.getArray(), _mCount, mClosed );
         }
 
+        final boolean nClosed = ( _polyFlags & FLAG_NCLOSED ) != 0;
         for ( int m = 0; m < _mCount; m++ ) {
-            final List< Double > coordinates = new ArrayList<>( 2 * _nCount );
+            final CoordinateBuffer buffer = CoordinateBuffer.getScratchBuffer();
             for ( int n = 0; n < _nCount; n++ ) {
                 final DxfVertex vertex = _vertices.get( ( _nCount * m ) + n );
-
-                final int j = 2 * n;
-                coordinates.add( j, Double.valueOf( vertex._x ) );
-                coordinates.add( j + 1, Double.valueOf( vertex._y ) );
+                buffer.add( vertex._x, vertex._y );
             }
+            traversal.emitPolyline( buffer.getArray(), _nCount, nClosed );
+        }
+    }
 
-            if ( ( _polyFlags & FLAG_NCLOSED ) != 0 ) {
-                final Polygon polygon = new Polygon();
-                final ObservableList< Double > polygonCoordinates
-                        = polygon.getPoints();
-                polygonCoordinates.addAll( coordinates );
+    @Override
+    public double getDistance( final double x,
+                               final double y ) {
+        // The faces are measured from their emitted geometry instead.
+        return Double.NaN;
+    }
 
-                // By default, Polygons are filled, but we only want a
-                // wireframe (to be verified).
-                polygon.setFill( null );
+    @Override
+    public void addSnapPoints( final SnapPointBuffer buffer ) {
+        addVertexSnapPoints( buffer );
+    }
 
-                polygon.getTransforms().add( transform );
-                polygon.setStroke( color );
+    @Override
+    public double getLength( final Affine2D transform ) {
+        // The faces of a mesh are surfaces rather than linework.
+        return 0.0d;
+    }
 
-                dxfShapeContainer.addShape( strokeScale, polygon );
-            }
-            else {
-                final Polyline polyline = new Polyline();
-                final ObservableList< Double > polylineCoordinates
-                        = polyline.getPoints();
-                polylineCoordinates.addAll( coordinates );
+    @Override
+    public double getArea( final Affine2D transform ) {
+        return 0.0d;
+    }
 
-                polyline.getTransforms().add( transform );
-                polyline.setStroke( color );
+    public int getMCount() {
+        return _mCount;
+    }
 
-                dxfShapeContainer.addShape( strokeScale, polyline );
-            }
-        }
+    public int getNCount() {
+        return _nCount;
+    }
+
+    public boolean isMClosed() {
+        return ( _polyFlags & FLAG_MCLOSED ) != 0;
+    }
 
-        return true;
+    public boolean isNClosed() {
+        return ( _polyFlags & FLAG_NCLOSED ) != 0;
     }
 }// class DxfPolygonMesh
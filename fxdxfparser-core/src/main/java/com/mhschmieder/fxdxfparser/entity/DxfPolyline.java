@@ -0,0 +1,407 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.entity;
+
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.CoordinateBuffer;
+import com.mhschmieder.fxdxfparser.geometry.DistanceUtilities;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
+import com.mhschmieder.fxdxfparser.geometry.MeasurementUtilities;
+import com.mhschmieder.fxdxfparser.geometry.PolyVertex;
+import com.mhschmieder.fxdxfparser.geometry.PolylineLevelsOfDetail;
+import com.mhschmieder.fxdxfparser.geometry.PolylineUtilities;
+import com.mhschmieder.fxdxfparser.geometry.SnapPointBuffer;
+import com.mhschmieder.fxdxfparser.geometry.SnapType;
+import com.mhschmieder.fxdxfparser.loader.DxfEntityContainer;
+import com.mhschmieder.fxdxfparser.reader.DxfGroupCodes;
+import com.mhschmieder.fxdxfparser.reader.DxfPairContainer;
+import com.mhschmieder.fxdxfparser.reader.DxfReaderException;
+import com.mhschmieder.fxdxfparser.reader.EntityType;
+import com.mhschmieder.fxdxfparser.structure.DxfDocument;
+import com.mhschmieder.jcommons.lang.NumberUtilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class DxfPolyline extends DxfEntity implements DxfEntityContainer {
+
+    public static final int QUAD = 5;
+    public static final int CUBIC = 6;
+    public static final int BEZIER = 8;
+    public static final int FLAG_CLOSED = 1;
+    public static final int FLAG_3DPOLYLINE = 8;
+    public static final int FLAG_POLYGON_MESH = 16;
+    public static final int FLAG_POLY_FACE_MESH = 64;
+    protected static final int MAXIMUM_NUMBER_OF_VERTICES = 10;
+    protected double _elevationX;
+    protected double _elevationY;
+    protected double _elevationZ;
+
+    protected double _thickness;
+
+    protected int _polyFlags;
+    protected double _startWidth;
+    protected double _endWidth;
+    protected int _surfaceType;
+
+    protected double _extrusionX;
+    protected double _extrusionY;
+    protected double _extrusionZ;
+
+    protected int _vertexCount;
+    protected boolean _hasWidth;
+
+    protected List< DxfVertex > _controlPoints;
+    protected List< DxfVertex > _vertices;
+    protected List< PolyVertex > _polyVertices;
+
+    // Simplified versions of long polylines; made on first use.
+    private PolylineLevelsOfDetail _levelsOfDetail;
+    private boolean _levelsOfDetailMade;
+
+    public DxfPolyline( final DxfDocument pdoc,
+                        final DxfPairContainer pc,
+                        final EntityType entityType,
+                        final boolean ignorePaperSpace )
+            throws DxfReaderException {
+        super( pdoc, pc, entityType, ignorePaperSpace );
+    }
+
+    @Override
+    public void addEntity( final DxfEntity pEntity ) {
+        final DxfVertex vertex = ( DxfVertex ) pEntity;
+        if ( vertex.isControlPoint() ) {
+            if ( _controlPoints == null ) {
+                _controlPoints = new ArrayList<>( MAXIMUM_NUMBER_OF_VERTICES );
+            }
+            _controlPoints.add( vertex );
+        }
+        else if ( !vertex.isVertex2D() ) {
+            if ( _vertices == null ) {
+                _vertices = new ArrayList<>( MAXIMUM_NUMBER_OF_VERTICES );
+            }
+            _vertices.add( vertex );
+            _vertexCount++;
+        }
+        else {
+            final double sw = vertex.getStartWidth();
+            final double ew = vertex.getEndWidth();
+            final double bulge = vertex.getBulge();
+            final PolyVertex newvertex = new PolyVertex( vertex._x,
+                                                         vertex._y,
+                                                         vertex._z,
+                                                         sw,
+                                                         ew,
+                                                         bulge );
+            if ( _polyVertices == null ) {
+                _polyVertices = new ArrayList<>( MAXIMUM_NUMBER_OF_VERTICES );
+            }
+            _polyVertices.add( newvertex );
+            _hasWidth = _hasWidth || ( sw > 0 ) || ( ew > 0 );
+        }
+    }
+
+    protected boolean isClosed() {
+        return ( _polyFlags & FLAG_CLOSED ) != 0;
+    }
+
+    @Override
+    @SuppressWarnings( "nls" )
+    protected void parseEntityProperties( final DxfPairContainer pc ) {
+        _elevationX
+                =
+                NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.CODE10,
+                                                            "0" ) );
+        _elevationY
+                =
+                NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.CODE20,
+                                                            "0" ) );
+        _elevationZ
+                =
+                NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.CODE30,
+                                                            "0" ) );
+
+        _thickness
+                =
+                NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.THICKNESS,
+                                                            "0" ) );
+
+        _polyFlags
+                =
+                NumberUtilities.parseInteger( pc.getValue( DxfGroupCodes.FLAGS,
+                                                             "0" ) );
+
+        _startWidth
+                =
+                NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.CODE40,
+                                                            "0" ) );
+        _endWidth
+                =
+                NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.CODE41,
+                                                            "0" ) );
+
+        _surfaceType
+                =
+                NumberUtilities.parseInteger( pc.getValue( DxfGroupCodes.CODE75,
+                                                             "0" ) );
+
+        _extrusionX
+                =
+                NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.NORMAL_X,
+                                                            "0" ) );
+        _extrusionY
+                =
+                NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.NORMAL_Y,
+                                                            "0" ) );
+        _extrusionZ
+                =
+                NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.NORMAL_Z,
+                                                            "0" ) );
+    }
+
+    public final PolylineLevelsOfDetail getLevelsOfDetail() {
+        if ( !_levelsOfDetailMade ) {
+            if ( isVertex2D() ) {
+                _levelsOfDetail = PolylineUtilities.makeLevelsOfDetail(
+                        _polyVertices );
+            }
+            else if ( ( _vertices != null ) && ( _vertices.size()
+                                                 >= PolylineLevelsOfDetail.MINIMUM_NUMBER_OF_VERTICES ) ) {
+                // 3D vertices never have bulge, so can always be simplified.
+                final double[] coordinates = new double[ 2 * _vertices.size() ];
+                int j = 0;
+                for ( final DxfVertex vertex : _vertices ) {
+                    if ( vertex != null ) {
+                        coordinates[ j++ ] = vertex._x;
+                        coordinates[ j++ ] = vertex._y;
+                    }
+                }
+                _levelsOfDetail = new PolylineLevelsOfDetail( Arrays.copyOf(
+                        coordinates,
+                        j ) );
+            }
+            _levelsOfDetailMade = true;
+        }
+
+        return _levelsOfDetail;
+    }
+
+    public boolean isDegenerate() {
+        return ( _vertices == null ) || ( _vertices.size() < 2 );
+    }
+
+    public boolean isVertex2D() {
+        return ( ( _polyFlags & FLAG_3DPOLYLINE ) == 0 );
+    }
+
+    public boolean needClose() {
+        return ( ( _polyFlags & FLAG_CLOSED ) != 0 ) && (
+                PolylineUtilities.compareVertex2D( _polyVertices.get( 0 ),
+                                                   _polyVertices.get(
+                                                           _polyVertices.size()
+                                                           - 1 ) ) != 0 );
+    }
+
+    @Override
+    protected void computeExtents( final Extents2D extents ) {
+        if ( isVertex2D() ) {
+            PolylineUtilities.addExtents( extents, _polyVertices, isClosed() );
+        }
+
+        if ( _vertices != null ) {
+            for ( final DxfVertex vertex : _vertices ) {
+                if ( vertex != null ) {
+                    extents.add( vertex._x, vertex._y );
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void emitGeometry( final DxfGeometryTraversal traversal ) {
+        final CoordinateBuffer buffer = CoordinateBuffer.getScratchBuffer();
+        if ( isVertex2D() ) {
+            if ( ( _polyVertices == null ) || ( _polyVertices.size() < 2 ) ) {
+                return;
+            }
+            PolylineUtilities.flatten( traversal.getVectorization(),
+                                       _polyVertices,
+                                       needClose(),
+                                       buffer );
+        }
+        else if ( _vertices != null ) {
+            for ( final DxfVertex vertex : _vertices ) {
+                if ( vertex != null ) {
+                    buffer.add( vertex._x, vertex._y );
+                }
+            }
+        }
+
+        traversal.emitPolyline( buffer.getArray(),
+                                buffer.getNumberOfPoints(),
+                                isClosed() );
+    }
+
+    @Override
+    public double getDistance( final double x,
+                               final double y ) {
+        if ( isVertex2D() ) {
+            return DistanceUtilities.getPolylineDistance( x,
+                                                          y,
+                                                          _polyVertices,
+                                                          isClosed() );
+        }
+
+        final CoordinateBuffer buffer = getVertexCoordinates();
+        return DistanceUtilities.getPolylineDistance( x,
+                                                      y,
+                                                      buffer.getArray(),
+                                                      buffer.getNumberOfPoints(),
+                                                      isClosed() );
+    }
+
+    @Override
+    public void addSnapPoints( final SnapPointBuffer buffer ) {
+        if ( isVertex2D() ) {
+            PolylineUtilities.addSnapPoints( buffer,
+                                             _polyVertices,
+                                             isClosed() );
+            return;
+        }
+
+        final int numberOfVertices = ( _vertices != null )
+                                     ? _vertices.size()
+                                     : 0;
+        for ( int i = 0; i < numberOfVertices; i++ ) {
+            final DxfVertex vertex = _vertices.get( i );
+            if ( vertex == null ) {
+                continue;
+            }
+
+            DxfVertex nextVertex = null;
+            if ( i < ( numberOfVertices - 1 ) ) {
+                nextVertex = _vertices.get( i + 1 );
+            }
+            else if ( isClosed() && ( numberOfVertices > 2 ) ) {
+                nextVertex = _vertices.get( 0 );
+            }
+
+            buffer.add( vertex._x, vertex._y, SnapType.ENDPOINT );
+            if ( nextVertex != null ) {
+                buffer.add( 0.5d * ( vertex._x + nextVertex._x ),
+                            0.5d * ( vertex._y + nextVertex._y ),
+                            SnapType.MIDPOINT );
+            }
+        }
+    }
+
+    /**
+     * Returns the length of the polyline in plan, so that the vertical extent
+     * of a 3D polyline is not measured.
+     *
+     * @param transform The transform from the coordinates of the polyline to
+     *                  world coordinates
+     * @return the plan length of the polyline in world coordinates
+     */
+    @Override
+    public double getLength( final Affine2D transform ) {
+        if ( isVertex2D() ) {
+            return MeasurementUtilities.getPolylineLength( _polyVertices,
+                                                           isClosed(),
+                                                           transform );
+        }
+
+        final CoordinateBuffer buffer = getVertexCoordinates();
+        return MeasurementUtilities.getPolylineLength( buffer.getArray(),
+                                                       buffer.getNumberOfPoints(),
+                                                       isClosed(),
+                                                       transform );
+    }
+
+    @Override
+    public double getArea( final Affine2D transform ) {
+        if ( !isClosed() ) {
+            return 0.0d;
+        }
+        if ( isVertex2D() ) {
+            return MeasurementUtilities.getPolylineArea( _polyVertices,
+                                                         transform );
+        }
+
+        final CoordinateBuffer buffer = getVertexCoordinates();
+        return MeasurementUtilities.getPolygonArea( buffer.getArray(),
+                                                    buffer.getNumberOfPoints(),
+                                                    transform );
+    }
+
+    // Collects the 2D coordinates of the vertices of a 3D polyline.
+    private CoordinateBuffer getVertexCoordinates() {
+        final CoordinateBuffer buffer = CoordinateBuffer.getScratchBuffer();
+        if ( _vertices != null ) {
+            for ( final DxfVertex vertex : _vertices ) {
+                if ( vertex != null ) {
+                    buffer.add( vertex._x, vertex._y );
+                }
+            }
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Adds the vertices of a mesh as snap points, without the midpoints of
+     * its edges, as the vertices are not in the order of the edges.
+     *
+     * @param buffer The buffer to add the snap points to
+     */
+    protected final void addVertexSnapPoints( final SnapPointBuffer buffer ) {
+        if ( _vertices != null ) {
+            for ( final DxfVertex vertex : _vertices ) {
+                if ( vertex != null ) {
+                    buffer.add( vertex._x, vertex._y, SnapType.ENDPOINT );
+                }
+            }
+        }
+    }
+
+    public List< DxfVertex > getVertices() {
+        return _vertices;
+    }
+
+    public List< PolyVertex > getPolyVertices() {
+        return _polyVertices;
+    }
+
+    public boolean hasWidth() {
+        return _hasWidth;
+    }
+}// class DxfPolyline
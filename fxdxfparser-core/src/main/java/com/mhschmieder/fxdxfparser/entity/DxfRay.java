@@ -30,8 +30,8 @@
  */
 package com.mhschmieder.fxdxfparser.entity;
 
-import com.mhschmieder.fxdxfparser.geometry.DxfShapeContainer;
-import com.mhschmieder.fxdxfparser.loader.DxfLineType;
+import com.mhschmieder.fxdxfparser.geometry.CoordinateBuffer;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
 import com.mhschmieder.fxdxfparser.reader.DxfGroupCodes;
 import com.mhschmieder.fxdxfparser.reader.DxfPairContainer;
 import com.mhschmieder.fxdxfparser.reader.DxfReaderException;
@@ -39,13 +39,6 @@ import com.mhschmieder.fxdxfparser.reader.EntityType;
 import com.mhschmieder.fxdxfparser.structure.DxfDocument;
 import com.mhschmieder.jcommons.lang.NumberUtilities;
 
-import java.util.Collection;
-
-import javafx.collections.ObservableList;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Line;
-import javafx.scene.transform.Affine;
-
 public class DxfRay extends DxfEntity {
 
     protected double _basePointX;
@@ -63,46 +56,6 @@ public class DxfRay extends DxfEntity {
         super( pdoc, pc, entityType, ignorePaperSpace );
     }
 
-    @Override
-    public boolean convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
-                                      final Affine transform,
-                                      final double strokeScale ) {
-        if ( !_dxfDoc.getLayer( _layer ).isLayerOn() ) {
-            return false;
-        }
-
-        // Assume 300 meters maximum dimension along any axis, and use this to
-        // multiply the unit vector for ray direction. Add this to the start
-        // point to get an end point for simple line representation.
-        final double endPointX = _basePointX + ( 300d * _directionX );
-        final double endPointY = _basePointY + ( 300d * _directionY );
-
-        final Color color = getColor();
-        final DxfLineType lineType = getLineType();
-
-        final Line line = new Line( _basePointX,
-                                    _basePointY,
-                                    endPointX,
-                                    endPointY );
-
-        line.getTransforms().add( transform );
-        line.setStroke( color );
-
-        if ( ( lineType != null ) && !lineType.isContinuous() ) {
-            final double lineTypeScale = _dxfDoc.getGlobalLineTypeScale()
-                                         * _lineTypeScale;
-            final Collection< Double > dashArrayCandidate
-                    = lineType.makeDashArray( lineTypeScale );
-            final ObservableList< Double > dashArray
-                    = line.getStrokeDashArray();
-            dashArray.setAll( dashArrayCandidate );
-        }
-
-        dxfShapeContainer.addShape( strokeScale, line );
-
-        return true;
-    }
-
     @Override
     protected void parseEntityProperties( final DxfPairContainer pc ) {
         _basePointX
@@ -125,4 +78,38 @@ public class DxfRay extends DxfEntity {
                 =
                 NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.CODE31 ) );
     }
+
+    @Override
+    protected void computeExtents( final Extents2D extents ) {
+        // The bounds match the finite segment that the ray is drawn as.
+        extents.add( _basePointX, _basePointY );
+        extents.add( _basePointX + ( 300d * _directionX ),
+                     _basePointY + ( 300d * _directionY ) );
+    }
+
+    @Override
+    protected void emitGeometry( final DxfGeometryTraversal traversal ) {
+        // This is the same simple line representation as for conversion.
+        final CoordinateBuffer buffer = CoordinateBuffer.getScratchBuffer();
+        buffer.add( _basePointX, _basePointY );
+        buffer.add( _basePointX + ( 300d * _directionX ),
+                    _basePointY + ( 300d * _directionY ) );
+        traversal.emitPolyline( buffer.getArray(), 2, false );
+    }
+
+    public double getBasePointX() {
+        return _basePointX;
+    }
+
+    public double getBasePointY() {
+        return _basePointY;
+    }
+
+    public double getDirectionX() {
+        return _directionX;
+    }
+
+    public double getDirectionY() {
+        return _directionY;
+    }
 }// class DxfRay
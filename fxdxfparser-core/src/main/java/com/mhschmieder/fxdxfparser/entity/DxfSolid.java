@@ -30,7 +30,8 @@
  */
 package com.mhschmieder.fxdxfparser.entity;
 
-import com.mhschmieder.fxdxfparser.geometry.DxfShapeContainer;
+import com.mhschmieder.fxdxfparser.geometry.CoordinateBuffer;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
 import com.mhschmieder.fxdxfparser.reader.DxfGroupCodes;
 import com.mhschmieder.fxdxfparser.reader.DxfPairContainer;
 import com.mhschmieder.fxdxfparser.reader.DxfReaderException;
@@ -38,14 +39,6 @@ import com.mhschmieder.fxdxfparser.reader.EntityType;
 import com.mhschmieder.fxdxfparser.structure.DxfDocument;
 import com.mhschmieder.jcommons.lang.NumberUtilities;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import javafx.collections.ObservableList;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Polygon;
-import javafx.scene.transform.Affine;
-
 public class DxfSolid extends DxfEntity {
 
     protected static final int NUMBER_OF_VERTICES = 4;
@@ -68,44 +61,6 @@ public class DxfSolid extends DxfEntity {
         super( pdoc, pc, entityType, ignorePaperSpace );
     }
 
-    @Override
-    public boolean convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
-                                      final Affine transform,
-                                      final double strokeScale ) {
-        if ( !_dxfDoc.getLayer( _layer ).isLayerOn() ) {
-            return false;
-        }
-
-        final Color color = getColor();
-
-        // NOTE: AutoCAD does not necessarily use the four points in the
-        // order in which they are given; it treats them as a pair of pairs,
-        // and may change the order, resulting in illegal self-intersection.
-        final List< Double > coordinates = new ArrayList<>(
-                2 * NUMBER_OF_VERTICES );
-        for ( int i = 0; i < NUMBER_OF_VERTICES; i++ ) {
-            final int j = 2 * i;
-            coordinates.add( j, Double.valueOf( _xCoordinates[ i ] ) );
-            coordinates.add( j + 1, Double.valueOf( _yCoordinates[ i ] ) );
-        }
-
-        final Polygon polygon = new Polygon();
-        final ObservableList< Double > polygonCoordinates = polygon.getPoints();
-        polygonCoordinates.addAll( coordinates );
-
-        // Solid is supposed to be filled with its stroke color.
-        // NOTE: We are better off sticking with wireframe-only for now.
-        // TODO: Only fill if extrusion is perpendicular to the XY-plane.
-        polygon.setFill( null ); // color );
-
-        polygon.getTransforms().add( transform );
-        polygon.setStroke( color );
-
-        dxfShapeContainer.addShape( strokeScale, polygon );
-
-        return true;
-    }
-
     @Override
     @SuppressWarnings( "nls" )
     protected void parseEntityProperties( final DxfPairContainer pc ) {
@@ -159,4 +114,32 @@ public class DxfSolid extends DxfEntity {
                 NumberUtilities.parseDouble( pc.getValue( DxfGroupCodes.NORMAL_Z,
                                                             "0" ) );
     }
+
+    @Override
+    protected void computeExtents( final Extents2D extents ) {
+        for ( int i = 0; i < _xCoordinates.length; i++ ) {
+            extents.add( _xCoordinates[ i ], _yCoordinates[ i ] );
+        }
+    }
+
+    @Override
+    protected void emitGeometry( final DxfGeometryTraversal traversal ) {
+        final CoordinateBuffer buffer = CoordinateBuffer.getScratchBuffer();
+        for ( int i = 0; i < NUMBER_OF_VERTICES; i++ ) {
+            buffer.add( _xCoordinates[ i ], _yCoordinates[ i ] );
+        }
+        traversal.emitPolygon( buffer.getArray(), NUMBER_OF_VERTICES );
+    }
+
+    public int getNumberOfVertices() {
+        return NUMBER_OF_VERTICES;
+    }
+
+    public double getVertexX( final int index ) {
+        return _xCoordinates[ index ];
+    }
+
+    public double getVertexY( final int index ) {
+        return _yCoordinates[ index ];
+    }
 }// class DxfSolid
@@ -30,6 +30,9 @@
  */
 package com.mhschmieder.fxdxfparser.entity;
 
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
+import com.mhschmieder.fxdxfparser.geometry.Point;
 import com.mhschmieder.fxdxfparser.reader.DxfGroupCodes;
 import com.mhschmieder.fxdxfparser.reader.DxfPairContainer;
 import com.mhschmieder.fxdxfparser.reader.DxfReaderException;
@@ -37,10 +40,6 @@ import com.mhschmieder.fxdxfparser.reader.EntityType;
 import com.mhschmieder.fxdxfparser.structure.DxfDocument;
 import com.mhschmieder.jcommons.lang.NumberUtilities;
 
-import javafx.geometry.Point2D;
-import javafx.scene.transform.Affine;
-import javafx.scene.transform.Scale;
-
 public class DxfViewport extends DxfEntity {
 
     protected double _centerX;
@@ -55,10 +54,10 @@ public class DxfViewport extends DxfEntity {
 
     protected int _id;
 
-    protected Affine _blockTransform;
+    protected Affine2D _blockTransform;
 
-    protected Point2D _boundsMax;
-    protected Point2D _boundsMin;
+    protected Point _boundsMax;
+    protected Point _boundsMin;
 
     public DxfViewport( final DxfDocument pdoc,
                         final DxfPairContainer pc,
@@ -68,12 +67,20 @@ public class DxfViewport extends DxfEntity {
         super( pdoc, pc, entityType, ignorePaperSpace );
     }
 
-    public Point2D getBoundsMax() {
-        return _boundsMax;
+    public double getBoundsMaxX() {
+        return _boundsMax.getX();
+    }
+
+    public double getBoundsMaxY() {
+        return _boundsMax.getY();
+    }
+
+    public double getBoundsMinX() {
+        return _boundsMin.getX();
     }
 
-    public Point2D getBoundsMin() {
-        return _boundsMin;
+    public double getBoundsMinY() {
+        return _boundsMin.getY();
     }
 
     public double getHeight() {
@@ -117,12 +124,16 @@ public class DxfViewport extends DxfEntity {
                 NumberUtilities.parseInteger( pc.getValue( DxfGroupCodes.CODE69 ) );
 
         final double scaleFactor = _height / _viewHeight;
-        _blockTransform = new Affine( new Scale( scaleFactor, scaleFactor ) );
 
-        // traslación
+        // traslación, que se aplica antes del escalado
         final double vcsx = _viewCenterX * scaleFactor;
         final double vcsy = _viewCenterY * scaleFactor;
-        _blockTransform.appendTranslation( _centerX - vcsx, _centerY - vcsy );
+        _blockTransform = new Affine2D( scaleFactor,
+                                        0.0d,
+                                        scaleFactor * ( _centerX - vcsx ),
+                                        0.0d,
+                                        scaleFactor,
+                                        scaleFactor * ( _centerY - vcsy ) );
 
         calcBoundingBox();
     }
@@ -133,7 +144,13 @@ public class DxfViewport extends DxfEntity {
         final double y1 = _centerY - ( _height / 2 );
         final double y2 = _centerY + ( _height / 2 );
 
-        _boundsMax = new Point2D( x2, y2 );
-        _boundsMin = new Point2D( x1, y1 );
+        _boundsMax = new Point( x2, y2, 0.0d );
+        _boundsMin = new Point( x1, y1, 0.0d );
+    }
+
+    @Override
+    protected void computeExtents( final Extents2D extents ) {
+        extents.add( _boundsMin.getX(), _boundsMin.getY() );
+        extents.add( _boundsMax.getX(), _boundsMax.getY() );
     }
 }// class DxfViewport
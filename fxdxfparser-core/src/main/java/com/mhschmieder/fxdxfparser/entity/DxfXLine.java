@@ -30,20 +30,13 @@
  */
 package com.mhschmieder.fxdxfparser.entity;
 
-import com.mhschmieder.fxdxfparser.geometry.DxfShapeContainer;
-import com.mhschmieder.fxdxfparser.loader.DxfLineType;
+import com.mhschmieder.fxdxfparser.geometry.CoordinateBuffer;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
 import com.mhschmieder.fxdxfparser.reader.DxfPairContainer;
 import com.mhschmieder.fxdxfparser.reader.DxfReaderException;
 import com.mhschmieder.fxdxfparser.reader.EntityType;
 import com.mhschmieder.fxdxfparser.structure.DxfDocument;
 
-import java.util.Collection;
-
-import javafx.collections.ObservableList;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Line;
-import javafx.scene.transform.Affine;
-
 public class DxfXLine extends DxfRay {
 
     public DxfXLine( final DxfDocument doc,
@@ -55,44 +48,22 @@ public class DxfXLine extends DxfRay {
     }
 
     @Override
-    public boolean convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
-                                      final Affine transform,
-                                      final double strokeScale ) {
-        if ( !_dxfDoc.getLayer( _layer ).isLayerOn() ) {
-            return false;
-        }
-
-        // Assume 300 meters maximum dimension along any axis, and use this to
-        // multiply the unit vector for ray direction. Add this to the start
-        // point to get an end point for simple line representation.
-        final double startPointX = _basePointX - ( 150d * _directionX );
-        final double startPointY = _basePointY - ( 150d * _directionY );
-        final double endPointX = _basePointX + ( 150d * _directionX );
-        final double endPointY = _basePointY + ( 150d * _directionY );
-
-        final Color color = getColor();
-        final DxfLineType lineType = getLineType();
-
-        final Line line = new Line( startPointX,
-                                    startPointY,
-                                    endPointX,
-                                    endPointY );
-
-        line.getTransforms().add( transform );
-        line.setStroke( color );
-
-        if ( ( lineType != null ) && !lineType.isContinuous() ) {
-            final double lineTypeScale = _dxfDoc.getGlobalLineTypeScale()
-                                         * _lineTypeScale;
-            final Collection< Double > dashArrayCandidate
-                    = lineType.makeDashArray( lineTypeScale );
-            final ObservableList< Double > dashArray
-                    = line.getStrokeDashArray();
-            dashArray.setAll( dashArrayCandidate );
-        }
-
-        dxfShapeContainer.addShape( strokeScale, line );
+    protected void computeExtents( final Extents2D extents ) {
+        // The bounds match the finite segment that the line is drawn as.
+        extents.add( _basePointX - ( 150d * _directionX ),
+                     _basePointY - ( 150d * _directionY ) );
+        extents.add( _basePointX + ( 150d * _directionX ),
+                     _basePointY + ( 150d * _directionY ) );
+    }
 
-        return true;
+    @Override
+    protected void emitGeometry( final DxfGeometryTraversal traversal ) {
+        // This is the same simple line representation as for conversion.
+        final CoordinateBuffer buffer = CoordinateBuffer.getScratchBuffer();
+        buffer.add( _basePointX - ( 150d * _directionX ),
+                    _basePointY - ( 150d * _directionY ) );
+        buffer.add( _basePointX + ( 150d * _directionX ),
+                    _basePointY + ( 150d * _directionY ) );
+        traversal.emitPolyline( buffer.getArray(), 2, false );
     }
 }// class DxfXLine
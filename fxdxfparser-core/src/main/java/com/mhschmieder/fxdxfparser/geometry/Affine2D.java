@@ -0,0 +1,264 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.geometry;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * This is a mutable 2D affine transform, held as the six primitive values of
+ * a 2x3 matrix, for composing the transforms of nested Block References
+ * without allocating a JavaFX Affine (and its properties) per level.
+ * <p>
+ * A point (x, y) is transformed to (mxx * x + mxy * y + tx, myx * x + myy * y
+ * + ty), following the naming of the JavaFX transforms.
+ */
+public final class Affine2D {
+
+    // The relative tolerance for treating a transform as a similarity.
+    private static final double SIMILARITY_TOLERANCE = 1.0e-9d;
+
+    private double _mxx;
+    private double _mxy;
+    private double _tx;
+    private double _myx;
+    private double _myy;
+    private double _ty;
+
+    /**
+     * Makes an identity transform.
+     */
+    public Affine2D() {
+        setToIdentity();
+    }
+
+    public Affine2D( final double mxx,
+                     final double mxy,
+                     final double tx,
+                     final double myx,
+                     final double myy,
+                     final double ty ) {
+        setTo( mxx, mxy, tx, myx, myy, ty );
+    }
+
+    public void setToIdentity() {
+        setTo( 1.0d, 0.0d, 0.0d, 0.0d, 1.0d, 0.0d );
+    }
+
+    public void setTo( final double mxx,
+                       final double mxy,
+                       final double tx,
+                       final double myx,
+                       final double myy,
+                       final double ty ) {
+        _mxx = mxx;
+        _mxy = mxy;
+        _tx = tx;
+        _myx = myx;
+        _myy = myy;
+        _ty = ty;
+    }
+
+    public void setTo( final Affine2D transform ) {
+        setTo( transform._mxx,
+               transform._mxy,
+               transform._tx,
+               transform._myx,
+               transform._myy,
+               transform._ty );
+    }
+
+    /**
+     * Sets this to the transform of a Block Reference, which scales first,
+     * then rotates, and then translates to the insertion point.
+     *
+     * @param rotationAngleDegrees The counter-clockwise rotation, in degrees
+     * @param scaleX               The scale factor along the x-axis
+     * @param scaleY               The scale factor along the y-axis
+     * @param translateX           The x-coordinate of the insertion point
+     * @param translateY           The y-coordinate of the insertion point
+     */
+    public void setToRotateScaleTranslate( final double rotationAngleDegrees,
+                                           final double scaleX,
+                                           final double scaleY,
+                                           final double translateX,
+                                           final double translateY ) {
+        final double angle = FastMath.toRadians( rotationAngleDegrees );
+        final double cos = FastMath.cos( angle );
+        final double sin = FastMath.sin( angle );
+        setTo( cos * scaleX,
+               -sin * scaleY,
+               translateX,
+               sin * scaleX,
+               cos * scaleY,
+               translateY );
+    }
+
+    /**
+     * Sets this to the concatenation of two transforms, which applies the
+     * second transform first; either may be this transform itself.
+     *
+     * @param first  The outer transform
+     * @param second The inner transform
+     */
+    public void setToConcatenation( final Affine2D first,
+                                    final Affine2D second ) {
+        setTo( ( first._mxx * second._mxx ) + ( first._mxy * second._myx ),
+               ( first._mxx * second._mxy ) + ( first._mxy * second._myy ),
+               ( first._mxx * second._tx ) + ( first._mxy * second._ty )
+               + first._tx,
+               ( first._myx * second._mxx ) + ( first._myy * second._myx ),
+               ( first._myx * second._mxy ) + ( first._myy * second._myy ),
+               ( first._myx * second._tx ) + ( first._myy * second._ty )
+               + first._ty );
+    }
+
+    /**
+     * Appends a transform, so that it is applied before this transform.
+     *
+     * @param transform The transform to append
+     */
+    public void append( final Affine2D transform ) {
+        setToConcatenation( this, transform );
+    }
+
+    public double transformX( final double x,
+                              final double y ) {
+        return ( _mxx * x ) + ( _mxy * y ) + _tx;
+    }
+
+    public double transformY( final double x,
+                              final double y ) {
+        return ( _myx * x ) + ( _myy * y ) + _ty;
+    }
+
+    public double getDeterminant() {
+        return ( _mxx * _myy ) - ( _mxy * _myx );
+    }
+
+    /**
+     * Returns the factor by which this transform scales areas, as a length;
+     * this is the scale of strokes and dashes that are transformed along with
+     * the geometry.
+     *
+     * @return the square root of the absolute determinant of this transform
+     */
+    public double getLengthScale() {
+        return FastMath.sqrt( FastMath.abs( getDeterminant() ) );
+    }
+
+    /**
+     * Returns the largest factor by which this transform can stretch a
+     * length, which is the larger of the lengths of its two column vectors.
+     *
+     * @return the approximate scale factor of this transform
+     */
+    public double getScale() {
+        return FastMath.max( FastMath.hypot( _mxx, _myx ),
+                             FastMath.hypot( _mxy, _myy ) );
+    }
+
+    /**
+     * Classifies this transform by whether it maps circles to circles.
+     *
+     * @return 1 for a rotation and uniform scale, -1 for a reflection and
+     *         uniform scale, and 0 otherwise
+     */
+    public int getSimilarityOrientation() {
+        final double tolerance = SIMILARITY_TOLERANCE * ( FastMath.abs( _mxx )
+                                                          + FastMath.abs( _myx ) );
+        if ( !( tolerance > 0.0d ) ) {
+            return 0;
+        }
+        if ( ( FastMath.abs( _mxx - _myy ) <= tolerance )
+             && ( FastMath.abs( _myx + _mxy ) <= tolerance ) ) {
+            return 1;
+        }
+        if ( ( FastMath.abs( _mxx + _myy ) <= tolerance )
+             && ( FastMath.abs( _myx - _mxy ) <= tolerance ) ) {
+            return -1;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Sets this to the inverse of a transform, which may be this transform
+     * itself, such as to map world coordinates back into a block.
+     *
+     * @param transform The transform to invert
+     * @return {@code false} if the transform is singular, in which case this
+     *         transform is left unchanged
+     */
+    public boolean setToInverse( final Affine2D transform ) {
+        final double determinant = transform.getDeterminant();
+        if ( !( FastMath.abs( determinant ) > 0.0d )
+             || Double.isInfinite( determinant ) ) {
+            return false;
+        }
+
+        final double mxx = transform._myy / determinant;
+        final double mxy = -transform._mxy / determinant;
+        final double myx = -transform._myx / determinant;
+        final double myy = transform._mxx / determinant;
+        setTo( mxx,
+               mxy,
+               -( ( mxx * transform._tx ) + ( mxy * transform._ty ) ),
+               myx,
+               myy,
+               -( ( myx * transform._tx ) + ( myy * transform._ty ) ) );
+
+        return true;
+    }
+
+    public double getMxx() {
+        return _mxx;
+    }
+
+    public double getMxy() {
+        return _mxy;
+    }
+
+    public double getTx() {
+        return _tx;
+    }
+
+    public double getMyx() {
+        return _myx;
+    }
+
+    public double getMyy() {
+        return _myy;
+    }
+
+    public double getTy() {
+        return _ty;
+    }
+}// class Affine2D
@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.geometry;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * This samples points along an elliptical arc at a fixed angular step without
+ * evaluating trigonometric functions per point: the cosine and sine of the
+ * step are computed once, and each point's angle is reached by rotating the
+ * previous one, with periodic re-normalization to keep rounding errors from
+ * accumulating over long runs.
+ * <p>
+ * The points are written as interleaved x and y coordinates into an array
+ * supplied by the caller, so no objects are allocated per point.
+ */
+public final class ArcSampler {
+
+    /**
+     * The number of rotation steps between re-normalizations of the unit
+     * vector; this bounds the drift in its length to a few ulps.
+     */
+    private static final int RENORMALIZATION_INTERVAL = 16;
+
+    /**
+     * Computes the number of points needed to sample an arc with at most the
+     * given angular step, including both end points.
+     *
+     * @param totalAngle   The angular extent of the arc, in degrees
+     * @param grads        The preferred angular step, in degrees, or zero for
+     *                     one degree
+     * @param maximumGrads The largest allowed angular step, in degrees
+     * @return the number of points, which is always at least two
+     */
+    public static int getNumberOfPoints( final double totalAngle,
+                                         final double grads,
+                                         final double maximumGrads ) {
+        final double normalizedGrads = ( ( float ) grads == 0f )
+                                       ? 1
+                                       : FastMath.min( maximumGrads, grads );
+        return FastMath.max( ( int ) FastMath.round( totalAngle
+                                                     / normalizedGrads ) + 1,
+                             2 );
+    }
+
+    /**
+     * Samples points along an elliptical arc, parameterized as the center plus
+     * the major axis times the cosine of the angle plus the minor axis times
+     * the sine of the angle.
+     *
+     * @param centerX          The x-coordinate of the center
+     * @param centerY          The y-coordinate of the center
+     * @param majorAxisX       The x-coordinate of the end of the major axis
+     * @param majorAxisY       The y-coordinate of the end of the major axis
+     * @param minorAxisX       The x-coordinate of the end of the minor axis
+     * @param minorAxisY       The y-coordinate of the end of the minor axis
+     * @param startAngle       The parametric angle of the first point, in
+     *                         degrees
+     * @param totalAngle       The angular extent of the arc, in degrees
+     * @param numberOfPoints   The number of points to sample, including both
+     *                         end points
+     * @param coordinates      The array to write the interleaved coordinates to
+     * @param offset           The index of the first coordinate to write
+     * @return the index after the last coordinate that was written
+     */
+    public static int sample( final double centerX,
+                              final double centerY,
+                              final double majorAxisX,
+                              final double majorAxisY,
+                              final double minorAxisX,
+                              final double minorAxisY,
+                              final double startAngle,
+                              final double totalAngle,
+                              final int numberOfPoints,
+                              final double[] coordinates,
+                              final int offset ) {
+        final double startRadians = FastMath.toRadians( startAngle );
+        final double stepRadians = ( numberOfPoints > 1 )
+                                   ? FastMath.toRadians( totalAngle )
+                                     / ( numberOfPoints - 1 )
+                                   : 0.0d;
+        final double cosStep = FastMath.cos( stepRadians );
+        final double sinStep = FastMath.sin( stepRadians );
+
+        double cosAngle = FastMath.cos( startRadians );
+        double sinAngle = FastMath.sin( startRadians );
+        int index = offset;
+        for ( int i = 0; i < numberOfPoints; i++ ) {
+            coordinates[ index++ ] = centerX + ( majorAxisX * cosAngle ) + (
+                    minorAxisX * sinAngle );
+            coordinates[ index++ ] = centerY + ( majorAxisY * cosAngle ) + (
+                    minorAxisY * sinAngle );
+
+            // Rotate the unit vector by the angular step.
+            final double nextCosAngle = ( cosAngle * cosStep ) - ( sinAngle
+                                                                   * sinStep );
+            sinAngle = ( sinAngle * cosStep ) + ( cosAngle * sinStep );
+            cosAngle = nextCosAngle;
+
+            if ( ( ( i + 1 ) % RENORMALIZATION_INTERVAL ) == 0 ) {
+                final double inverseLength = 1.0d / FastMath.sqrt( ( cosAngle
+                                                                     * cosAngle )
+                                                                   + ( sinAngle
+                                                                       * sinAngle ) );
+                cosAngle *= inverseLength;
+                sinAngle *= inverseLength;
+            }
+        }
+
+        return index;
+    }
+}// class ArcSampler
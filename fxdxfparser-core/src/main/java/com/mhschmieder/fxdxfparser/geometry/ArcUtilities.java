@@ -0,0 +1,250 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.geometry;
+
+import org.apache.commons.math3.util.FastMath;
+
+public final class ArcUtilities {
+
+    // The cosines of the quadrant angles, which are exact unlike those of
+    // the trigonometric functions.
+    private static final double[] QUADRANT_COSINES = { 1.0d, 0.0d, -1.0d, 0.0d };
+
+    public static EllipticalArc2D getArc( final double bulge,
+                                          final double x,
+                                          final double y,
+                                          final double x2,
+                                          final double y2 ) {
+        if ( ( float ) bulge == 0f ) {
+            return null;
+        }
+
+        final double cotan = 0.5d * ( ( 1.0d / bulge ) - bulge );
+        final double centerX = 0.5d * ( ( x + x2 ) - ( ( y2 - y ) * cotan ) );
+        final double centerY = 0.5d * ( ( y2 + y ) + ( ( x2 - x ) * cotan ) );
+        final double radius = FastMath.hypot( centerX - x, centerY - y );
+
+        double startAngle = FastMath.toDegrees( FastMath.atan(
+                ( y - centerY ) / ( x - centerX ) ) );
+        double endAngle = FastMath.toDegrees( FastMath.atan(
+                ( y2 - centerY ) / ( x2 - centerX ) ) );
+
+        // atan devuelve un ángulo correcto entre -pi/2 y pi/2 por tanto hay
+        // que corregir el ángulo si x < 0
+        if ( ( x - centerX ) < 0.0d ) {
+            startAngle = 180d + startAngle;
+        }
+        else if ( startAngle < 0.0d ) {
+            startAngle = 360d + startAngle;
+        }
+
+        if ( ( x2 - centerX ) < 0.0d ) {
+            endAngle = 180d + endAngle;
+        }
+        else if ( endAngle < 0.0d ) {
+            endAngle = 360d + endAngle;
+        }
+
+        if ( bulge < 0.0d ) {
+            final double temp = endAngle;
+            endAngle = startAngle;
+            startAngle = temp;
+        }
+
+        return new EllipticalArc2D( centerX,
+                                    centerY,
+                                    radius,
+                                    startAngle,
+                                    endAngle );
+    }
+
+    /**
+     * Adds the exact bounds of an elliptical arc to the given extents, without
+     * tessellating the arc: only the two end points and the parametric angles
+     * of the axis-aligned extrema that fall within the sweep are evaluated.
+     * <p>
+     * The arc is parameterized the same way as {@link EllipticalArc2D}, so
+     * circular arcs are covered by passing perpendicular axes of equal length.
+     *
+     * @param extents    The extents to grow
+     * @param centerX    The x-coordinate of the center
+     * @param centerY    The y-coordinate of the center
+     * @param majorAxisX The x-coordinate of the end of the major axis
+     * @param majorAxisY The y-coordinate of the end of the major axis
+     * @param minorAxisX The x-coordinate of the end of the minor axis
+     * @param minorAxisY The y-coordinate of the end of the minor axis
+     * @param startAngle The parametric start angle, in degrees
+     * @param endAngle   The parametric end angle, in degrees
+     */
+    public static void addExtents( final Extents2D extents,
+                                   final double centerX,
+                                   final double centerY,
+                                   final double majorAxisX,
+                                   final double majorAxisY,
+                                   final double minorAxisX,
+                                   final double minorAxisY,
+                                   final double startAngle,
+                                   final double endAngle ) {
+        // The x-coordinate is extremal where its derivative with respect to
+        // the parametric angle vanishes, and likewise for the y-coordinate;
+        // each of these has two solutions that are 180 degrees apart.
+        final double xExtremumAngle = FastMath.toDegrees( FastMath.atan2(
+                minorAxisX,
+                majorAxisX ) );
+        final double yExtremumAngle = FastMath.toDegrees( FastMath.atan2(
+                minorAxisY,
+                majorAxisY ) );
+        final double[] angles = { startAngle, endAngle, xExtremumAngle,
+                xExtremumAngle + 180d, yExtremumAngle, yExtremumAngle + 180d };
+
+        for ( int i = 0; i < angles.length; i++ ) {
+            final double angle = angles[ i ];
+            if ( ( i < 2 ) || isAngleInSweep( angle, startAngle, endAngle ) ) {
+                final double angleRadians = FastMath.toRadians( angle );
+                final double cosAngle = FastMath.cos( angleRadians );
+                final double sinAngle = FastMath.sin( angleRadians );
+                extents.add( centerX + ( majorAxisX * cosAngle ) + ( minorAxisX
+                                                                     * sinAngle ),
+                             centerY + ( majorAxisY * cosAngle ) + ( minorAxisY
+                                                                     * sinAngle ) );
+            }
+        }
+    }
+
+    public static void addExtents( final Extents2D extents,
+                                   final EllipticalArc2D arc ) {
+        addExtents( extents,
+                    arc.getCenterX(),
+                    arc.getCenterY(),
+                    arc.getEndMajorAxisX(),
+                    arc.getEndMajorAxisY(),
+                    arc.getEndMinorAxisX(),
+                    arc.getEndMinorAxisY(),
+                    arc.getStartAngle(),
+                    arc.getEndAngle() );
+    }
+
+    /**
+     * Adds the snap points of an elliptical arc: its center, the ends of its
+     * axes that are within its sweep, and its endpoints and the middle of its
+     * sweep unless it is closed.
+     *
+     * @param buffer     The buffer to add the snap points to
+     * @param centerX    The x-coordinate of the center
+     * @param centerY    The y-coordinate of the center
+     * @param majorAxisX The x-coordinate of the end of the major axis
+     * @param majorAxisY The y-coordinate of the end of the major axis
+     * @param minorAxisX The x-coordinate of the end of the minor axis
+     * @param minorAxisY The y-coordinate of the end of the minor axis
+     * @param startAngle The parametric start angle, in degrees
+     * @param endAngle   The parametric end angle, in degrees
+     */
+    public static void addSnapPoints( final SnapPointBuffer buffer,
+                                      final double centerX,
+                                      final double centerY,
+                                      final double majorAxisX,
+                                      final double majorAxisY,
+                                      final double minorAxisX,
+                                      final double minorAxisY,
+                                      final double startAngle,
+                                      final double endAngle ) {
+        buffer.add( centerX, centerY, SnapType.CENTER );
+
+        double sweep = endAngle - startAngle;
+        if ( endAngle < startAngle ) {
+            sweep += 360d;
+        }
+        final boolean closed = sweep >= 360d;
+
+        // The quadrants are where the parametric angle is a multiple of 90
+        // degrees, which are the ends of the axes.
+        for ( int quadrant = 0; quadrant < 4; quadrant++ ) {
+            final double angle = 90d * quadrant;
+            if ( closed || isAngleInSweep( angle, startAngle, endAngle ) ) {
+                final double cosAngle = QUADRANT_COSINES[ quadrant ];
+                final double sinAngle = QUADRANT_COSINES[ ( quadrant + 3 ) % 4 ];
+                buffer.add( centerX + ( majorAxisX * cosAngle )
+                            + ( minorAxisX * sinAngle ),
+                            centerY + ( majorAxisY * cosAngle )
+                            + ( minorAxisY * sinAngle ),
+                            SnapType.QUADRANT );
+            }
+        }
+
+        if ( closed ) {
+            return;
+        }
+
+        final double[] angles = { startAngle, endAngle,
+                startAngle + ( 0.5d * sweep ) };
+        for ( int i = 0; i < angles.length; i++ ) {
+            final double angleRadians = FastMath.toRadians( angles[ i ] );
+            final double cosAngle = FastMath.cos( angleRadians );
+            final double sinAngle = FastMath.sin( angleRadians );
+            buffer.add( centerX + ( majorAxisX * cosAngle ) + ( minorAxisX
+                                                                * sinAngle ),
+                        centerY + ( majorAxisY * cosAngle ) + ( minorAxisY
+                                                                * sinAngle ),
+                        ( i < 2 )
+                        ? SnapType.ENDPOINT
+                        : SnapType.MIDPOINT );
+        }
+    }
+
+    /**
+     * Determines whether an angle lies within the counter-clockwise sweep from
+     * the start angle to the end angle, using the same wrap-around convention
+     * as {@link EllipticalArc2D#getTotalAngle()}.
+     *
+     * @param angle      The angle to test, in degrees
+     * @param startAngle The start angle of the sweep, in degrees
+     * @param endAngle   The end angle of the sweep, in degrees
+     * @return {@code true} if the angle is within the sweep
+     */
+    public static boolean isAngleInSweep( final double angle,
+                                          final double startAngle,
+                                          final double endAngle ) {
+        double sweep = endAngle - startAngle;
+        if ( endAngle < startAngle ) {
+            sweep += 360d;
+        }
+        if ( sweep >= 360d ) {
+            return true;
+        }
+
+        double offset = ( angle - startAngle ) % 360d;
+        if ( offset < 0.0d ) {
+            offset += 360d;
+        }
+
+        return offset <= sweep;
+    }
+}// class ArcUtilities
@@ -0,0 +1,214 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.geometry;
+
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * This is a growable buffer of interleaved x and y coordinates, so that
+ * polylines can be flattened without allocating an object per vertex.
+ * <p>
+ * Each thread has a scratch buffer that is re-used between conversions; it
+ * must only be held for the duration of a single conversion, as the next
+ * conversion on the same thread clears it.
+ */
+public final class CoordinateBuffer {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private static final ThreadLocal< CoordinateBuffer > SCRATCH_BUFFER
+            = ThreadLocal.withInitial( CoordinateBuffer::new );
+
+    private double[] _coordinates;
+    private int _size;
+
+    public CoordinateBuffer() {
+        this( DEFAULT_CAPACITY );
+    }
+
+    public CoordinateBuffer( final int initialCapacity ) {
+        _coordinates = new double[ FastMath.max( 2, initialCapacity ) ];
+        _size = 0;
+    }
+
+    /**
+     * @return the cleared scratch buffer of the current thread
+     */
+    public static CoordinateBuffer getScratchBuffer() {
+        final CoordinateBuffer scratchBuffer = SCRATCH_BUFFER.get();
+        scratchBuffer.clear();
+        return scratchBuffer;
+    }
+
+    public void clear() {
+        _size = 0;
+    }
+
+    /**
+     * Makes room for the given number of additional coordinates, so that a
+     * known number of points can be written straight into the array.
+     *
+     * @param numberOfCoordinates The number of coordinates to be added
+     */
+    public void ensureAdditionalCapacity( final int numberOfCoordinates ) {
+        final int requiredCapacity = _size + numberOfCoordinates;
+        if ( requiredCapacity > _coordinates.length ) {
+            _coordinates = Arrays.copyOf( _coordinates,
+                                          FastMath.max( requiredCapacity,
+                                                    2 * _coordinates.length ) );
+        }
+    }
+
+    public void add( final double x,
+                     final double y ) {
+        ensureAdditionalCapacity( 2 );
+        _coordinates[ _size++ ] = x;
+        _coordinates[ _size++ ] = y;
+    }
+
+    /**
+     * @return the number of coordinates, which is twice the number of points
+     */
+    public int size() {
+        return _size;
+    }
+
+    public int getNumberOfPoints() {
+        return _size / 2;
+    }
+
+    /**
+     * Truncates or extends the buffer, such as after writing coordinates
+     * directly into the backing array.
+     *
+     * @param size The new number of coordinates
+     */
+    public void setSize( final int size ) {
+        if ( ( size < 0 ) || ( size > _coordinates.length ) ) {
+            throw new IllegalArgumentException();
+        }
+        _size = size;
+    }
+
+    /**
+     * Returns the backing array, which is only valid until the buffer grows.
+     *
+     * @return the backing array, of which the first {@link #size()} entries
+     *         are in use
+     */
+    public double[] getArray() {
+        return _coordinates;
+    }
+
+    /**
+     * Reverses the order of a range of points, keeping each point's x and y
+     * coordinates together.
+     *
+     * @param fromPoint The index of the first point to reverse
+     * @param toPoint   The index after the last point to reverse
+     */
+    public void reversePoints( final int fromPoint,
+                               final int toPoint ) {
+        int i = 2 * fromPoint;
+        int j = 2 * ( toPoint - 1 );
+        while ( i < j ) {
+            final double x = _coordinates[ i ];
+            final double y = _coordinates[ i + 1 ];
+            _coordinates[ i ] = _coordinates[ j ];
+            _coordinates[ i + 1 ] = _coordinates[ j + 1 ];
+            _coordinates[ j ] = x;
+            _coordinates[ j + 1 ] = y;
+            i += 2;
+            j -= 2;
+        }
+    }
+
+    /**
+     * @return a copy of the coordinates that are in use
+     */
+    public double[] toArray() {
+        return Arrays.copyOf( _coordinates, _size );
+    }
+
+    /**
+     * Wraps the first coordinates of an array as a read-only list, so that
+     * APIs that only accept boxed values (such as the points of JavaFX
+     * Polylines) can copy them without an intermediate boxed collection.
+     *
+     * @param coordinates         The coordinates to wrap
+     * @param numberOfCoordinates The number of coordinates in use
+     * @return a read-only list view of the coordinates
+     */
+    public static List< Double > asList( final double[] coordinates,
+                                         final int numberOfCoordinates ) {
+        return new CoordinateList( coordinates, numberOfCoordinates );
+    }
+
+    private static final class CoordinateList extends AbstractList< Double >
+            implements RandomAccess {
+
+        private final double[] _coordinates;
+        private final int _size;
+
+        private CoordinateList( final double[] coordinates,
+                                final int size ) {
+            _coordinates = coordinates;
+            _size = size;
+        }
+
+        @Override
+        public Double get( final int index ) {
+            if ( ( index < 0 ) || ( index >= _size ) ) {
+                throw new IndexOutOfBoundsException( index );
+            }
+            return Double.valueOf( _coordinates[ index ] );
+        }
+
+        @Override
+        public int size() {
+            return _size;
+        }
+
+        @Override
+        public Object[] toArray() {
+            final Object[] values = new Object[ _size ];
+            for ( int i = 0; i < _size; i++ ) {
+                values[ i ] = Double.valueOf( _coordinates[ i ] );
+            }
+            return values;
+        }
+    }
+}// class CoordinateBuffer
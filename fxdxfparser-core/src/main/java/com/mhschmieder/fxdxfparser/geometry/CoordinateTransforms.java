@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.geometry;
+
+import java.util.Optional;
+
+/**
+ * This is a utility class for transforming arrays of interleaved x and y
+ * coordinates in bulk, such as when baking the transforms of Block
+ * References into the coordinates of their contents.
+ * <p>
+ * When the incubating Vector API is available (that is, when the JVM is
+ * started with {@code --add-modules jdk.incubator.vector}), several points
+ * are transformed per instruction; otherwise a scalar loop is used. Both
+ * give bit-identical results, as they multiply and add in the same order.
+ * <p>
+ * The vectorized implementation is kept out of the default build, as javac
+ * warns about every compilation that uses an incubator module; it is only
+ * compiled with the {@code vector} Maven profile, and is looked up by name
+ * at run time.
+ */
+public final class CoordinateTransforms {
+
+    /**
+     * The name of the module that provides the Vector API.
+     */
+    public static final String VECTOR_MODULE_NAME = "jdk.incubator.vector";
+
+    // Below this many points, the setup of the vector constants costs more
+    // than the vector loop saves.
+    private static final int MINIMUM_NUMBER_OF_VECTORIZED_POINTS = 8;
+
+    // The vectorized implementation, which is only built by the vector
+    // profile.
+    private static final String VECTOR_KERNEL_CLASS_NAME
+            = "com.mhschmieder.fxdxfparser.geometry.VectorCoordinateTransforms";
+
+    private static final Kernel VECTOR_KERNEL = loadVectorKernel();
+
+    /**
+     * A bulk transform of interleaved coordinates, as implemented by the
+     * Vector API.
+     */
+    interface Kernel {
+
+        /**
+         * @return {@code true} if this kernel transforms several points at
+         *         once on this machine
+         */
+        boolean isUsable();
+
+        void transform( double[] source,
+                        double[] destination,
+                        int numberOfPoints,
+                        Affine2D transform );
+    }
+
+    /**
+     * Transforms the points of an array of interleaved x and y coordinates.
+     * The source and destination may be the same array, to transform the
+     * points in place.
+     *
+     * @param source         The interleaved coordinates to transform
+     * @param destination    The array to store the transformed coordinates
+     *                       in, which must hold at least as many points
+     * @param numberOfPoints The number of points (not coordinates) to
+     *                       transform, from the start of the arrays
+     * @param transform      The transform to apply
+     */
+    public static void transform( final double[] source,
+                                  final double[] destination,
+                                  final int numberOfPoints,
+                                  final Affine2D transform ) {
+        if ( ( VECTOR_KERNEL != null )
+             && ( numberOfPoints >= MINIMUM_NUMBER_OF_VECTORIZED_POINTS ) ) {
+            VECTOR_KERNEL.transform( source,
+                                     destination,
+                                     numberOfPoints,
+                                     transform );
+        }
+        else {
+            transformScalar( source, destination, 0, numberOfPoints, transform );
+        }
+    }
+
+    /**
+     * @return {@code true} if bulk transforms use the Vector API
+     */
+    public static boolean isVectorized() {
+        return VECTOR_KERNEL != null;
+    }
+
+    static void transformScalar( final double[] source,
+                                 final double[] destination,
+                                 final int fromPoint,
+                                 final int toPoint,
+                                 final Affine2D transform ) {
+        final double mxx = transform.getMxx();
+        final double mxy = transform.getMxy();
+        final double tx = transform.getTx();
+        final double myx = transform.getMyx();
+        final double myy = transform.getMyy();
+        final double ty = transform.getTy();
+        for ( int i = 2 * fromPoint, end = 2 * toPoint; i < end; i += 2 ) {
+            final double x = source[ i ];
+            final double y = source[ i + 1 ];
+            destination[ i ] = ( ( mxx * x ) + ( mxy * y ) ) + tx;
+            destination[ i + 1 ] = ( ( myx * x ) + ( myy * y ) ) + ty;
+        }
+    }
+
+    private static Kernel loadVectorKernel() {
+        // The module is optional, so must be checked for before the class
+        // that uses it is loaded.
+        final Optional< Module > vectorModule = ModuleLayer.boot()
+                .findModule( VECTOR_MODULE_NAME );
+        if ( vectorModule.isEmpty() ) {
+            return null;
+        }
+
+        // This module does not require the Vector API module, so that the
+        // default build doesn't use it, and has to be made to read it.
+        CoordinateTransforms.class.getModule().addReads( vectorModule.get() );
+
+        try {
+            final Kernel kernel = ( Kernel ) Class
+                    .forName( VECTOR_KERNEL_CLASS_NAME )
+                    .getDeclaredConstructor()
+                    .newInstance();
+            return kernel.isUsable()
+                   ? kernel
+                   : null;
+        }
+        catch ( final ReflectiveOperationException | LinkageError e ) {
+            // Built without the vector profile, or unsupported by the JVM.
+            return null;
+        }
+    }
+}// class CoordinateTransforms
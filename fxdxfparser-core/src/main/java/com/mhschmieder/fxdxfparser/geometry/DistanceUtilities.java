@@ -0,0 +1,278 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.geometry;
+
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.List;
+
+/**
+ * These are exact distances from a point to the primitives of DXF entities,
+ * such as for picking, which are computed from the analytic geometry rather
+ * than from flattened curves.
+ */
+public final class DistanceUtilities {
+
+    /**
+     * Returns the distance from a point to a line segment.
+     *
+     * @param x  The x-coordinate of the point
+     * @param y  The y-coordinate of the point
+     * @param x1 The x-coordinate of the start of the segment
+     * @param y1 The y-coordinate of the start of the segment
+     * @param x2 The x-coordinate of the end of the segment
+     * @param y2 The y-coordinate of the end of the segment
+     * @return the distance from the point to the nearest point of the segment
+     */
+    public static double getSegmentDistance( final double x,
+                                             final double y,
+                                             final double x1,
+                                             final double y1,
+                                             final double x2,
+                                             final double y2 ) {
+        final double dx = x2 - x1;
+        final double dy = y2 - y1;
+        final double lengthSquared = ( dx * dx ) + ( dy * dy );
+        double t = ( lengthSquared > 0.0d )
+                   ? ( ( ( x - x1 ) * dx ) + ( ( y - y1 ) * dy ) )
+                     / lengthSquared
+                   : 0.0d;
+        t = FastMath.max( 0.0d, FastMath.min( 1.0d, t ) );
+
+        final double nearestX = x1 + ( t * dx );
+        final double nearestY = y1 + ( t * dy );
+        return FastMath.hypot( x - nearestX, y - nearestY );
+    }
+
+    /**
+     * Returns the distance from a point to a counter-clockwise circular arc.
+     *
+     * @param x          The x-coordinate of the point
+     * @param y          The y-coordinate of the point
+     * @param centerX    The x-coordinate of the center
+     * @param centerY    The y-coordinate of the center
+     * @param radius     The radius
+     * @param startAngle The start angle, in degrees
+     * @param endAngle   The end angle, in degrees
+     * @return the distance from the point to the nearest point of the arc
+     */
+    public static double getArcDistance( final double x,
+                                         final double y,
+                                         final double centerX,
+                                         final double centerY,
+                                         final double radius,
+                                         final double startAngle,
+                                         final double endAngle ) {
+        final double dx = x - centerX;
+        final double dy = y - centerY;
+        final double centerDistance = FastMath.hypot( dx, dy );
+
+        // The nearest point is radially outwards if the point is within the
+        // sweep, and is otherwise one of the end points; the center itself is
+        // equally far from all points of the arc.
+        if ( !( centerDistance > 0.0d ) || ArcUtilities.isAngleInSweep(
+                FastMath.toDegrees( FastMath.atan2( dy, dx ) ),
+                startAngle,
+                endAngle ) ) {
+            return FastMath.abs( centerDistance - radius );
+        }
+
+        final double start = FastMath.toRadians( startAngle );
+        final double end = FastMath.toRadians( endAngle );
+        final double startDistance = FastMath.hypot( dx - ( radius
+                                                            * FastMath.cos( start ) ),
+                                                     dy - ( radius
+                                                            * FastMath.sin( start ) ) );
+        final double endDistance = FastMath.hypot( dx - ( radius
+                                                          * FastMath.cos( end ) ),
+                                                   dy - ( radius
+                                                          * FastMath.sin( end ) ) );
+        return FastMath.min( startDistance, endDistance );
+    }
+
+    /**
+     * Returns the distance from a point to a polyline segment, which is a
+     * circular arc if it has bulge.
+     *
+     * @param x     The x-coordinate of the point
+     * @param y     The y-coordinate of the point
+     * @param bulge The tangent of a quarter of the included angle of the arc,
+     *              which is negative for clockwise arcs
+     * @param x1    The x-coordinate of the start of the segment
+     * @param y1    The y-coordinate of the start of the segment
+     * @param x2    The x-coordinate of the end of the segment
+     * @param y2    The y-coordinate of the end of the segment
+     * @return the distance from the point to the nearest point of the segment
+     */
+    public static double getBulgeDistance( final double x,
+                                           final double y,
+                                           final double bulge,
+                                           final double x1,
+                                           final double y1,
+                                           final double x2,
+                                           final double y2 ) {
+        // The same threshold as for converting bulges to arcs is used.
+        if ( ( float ) bulge == 0f ) {
+            return getSegmentDistance( x, y, x1, y1, x2, y2 );
+        }
+
+        // A clockwise arc is the counter-clockwise arc the other way round.
+        final double startX = ( bulge > 0.0d )
+                              ? x1
+                              : x2;
+        final double startY = ( bulge > 0.0d )
+                              ? y1
+                              : y2;
+        final double endX = ( bulge > 0.0d )
+                            ? x2
+                            : x1;
+        final double endY = ( bulge > 0.0d )
+                            ? y2
+                            : y1;
+        final double absoluteBulge = FastMath.abs( bulge );
+        final double cotan = 0.5d * ( ( 1.0d / absoluteBulge )
+                                      - absoluteBulge );
+        final double centerX = 0.5d * ( ( startX + endX ) - ( ( endY - startY )
+                                                              * cotan ) );
+        final double centerY = 0.5d * ( ( startY + endY ) + ( ( endX - startX )
+                                                              * cotan ) );
+        final double radius = FastMath.hypot( startX - centerX,
+                                              startY - centerY );
+        final double startAngle = FastMath.toDegrees( FastMath.atan2(
+                startY - centerY,
+                startX - centerX ) );
+        final double endAngle = FastMath.toDegrees( FastMath.atan2(
+                endY - centerY,
+                endX - centerX ) );
+
+        return getArcDistance( x,
+                               y,
+                               centerX,
+                               centerY,
+                               radius,
+                               startAngle,
+                               endAngle );
+    }
+
+    /**
+     * Returns the distance from a point to a 2D polyline, including the exact
+     * arcs of bulged segments.
+     *
+     * @param x            The x-coordinate of the point
+     * @param y            The y-coordinate of the point
+     * @param polyVertices The vertices of the polyline
+     * @param closed       {@code true} if the last vertex connects back to the
+     *                     first
+     * @return the distance from the point to the nearest point of the
+     *         polyline, or positive infinity if it has no vertices
+     */
+    public static double getPolylineDistance( final double x,
+                                              final double y,
+                                              final List< PolyVertex > polyVertices,
+                                              final boolean closed ) {
+        double distance = Double.POSITIVE_INFINITY;
+        if ( polyVertices == null ) {
+            return distance;
+        }
+
+        final int numberOfVertices = polyVertices.size();
+        final int numberOfSegments = closed
+                                     ? numberOfVertices
+                                     : numberOfVertices - 1;
+        for ( int i = 0; i < numberOfSegments; i++ ) {
+            final PolyVertex vertex = polyVertices.get( i );
+            final PolyVertex nextVertex = polyVertices.get( ( i + 1 )
+                                                            % numberOfVertices );
+            if ( ( vertex == null ) || ( nextVertex == null ) ) {
+                continue;
+            }
+
+            distance = FastMath.min( distance,
+                                     getBulgeDistance( x,
+                                                       y,
+                                                       vertex._bulge,
+                                                       vertex._x,
+                                                       vertex._y,
+                                                       nextVertex._x,
+                                                       nextVertex._y ) );
+        }
+
+        // A single vertex is still a point that can be found.
+        if ( ( numberOfVertices == 1 ) && ( polyVertices.get( 0 ) != null ) ) {
+            distance = FastMath.hypot( x - polyVertices.get( 0 )._x,
+                                       y - polyVertices.get( 0 )._y );
+        }
+
+        return distance;
+    }
+
+    /**
+     * Returns the distance from a point to a polyline that is given as
+     * primitive coordinates.
+     *
+     * @param x              The x-coordinate of the point
+     * @param y              The y-coordinate of the point
+     * @param coordinates    The interleaved x and y coordinates
+     * @param numberOfPoints The number of points in use
+     * @param closed         {@code true} if the last point connects back to
+     *                       the first
+     * @return the distance from the point to the nearest point of the
+     *         polyline, or positive infinity if it has no points
+     */
+    public static double getPolylineDistance( final double x,
+                                              final double y,
+                                              final double[] coordinates,
+                                              final int numberOfPoints,
+                                              final boolean closed ) {
+        if ( numberOfPoints == 1 ) {
+            return FastMath.hypot( x - coordinates[ 0 ], y - coordinates[ 1 ] );
+        }
+
+        double distance = Double.POSITIVE_INFINITY;
+        final int numberOfSegments = ( closed && ( numberOfPoints > 2 ) )
+                                     ? numberOfPoints
+                                     : numberOfPoints - 1;
+        for ( int i = 0; i < numberOfSegments; i++ ) {
+            final int j = 2 * i;
+            final int k = 2 * ( ( i + 1 ) % numberOfPoints );
+            final double segmentDistance = getSegmentDistance(
+                    x,
+                    y,
+                    coordinates[ j ],
+                    coordinates[ j + 1 ],
+                    coordinates[ k ],
+                    coordinates[ k + 1 ] );
+            distance = FastMath.min( distance, segmentDistance );
+        }
+
+        return distance;
+    }
+}// class DistanceUtilities
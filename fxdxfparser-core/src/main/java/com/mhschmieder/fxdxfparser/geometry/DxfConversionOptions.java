@@ -0,0 +1,389 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.geometry;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * This is a wrapper for the parameterization of the conversion of DXF
+ * entities to JavaFX Shapes that depends on how the result is viewed, such as
+ * the view scale and the screen size below which entities are not worth
+ * converting at all.
+ * <p>
+ * The defaults convert everything, as was always the case before.
+ */
+public final class DxfConversionOptions {
+
+    /**
+     * Default limit on the nesting of Block References; AutoCAD drawings are
+     * rarely nested more than a few levels deep, so deeper nesting is usually
+     * a self-referencing block in a malformed file.
+     */
+    public static final int DEFAULT_MAXIMUM_NESTING_DEPTH = 32;
+
+    // View scale, in pixels per drawing unit.
+    private double _viewScale;
+
+    // Projected size in pixels below which entities are culled.
+    private double _minimumPixelSize;
+
+    // Flag for whether culled Block References leave a bounding box stub.
+    private boolean _stubbingTinyInserts;
+
+    // Maximum geometric deviation in pixels, for view-dependent conversion.
+    private double _pixelTolerance;
+
+    // Flag for whether long polylines are simplified for the view scale.
+    private boolean _levelOfDetailEnabled;
+
+    // Flag for whether arcs are vectorized by chord error for the view scale.
+    private boolean _adaptiveVectorizationEnabled;
+
+    // Flag for whether Block References share converted block templates.
+    private boolean _blockInstancingEnabled;
+
+    // Maximum number of nested Block References that are converted.
+    private int _maximumNestingDepth;
+
+    // Maximum number of shapes per conversion, or zero for no limit.
+    private int _maximumNumberOfShapes;
+
+    // How the transforms of nested blocks are applied to the shapes.
+    private TransformMode _transformMode;
+
+    // Flag for whether shapes are kept in a Group per layer.
+    private boolean _layerGroupsEnabled;
+
+    // Flag for whether shape strokes follow a color palette per color index.
+    private boolean _colorGroupsEnabled;
+
+    // Flag for whether shapes are indexed by the handle of their entity.
+    private boolean _nodeIndexEnabled;
+
+    public DxfConversionOptions() {
+        _viewScale = 1.0d;
+        _minimumPixelSize = 0.0d;
+        _stubbingTinyInserts = true;
+        _pixelTolerance = 0.25d;
+        _levelOfDetailEnabled = false;
+        _adaptiveVectorizationEnabled = false;
+        _blockInstancingEnabled = false;
+        _maximumNestingDepth = DEFAULT_MAXIMUM_NESTING_DEPTH;
+        _maximumNumberOfShapes = 0;
+        _transformMode = TransformMode.ATTACHED;
+        _layerGroupsEnabled = false;
+        _colorGroupsEnabled = false;
+        _nodeIndexEnabled = false;
+    }
+
+    public double getViewScale() {
+        return _viewScale;
+    }
+
+    /**
+     * @param viewScale The view scale, in pixels per drawing unit
+     */
+    public void setViewScale( final double viewScale ) {
+        _viewScale = viewScale;
+    }
+
+    public double getMinimumPixelSize() {
+        return _minimumPixelSize;
+    }
+
+    /**
+     * @param minimumPixelSize The projected size in pixels below which
+     *                         entities are culled, or zero to convert all
+     *                         entities regardless of size
+     */
+    public void setMinimumPixelSize( final double minimumPixelSize ) {
+        _minimumPixelSize = minimumPixelSize;
+    }
+
+    public boolean isStubbingTinyInserts() {
+        return _stubbingTinyInserts;
+    }
+
+    /**
+     * @param stubbingTinyInserts {@code true} if culled Block References
+     *                            should be represented by their bounding box,
+     *                            so that dense symbol layouts remain visible
+     */
+    public void setStubbingTinyInserts( final boolean stubbingTinyInserts ) {
+        _stubbingTinyInserts = stubbingTinyInserts;
+    }
+
+    public double getPixelTolerance() {
+        return _pixelTolerance;
+    }
+
+    /**
+     * @param pixelTolerance The maximum deviation, in pixels, of simplified or
+     *                       vectorized geometry from the exact geometry
+     */
+    public void setPixelTolerance( final double pixelTolerance ) {
+        _pixelTolerance = pixelTolerance;
+    }
+
+    public boolean isLevelOfDetailEnabled() {
+        return _levelOfDetailEnabled;
+    }
+
+    /**
+     * Level of detail is off by default, as shapes that are converted only
+     * once may later be viewed at any zoom level.
+     *
+     * @param levelOfDetailEnabled {@code true} if long polylines should be
+     *                             simplified according to the view scale
+     */
+    public void setLevelOfDetailEnabled( final boolean levelOfDetailEnabled ) {
+        _levelOfDetailEnabled = levelOfDetailEnabled;
+    }
+
+    public boolean isAdaptiveVectorizationEnabled() {
+        return _adaptiveVectorizationEnabled;
+    }
+
+    /**
+     * Adaptive vectorization is off by default, as shapes that are converted
+     * only once may later be viewed at any zoom level; the fixed angular step
+     * is then used instead.
+     *
+     * @param adaptiveVectorizationEnabled {@code true} if arcs should be
+     *                                     vectorized to within the pixel
+     *                                     tolerance at the view scale
+     */
+    public void setAdaptiveVectorizationEnabled( final boolean adaptiveVectorizationEnabled ) {
+        _adaptiveVectorizationEnabled = adaptiveVectorizationEnabled;
+    }
+
+    public boolean isBlockInstancingEnabled() {
+        return _blockInstancingEnabled;
+    }
+
+    /**
+     * Block instancing is off by default, as each Block Reference then adds
+     * one Path per stroke style of its block, rather than the individual
+     * shapes of each of the entities of the block.
+     *
+     * @param blockInstancingEnabled {@code true} if Block References should
+     *                               share the geometry of their block
+     */
+    public void setBlockInstancingEnabled( final boolean blockInstancingEnabled ) {
+        _blockInstancingEnabled = blockInstancingEnabled;
+    }
+
+    public int getMaximumNestingDepth() {
+        return _maximumNestingDepth;
+    }
+
+    /**
+     * @param maximumNestingDepth The maximum number of nested Block
+     *                            References that are converted; deeper ones
+     *                            are skipped
+     */
+    public void setMaximumNestingDepth( final int maximumNestingDepth ) {
+        if ( maximumNestingDepth < 1 ) {
+            throw new IllegalArgumentException();
+        }
+
+        _maximumNestingDepth = maximumNestingDepth;
+    }
+
+    public int getMaximumNumberOfShapes() {
+        return _maximumNumberOfShapes;
+    }
+
+    /**
+     * The shape budget bounds the cost of converting drawings that expand to
+     * far more shapes than can be displayed, such as densely nested blocks;
+     * the conversion stops once the budget is spent.
+     *
+     * @param maximumNumberOfShapes The maximum number of shapes that a single
+     *                              conversion adds, or zero for no limit
+     */
+    public void setMaximumNumberOfShapes( final int maximumNumberOfShapes ) {
+        if ( maximumNumberOfShapes < 0 ) {
+            throw new IllegalArgumentException();
+        }
+
+        _maximumNumberOfShapes = maximumNumberOfShapes;
+    }
+
+    public TransformMode getTransformMode() {
+        return _transformMode;
+    }
+
+    /**
+     * Attached transforms are the default, as every shape then keeps its
+     * exact geometry and stroke in block coordinates.
+     *
+     * @param transformMode How the transforms of nested blocks are applied
+     */
+    public void setTransformMode( final TransformMode transformMode ) {
+        if ( transformMode == null ) {
+            throw new IllegalArgumentException();
+        }
+
+        _transformMode = transformMode;
+    }
+
+    public boolean isLayerGroupsEnabled() {
+        return _layerGroupsEnabled;
+    }
+
+    /**
+     * Layer groups are off by default, as the entities of switched-off layers
+     * are then converted too, so that switching a layer on or off only shows
+     * or hides its Group. Entities on layer "0" within a block go to the Group
+     * of the layer of the Block Reference. As the entities of a block may then
+     * end up in several Groups, Block References are neither instanced nor
+     * grouped by transform, and their transforms are attached instead.
+     *
+     * @param layerGroupsEnabled {@code true} if the shapes of each layer
+     *                           should be kept in a Group of their own
+     */
+    public void setLayerGroupsEnabled( final boolean layerGroupsEnabled ) {
+        _layerGroupsEnabled = layerGroupsEnabled;
+    }
+
+    public boolean isColorGroupsEnabled() {
+        return _colorGroupsEnabled;
+    }
+
+    /**
+     * Color groups are off by default, as the stroke of each shape is then
+     * bound to the color of its DXF Color Index in the palette of the
+     * container, so that the palette can be changed later without converting
+     * the shapes again, such as for light and dark backgrounds.
+     *
+     * @param colorGroupsEnabled {@code true} if the strokes of the shapes
+     *                           should follow the palette of the container
+     */
+    public void setColorGroupsEnabled( final boolean colorGroupsEnabled ) {
+        _colorGroupsEnabled = colorGroupsEnabled;
+    }
+
+    public boolean isNodeIndexEnabled() {
+        return _nodeIndexEnabled;
+    }
+
+    /**
+     * The node index is off by default, as it holds on to every shape. Shapes
+     * are indexed by the handle of the Model Space entity that they were
+     * converted for, so the shapes of all blocks that a Block Reference
+     * inserts are found by the handle of that Block Reference.
+     *
+     * @param nodeIndexEnabled {@code true} if the shapes should be indexed by
+     *                         the handle of their entity
+     */
+    public void setNodeIndexEnabled( final boolean nodeIndexEnabled ) {
+        _nodeIndexEnabled = nodeIndexEnabled;
+    }
+
+    /**
+     * @return {@code true} if the converted shapes depend on the view scale,
+     *         and therefore must be converted again when it changes
+     */
+    public boolean isViewDependent() {
+        return ( _minimumPixelSize > 0.0d ) || _levelOfDetailEnabled
+               || _adaptiveVectorizationEnabled;
+    }
+
+    /**
+     * Converts the pixel tolerance to drawing units for geometry under a
+     * transform of the given scale. The upper end of the zoom band is used as
+     * the view scale, so that the tolerance holds for any scale within the
+     * band.
+     *
+     * @param transformScale The scale factor of the transform from block
+     *                       coordinates to Model Space, such as from
+     *                       {@link Affine2D#getScale}
+     * @return the tolerance in block coordinates, or zero if there is none
+     */
+    public double getTolerance( final double transformScale ) {
+        if ( !( _pixelTolerance > 0.0d ) || !( _viewScale > 0.0d )
+             || !( transformScale > 0.0d ) ) {
+            return 0.0d;
+        }
+
+        final double bandViewScale = FastMath.pow( 2.0d, getZoomBand() + 1 );
+        return _pixelTolerance / ( bandViewScale * transformScale );
+    }
+
+    /**
+     * Determines whether the given bounds, after applying a transform of the
+     * given scale and the view scale, are smaller than the minimum pixel size.
+     * The larger dimension is used, so that long thin entities are never
+     * culled.
+     *
+     * @param extents        The bounds of the entity, in its block coordinates
+     * @param transformScale The scale factor of the transform from block
+     *                       coordinates to Model Space
+     * @return {@code true} if the entity is too small to be worth converting
+     */
+    public boolean isBelowMinimumPixelSize( final Extents2D extents,
+                                            final double transformScale ) {
+        if ( !( _minimumPixelSize > 0.0d ) || extents.isEmpty() ) {
+            return false;
+        }
+
+        final double pixelSize = extents.getMaximumDimension() * transformScale
+                                 * _viewScale;
+        return pixelSize < _minimumPixelSize;
+    }
+
+    /**
+     * This is the counterpart of the transform scale version, for primitive
+     * transforms during traversal of nested blocks.
+     *
+     * @param extents   The bounds of the entity, in its block coordinates
+     * @param transform The transform from block coordinates to Model Space
+     * @return {@code true} if the entity is too small to be worth converting
+     */
+    public boolean isBelowMinimumPixelSize( final Extents2D extents,
+                                            final Affine2D transform ) {
+        return isBelowMinimumPixelSize( extents, transform.getScale() );
+    }
+
+    /**
+     * Returns the zoom band of the view scale, which is the base-two exponent
+     * of the view scale; screen-size dependent conversions only need to be
+     * redone when the zoom band changes.
+     *
+     * @return the zoom band of the current view scale
+     */
+    public int getZoomBand() {
+        return ( _viewScale > 0.0d )
+               ? ( int ) FastMath.floor( FastMath.log( 2.0d, _viewScale ) )
+               : Integer.MIN_VALUE;
+    }
+}// class DxfConversionOptions
@@ -0,0 +1,236 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.geometry;
+
+import org.apache.commons.math3.util.FastMath;
+
+// Elliptical Arc in 2D space
+public final class EllipticalArc2D {
+
+    // The axes are kept as primitive offsets from the center, so that arcs
+    // can be made and sampled without JavaFX geometry.
+    private final double _centerX;
+    private final double _centerY;
+    private final double _endMajorAxisX;
+    private final double _endMajorAxisY;
+    private final double _endMinorAxisX;
+    private final double _endMinorAxisY;
+
+    private final double _startAngle;
+    private final double _endAngle;
+
+    // Supply a degenerate case, to avoid null pointers.
+    public EllipticalArc2D() {
+        this( 0.0d, 0.0d, 0.0d, 0.0d, 0.0d );
+    }
+
+    public EllipticalArc2D( final double centerX,
+                            final double centerY,
+                            final double radius,
+                            final double startAngle,
+                            final double endAngle ) {
+        this( centerX,
+              centerY,
+              radius,
+              0.0d,
+              0.0d,
+              radius,
+              startAngle,
+              endAngle );
+    }
+
+    public EllipticalArc2D( final double centerX,
+                            final double centerY,
+                            final double endMajorAxisX,
+                            final double endMajorAxisY,
+                            final double endMinorAxisX,
+                            final double endMinorAxisY,
+                            final double startAngle,
+                            final double endAngle ) {
+        _centerX = centerX;
+        _centerY = centerY;
+        _endMajorAxisX = endMajorAxisX;
+        _endMajorAxisY = endMajorAxisY;
+        _endMinorAxisX = endMinorAxisX;
+        _endMinorAxisY = endMinorAxisY;
+        _startAngle = startAngle;
+        _endAngle = endAngle;
+    }
+
+    public double getCenterX() {
+        return _centerX;
+    }
+
+    public double getCenterY() {
+        return _centerY;
+    }
+
+    public double getEndAngle() {
+        return _endAngle;
+    }
+
+    public double getEndMajorAxisX() {
+        return _endMajorAxisX;
+    }
+
+    public double getEndMajorAxisY() {
+        return _endMajorAxisY;
+    }
+
+    public double getEndMinorAxisX() {
+        return _endMinorAxisX;
+    }
+
+    public double getEndMinorAxisY() {
+        return _endMinorAxisY;
+    }
+
+    public double getStartAngle() {
+        return _startAngle;
+    }
+
+    public Vertex[] normalizeGradients( final double grads ) {
+        return normalizeGradients( grads, Vectorization.MAXIMUM_GRADS );
+    }
+
+    public Vertex[] normalizeGradients( final double grads,
+                                        final double maximumGrads ) {
+        final double totalAngle = getTotalAngle();
+        final int numberOfVertices = ArcSampler.getNumberOfPoints( totalAngle,
+                                                                   grads,
+                                                                   maximumGrads );
+        final double[] coordinates = new double[ 2 * numberOfVertices ];
+        sample( totalAngle, numberOfVertices, coordinates, 0 );
+
+        final Vertex[] vertices = new Vertex[ numberOfVertices ];
+        for ( int i = 0; i < numberOfVertices; i++ ) {
+            vertices[ i ] = new Vertex( coordinates[ 2 * i ],
+                                        coordinates[ ( 2 * i ) + 1 ] );
+        }
+
+        return vertices;
+    }
+
+    /**
+     * Samples this arc at evenly spaced parametric angles into an array of
+     * interleaved coordinates, without allocating per point.
+     *
+     * @param totalAngle       The angular extent to sample, in degrees
+     * @param numberOfVertices The number of points, including both ends
+     * @param coordinates      The array to write the coordinates to
+     * @param offset           The index of the first coordinate to write
+     * @return the index after the last coordinate that was written
+     */
+    public int sample( final double totalAngle,
+                       final int numberOfVertices,
+                       final double[] coordinates,
+                       final int offset ) {
+        return ArcSampler.sample( _centerX,
+                                  _centerY,
+                                  _endMajorAxisX,
+                                  _endMajorAxisY,
+                                  _endMinorAxisX,
+                                  _endMinorAxisY,
+                                  _startAngle,
+                                  totalAngle,
+                                  numberOfVertices,
+                                  coordinates,
+                                  offset );
+    }
+
+    /**
+     * Vectorizes this arc according to the given parameterization.
+     *
+     * @param vectorization The parameterization of the vectorization
+     * @return the vertices along the arc, from start angle to end angle
+     */
+    public Vertex[] vectorize( final Vectorization vectorization ) {
+        return normalizeGradients( getGrads( vectorization ),
+                                   getMaximumGrads( vectorization ) );
+    }
+
+    /**
+     * Vectorizes this arc according to the given parameterization, appending
+     * the points to a coordinate buffer rather than allocating vertices.
+     *
+     * @param vectorization The parameterization of the vectorization
+     * @param buffer        The buffer to append the points to
+     * @return the number of points that were appended
+     */
+    public int vectorize( final Vectorization vectorization,
+                          final CoordinateBuffer buffer ) {
+        final double totalAngle = getTotalAngle();
+        final int numberOfVertices = ArcSampler.getNumberOfPoints( totalAngle,
+                                                                   getGrads(
+                                                                           vectorization ),
+                                                                   getMaximumGrads(
+                                                                           vectorization ) );
+        buffer.ensureAdditionalCapacity( 2 * numberOfVertices );
+        final int size = sample( totalAngle,
+                                 numberOfVertices,
+                                 buffer.getArray(),
+                                 buffer.size() );
+        buffer.setSize( size );
+
+        return numberOfVertices;
+    }
+
+    private double getGrads( final Vectorization vectorization ) {
+        switch ( vectorization.getMode() ) {
+            case GRADS:
+                return vectorization.getGrads();
+            case SCALE_GRADS:
+                return vectorization.getScaleGrads() / _endMajorAxisX;
+            case VERTEX:
+                return getTotalAngle() / vectorization.getVertexCount();
+            case CHORD_ERROR:
+                return Vectorization.getChordErrorGrads( FastMath.hypot(
+                        _endMajorAxisX,
+                        _endMajorAxisY ), vectorization.getChordError() );
+            default:
+                return 0.0d;
+        }
+    }
+
+    private static double getMaximumGrads( final Vectorization vectorization ) {
+        return ( vectorization.getMode() == VectorizationMode.CHORD_ERROR )
+               ? Vectorization.MAXIMUM_CHORD_ERROR_GRADS
+               : Vectorization.MAXIMUM_GRADS;
+    }
+
+    public double getTotalAngle() {
+        double totalAngle = _endAngle - _startAngle;
+        if ( _endAngle < _startAngle ) {
+            totalAngle += 360d;
+        }
+        return totalAngle;
+    }
+}// class EllipticalArc2D
@@ -0,0 +1,220 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.geometry;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * This is a lightweight, mutable axis-aligned bounding box in 2D space, for
+ * when bounds must be computed without generating Scene Graph Nodes, such as
+ * during parsing or for spatial indexing of entities.
+ * <p>
+ * A newly constructed instance is empty, and grows as points are added.
+ */
+public final class Extents2D {
+
+    private double _minX;
+    private double _minY;
+    private double _maxX;
+    private double _maxY;
+
+    public Extents2D() {
+        reset();
+    }
+
+    public Extents2D( final double minX,
+                      final double minY,
+                      final double maxX,
+                      final double maxY ) {
+        _minX = minX;
+        _minY = minY;
+        _maxX = maxX;
+        _maxY = maxY;
+    }
+
+    public void reset() {
+        _minX = Double.POSITIVE_INFINITY;
+        _minY = Double.POSITIVE_INFINITY;
+        _maxX = Double.NEGATIVE_INFINITY;
+        _maxY = Double.NEGATIVE_INFINITY;
+    }
+
+    public void add( final double x,
+                     final double y ) {
+        // NOTE: NaN coordinates from malformed files are simply skipped.
+        if ( Double.isNaN( x ) || Double.isNaN( y ) ) {
+            return;
+        }
+
+        if ( x < _minX ) {
+            _minX = x;
+        }
+        if ( x > _maxX ) {
+            _maxX = x;
+        }
+        if ( y < _minY ) {
+            _minY = y;
+        }
+        if ( y > _maxY ) {
+            _maxY = y;
+        }
+    }
+
+    public void add( final Extents2D extents ) {
+        if ( ( extents == null ) || extents.isEmpty() ) {
+            return;
+        }
+
+        add( extents._minX, extents._minY );
+        add( extents._maxX, extents._maxY );
+    }
+
+    /**
+     * Adds the bounds of another box after transforming it by a 2D affine
+     * matrix; as the box is transformed via all four of its corners, the
+     * result is exact for rotations as well as for scaling and translation.
+     *
+     * @param extents The box to transform and add
+     * @param mxx     The x-coordinate scaling element of the matrix
+     * @param mxy     The xy-coordinate element of the matrix
+     * @param tx      The x-coordinate translation element of the matrix
+     * @param myx     The yx-coordinate element of the matrix
+     * @param myy     The y-coordinate scaling element of the matrix
+     * @param ty      The y-coordinate translation element of the matrix
+     */
+    public void addTransformed( final Extents2D extents,
+                                final double mxx,
+                                final double mxy,
+                                final double tx,
+                                final double myx,
+                                final double myy,
+                                final double ty ) {
+        if ( ( extents == null ) || extents.isEmpty() ) {
+            return;
+        }
+
+        final double[] xCorners = { extents._minX, extents._maxX };
+        final double[] yCorners = { extents._minY, extents._maxY };
+        for ( final double x : xCorners ) {
+            for ( final double y : yCorners ) {
+                add( ( mxx * x ) + ( mxy * y ) + tx,
+                     ( myx * x ) + ( myy * y ) + ty );
+            }
+        }
+    }
+
+    /**
+     * Grows the box by the same amount on all sides, such as to account for
+     * the width of a polyline.
+     *
+     * @param margin The amount to grow by on each side
+     */
+    public void inflate( final double margin ) {
+        if ( isEmpty() || !( margin > 0.0d ) ) {
+            return;
+        }
+
+        _minX -= margin;
+        _minY -= margin;
+        _maxX += margin;
+        _maxY += margin;
+    }
+
+    public boolean isEmpty() {
+        return ( _minX > _maxX ) || ( _minY > _maxY );
+    }
+
+    public boolean intersects( final double minX,
+                               final double minY,
+                               final double maxX,
+                               final double maxY ) {
+        return !isEmpty() && ( _minX <= maxX ) && ( _maxX >= minX )
+               && ( _minY <= maxY ) && ( _maxY >= minY );
+    }
+
+    public boolean intersects( final Extents2D extents ) {
+        return ( extents != null ) && !extents.isEmpty() && intersects(
+                extents._minX,
+                extents._minY,
+                extents._maxX,
+                extents._maxY );
+    }
+
+    public double getMinX() {
+        return _minX;
+    }
+
+    public double getMinY() {
+        return _minY;
+    }
+
+    public double getMaxX() {
+        return _maxX;
+    }
+
+    public double getMaxY() {
+        return _maxY;
+    }
+
+    public double getWidth() {
+        return isEmpty()
+               ? 0.0d
+               : _maxX - _minX;
+    }
+
+    public double getHeight() {
+        return isEmpty()
+               ? 0.0d
+               : _maxY - _minY;
+    }
+
+    public double getCenterX() {
+        return 0.5d * ( _minX + _maxX );
+    }
+
+    public double getCenterY() {
+        return 0.5d * ( _minY + _maxY );
+    }
+
+    /**
+     * @return the larger of the two dimensions of the box
+     */
+    public double getMaximumDimension() {
+        return FastMath.max( getWidth(), getHeight() );
+    }
+
+    @SuppressWarnings( "nls" )
+    @Override
+    public String toString() {
+        return "Extents2D[" + _minX + ", " + _minY + ", " + _maxX + ", " + _maxY
+               + "]";
+    }
+}// class Extents2D
@@ -0,0 +1,262 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.geometry;
+
+import java.util.function.IntPredicate;
+
+/**
+ * This is a static 2D k-d tree over points, for finding the nearest point to
+ * a location within a radius in logarithmic time.
+ * <p>
+ * The tree is implicit: the points are reordered so that the median of each
+ * range along the splitting axis sits at the middle of the range, with the
+ * smaller points before it and the larger points after it, so that the tree
+ * is held in one array of coordinates and one array of point indices, with
+ * no per-node objects. Small ranges are scanned rather than split further.
+ */
+public final class KdTree2D {
+
+    // The size of the ranges that are scanned rather than split further.
+    private static final int LEAF_SIZE = 8;
+
+    // Interleaved x and y coordinates, in tree order.
+    private final double[] _coordinates;
+
+    // The index of each point in the coordinates that the tree was made from.
+    private final int[] _indices;
+
+    private final int _numberOfPoints;
+
+    /**
+     * The state of a nearest-point search, so that a tree can be searched by
+     * several threads at once.
+     */
+    private static final class Search {
+        private final double _x;
+        private final double _y;
+        private final IntPredicate _filter;
+        private double _nearestDistanceSquared;
+        private int _nearest;
+
+        private Search( final double x,
+                        final double y,
+                        final double radius,
+                        final IntPredicate filter ) {
+            _x = x;
+            _y = y;
+            _filter = filter;
+            _nearestDistanceSquared = radius * radius;
+            _nearest = -1;
+        }
+    }
+
+    /**
+     * Makes a tree from the given points, which are copied.
+     *
+     * @param coordinates    The interleaved x and y coordinates of the points
+     * @param numberOfPoints The number of points to take from the coordinates
+     */
+    public KdTree2D( final double[] coordinates,
+                     final int numberOfPoints ) {
+        if ( ( numberOfPoints < 0 )
+             || ( ( 2 * numberOfPoints ) > coordinates.length ) ) {
+            throw new IllegalArgumentException();
+        }
+
+        _numberOfPoints = numberOfPoints;
+        _coordinates = new double[ 2 * numberOfPoints ];
+        System.arraycopy( coordinates, 0, _coordinates, 0, 2 * numberOfPoints );
+        _indices = new int[ numberOfPoints ];
+        for ( int i = 0; i < numberOfPoints; i++ ) {
+            _indices[ i ] = i;
+        }
+
+        build( 0, numberOfPoints, 0 );
+    }
+
+    private void build( final int start,
+                        final int end,
+                        final int axis ) {
+        if ( ( end - start ) <= LEAF_SIZE ) {
+            return;
+        }
+
+        final int middle = ( start + end ) >>> 1;
+        select( start, end - 1, middle, axis );
+        build( start, middle, 1 - axis );
+        build( middle + 1, end, 1 - axis );
+    }
+
+    // Partially sorts the points in [left, right] along the given axis, so
+    // that the k-th point is in its sorted position, via quickselect.
+    private void select( final int left,
+                         final int right,
+                         final int k,
+                         final int axis ) {
+        int lo = left;
+        int hi = right;
+        while ( lo < hi ) {
+            final double pivot = _coordinates[ ( 2 * ( ( lo + hi ) >>> 1 ) )
+                                               + axis ];
+            int i = lo;
+            int j = hi;
+            while ( i <= j ) {
+                while ( _coordinates[ ( 2 * i ) + axis ] < pivot ) {
+                    i++;
+                }
+                while ( _coordinates[ ( 2 * j ) + axis ] > pivot ) {
+                    j--;
+                }
+                if ( i <= j ) {
+                    swap( i++, j-- );
+                }
+            }
+
+            if ( k <= j ) {
+                hi = j;
+            }
+            else if ( k >= i ) {
+                lo = i;
+            }
+            else {
+                return;
+            }
+        }
+    }
+
+    private void swap( final int i,
+                       final int j ) {
+        final double x = _coordinates[ 2 * i ];
+        final double y = _coordinates[ ( 2 * i ) + 1 ];
+        _coordinates[ 2 * i ] = _coordinates[ 2 * j ];
+        _coordinates[ ( 2 * i ) + 1 ] = _coordinates[ ( 2 * j ) + 1 ];
+        _coordinates[ 2 * j ] = x;
+        _coordinates[ ( 2 * j ) + 1 ] = y;
+
+        final int index = _indices[ i ];
+        _indices[ i ] = _indices[ j ];
+        _indices[ j ] = index;
+    }
+
+    public int size() {
+        return _numberOfPoints;
+    }
+
+    /**
+     * Finds the nearest point to a location, within a radius.
+     *
+     * @param x      The x-coordinate of the location
+     * @param y      The y-coordinate of the location
+     * @param radius The maximum distance of the point from the location
+     * @return the index of the nearest point in the coordinates that the tree
+     *         was made from, or -1 if there is no point within the radius
+     */
+    public int findNearest( final double x,
+                            final double y,
+                            final double radius ) {
+        return findNearest( x, y, radius, null );
+    }
+
+    /**
+     * Finds the nearest accepted point to a location, within a radius.
+     *
+     * @param x      The x-coordinate of the location
+     * @param y      The y-coordinate of the location
+     * @param radius The maximum distance of the point from the location
+     * @param filter The test of the index of each candidate point, or
+     *               {@code null} to accept all points
+     * @return the index of the nearest accepted point in the coordinates that
+     *         the tree was made from, or -1 if there is no such point within
+     *         the radius
+     */
+    public int findNearest( final double x,
+                            final double y,
+                            final double radius,
+                            final IntPredicate filter ) {
+        if ( !( radius >= 0.0d ) ) {
+            return -1;
+        }
+
+        final Search search = new Search( x, y, radius, filter );
+        search( search, 0, _numberOfPoints, 0 );
+
+        return search._nearest;
+    }
+
+    private void search( final Search search,
+                         final int start,
+                         final int end,
+                         final int axis ) {
+        if ( ( end - start ) <= LEAF_SIZE ) {
+            for ( int i = start; i < end; i++ ) {
+                visit( search, i );
+            }
+            return;
+        }
+
+        final int middle = ( start + end ) >>> 1;
+        visit( search, middle );
+
+        // Search the side of the location first, and the other side only if
+        // the splitting line is nearer than the nearest point so far.
+        final double offset = ( ( axis == 0 )
+                                ? search._x
+                                : search._y ) - _coordinates[ ( 2 * middle )
+                                                              + axis ];
+        if ( offset < 0.0d ) {
+            search( search, start, middle, 1 - axis );
+            if ( ( offset * offset ) <= search._nearestDistanceSquared ) {
+                search( search, middle + 1, end, 1 - axis );
+            }
+        }
+        else {
+            search( search, middle + 1, end, 1 - axis );
+            if ( ( offset * offset ) <= search._nearestDistanceSquared ) {
+                search( search, start, middle, 1 - axis );
+            }
+        }
+    }
+
+    private void visit( final Search search,
+                        final int i ) {
+        final double dx = _coordinates[ 2 * i ] - search._x;
+        final double dy = _coordinates[ ( 2 * i ) + 1 ] - search._y;
+        final double distanceSquared = ( dx * dx ) + ( dy * dy );
+        if ( ( distanceSquared <= search._nearestDistanceSquared )
+             && ( ( search._nearest < 0 )
+                  || ( distanceSquared < search._nearestDistanceSquared ) )
+             && ( ( search._filter == null )
+                  || search._filter.test( _indices[ i ] ) ) ) {
+            search._nearestDistanceSquared = distanceSquared;
+            search._nearest = _indices[ i ];
+        }
+    }
+}// class KdTree2D
@@ -0,0 +1,350 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.geometry;
+
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.List;
+
+/**
+ * These are the lengths and areas of the primitives of DXF entities, such as
+ * for quantity takeoffs, measured after a transform from block coordinates to
+ * world coordinates.
+ * <p>
+ * Areas are exact under any affine transform, as it scales all areas alike.
+ * Lengths are exact for straight segments, and for arcs under similarity
+ * transforms; arcs that are stretched into ellipses, and ellipses themselves,
+ * are measured from a fine flattening instead.
+ */
+public final class MeasurementUtilities {
+
+    // The angular step of the flattening of curves that are not measured
+    // exactly, in degrees, which keeps lengths to within a few parts in a
+    // hundred thousand.
+    private static final double MEASUREMENT_GRADS = 1.0d;
+
+    /**
+     * Returns the length of a transformed line segment.
+     *
+     * @param x1        The x-coordinate of the start of the segment
+     * @param y1        The y-coordinate of the start of the segment
+     * @param x2        The x-coordinate of the end of the segment
+     * @param y2        The y-coordinate of the end of the segment
+     * @param transform The transform to world coordinates
+     * @return the length of the segment in world coordinates
+     */
+    public static double getSegmentLength( final double x1,
+                                           final double y1,
+                                           final double x2,
+                                           final double y2,
+                                           final Affine2D transform ) {
+        final double dx = x2 - x1;
+        final double dy = y2 - y1;
+        return FastMath.hypot( ( transform.getMxx() * dx )
+                               + ( transform.getMxy() * dy ),
+                               ( transform.getMyx() * dx )
+                               + ( transform.getMyy() * dy ) );
+    }
+
+    /**
+     * Returns the length of a transformed counter-clockwise circular arc.
+     *
+     * @param centerX    The x-coordinate of the center
+     * @param centerY    The y-coordinate of the center
+     * @param radius     The radius
+     * @param startAngle The start angle, in degrees
+     * @param endAngle   The end angle, in degrees
+     * @param transform  The transform to world coordinates
+     * @return the length of the arc in world coordinates
+     */
+    public static double getArcLength( final double centerX,
+                                       final double centerY,
+                                       final double radius,
+                                       final double startAngle,
+                                       final double endAngle,
+                                       final Affine2D transform ) {
+        final EllipticalArc2D arc = new EllipticalArc2D( centerX,
+                                                         centerY,
+                                                         radius,
+                                                         startAngle,
+                                                         endAngle );
+        if ( transform.getSimilarityOrientation() != 0 ) {
+            return FastMath.toRadians( arc.getTotalAngle() ) * radius
+                   * transform.getScale();
+        }
+
+        return getEllipticalArcLength( arc, transform );
+    }
+
+    /**
+     * Returns the length of a transformed elliptical arc, from a fine
+     * flattening of the arc.
+     *
+     * @param arc       The arc to measure
+     * @param transform The transform to world coordinates
+     * @return the length of the arc in world coordinates
+     */
+    public static double getEllipticalArcLength( final EllipticalArc2D arc,
+                                                 final Affine2D transform ) {
+        final CoordinateBuffer buffer = CoordinateBuffer.getScratchBuffer();
+        arc.vectorize( makeVectorization(), buffer );
+        return getPolylineLength( buffer.getArray(),
+                                  buffer.getNumberOfPoints(),
+                                  false,
+                                  transform );
+    }
+
+    /**
+     * Returns the length of a transformed 2D polyline, including the arcs of
+     * bulged segments.
+     *
+     * @param polyVertices The vertices of the polyline
+     * @param closed       {@code true} if the last vertex connects back to the
+     *                     first
+     * @param transform    The transform to world coordinates
+     * @return the length of the polyline in world coordinates
+     */
+    public static double getPolylineLength( final List< PolyVertex > polyVertices,
+                                            final boolean closed,
+                                            final Affine2D transform ) {
+        if ( polyVertices == null ) {
+            return 0.0d;
+        }
+
+        // Two vertices that are closed make two segments, which are arcs.
+        final boolean similarity = transform.getSimilarityOrientation() != 0;
+        final int numberOfVertices = polyVertices.size();
+        final int numberOfSegments = closed
+                                     ? numberOfVertices
+                                     : numberOfVertices - 1;
+        double length = 0.0d;
+        for ( int i = 0; i < numberOfSegments; i++ ) {
+            final PolyVertex vertex = polyVertices.get( i );
+            final PolyVertex nextVertex = polyVertices.get( ( i + 1 )
+                                                            % numberOfVertices );
+            if ( ( vertex == null ) || ( nextVertex == null )
+                 || ( ( vertex._x == nextVertex._x )
+                      && ( vertex._y == nextVertex._y ) ) ) {
+                continue;
+            }
+
+            // The same threshold as for converting bulges to arcs is used.
+            if ( ( float ) vertex._bulge == 0f ) {
+                length += getSegmentLength( vertex._x,
+                                            vertex._y,
+                                            nextVertex._x,
+                                            nextVertex._y,
+                                            transform );
+            }
+            else if ( similarity ) {
+                length += getSegmentLength( vertex._x,
+                                            vertex._y,
+                                            nextVertex._x,
+                                            nextVertex._y,
+                                            transform )
+                          * getBulgeLengthFactor( vertex._bulge );
+            }
+            else {
+                length += getEllipticalArcLength( vertex.getArc( nextVertex._x,
+                                                                 nextVertex._y ),
+                                                  transform );
+            }
+        }
+
+        return length;
+    }
+
+    /**
+     * Returns the length of a transformed polyline that is given as primitive
+     * coordinates.
+     *
+     * @param coordinates    The interleaved x and y coordinates
+     * @param numberOfPoints The number of points in use
+     * @param closed         {@code true} if the last point connects back to
+     *                       the first
+     * @param transform      The transform to world coordinates
+     * @return the length of the polyline in world coordinates
+     */
+    public static double getPolylineLength( final double[] coordinates,
+                                            final int numberOfPoints,
+                                            final boolean closed,
+                                            final Affine2D transform ) {
+        double length = 0.0d;
+        for ( int i = 1; i < numberOfPoints; i++ ) {
+            length += getSegmentLength( coordinates[ ( 2 * i ) - 2 ],
+                                        coordinates[ ( 2 * i ) - 1 ],
+                                        coordinates[ 2 * i ],
+                                        coordinates[ ( 2 * i ) + 1 ],
+                                        transform );
+        }
+        if ( closed && ( numberOfPoints > 2 ) ) {
+            length += getSegmentLength( coordinates[ ( 2 * numberOfPoints ) - 2 ],
+                                        coordinates[ ( 2 * numberOfPoints ) - 1 ],
+                                        coordinates[ 0 ],
+                                        coordinates[ 1 ],
+                                        transform );
+        }
+
+        return length;
+    }
+
+    /**
+     * Returns the area enclosed by a transformed closed 2D polyline, with the
+     * shoelace formula for its straight segments and the circular segments of
+     * its bulged ones; self-intersecting outlines count the areas that they
+     * wind around in opposite directions against each other.
+     *
+     * @param polyVertices The vertices of the polyline
+     * @param transform    The transform to world coordinates
+     * @return the enclosed area in world coordinates
+     */
+    public static double getPolylineArea( final List< PolyVertex > polyVertices,
+                                          final Affine2D transform ) {
+        if ( ( polyVertices == null ) || ( polyVertices.size() < 2 ) ) {
+            return 0.0d;
+        }
+
+        final PolyVertex firstVertex = polyVertices.get( 0 );
+        if ( firstVertex == null ) {
+            return 0.0d;
+        }
+
+        // The coordinates are taken relative to the first vertex, so that
+        // the products do not lose the precision of far-off drawings.
+        final int numberOfVertices = polyVertices.size();
+        double doubleArea = 0.0d;
+        for ( int i = 0; i < numberOfVertices; i++ ) {
+            final PolyVertex vertex = polyVertices.get( i );
+            final PolyVertex nextVertex = polyVertices.get( ( i + 1 )
+                                                            % numberOfVertices );
+            if ( ( vertex == null ) || ( nextVertex == null ) ) {
+                continue;
+            }
+
+            final double x1 = vertex._x - firstVertex._x;
+            final double y1 = vertex._y - firstVertex._y;
+            final double x2 = nextVertex._x - firstVertex._x;
+            final double y2 = nextVertex._y - firstVertex._y;
+            doubleArea += ( x1 * y2 ) - ( x2 * y1 );
+            if ( ( float ) vertex._bulge != 0f ) {
+                doubleArea += 2.0d * getBulgeArea( vertex._bulge,
+                                                   vertex._x,
+                                                   vertex._y,
+                                                   nextVertex._x,
+                                                   nextVertex._y );
+            }
+        }
+
+        return 0.5d * FastMath.abs( doubleArea * transform.getDeterminant() );
+    }
+
+    /**
+     * Returns the area enclosed by a transformed closed polyline that is given
+     * as primitive coordinates.
+     *
+     * @param coordinates    The interleaved x and y coordinates
+     * @param numberOfPoints The number of points in use
+     * @param transform      The transform to world coordinates
+     * @return the enclosed area in world coordinates
+     */
+    public static double getPolygonArea( final double[] coordinates,
+                                         final int numberOfPoints,
+                                         final Affine2D transform ) {
+        if ( numberOfPoints < 3 ) {
+            return 0.0d;
+        }
+
+        // The coordinates are taken relative to the first point, as above.
+        final double x0 = coordinates[ 0 ];
+        final double y0 = coordinates[ 1 ];
+        double doubleArea = 0.0d;
+        for ( int i = 1; i < ( numberOfPoints - 1 ); i++ ) {
+            final double x1 = coordinates[ 2 * i ] - x0;
+            final double y1 = coordinates[ ( 2 * i ) + 1 ] - y0;
+            final double x2 = coordinates[ ( 2 * i ) + 2 ] - x0;
+            final double y2 = coordinates[ ( 2 * i ) + 3 ] - y0;
+            doubleArea += ( x1 * y2 ) - ( x2 * y1 );
+        }
+
+        return 0.5d * FastMath.abs( doubleArea * transform.getDeterminant() );
+    }
+
+    /**
+     * Returns the ratio of the length of a bulged segment to the length of its
+     * chord, which is the same in all similar copies of the segment.
+     *
+     * @param bulge The tangent of a quarter of the included angle of the arc
+     * @return the ratio of the arc length to the chord length
+     */
+    public static double getBulgeLengthFactor( final double bulge ) {
+        // The included angle is 4 atan(b), and half the chord is r sin(2
+        // atan(b)), which is 2rb / (1 + b^2).
+        final double absoluteBulge = FastMath.abs( bulge );
+        return ( FastMath.atan( absoluteBulge ) * ( 1.0d + ( absoluteBulge
+                                                             * absoluteBulge ) ) )
+               / absoluteBulge;
+    }
+
+    /**
+     * Returns the signed area between a bulged segment and its chord, which
+     * is positive for counter-clockwise arcs, as they bulge out to the right
+     * of the chord.
+     *
+     * @param bulge The tangent of a quarter of the included angle of the arc
+     * @param x1    The x-coordinate of the start of the segment
+     * @param y1    The y-coordinate of the start of the segment
+     * @param x2    The x-coordinate of the end of the segment
+     * @param y2    The y-coordinate of the end of the segment
+     * @return the signed area of the circular segment
+     */
+    public static double getBulgeArea( final double bulge,
+                                       final double x1,
+                                       final double y1,
+                                       final double x2,
+                                       final double y2 ) {
+        final double absoluteBulge = FastMath.abs( bulge );
+        final double angle = 4.0d * FastMath.atan( absoluteBulge );
+        final double radius = ( FastMath.hypot( x2 - x1, y2 - y1 )
+                                * ( 1.0d + ( absoluteBulge * absoluteBulge ) ) )
+                              / ( 4.0d * absoluteBulge );
+        final double area = 0.5d * radius * radius * ( angle
+                                                       - FastMath.sin( angle ) );
+        return ( bulge > 0.0d )
+               ? area
+               : -area;
+    }
+
+    private static Vectorization makeVectorization() {
+        final Vectorization vectorization = new Vectorization();
+        vectorization.setGrads( MEASUREMENT_GRADS );
+        return vectorization;
+    }
+}// class MeasurementUtilities
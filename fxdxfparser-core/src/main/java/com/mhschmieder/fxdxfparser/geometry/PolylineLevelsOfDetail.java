@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.geometry;
+
+/**
+ * This holds a few simplified versions of a long polyline, each at a coarser
+ * tolerance than the last, so that overview zoom levels can push far fewer
+ * points to JavaFX while close-up zoom levels still get the exact vertices.
+ * <p>
+ * The tolerances are fractions of the size of the polyline itself, so the
+ * levels do not depend on the units of the drawing; the levels are computed
+ * on first use, and levels that barely reduce the vertex count are dropped.
+ */
+public final class PolylineLevelsOfDetail {
+
+    /**
+     * Polylines with fewer vertices than this are not worth simplifying.
+     */
+    public static final int MINIMUM_NUMBER_OF_VERTICES = 64;
+
+    // Tolerances of the levels, as fractions of the polyline's largest size.
+    private static final double[] LEVEL_TOLERANCE_FRACTIONS = { 1.0d / 4096d,
+            1.0d / 512d, 1.0d / 64d };
+
+    // A level must keep no more than this fraction of the previous level.
+    private static final double MINIMUM_REDUCTION = 0.8d;
+
+    private final double[] _coordinates;
+
+    // Written last when the levels are made, to publish them safely.
+    private volatile double[] _levelTolerances;
+    private double[][] _levelCoordinates;
+
+    /**
+     * @param coordinates The interleaved x and y coordinates of the exact
+     *                    polyline, which must not be modified afterwards
+     */
+    public PolylineLevelsOfDetail( final double[] coordinates ) {
+        _coordinates = coordinates;
+    }
+
+    /**
+     * @return the interleaved coordinates of the exact polyline
+     */
+    public double[] getCoordinates() {
+        return _coordinates;
+    }
+
+    /**
+     * Selects the coarsest level whose tolerance is still within the given
+     * tolerance, or the exact polyline if no level is fine enough.
+     *
+     * @param tolerance The maximum allowed deviation, in drawing units
+     * @return the interleaved coordinates of the selected level
+     */
+    public double[] selectCoordinates( final double tolerance ) {
+        if ( !( tolerance > 0.0d ) ) {
+            return _coordinates;
+        }
+
+        if ( _levelTolerances == null ) {
+            makeLevels();
+        }
+
+        double[] selected = _coordinates;
+        for ( int level = 0; level < _levelTolerances.length; level++ ) {
+            if ( _levelTolerances[ level ] > tolerance ) {
+                break;
+            }
+            selected = _levelCoordinates[ level ];
+        }
+
+        return selected;
+    }
+
+    private synchronized void makeLevels() {
+        if ( _levelTolerances != null ) {
+            return;
+        }
+
+        final Extents2D extents = new Extents2D();
+        for ( int i = 0; i < _coordinates.length; i += 2 ) {
+            extents.add( _coordinates[ i ], _coordinates[ i + 1 ] );
+        }
+        final double size = extents.getMaximumDimension();
+
+        final int numberOfLevels = LEVEL_TOLERANCE_FRACTIONS.length;
+        final double[] levelTolerances = new double[ numberOfLevels ];
+        final double[][] levelCoordinates = new double[ numberOfLevels ][];
+        int keptLevels = 0;
+        double[] previous = _coordinates;
+        for ( int level = 0; level < numberOfLevels; level++ ) {
+            final double tolerance = size * LEVEL_TOLERANCE_FRACTIONS[ level ];
+
+            // Each level simplifies the previous one, which is cheaper and
+            // keeps the levels nested; the errors add up to at most the sum of
+            // the tolerances, which is bounded by 8/7 of the last tolerance.
+            final double[] simplified = PolylineUtilities.simplify( previous,
+                                                                    previous.length
+                                                                    / 2,
+                                                                    tolerance );
+            if ( simplified.length > ( MINIMUM_REDUCTION * previous.length ) ) {
+                continue;
+            }
+
+            levelTolerances[ keptLevels ] = tolerance * ( 8.0d / 7.0d );
+            levelCoordinates[ keptLevels ] = simplified;
+            keptLevels++;
+            previous = simplified;
+        }
+
+        _levelCoordinates = new double[ keptLevels ][];
+        System.arraycopy( levelCoordinates, 0, _levelCoordinates, 0, keptLevels );
+        _levelTolerances = new double[ keptLevels ];
+        System.arraycopy( levelTolerances, 0, _levelTolerances, 0, keptLevels );
+    }
+
+    /**
+     * @return the number of simplified levels, excluding the exact polyline
+     */
+    public int getNumberOfLevels() {
+        if ( _levelTolerances == null ) {
+            makeLevels();
+        }
+
+        return _levelTolerances.length;
+    }
+}// class PolylineLevelsOfDetail
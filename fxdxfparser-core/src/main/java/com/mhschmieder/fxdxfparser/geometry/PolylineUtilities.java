@@ -0,0 +1,534 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.geometry;
+
+import com.mhschmieder.fxdxfparser.entity.DxfVertex;
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class PolylineUtilities {
+
+    public static final int NUMBER_OF_GRADS = 5;
+
+    public static int compareVertex2D( final PolyVertex pv1,
+                                       final PolyVertex pv2 ) {
+        return ( ( pv1._x == pv2._x ) && ( pv1._y == pv2._y ) )
+               ? 0
+               : 1;
+    }
+
+    /**
+     * @param polyVertices The polyline vertices
+     * @return {@code true} if any segment of the polyline is an arc
+     */
+    public static boolean hasBulge( final List< PolyVertex > polyVertices ) {
+        for ( final PolyVertex polyVertex : polyVertices ) {
+            if ( ( polyVertex != null ) && ( polyVertex._bulge != 0 ) ) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Flattens the polyline vertices into a coordinate buffer, vectorizing
+     * the bulged segments as arcs. This is the allocation-free counterpart of
+     * {@link #makeVertexList}, for when vertex widths are not needed.
+     *
+     * @param vectorization The parameterization of the arc vectorization
+     * @param polyVertices  The polyline vertices, with their bulges
+     * @param closed        {@code true} to also flatten the closing segment
+     * @param buffer        The buffer to append the flattened points to
+     */
+    public static void flatten( final Vectorization vectorization,
+                                final List< PolyVertex > polyVertices,
+                                final boolean closed,
+                                final CoordinateBuffer buffer ) {
+        final int len = polyVertices.size();
+        if ( len < 1 ) {
+            return;
+        }
+
+        final int numberOfSegments = closed
+                                     ? len
+                                     : len - 1;
+        PolyVertex vert1 = polyVertices.get( 0 );
+        if ( vert1 != null ) {
+            buffer.add( vert1._x, vert1._y );
+        }
+        for ( int vi = 0; vi < numberOfSegments; vi++ ) {
+            final PolyVertex vert2 = polyVertices.get( ( vi + 1 ) % len );
+            if ( vert2 == null ) {
+                continue;
+            }
+
+            if ( ( vert1 == null ) || ( vert1._bulge == 0 ) ) {
+                buffer.add( vert2._x, vert2._y );
+            }
+            else {
+                // The arc starts at the point that was already added, so that
+                // point is replaced by the vectorized arc.
+                buffer.setSize( buffer.size() - 2 );
+                final int firstPoint = buffer.getNumberOfPoints();
+                final EllipticalArc2D arc = vert1.getArc( vert2._x, vert2._y );
+                arc.vectorize( vectorization, buffer );
+
+                if ( vert1._bulge < 0 ) {
+                    buffer.reversePoints( firstPoint,
+                                          buffer.getNumberOfPoints() );
+                }
+            }
+
+            vert1 = vert2;
+        }
+    }
+
+    /**
+     * Makes the vectorization for arcs that are converted with the given
+     * options: adaptive to the view scale if so enabled, and otherwise the
+     * fixed {@link #NUMBER_OF_GRADS}. Adaptive chord errors are quantized, so
+     * that cached tessellations are re-used.
+     *
+     * @param conversionOptions The options that the arcs are converted with
+     * @param transformScale    The scale factor of the combined transform to
+     *                          apply to the arcs
+     * @return the vectorization to use for the arcs
+     */
+    public static Vectorization makeVectorization( final DxfConversionOptions conversionOptions,
+                                                   final double transformScale ) {
+        final Vectorization vectorization = new Vectorization();
+        final double chordError = conversionOptions.isAdaptiveVectorizationEnabled()
+                                  ? conversionOptions.getTolerance( transformScale )
+                                  : 0.0d;
+        if ( chordError > 0.0d ) {
+            vectorization.setChordError( Vectorization.quantizeChordError(
+                    chordError ) );
+        }
+        else {
+            vectorization.setGrads( NUMBER_OF_GRADS );
+        }
+
+        return vectorization;
+    }
+
+    /**
+     * Adds the bounds of a 2D polyline to the given extents, including the
+     * exact extents of bulged segments and the widest half-width, without
+     * vectorizing the arcs.
+     *
+     * @param extents      The extents to grow
+     * @param polyVertices The vertices of the polyline
+     * @param closed       {@code true} if the last vertex connects back to the
+     *                     first, which matters when the last vertex has bulge
+     */
+    public static void addExtents( final Extents2D extents,
+                                   final List< PolyVertex > polyVertices,
+                                   final boolean closed ) {
+        if ( polyVertices == null ) {
+            return;
+        }
+
+        final int numberOfVertices = polyVertices.size();
+        double maximumWidth = 0.0d;
+        for ( int i = 0; i < numberOfVertices; i++ ) {
+            final PolyVertex vertex = polyVertices.get( i );
+            if ( vertex == null ) {
+                continue;
+            }
+
+            extents.add( vertex._x, vertex._y );
+            maximumWidth = FastMath.max( maximumWidth,
+                                         FastMath.max( vertex._startWidth,
+                                                       vertex._endWidth ) );
+
+            final boolean lastVertex = i == ( numberOfVertices - 1 );
+            if ( ( ( float ) vertex._bulge == 0f ) || ( lastVertex
+                                                        && !closed ) ) {
+                continue;
+            }
+
+            final PolyVertex nextVertex = polyVertices.get( ( i + 1 )
+                                                            % numberOfVertices );
+            if ( nextVertex != null ) {
+                ArcUtilities.addExtents( extents,
+                                         vertex.getArc( nextVertex._x,
+                                                        nextVertex._y ) );
+            }
+        }
+
+        extents.inflate( 0.5d * maximumWidth );
+    }
+
+    /**
+     * Adds the snap points of a 2D polyline: its vertices, and the midpoints of
+     * its segments, which are on the arc for bulged segments.
+     *
+     * @param buffer       The buffer to add the snap points to
+     * @param polyVertices The vertices of the polyline
+     * @param closed       {@code true} if the last vertex connects back to the
+     *                     first
+     */
+    public static void addSnapPoints( final SnapPointBuffer buffer,
+                                      final List< PolyVertex > polyVertices,
+                                      final boolean closed ) {
+        if ( polyVertices == null ) {
+            return;
+        }
+
+        final int numberOfVertices = polyVertices.size();
+        for ( int i = 0; i < numberOfVertices; i++ ) {
+            final PolyVertex vertex = polyVertices.get( i );
+            if ( vertex == null ) {
+                continue;
+            }
+
+            buffer.add( vertex._x, vertex._y, SnapType.ENDPOINT );
+
+            final boolean lastVertex = i == ( numberOfVertices - 1 );
+            if ( lastVertex && ( !closed || ( numberOfVertices < 3 ) ) ) {
+                continue;
+            }
+
+            final PolyVertex nextVertex = polyVertices.get( ( i + 1 )
+                                                            % numberOfVertices );
+            if ( nextVertex == null ) {
+                continue;
+            }
+
+            // The middle of a bulged segment is off the chord by the sagitta,
+            // to the right of the chord for a counter-clockwise bulge.
+            final double dx = nextVertex._x - vertex._x;
+            final double dy = nextVertex._y - vertex._y;
+            final double offset = 0.5d * vertex._bulge;
+            buffer.add( ( 0.5d * ( vertex._x + nextVertex._x ) )
+                        + ( offset * dy ),
+                        ( 0.5d * ( vertex._y + nextVertex._y ) )
+                        - ( offset * dx ),
+                        SnapType.MIDPOINT );
+        }
+    }
+
+    /**
+     * Simplifies a polyline with the Douglas-Peucker algorithm, keeping only
+     * the vertices that deviate from the simplified line by more than the
+     * tolerance. The first and last vertices are always kept.
+     * <p>
+     * The recursion is replaced by an explicit stack of index ranges, as
+     * survey polylines can have enough vertices to overflow the call stack.
+     *
+     * @param coordinates       The interleaved x and y coordinates
+     * @param numberOfVertices  The number of vertices in the coordinates
+     * @param tolerance         The maximum allowed deviation, in the same
+     *                          units as the coordinates
+     * @return the interleaved coordinates of the kept vertices, which is the
+     *         original array if no vertices can be removed
+     */
+    public static double[] simplify( final double[] coordinates,
+                                     final int numberOfVertices,
+                                     final double tolerance ) {
+        if ( ( numberOfVertices < 3 ) || !( tolerance > 0.0d ) ) {
+            return coordinates;
+        }
+
+        final double toleranceSquared = tolerance * tolerance;
+        final boolean[] keep = new boolean[ numberOfVertices ];
+        keep[ 0 ] = true;
+        keep[ numberOfVertices - 1 ] = true;
+
+        int[] stack = new int[ 64 ];
+        int stackSize = 0;
+        stack[ stackSize++ ] = 0;
+        stack[ stackSize++ ] = numberOfVertices - 1;
+        while ( stackSize > 0 ) {
+            final int last = stack[ --stackSize ];
+            final int first = stack[ --stackSize ];
+
+            final double x1 = coordinates[ 2 * first ];
+            final double y1 = coordinates[ ( 2 * first ) + 1 ];
+            final double dx = coordinates[ 2 * last ] - x1;
+            final double dy = coordinates[ ( 2 * last ) + 1 ] - y1;
+            final double lengthSquared = ( dx * dx ) + ( dy * dy );
+
+            double maximumDistanceSquared = 0.0d;
+            int farthest = -1;
+            for ( int i = first + 1; i < last; i++ ) {
+                final double px = coordinates[ 2 * i ] - x1;
+                final double py = coordinates[ ( 2 * i ) + 1 ] - y1;
+
+                // Distance to the segment, or to the first vertex if the
+                // segment is degenerate (as for closed rings).
+                double distanceSquared;
+                if ( lengthSquared > 0.0d ) {
+                    final double t = FastMath.max( 0.0d,
+                                                   FastMath.min( 1.0d,
+                                                                 ( ( px * dx )
+                                                                   + ( py
+                                                                       * dy ) )
+                                                                 / lengthSquared ) );
+                    final double ex = px - ( t * dx );
+                    final double ey = py - ( t * dy );
+                    distanceSquared = ( ex * ex ) + ( ey * ey );
+                }
+                else {
+                    distanceSquared = ( px * px ) + ( py * py );
+                }
+
+                if ( distanceSquared > maximumDistanceSquared ) {
+                    maximumDistanceSquared = distanceSquared;
+                    farthest = i;
+                }
+            }
+
+            if ( ( farthest >= 0 )
+                 && ( maximumDistanceSquared > toleranceSquared ) ) {
+                keep[ farthest ] = true;
+                if ( ( stackSize + 4 ) > stack.length ) {
+                    stack = Arrays.copyOf( stack, 2 * stack.length );
+                }
+                stack[ stackSize++ ] = first;
+                stack[ stackSize++ ] = farthest;
+                stack[ stackSize++ ] = farthest;
+                stack[ stackSize++ ] = last;
+            }
+        }
+
+        int numberOfKeptVertices = 0;
+        for ( final boolean kept : keep ) {
+            if ( kept ) {
+                numberOfKeptVertices++;
+            }
+        }
+        if ( numberOfKeptVertices == numberOfVertices ) {
+            return coordinates;
+        }
+
+        final double[] simplified = new double[ 2 * numberOfKeptVertices ];
+        int j = 0;
+        for ( int i = 0; i < numberOfVertices; i++ ) {
+            if ( keep[ i ] ) {
+                simplified[ j++ ] = coordinates[ 2 * i ];
+                simplified[ j++ ] = coordinates[ ( 2 * i ) + 1 ];
+            }
+        }
+
+        return simplified;
+    }
+
+    /**
+     * Makes the levels of detail for a 2D polyline, if it is long enough to
+     * benefit and has no bulges (arcs are vectorized per view instead).
+     *
+     * @param polyVertices The vertices of the polyline
+     * @return the levels of detail, or {@code null} if not applicable
+     */
+    public static PolylineLevelsOfDetail makeLevelsOfDetail( final List< PolyVertex > polyVertices ) {
+        if ( ( polyVertices == null ) || ( polyVertices.size()
+                                           < PolylineLevelsOfDetail.MINIMUM_NUMBER_OF_VERTICES ) ) {
+            return null;
+        }
+
+        final double[] coordinates = new double[ 2 * polyVertices.size() ];
+        int j = 0;
+        for ( final PolyVertex polyVertex : polyVertices ) {
+            if ( ( polyVertex == null ) || ( ( float ) polyVertex._bulge
+                                             != 0f ) ) {
+                return null;
+            }
+            coordinates[ j++ ] = polyVertex._x;
+            coordinates[ j++ ] = polyVertex._y;
+        }
+
+        return new PolylineLevelsOfDetail( coordinates );
+    }
+
+    public static List< Vertex > makeVertexList( final Vectorization vectorization,
+                                                 final List< PolyVertex > vertexlist,
+                                                 final boolean closed,
+                                                 final boolean hasWidth ) {
+        // Lista de vértices
+        final List< Vertex > vlist = new ArrayList<>( 4 );
+        vlist.add( null ); // El elemento será sobrescrito con vlist.set
+
+        int iStrip = 0; // índice del vértice actual de la Strip line
+
+        int vi = 0;
+        final int len = vertexlist.size();
+        while ( vi < len ) {
+            final PolyVertex vert1 = vertexlist.get( vi );
+            if ( vert1 == null ) {
+                continue;
+            }
+
+            final int vix = ( vi + 1 ) % len;
+
+            final PolyVertex vert2 = vertexlist.get( vix );
+            if ( vert2 == null ) {
+                continue;
+            }
+
+            if ( vert1._bulge == 0 ) {
+                final Vertex v1 = new Vertex( vert1._x,
+                                              vert1._y,
+                                              vert1._startWidth,
+                                              vert1._endWidth );
+                final Vertex v2 = new Vertex( vert2._x,
+                                              vert2._y,
+                                              vert2._startWidth,
+                                              vert2._endWidth );
+
+                // Actualizar lista de vértices
+                vlist.set( iStrip, v1 );
+                iStrip++;
+                vlist.add( iStrip, v2 );
+            }
+            else {
+                final EllipticalArc2D arc = vert1.getArc( vert2._x, vert2._y );
+                final Vertex[] vectaux = arc.vectorize( vectorization );
+
+                final boolean reverse = vert1._bulge < 0;
+                final Vertex[] vect = process( vectaux,
+                                               vert1._startWidth,
+                                               vert1._endWidth,
+                                               vert2._startWidth,
+                                               vert2._endWidth,
+                                               reverse,
+                                               hasWidth );
+
+                // Actualizar lista de vértices
+                final int vectlen = vect.length;
+                vlist.set( iStrip, vect[ 0 ] );
+                for ( int n = 1; n < vectlen; n++ ) {
+                    vlist.add( iStrip + n, vect[ n ] );
+                }
+                iStrip += vectlen - 1;
+            }
+
+            if ( ( ++vi == ( len - 1 ) ) && !closed ) {
+                break;
+            }
+        }
+
+        return vlist;
+    }
+
+    private static Vertex[] process( final Vertex[] coords,
+                                     final double start1,
+                                     final double end1,
+                                     final double start2,
+                                     final double end2,
+                                     final boolean reverse,
+                                     final boolean hasWidth ) {
+        final int numberOfCoordinates = coords.length;
+        final int incr = reverse
+                         ? -1
+                         : 1;
+        final int init = reverse
+                         ? numberOfCoordinates - 1
+                         : 0;
+        final int fin = reverse
+                        ? -1
+                        : numberOfCoordinates;
+
+        final Vertex[] values = new Vertex[ numberOfCoordinates ];
+
+        int n = 0;
+        if ( hasWidth ) {
+            // incremento del grosor por vértice
+            final double widthIncrease = ( end1 - start1 )
+                                         / numberOfCoordinates;
+            double tempstart = start1;
+            double tempend = start1 + widthIncrease;
+            for ( int i = init; i != fin; i += incr, n++ ) {
+                final Vertex point = coords[ i ];
+                values[ n ] = new Vertex( point._x,
+                                          point._y,
+                                          tempstart,
+                                          tempend );
+                tempstart = tempend;
+                tempend = tempstart + widthIncrease;
+            }
+        }
+        else {
+            for ( int i = init; i != fin; i += incr, n++ ) {
+                final Vertex point = coords[ i ];
+                values[ n ] = new Vertex( point._x, point._y, 0.0d, 0.0d );
+            }
+        }
+        return values;
+    }
+
+    public static double getBulge( final Object pv ) {
+        if ( pv instanceof DxfVertex ) {
+            final DxfVertex v = ( DxfVertex ) pv;
+            final double bulge = v.getBulge();
+            return bulge;
+        }
+        else if ( pv instanceof PolyVertex ) {
+            final PolyVertex v = ( PolyVertex ) pv;
+            return v._bulge;
+        }
+        else {
+            return 0.0d;
+        }
+    }
+
+    public static double getX( final Object pv ) {
+        if ( pv instanceof DxfVertex ) {
+            final DxfVertex v = ( DxfVertex ) pv;
+            return v._x;
+        }
+        else if ( pv instanceof PolyVertex ) {
+            final PolyVertex v = ( PolyVertex ) pv;
+            return v._x;
+        }
+        else {
+            return 0.0d;
+        }
+    }
+
+    public static double getY( final Object pv ) {
+        if ( pv instanceof DxfVertex ) {
+            final DxfVertex v = ( DxfVertex ) pv;
+            return v._y;
+        }
+        else if ( pv instanceof PolyVertex ) {
+            final PolyVertex v = ( PolyVertex ) pv;
+            return v._y;
+        }
+        else {
+            return 0.0d;
+        }
+    }
+}// class PolylineUtilities
@@ -0,0 +1,882 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.geometry;
+
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.Arrays;
+
+/**
+ * This finds the points where line segments cross or touch, such as for
+ * snapping to intersections and for finding overshoots and gaps in survey
+ * linework, with a Bentley-Ottmann sweep in O((n + k) log n) time for n
+ * segments and k intersections, rather than by testing every pair.
+ * <p>
+ * A vertical line sweeps the segments from left to right, stopping at their
+ * endpoints and at the intersections that are found along the way, while a
+ * balanced tree (a treap, held in arrays indexed by segment) keeps the
+ * segments that cross the sweep line in their vertical order. Only segments
+ * that are neighbours in that order can intersect next, so only they are
+ * tested.
+ * <p>
+ * For robustness, all endpoints and intersections are snapped to a lattice
+ * of about a billion steps across the extents of the segments, and segments
+ * that pass within a couple of lattice steps of an event are treated as
+ * passing through it; intersections within a few lattice steps of each other
+ * are reported once. Points where segments only meet at their endpoints,
+ * such as the vertices of polylines, are not reported, and neither are the
+ * overlaps of collinear segments, other than where they end.
+ * <p>
+ * An intersector is not thread-safe, but several of them may run at once,
+ * such as one per layer.
+ */
+public final class SegmentIntersector {
+
+    /**
+     * This is the receiver of the intersections that are found.
+     */
+    public interface IntersectionConsumer {
+
+        /**
+         * Receives an intersection.
+         *
+         * @param x                The x-coordinate of the intersection
+         * @param y                The y-coordinate of the intersection
+         * @param segments         The indices of the segments that meet at
+         *                         the intersection, in the order in which they
+         *                         were added; the array is re-used for the next
+         *                         intersection
+         * @param numberOfSegments The number of segments in use
+         */
+        void intersection( final double x,
+                           final double y,
+                           final int[] segments,
+                           final int numberOfSegments );
+    }
+
+    // The number of lattice steps across the extents of the segments, which
+    // keeps the packed lattice coordinates of a point within a long.
+    private static final double LATTICE_SIZE = 1 << 30;
+
+    // The distance, in lattice steps, within which a segment passes through
+    // an event.
+    private static final double TOLERANCE = 2.0d;
+
+    // The distance, in lattice steps, within which intersections are merged
+    // into one, as rounding can place them a few steps apart.
+    private static final double MERGE_DISTANCE = 8.0d;
+
+    private static final int NIL = -1;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // The segments, as (x1, y1, x2, y2) in the order they were added.
+    private double[] _segments;
+    private int _numberOfSegments;
+
+    // The lattice coordinates of the segments, ordered from left to right.
+    private double[] _startX;
+    private double[] _startY;
+    private double[] _endX;
+    private double[] _endY;
+    private double[] _slopes;
+    private long[] _startKeys;
+    private long[] _endKeys;
+
+    // The treap of the segments that cross the sweep line, from bottom to
+    // top, as links between segment indices.
+    private int[] _left;
+    private int[] _right;
+    private int[] _parent;
+    private int[] _priorities;
+    private boolean[] _inStatus;
+    private int _root;
+
+    // The events at which segments pass through the current event point.
+    private int[] _eventStamps;
+    private int _eventStamp;
+
+    // The current event point, in lattice coordinates.
+    private double _sweepX;
+    private double _sweepY;
+
+    // The pending intersection events, as a binary heap of packed points.
+    private long[] _eventHeap;
+    private int _eventHeapSize;
+
+    // The recently reported intersections, as a queue of lattice points, for
+    // merging the reports of intersections that were rounded to different
+    // but adjacent points of the lattice.
+    private double[] _recentReports;
+    private int _firstRecentReport;
+    private int _numberOfRecentReports;
+
+    // The segments that meet at the current event point.
+    private int[] _involved;
+    private int _numberOfInvolved;
+    private int[] _reinserted;
+    private int _numberOfReinserted;
+
+    public SegmentIntersector() {
+        _segments = new double[ 4 * INITIAL_CAPACITY ];
+        _numberOfSegments = 0;
+    }
+
+    /**
+     * Adds a line segment; segments without length are ignored.
+     *
+     * @param x1 The x-coordinate of the start of the segment
+     * @param y1 The y-coordinate of the start of the segment
+     * @param x2 The x-coordinate of the end of the segment
+     * @param y2 The y-coordinate of the end of the segment
+     * @return the index of the segment, by which intersections report it
+     */
+    public int addSegment( final double x1,
+                           final double y1,
+                           final double x2,
+                           final double y2 ) {
+        if ( ( 4 * ( _numberOfSegments + 1 ) ) > _segments.length ) {
+            _segments = Arrays.copyOf( _segments, 2 * _segments.length );
+        }
+
+        final int s = 4 * _numberOfSegments;
+        _segments[ s ] = x1;
+        _segments[ s + 1 ] = y1;
+        _segments[ s + 2 ] = x2;
+        _segments[ s + 3 ] = y2;
+
+        return _numberOfSegments++;
+    }
+
+    /**
+     * Adds the segments of a polyline.
+     *
+     * @param coordinates    The interleaved x and y coordinates
+     * @param numberOfPoints The number of points in use
+     * @param closed         {@code true} if the last point connects back to
+     *                       the first point
+     */
+    public void addPolyline( final double[] coordinates,
+                             final int numberOfPoints,
+                             final boolean closed ) {
+        for ( int i = 1; i < numberOfPoints; i++ ) {
+            addSegment( coordinates[ ( 2 * i ) - 2 ],
+                        coordinates[ ( 2 * i ) - 1 ],
+                        coordinates[ 2 * i ],
+                        coordinates[ ( 2 * i ) + 1 ] );
+        }
+        if ( closed && ( numberOfPoints > 2 ) ) {
+            addSegment( coordinates[ ( 2 * numberOfPoints ) - 2 ],
+                        coordinates[ ( 2 * numberOfPoints ) - 1 ],
+                        coordinates[ 0 ],
+                        coordinates[ 1 ] );
+        }
+    }
+
+    public int getNumberOfSegments() {
+        return _numberOfSegments;
+    }
+
+    public void clear() {
+        _numberOfSegments = 0;
+    }
+
+    /**
+     * Finds the intersections of the segments.
+     *
+     * @return the interleaved coordinates of the intersections, from left to
+     *         right
+     */
+    public CoordinateBuffer findIntersections() {
+        final CoordinateBuffer intersections = new CoordinateBuffer();
+        findIntersections( ( x, y, segments, numberOfSegments ) -> intersections
+                .add( x, y ) );
+        return intersections;
+    }
+
+    /**
+     * Finds the intersections of the segments, from left to right.
+     *
+     * @param consumer The receiver of the intersections
+     */
+    public void findIntersections( final IntersectionConsumer consumer ) {
+        final int n = _numberOfSegments;
+
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for ( int i = 0; i < ( 4 * n ); i += 2 ) {
+            minX = FastMath.min( minX, _segments[ i ] );
+            maxX = FastMath.max( maxX, _segments[ i ] );
+            minY = FastMath.min( minY, _segments[ i + 1 ] );
+            maxY = FastMath.max( maxY, _segments[ i + 1 ] );
+        }
+        final double span = FastMath.max( maxX - minX, maxY - minY );
+        if ( !( span > 0.0d ) || Double.isInfinite( span ) ) {
+            return;
+        }
+        final double scale = LATTICE_SIZE / span;
+
+        allocate( n );
+
+        // Scale the segments to the lattice, and orient them from left to
+        // right, or from bottom to top if vertical. The endpoints are only
+        // snapped to the lattice as events, so that intersections are found
+        // from the exact segments.
+        int numberOfStarts = 0;
+        final int[] starts = new int[ n ];
+        final int[] ends = new int[ n ];
+        for ( int i = 0; i < n; i++ ) {
+            final int s = 4 * i;
+            double x1 = ( _segments[ s ] - minX ) * scale;
+            double y1 = ( _segments[ s + 1 ] - minY ) * scale;
+            double x2 = ( _segments[ s + 2 ] - minX ) * scale;
+            double y2 = ( _segments[ s + 3 ] - minY ) * scale;
+            long startKey = toKey( FastMath.rint( x1 ), FastMath.rint( y1 ) );
+            long endKey = toKey( FastMath.rint( x2 ), FastMath.rint( y2 ) );
+            if ( startKey == endKey ) {
+                continue;
+            }
+            if ( endKey < startKey ) {
+                final double x = x1;
+                final double y = y1;
+                final long key = startKey;
+                x1 = x2;
+                y1 = y2;
+                startKey = endKey;
+                x2 = x;
+                y2 = y;
+                endKey = key;
+            }
+
+            // Segments that are vertical on the lattice are made exactly so.
+            final boolean vertical = ( startKey >>> 32 ) == ( endKey >>> 32 );
+            if ( vertical ) {
+                x1 = startKey >>> 32;
+                x2 = x1;
+            }
+
+            _startX[ i ] = x1;
+            _startY[ i ] = y1;
+            _endX[ i ] = x2;
+            _endY[ i ] = y2;
+            _slopes[ i ] = vertical
+                           ? Double.POSITIVE_INFINITY
+                           : ( y2 - y1 ) / ( x2 - x1 );
+            _startKeys[ i ] = startKey;
+            _endKeys[ i ] = endKey;
+            starts[ numberOfStarts ] = i;
+            ends[ numberOfStarts ] = i;
+            numberOfStarts++;
+        }
+        sortByKey( starts, _startKeys, 0, numberOfStarts - 1 );
+        sortByKey( ends, _endKeys, 0, numberOfStarts - 1 );
+
+        // Sweep through the endpoints and the intersections, in order.
+        int nextStart = 0;
+        int nextEnd = 0;
+        while ( true ) {
+            long event = Long.MAX_VALUE;
+            if ( nextStart < numberOfStarts ) {
+                event = FastMath.min( event, _startKeys[ starts[ nextStart ] ] );
+            }
+            if ( nextEnd < numberOfStarts ) {
+                event = FastMath.min( event, _endKeys[ ends[ nextEnd ] ] );
+            }
+            if ( _eventHeapSize > 0 ) {
+                event = FastMath.min( event, _eventHeap[ 0 ] );
+            }
+            if ( event == Long.MAX_VALUE ) {
+                break;
+            }
+            while ( ( _eventHeapSize > 0 ) && ( _eventHeap[ 0 ] == event ) ) {
+                popEvent();
+            }
+
+            final int firstStart = nextStart;
+            while ( ( nextStart < numberOfStarts )
+                    && ( _startKeys[ starts[ nextStart ] ] == event ) ) {
+                nextStart++;
+            }
+            final int firstEnd = nextEnd;
+            while ( ( nextEnd < numberOfStarts )
+                    && ( _endKeys[ ends[ nextEnd ] ] == event ) ) {
+                nextEnd++;
+            }
+
+            handleEvent( event,
+                         starts,
+                         firstStart,
+                         nextStart,
+                         ends,
+                         firstEnd,
+                         nextEnd,
+                         consumer,
+                         minX,
+                         minY,
+                         scale );
+        }
+
+        release();
+    }
+
+    private void allocate( final int n ) {
+        _startX = new double[ n ];
+        _startY = new double[ n ];
+        _endX = new double[ n ];
+        _endY = new double[ n ];
+        _slopes = new double[ n ];
+        _startKeys = new long[ n ];
+        _endKeys = new long[ n ];
+
+        _left = new int[ n ];
+        _right = new int[ n ];
+        _parent = new int[ n ];
+        _priorities = new int[ n ];
+        _inStatus = new boolean[ n ];
+        for ( int i = 0; i < n; i++ ) {
+            _left[ i ] = NIL;
+            _right[ i ] = NIL;
+            _parent[ i ] = NIL;
+
+            // Deterministic pseudo-random priorities keep the results stable.
+            _priorities[ i ] = ( int ) ( ( ( i + 1 ) * 0x9E3779B97F4A7C15L )
+                                         >>> 32 );
+        }
+        _root = NIL;
+
+        _eventStamps = new int[ n ];
+        _eventStamp = 0;
+
+        _eventHeap = new long[ INITIAL_CAPACITY ];
+        _eventHeapSize = 0;
+
+        _recentReports = new double[ 2 * INITIAL_CAPACITY ];
+        _firstRecentReport = 0;
+        _numberOfRecentReports = 0;
+
+        _involved = new int[ INITIAL_CAPACITY ];
+        _reinserted = new int[ INITIAL_CAPACITY ];
+    }
+
+    private void release() {
+        _startX = null;
+        _startY = null;
+        _endX = null;
+        _endY = null;
+        _slopes = null;
+        _startKeys = null;
+        _endKeys = null;
+        _left = null;
+        _right = null;
+        _parent = null;
+        _priorities = null;
+        _inStatus = null;
+        _eventStamps = null;
+        _eventHeap = null;
+        _recentReports = null;
+        _involved = null;
+        _reinserted = null;
+    }
+
+    private static long toKey( final double x,
+                               final double y ) {
+        final long latticeX = FastMath.max( 0L, FastMath.min( ( long ) LATTICE_SIZE,
+                                                              ( long ) x ) );
+        final long latticeY = FastMath.max( 0L, FastMath.min( ( long ) LATTICE_SIZE,
+                                                              ( long ) y ) );
+        return ( latticeX << 32 ) | latticeY;
+    }
+
+    private void handleEvent( final long event,
+                              final int[] starts,
+                              final int firstStart,
+                              final int lastStart,
+                              final int[] ends,
+                              final int firstEnd,
+                              final int lastEnd,
+                              final IntersectionConsumer consumer,
+                              final double minX,
+                              final double minY,
+                              final double scale ) {
+        _sweepX = event >>> 32;
+        _sweepY = event & 0xFFFFFFFFL;
+        _eventStamp++;
+        _numberOfInvolved = 0;
+        _numberOfReinserted = 0;
+
+        // Find the run of segments that pass through the event point, which
+        // are contiguous in the status.
+        boolean interiorFound = false;
+        for ( int s = findLowestNotBelow(); ( s != NIL ) && !isAbove( s );
+              s = successor( s ) ) {
+            addInvolved( s );
+            if ( _endKeys[ s ] != event ) {
+                interiorFound = true;
+                addReinserted( s );
+            }
+        }
+
+        // Segments that end here, but were not found through the event point
+        // by a rounding error, are also involved.
+        for ( int i = firstEnd; i < lastEnd; i++ ) {
+            final int s = ends[ i ];
+            if ( _inStatus[ s ] && ( _eventStamps[ s ] != _eventStamp ) ) {
+                addInvolved( s );
+            }
+        }
+        for ( int i = firstStart; i < lastStart; i++ ) {
+            addInvolved( starts[ i ] );
+            addReinserted( starts[ i ] );
+        }
+
+        if ( interiorFound && ( _numberOfInvolved > 1 ) && !isReported() ) {
+            consumer.intersection( minX + ( _sweepX / scale ),
+                                   minY + ( _sweepY / scale ),
+                                   _involved,
+                                   _numberOfInvolved );
+        }
+
+        // Re-order the segments that continue past the event point, by
+        // removing them and inserting them again by their slopes.
+        for ( int i = 0; i < _numberOfInvolved; i++ ) {
+            if ( _inStatus[ _involved[ i ] ] ) {
+                remove( _involved[ i ] );
+            }
+        }
+        for ( int i = 0; i < _numberOfReinserted; i++ ) {
+            insert( _reinserted[ i ] );
+        }
+
+        // Test the new neighbours for intersections.
+        final int lowest = findLowestNotBelow();
+        if ( _numberOfReinserted == 0 ) {
+            final int below = ( lowest != NIL )
+                              ? predecessor( lowest )
+                              : getHighest();
+            checkIntersection( below, lowest, event );
+            return;
+        }
+
+        int highest = lowest;
+        for ( int s = successor( lowest );
+              ( s != NIL ) && ( _eventStamps[ s ] == _eventStamp );
+              s = successor( s ) ) {
+            highest = s;
+        }
+        checkIntersection( predecessor( lowest ), lowest, event );
+        checkIntersection( highest, successor( highest ), event );
+    }
+
+    // Determines whether an intersection was already reported within the
+    // merge distance of the event point, and otherwise records it as
+    // reported.
+    private boolean isReported() {
+        while ( ( _numberOfRecentReports > 0 )
+                && ( _recentReports[ 2 * _firstRecentReport ] < ( _sweepX
+                                                                  - MERGE_DISTANCE ) ) ) {
+            _firstRecentReport++;
+            _numberOfRecentReports--;
+        }
+        for ( int i = _firstRecentReport;
+              i < ( _firstRecentReport + _numberOfRecentReports ); i++ ) {
+            if ( FastMath.abs( _recentReports[ ( 2 * i ) + 1 ] - _sweepY )
+                 <= MERGE_DISTANCE ) {
+                return true;
+            }
+        }
+
+        // Compact the queue before growing it.
+        if ( ( 2 * ( _firstRecentReport + _numberOfRecentReports + 1 ) )
+             > _recentReports.length ) {
+            System.arraycopy( _recentReports,
+                              2 * _firstRecentReport,
+                              _recentReports,
+                              0,
+                              2 * _numberOfRecentReports );
+            _firstRecentReport = 0;
+            if ( ( 2 * ( _numberOfRecentReports + 1 ) )
+                 > _recentReports.length ) {
+                _recentReports = Arrays.copyOf( _recentReports,
+                                                2 * _recentReports.length );
+            }
+        }
+        final int i = _firstRecentReport + _numberOfRecentReports++;
+        _recentReports[ 2 * i ] = _sweepX;
+        _recentReports[ ( 2 * i ) + 1 ] = _sweepY;
+
+        return false;
+    }
+
+    private void addInvolved( final int s ) {
+        if ( _numberOfInvolved == _involved.length ) {
+            _involved = Arrays.copyOf( _involved, 2 * _involved.length );
+        }
+        _involved[ _numberOfInvolved++ ] = s;
+        _eventStamps[ s ] = _eventStamp;
+    }
+
+    private void addReinserted( final int s ) {
+        if ( _numberOfReinserted == _reinserted.length ) {
+            _reinserted = Arrays.copyOf( _reinserted, 2 * _reinserted.length );
+        }
+        _reinserted[ _numberOfReinserted++ ] = s;
+    }
+
+    // The y-coordinate of a segment where it crosses the sweep line; vertical
+    // segments are taken at the event point, clamped to their extent.
+    private double getSweepY( final int s ) {
+        if ( _slopes[ s ] == Double.POSITIVE_INFINITY ) {
+            return FastMath.max( _startY[ s ],
+                                 FastMath.min( _endY[ s ], _sweepY ) );
+        }
+        if ( _sweepX <= _startX[ s ] ) {
+            return _startY[ s ];
+        }
+        if ( _sweepX >= _endX[ s ] ) {
+            return _endY[ s ];
+        }
+
+        return _startY[ s ] + ( ( _sweepX - _startX[ s ] ) * _slopes[ s ] );
+    }
+
+    // The vertical tolerance of a segment, which grows with its slope so that
+    // it stays about the same distance across the segment.
+    private double getTolerance( final int s ) {
+        return ( _slopes[ s ] == Double.POSITIVE_INFINITY )
+               ? TOLERANCE
+               : TOLERANCE * ( 1.0d + FastMath.abs( _slopes[ s ] ) );
+    }
+
+    private boolean isBelow( final int s ) {
+        return ( _eventStamps[ s ] != _eventStamp )
+               && ( getSweepY( s ) < ( _sweepY - getTolerance( s ) ) );
+    }
+
+    private boolean isAbove( final int s ) {
+        return ( _eventStamps[ s ] != _eventStamp )
+               && ( getSweepY( s ) > ( _sweepY + getTolerance( s ) ) );
+    }
+
+    // Finds the lowest segment in the status that is not below the event
+    // point, which is either the lowest one through it or the one above it.
+    private int findLowestNotBelow() {
+        int lowest = NIL;
+        int s = _root;
+        while ( s != NIL ) {
+            if ( isBelow( s ) ) {
+                s = _right[ s ];
+            }
+            else {
+                lowest = s;
+                s = _left[ s ];
+            }
+        }
+
+        return lowest;
+    }
+
+    private void checkIntersection( final int a,
+                                    final int b,
+                                    final long event ) {
+        if ( ( a == NIL ) || ( b == NIL ) ) {
+            return;
+        }
+
+        final double rx = _endX[ a ] - _startX[ a ];
+        final double ry = _endY[ a ] - _startY[ a ];
+        final double sx = _endX[ b ] - _startX[ b ];
+        final double sy = _endY[ b ] - _startY[ b ];
+        final double denominator = ( rx * sy ) - ( ry * sx );
+        if ( denominator == 0.0d ) {
+            // Parallel segments only meet where one ends on the other.
+            return;
+        }
+
+        final double qx = _startX[ b ] - _startX[ a ];
+        final double qy = _startY[ b ] - _startY[ a ];
+        final double t = ( ( qx * sy ) - ( qy * sx ) ) / denominator;
+        final double u = ( ( qx * ry ) - ( qy * rx ) ) / denominator;
+        if ( ( t < 0.0d ) || ( t > 1.0d ) || ( u < 0.0d ) || ( u > 1.0d ) ) {
+            return;
+        }
+
+        // Where either segment ends at the intersection, its endpoint is
+        // already an event, which finds the other segment through it.
+        if ( isNearEndpoint( t, FastMath.hypot( rx, ry ) )
+             || isNearEndpoint( u, FastMath.hypot( sx, sy ) ) ) {
+            return;
+        }
+
+        // Only intersections that the sweep has not yet passed are events.
+        final long key = toKey( FastMath.rint( _startX[ a ] + ( t * rx ) ),
+                                FastMath.rint( _startY[ a ] + ( t * ry ) ) );
+        if ( key > event ) {
+            pushEvent( key );
+        }
+    }
+
+    private static boolean isNearEndpoint( final double t,
+                                           final double length ) {
+        return ( FastMath.min( t, 1.0d - t ) * length ) <= TOLERANCE;
+    }
+
+    // Orders a segment that passes through the event point against one in the
+    // status: by height for segments that do not pass through it, and by
+    // slope for those that do, as that is their order just after it.
+    private int compareToStatus( final int s,
+                                 final int t ) {
+        if ( _eventStamps[ t ] != _eventStamp ) {
+            return ( _sweepY < getSweepY( t ) )
+                   ? -1
+                   : 1;
+        }
+
+        final int order = Double.compare( _slopes[ s ], _slopes[ t ] );
+        return ( order != 0 )
+               ? order
+               : Integer.compare( s, t );
+    }
+
+    private void insert( final int s ) {
+        int parent = NIL;
+        int t = _root;
+        boolean left = false;
+        while ( t != NIL ) {
+            parent = t;
+            left = compareToStatus( s, t ) < 0;
+            t = left
+                ? _left[ t ]
+                : _right[ t ];
+        }
+
+        _parent[ s ] = parent;
+        _left[ s ] = NIL;
+        _right[ s ] = NIL;
+        if ( parent == NIL ) {
+            _root = s;
+        }
+        else if ( left ) {
+            _left[ parent ] = s;
+        }
+        else {
+            _right[ parent ] = s;
+        }
+        _inStatus[ s ] = true;
+
+        while ( ( _parent[ s ] != NIL )
+                && ( _priorities[ s ] > _priorities[ _parent[ s ] ] ) ) {
+            rotateUp( s );
+        }
+    }
+
+    private void remove( final int s ) {
+        while ( ( _left[ s ] != NIL ) && ( _right[ s ] != NIL ) ) {
+            rotateUp( ( _priorities[ _left[ s ] ] > _priorities[ _right[ s ] ] )
+                      ? _left[ s ]
+                      : _right[ s ] );
+        }
+
+        final int child = ( _left[ s ] != NIL )
+                          ? _left[ s ]
+                          : _right[ s ];
+        final int parent = _parent[ s ];
+        if ( child != NIL ) {
+            _parent[ child ] = parent;
+        }
+        if ( parent == NIL ) {
+            _root = child;
+        }
+        else if ( _left[ parent ] == s ) {
+            _left[ parent ] = child;
+        }
+        else {
+            _right[ parent ] = child;
+        }
+
+        _left[ s ] = NIL;
+        _right[ s ] = NIL;
+        _parent[ s ] = NIL;
+        _inStatus[ s ] = false;
+    }
+
+    // Rotates a node above its parent, keeping the in-order sequence.
+    private void rotateUp( final int s ) {
+        final int parent = _parent[ s ];
+        final int grandparent = _parent[ parent ];
+        if ( _left[ parent ] == s ) {
+            _left[ parent ] = _right[ s ];
+            if ( _right[ s ] != NIL ) {
+                _parent[ _right[ s ] ] = parent;
+            }
+            _right[ s ] = parent;
+        }
+        else {
+            _right[ parent ] = _left[ s ];
+            if ( _left[ s ] != NIL ) {
+                _parent[ _left[ s ] ] = parent;
+            }
+            _left[ s ] = parent;
+        }
+        _parent[ parent ] = s;
+        _parent[ s ] = grandparent;
+
+        if ( grandparent == NIL ) {
+            _root = s;
+        }
+        else if ( _left[ grandparent ] == parent ) {
+            _left[ grandparent ] = s;
+        }
+        else {
+            _right[ grandparent ] = s;
+        }
+    }
+
+    private int successor( final int s ) {
+        int t = _right[ s ];
+        if ( t != NIL ) {
+            while ( _left[ t ] != NIL ) {
+                t = _left[ t ];
+            }
+            return t;
+        }
+
+        int child = s;
+        t = _parent[ s ];
+        while ( ( t != NIL ) && ( _right[ t ] == child ) ) {
+            child = t;
+            t = _parent[ t ];
+        }
+        return t;
+    }
+
+    private int predecessor( final int s ) {
+        int t = _left[ s ];
+        if ( t != NIL ) {
+            while ( _right[ t ] != NIL ) {
+                t = _right[ t ];
+            }
+            return t;
+        }
+
+        int child = s;
+        t = _parent[ s ];
+        while ( ( t != NIL ) && ( _left[ t ] == child ) ) {
+            child = t;
+            t = _parent[ t ];
+        }
+        return t;
+    }
+
+    private int getHighest() {
+        int t = _root;
+        while ( ( t != NIL ) && ( _right[ t ] != NIL ) ) {
+            t = _right[ t ];
+        }
+        return t;
+    }
+
+    private void pushEvent( final long key ) {
+        if ( _eventHeapSize == _eventHeap.length ) {
+            _eventHeap = Arrays.copyOf( _eventHeap, 2 * _eventHeap.length );
+        }
+
+        int i = _eventHeapSize++;
+        while ( i > 0 ) {
+            final int parent = ( i - 1 ) >>> 1;
+            if ( _eventHeap[ parent ] <= key ) {
+                break;
+            }
+            _eventHeap[ i ] = _eventHeap[ parent ];
+            i = parent;
+        }
+        _eventHeap[ i ] = key;
+    }
+
+    private void popEvent() {
+        final long key = _eventHeap[ --_eventHeapSize ];
+        int i = 0;
+        while ( true ) {
+            int child = ( 2 * i ) + 1;
+            if ( child >= _eventHeapSize ) {
+                break;
+            }
+            if ( ( ( child + 1 ) < _eventHeapSize )
+                 && ( _eventHeap[ child + 1 ] < _eventHeap[ child ] ) ) {
+                child++;
+            }
+            if ( key <= _eventHeap[ child ] ) {
+                break;
+            }
+            _eventHeap[ i ] = _eventHeap[ child ];
+            i = child;
+        }
+        _eventHeap[ i ] = key;
+    }
+
+    // In-place quicksort of the segment indices in [left, right] by key.
+    private static void sortByKey( final int[] indices,
+                                   final long[] keys,
+                                   final int left,
+                                   final int right ) {
+        int lo = left;
+        int hi = right;
+        while ( lo < hi ) {
+            final long pivot = keys[ indices[ ( lo + hi ) >>> 1 ] ];
+            int i = lo;
+            int j = hi;
+            while ( i <= j ) {
+                while ( keys[ indices[ i ] ] < pivot ) {
+                    i++;
+                }
+                while ( keys[ indices[ j ] ] > pivot ) {
+                    j--;
+                }
+                if ( i <= j ) {
+                    final int index = indices[ i ];
+                    indices[ i++ ] = indices[ j ];
+                    indices[ j-- ] = index;
+                }
+            }
+
+            // Recurse into the smaller side only, to bound the stack depth.
+            if ( ( j - lo ) < ( hi - i ) ) {
+                sortByKey( indices, keys, lo, j );
+                lo = i;
+            }
+            else {
+                sortByKey( indices, keys, i, hi );
+                hi = j;
+            }
+        }
+    }
+}// class SegmentIntersector
@@ -0,0 +1,300 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.geometry;
+
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This is a growable buffer of snap points, held as interleaved coordinates
+ * and parallel arrays of their types and owners, so that the snap points of
+ * a whole drawing can be collected without allocating an object per point.
+ * <p>
+ * Points are transformed to world coordinates as they are added, by the
+ * current transform of the buffer, and are attributed to the current owner,
+ * group and path, such as the entity whose points are being added, the Model
+ * Space entity that it belongs to, and the nesting in between. A buffer may
+ * share a budget of points with other buffers that are filled in parallel,
+ * and then ignores all points once that budget is used up.
+ */
+public final class SnapPointBuffer {
+
+    private static final SnapType[] SNAP_TYPES = SnapType.values();
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    // The number of points that are claimed from a shared budget at a time,
+    // so that parallel buffers rarely contend for it.
+    private static final int BUDGET_CLAIM_SIZE = 1024;
+
+    private double[] _coordinates;
+    private byte[] _types;
+    private int[] _owners;
+    private int[] _groups;
+    private int[] _paths;
+    private int _numberOfPoints;
+
+    private final List< Object > _ownerObjects;
+    private Object _owner;
+    private final List< Object > _groupObjects;
+    private Object _group;
+    private final List< Object > _pathObjects;
+    private Object _path;
+
+    private Affine2D _transform;
+
+    private final AtomicInteger _budget;
+    private int _claimedPoints;
+    private boolean _truncated;
+
+    /**
+     * Makes a buffer without a limit on its number of points.
+     */
+    public SnapPointBuffer() {
+        this( null );
+    }
+
+    /**
+     * Makes a buffer that takes its points from a shared budget.
+     *
+     * @param budget The number of points that may still be added, which is
+     *               shared by all of the buffers that are filled together, or
+     *               {@code null} for no limit
+     */
+    public SnapPointBuffer( final AtomicInteger budget ) {
+        _coordinates = new double[ 2 * DEFAULT_CAPACITY ];
+        _types = new byte[ DEFAULT_CAPACITY ];
+        _owners = new int[ DEFAULT_CAPACITY ];
+        _groups = new int[ DEFAULT_CAPACITY ];
+        _paths = new int[ DEFAULT_CAPACITY ];
+        _numberOfPoints = 0;
+
+        _ownerObjects = new ArrayList<>();
+        _owner = null;
+        _groupObjects = new ArrayList<>();
+        _group = null;
+        _pathObjects = new ArrayList<>();
+        _path = null;
+
+        _transform = new Affine2D();
+
+        _budget = budget;
+        _claimedPoints = 0;
+        _truncated = false;
+    }
+
+    /**
+     * Sets the transform from the coordinates of the points that are added
+     * next to world coordinates; the transform is referenced, not copied.
+     *
+     * @param transform The transform of the points that are added next
+     */
+    public void setTransform( final Affine2D transform ) {
+        _transform = transform;
+    }
+
+    /**
+     * Sets the owner of the points that are added next.
+     *
+     * @param owner The owner of the points that are added next
+     */
+    public void setOwner( final Object owner ) {
+        if ( owner != _owner ) {
+            _owner = owner;
+            _ownerObjects.add( owner );
+        }
+    }
+
+    /**
+     * Sets the group of the points that are added next.
+     *
+     * @param group The group of the points that are added next
+     */
+    public void setGroup( final Object group ) {
+        if ( group != _group ) {
+            _group = group;
+            _groupObjects.add( group );
+        }
+    }
+
+    /**
+     * Sets the path of the points that are added next.
+     *
+     * @param path The path of the points that are added next
+     */
+    public void setPath( final Object path ) {
+        if ( path != _path ) {
+            _path = path;
+            _pathObjects.add( path );
+        }
+    }
+
+    /**
+     * Adds a point, in the coordinates of the current transform.
+     *
+     * @param x        The x-coordinate of the point
+     * @param y        The y-coordinate of the point
+     * @param snapType The kind of point
+     */
+    public void add( final double x,
+                     final double y,
+                     final SnapType snapType ) {
+        if ( !claimPoint() ) {
+            return;
+        }
+
+        ensureCapacity( _numberOfPoints + 1 );
+        _coordinates[ 2 * _numberOfPoints ] = _transform.transformX( x, y );
+        _coordinates[ ( 2 * _numberOfPoints ) + 1 ] = _transform.transformY( x,
+                                                                             y );
+        _types[ _numberOfPoints ] = ( byte ) snapType.ordinal();
+        _owners[ _numberOfPoints ] = _ownerObjects.size() - 1;
+        _groups[ _numberOfPoints ] = _groupObjects.size() - 1;
+        _paths[ _numberOfPoints ] = _pathObjects.size() - 1;
+        _numberOfPoints++;
+    }
+
+    private boolean claimPoint() {
+        if ( _budget == null ) {
+            return true;
+        }
+        if ( _claimedPoints > 0 ) {
+            _claimedPoints--;
+            return true;
+        }
+        if ( _truncated ) {
+            return false;
+        }
+
+        // Claim a batch of points, but no more than are left.
+        int remaining = _budget.get();
+        while ( remaining > 0 ) {
+            final int claim = FastMath.min( remaining, BUDGET_CLAIM_SIZE );
+            if ( _budget.compareAndSet( remaining, remaining - claim ) ) {
+                _claimedPoints = claim - 1;
+                return true;
+            }
+            remaining = _budget.get();
+        }
+
+        _truncated = true;
+        return false;
+    }
+
+    private void ensureCapacity( final int capacity ) {
+        if ( capacity > _types.length ) {
+            final int newCapacity = FastMath.max( capacity, 2 * _types.length );
+            _coordinates = Arrays.copyOf( _coordinates, 2 * newCapacity );
+            _types = Arrays.copyOf( _types, newCapacity );
+            _owners = Arrays.copyOf( _owners, newCapacity );
+            _groups = Arrays.copyOf( _groups, newCapacity );
+            _paths = Arrays.copyOf( _paths, newCapacity );
+        }
+    }
+
+    /**
+     * Appends all of the points of another buffer, along with their owners,
+     * groups and paths.
+     *
+     * @param buffer The buffer whose points to append
+     */
+    public void addAll( final SnapPointBuffer buffer ) {
+        ensureCapacity( _numberOfPoints + buffer._numberOfPoints );
+        System.arraycopy( buffer._coordinates,
+                          0,
+                          _coordinates,
+                          2 * _numberOfPoints,
+                          2 * buffer._numberOfPoints );
+        System.arraycopy( buffer._types,
+                          0,
+                          _types,
+                          _numberOfPoints,
+                          buffer._numberOfPoints );
+
+        final int ownerOffset = _ownerObjects.size();
+        final int groupOffset = _groupObjects.size();
+        final int pathOffset = _pathObjects.size();
+        for ( int i = 0; i < buffer._numberOfPoints; i++ ) {
+            _owners[ _numberOfPoints + i ] = buffer._owners[ i ] + ownerOffset;
+            _groups[ _numberOfPoints + i ] = buffer._groups[ i ] + groupOffset;
+            _paths[ _numberOfPoints + i ] = buffer._paths[ i ] + pathOffset;
+        }
+        _ownerObjects.addAll( buffer._ownerObjects );
+        _owner = null;
+        _groupObjects.addAll( buffer._groupObjects );
+        _group = null;
+        _pathObjects.addAll( buffer._pathObjects );
+        _path = null;
+
+        _numberOfPoints += buffer._numberOfPoints;
+        _truncated |= buffer._truncated;
+    }
+
+    /**
+     * @return the interleaved world coordinates of the points; this is the
+     *         backing array, which may be longer than the points that it holds
+     */
+    public double[] getCoordinates() {
+        return _coordinates;
+    }
+
+    public int getNumberOfPoints() {
+        return _numberOfPoints;
+    }
+
+    public SnapType getSnapType( final int index ) {
+        return SNAP_TYPES[ _types[ index ] ];
+    }
+
+    public Object getOwner( final int index ) {
+        return _ownerObjects.get( _owners[ index ] );
+    }
+
+    public Object getGroup( final int index ) {
+        return _groupObjects.get( _groups[ index ] );
+    }
+
+    public Object getPath( final int index ) {
+        return _pathObjects.get( _paths[ index ] );
+    }
+
+    /**
+     * @return {@code true} if points were ignored because the budget was
+     *         used up
+     */
+    public boolean isTruncated() {
+        return _truncated;
+    }
+}// class SnapPointBuffer
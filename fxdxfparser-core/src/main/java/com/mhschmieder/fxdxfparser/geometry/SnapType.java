@@ -31,43 +31,13 @@
 package com.mhschmieder.fxdxfparser.geometry;
 
 /**
- * This is a wrapper for the parameterization of the Vectorization of Linestrips
- * via Elliptical Arcs, but currently only deals with Grads vs. Scale Grads or
- * Vertex Count (in terms of actual usage).
+ * This is an enumeration of the kinds of points that object snapping can
+ * lock onto.
  */
-public final class Vectorization {
-
-    private VectorizationMode _mode;
-    private double _value;
-
-    public double getGrads() {
-        return _value;
-    }
-
-    public void setGrads( final double grads ) {
-        _mode = VectorizationMode.GRADS;
-        _value = grads;
-    }
-
-    public VectorizationMode getMode() {
-        return _mode;
-    }
-
-    public double getScaleGrads() {
-        return _value;
-    }
-
-    public void setScaleGrads( final double scaleGrads ) {
-        _mode = VectorizationMode.SCALE_GRADS;
-        _value = scaleGrads;
-    }
-
-    public double getVertexCount() {
-        return _value;
-    }
-
-    public void setVertexCount( final int vertexCount ) {
-        _mode = VectorizationMode.VERTEX;
-        _value = vertexCount;
-    }
-}// class Vectorization
+public enum SnapType {
+    ENDPOINT,
+    MIDPOINT,
+    CENTER,
+    QUADRANT,
+    NODE;
+}// enum SnapType
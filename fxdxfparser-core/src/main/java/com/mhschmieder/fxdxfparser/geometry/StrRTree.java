@@ -0,0 +1,422 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.geometry;
+
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This is a static, bulk-loaded R-tree that is packed with the
+ * Sort-Tile-Recursive (STR) algorithm, for fast window queries over a large
+ * number of bounded items that do not change after loading.
+ * <p>
+ * All boxes are stored in a single flat array of doubles, and the nodes of
+ * each level are stored contiguously after the level below, so that the tree
+ * has no per-node objects and queries do not allocate beyond their iterator.
+ *
+ * @param <T> The type of the indexed items
+ */
+public final class StrRTree< T > {
+
+    /**
+     * The default maximum number of children per node, which is a good
+     * compromise between tree depth and the cost of scanning each node.
+     */
+    public static final int DEFAULT_NODE_SIZE = 16;
+
+    private final int _nodeSize;
+    private final int _numberOfItems;
+
+    // Boxes of all levels, as (minX, minY, maxX, maxY) per entry.
+    private final double[] _boxes;
+
+    // For leaf entries, the index of the item; for all other entries, the
+    // position of the first child entry in the level below.
+    private final int[] _indices;
+
+    // The exclusive end position of each level, from the leaves upwards.
+    private final int[] _levelBounds;
+
+    private final Object[] _items;
+
+    /**
+     * Loads the tree from the given items, skipping those with empty bounds.
+     *
+     * @param items         The items to index
+     * @param extentsGetter The function that supplies the bounds of an item
+     */
+    public StrRTree( final List< ? extends T > items,
+                     final Function< ? super T, Extents2D > extentsGetter ) {
+        this( items, extentsGetter, DEFAULT_NODE_SIZE );
+    }
+
+    /**
+     * Loads the tree from the given items, skipping those with empty bounds.
+     *
+     * @param items         The items to index
+     * @param extentsGetter The function that supplies the bounds of an item
+     * @param nodeSize      The maximum number of children per node
+     */
+    public StrRTree( final List< ? extends T > items,
+                     final Function< ? super T, Extents2D > extentsGetter,
+                     final int nodeSize ) {
+        if ( nodeSize < 2 ) {
+            throw new IllegalArgumentException();
+        }
+        _nodeSize = nodeSize;
+
+        final Object[] boundedItems = new Object[ items.size() ];
+        final double[] itemBoxes = new double[ 4 * items.size() ];
+        int numberOfItems = 0;
+        for ( final T item : items ) {
+            final Extents2D extents = ( item != null )
+                                      ? extentsGetter.apply( item )
+                                      : null;
+            if ( ( extents == null ) || extents.isEmpty() ) {
+                continue;
+            }
+
+            final int b = 4 * numberOfItems;
+            itemBoxes[ b ] = extents.getMinX();
+            itemBoxes[ b + 1 ] = extents.getMinY();
+            itemBoxes[ b + 2 ] = extents.getMaxX();
+            itemBoxes[ b + 3 ] = extents.getMaxY();
+            boundedItems[ numberOfItems++ ] = item;
+        }
+        _numberOfItems = numberOfItems;
+        _items = Arrays.copyOf( boundedItems, numberOfItems );
+
+        // Count the entries per level, always with at least one level of
+        // nodes above the leaves so that the root is never an item.
+        int numberOfLevels = 1;
+        int totalEntries = numberOfItems;
+        int levelSize = numberOfItems;
+        do {
+            levelSize = ( levelSize + nodeSize - 1 ) / nodeSize;
+            totalEntries += FastMath.max( levelSize, 1 );
+            numberOfLevels++;
+        }
+        while ( levelSize > 1 );
+
+        _boxes = new double[ 4 * totalEntries ];
+        _indices = new int[ totalEntries ];
+        _levelBounds = new int[ numberOfLevels ];
+
+        System.arraycopy( itemBoxes, 0, _boxes, 0, 4 * numberOfItems );
+        for ( int i = 0; i < numberOfItems; i++ ) {
+            _indices[ i ] = i;
+        }
+        _levelBounds[ 0 ] = numberOfItems;
+
+        // Pack each level bottom-up: sort the entries of the level below into
+        // STR order, then group every run of node-size entries under a parent.
+        int levelStart = 0;
+        for ( int level = 1; level < numberOfLevels; level++ ) {
+            final int levelEnd = _levelBounds[ level - 1 ];
+            sortTileRecursive( levelStart, levelEnd );
+
+            int parent = levelEnd;
+            for ( int child = levelStart; child < levelEnd; child += nodeSize ) {
+                final int childEnd = FastMath.min( child + nodeSize, levelEnd );
+                double minX = Double.POSITIVE_INFINITY;
+                double minY = Double.POSITIVE_INFINITY;
+                double maxX = Double.NEGATIVE_INFINITY;
+                double maxY = Double.NEGATIVE_INFINITY;
+                for ( int c = child; c < childEnd; c++ ) {
+                    final int b = 4 * c;
+                    minX = FastMath.min( minX, _boxes[ b ] );
+                    minY = FastMath.min( minY, _boxes[ b + 1 ] );
+                    maxX = FastMath.max( maxX, _boxes[ b + 2 ] );
+                    maxY = FastMath.max( maxY, _boxes[ b + 3 ] );
+                }
+
+                final int b = 4 * parent;
+                _boxes[ b ] = minX;
+                _boxes[ b + 1 ] = minY;
+                _boxes[ b + 2 ] = maxX;
+                _boxes[ b + 3 ] = maxY;
+                _indices[ parent ] = child;
+                parent++;
+            }
+
+            // An empty tree still gets an (empty) root, to simplify queries.
+            if ( parent == levelEnd ) {
+                final int b = 4 * parent;
+                _boxes[ b ] = Double.POSITIVE_INFINITY;
+                _boxes[ b + 1 ] = Double.POSITIVE_INFINITY;
+                _boxes[ b + 2 ] = Double.NEGATIVE_INFINITY;
+                _boxes[ b + 3 ] = Double.NEGATIVE_INFINITY;
+                _indices[ parent ] = levelEnd;
+                parent++;
+            }
+
+            _levelBounds[ level ] = parent;
+            levelStart = levelEnd;
+        }
+    }
+
+    /**
+     * Orders the entries in the given range by vertical slices of their
+     * centers along the x-axis, and then along the y-axis within each slice.
+     */
+    private void sortTileRecursive( final int start,
+                                    final int end ) {
+        final int count = end - start;
+        if ( count <= _nodeSize ) {
+            return;
+        }
+
+        final int numberOfNodes = ( count + _nodeSize - 1 ) / _nodeSize;
+        final int numberOfSlices = ( int ) FastMath.ceil( FastMath.sqrt(
+                numberOfNodes ) );
+        final int sliceSize = numberOfSlices * _nodeSize;
+
+        sortByCenter( start, end - 1, 0 );
+        for ( int slice = start; slice < end; slice += sliceSize ) {
+            sortByCenter( slice, FastMath.min( slice + sliceSize, end ) - 1, 1 );
+        }
+    }
+
+    // In-place quicksort of the entries in [left, right] by box center along
+    // the given axis, swapping boxes and indices together.
+    private void sortByCenter( final int left,
+                               final int right,
+                               final int axis ) {
+        int lo = left;
+        int hi = right;
+        while ( lo < hi ) {
+            final double pivot = center( ( lo + hi ) >>> 1, axis );
+            int i = lo;
+            int j = hi;
+            while ( i <= j ) {
+                while ( center( i, axis ) < pivot ) {
+                    i++;
+                }
+                while ( center( j, axis ) > pivot ) {
+                    j--;
+                }
+                if ( i <= j ) {
+                    swap( i++, j-- );
+                }
+            }
+
+            // Recurse into the smaller side only, to bound the stack depth.
+            if ( ( j - lo ) < ( hi - i ) ) {
+                sortByCenter( lo, j, axis );
+                lo = i;
+            }
+            else {
+                sortByCenter( i, hi, axis );
+                hi = j;
+            }
+        }
+    }
+
+    private double center( final int entry,
+                           final int axis ) {
+        final int b = ( 4 * entry ) + axis;
+        return _boxes[ b ] + _boxes[ b + 2 ];
+    }
+
+    private void swap( final int i,
+                       final int j ) {
+        final int bi = 4 * i;
+        final int bj = 4 * j;
+        for ( int k = 0; k < 4; k++ ) {
+            final double box = _boxes[ bi + k ];
+            _boxes[ bi + k ] = _boxes[ bj + k ];
+            _boxes[ bj + k ] = box;
+        }
+
+        final int index = _indices[ i ];
+        _indices[ i ] = _indices[ j ];
+        _indices[ j ] = index;
+    }
+
+    /**
+     * @return the number of items in the tree that have non-empty bounds
+     */
+    public int size() {
+        return _numberOfItems;
+    }
+
+    /**
+     * @return the bounds of all items in the tree
+     */
+    public Extents2D getExtents() {
+        final int b = 4 * ( _indices.length - 1 );
+        return ( _numberOfItems == 0 )
+               ? new Extents2D()
+               : new Extents2D( _boxes[ b ],
+                                _boxes[ b + 1 ],
+                                _boxes[ b + 2 ],
+                                _boxes[ b + 3 ] );
+    }
+
+    /**
+     * Finds all items whose bounds intersect the given window. The tree is
+     * traversed lazily as the stream is consumed, so a short-circuiting
+     * terminal operation does not visit the rest of the tree.
+     *
+     * @param minX The minimum x-coordinate of the query window
+     * @param minY The minimum y-coordinate of the query window
+     * @param maxX The maximum x-coordinate of the query window
+     * @param maxY The maximum y-coordinate of the query window
+     * @return a sequential stream of the intersecting items
+     */
+    @SuppressWarnings( "unchecked" )
+    public Stream< T > query( final double minX,
+                              final double minY,
+                              final double maxX,
+                              final double maxY ) {
+        final PrimitiveIterator.OfInt itemIndices = queryIndices( minX,
+                                                                  minY,
+                                                                  maxX,
+                                                                  maxY );
+        final Spliterator< Integer > spliterator = Spliterators
+                .spliteratorUnknownSize( itemIndices,
+                                         Spliterator.ORDERED
+                                         | Spliterator.NONNULL
+                                         | Spliterator.DISTINCT );
+        return StreamSupport.stream( spliterator, false )
+                            .map( index -> ( T ) _items[ index ] );
+    }
+
+    public Stream< T > query( final Extents2D window ) {
+        return query( window.getMinX(),
+                      window.getMinY(),
+                      window.getMaxX(),
+                      window.getMaxY() );
+    }
+
+    /**
+     * Finds the indices of all items whose bounds intersect the given window,
+     * via an iterator over an explicit stack of pending nodes.
+     */
+    private PrimitiveIterator.OfInt queryIndices( final double minX,
+                                                  final double minY,
+                                                  final double maxX,
+                                                  final double maxY ) {
+        return new PrimitiveIterator.OfInt() {
+            // Pending nodes as (position, level) pairs.
+            private int[] _stack = new int[ 2 * 4 * _levelBounds.length ];
+            private int _stackSize;
+
+            // Position and end of the leaf entries currently being scanned.
+            private int _leafPosition;
+            private int _leafEnd;
+
+            private int _nextItem = -1;
+
+            {
+                if ( _numberOfItems > 0 ) {
+                    push( _indices.length - 1, _levelBounds.length - 1 );
+                }
+            }
+
+            private void push( final int position,
+                               final int level ) {
+                if ( ( _stackSize + 2 ) > _stack.length ) {
+                    _stack = Arrays.copyOf( _stack, 2 * _stack.length );
+                }
+                _stack[ _stackSize++ ] = position;
+                _stack[ _stackSize++ ] = level;
+            }
+
+            private boolean intersects( final int entry ) {
+                final int b = 4 * entry;
+                return ( _boxes[ b ] <= maxX ) && ( _boxes[ b + 1 ] <= maxY )
+                       && ( _boxes[ b + 2 ] >= minX ) && ( _boxes[ b + 3 ]
+                                                           >= minY );
+            }
+
+            @Override
+            public boolean hasNext() {
+                while ( _nextItem < 0 ) {
+                    if ( _leafPosition < _leafEnd ) {
+                        final int entry = _leafPosition++;
+                        if ( intersects( entry ) ) {
+                            _nextItem = _indices[ entry ];
+                        }
+                        continue;
+                    }
+
+                    if ( _stackSize == 0 ) {
+                        return false;
+                    }
+
+                    final int level = _stack[ --_stackSize ];
+                    final int position = _stack[ --_stackSize ];
+                    final int childStart = _indices[ position ];
+                    final int childEnd = FastMath.min( childStart + _nodeSize,
+                                                       _levelBounds[ level
+                                                                     - 1 ] );
+                    if ( level == 1 ) {
+                        _leafPosition = childStart;
+                        _leafEnd = childEnd;
+                    }
+                    else {
+                        // Push in reverse, so that children are visited in
+                        // their stored (spatially coherent) order.
+                        for ( int child = childEnd - 1; child >= childStart;
+                              child-- ) {
+                            if ( intersects( child ) ) {
+                                push( child, level - 1 );
+                            }
+                        }
+                    }
+                }
+
+                return true;
+            }
+
+            @Override
+            public int nextInt() {
+                if ( !hasNext() ) {
+                    throw new NoSuchElementException();
+                }
+
+                final int item = _nextItem;
+                _nextItem = -1;
+                return item;
+            }
+        };
+    }
+}// class StrRTree
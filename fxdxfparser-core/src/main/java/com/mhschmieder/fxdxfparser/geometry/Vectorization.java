@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.geometry;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * This is a wrapper for the parameterization of the Vectorization of Linestrips
+ * via Elliptical Arcs, which deals with Grads vs. Scale Grads or Vertex Count,
+ * or with a maximum Chord Error for adaptive vectorization.
+ */
+public final class Vectorization {
+
+    /**
+     * Largest step between vertices for the fixed-step modes, in degrees.
+     */
+    public static final double MAXIMUM_GRADS = 20.0d;
+
+    /**
+     * Largest step between vertices in Chord Error mode, in degrees; this
+     * keeps the shape of tiny arcs recognizable when they are zoomed into.
+     */
+    public static final double MAXIMUM_CHORD_ERROR_GRADS = 45.0d;
+
+    private VectorizationMode _mode;
+    private double _value;
+
+    public double getGrads() {
+        return _value;
+    }
+
+    public void setGrads( final double grads ) {
+        _mode = VectorizationMode.GRADS;
+        _value = grads;
+    }
+
+    public VectorizationMode getMode() {
+        return _mode;
+    }
+
+    public double getScaleGrads() {
+        return _value;
+    }
+
+    public void setScaleGrads( final double scaleGrads ) {
+        _mode = VectorizationMode.SCALE_GRADS;
+        _value = scaleGrads;
+    }
+
+    public double getVertexCount() {
+        return _value;
+    }
+
+    public void setVertexCount( final int vertexCount ) {
+        _mode = VectorizationMode.VERTEX;
+        _value = vertexCount;
+    }
+
+    public double getChordError() {
+        return _value;
+    }
+
+    /**
+     * @param chordError The maximum distance between an arc and the chords
+     *                   that approximate it, in drawing units
+     */
+    public void setChordError( final double chordError ) {
+        _mode = VectorizationMode.CHORD_ERROR;
+        _value = chordError;
+    }
+
+    /**
+     * Rounds a chord error down to a power of two, so that the vectorizations
+     * for nearby view scales are identical and can share cached coordinates,
+     * while never being coarser than requested.
+     *
+     * @param chordError The requested chord error
+     * @return the quantized chord error
+     */
+    public static double quantizeChordError( final double chordError ) {
+        if ( !( chordError > 0.0d ) || Double.isInfinite( chordError ) ) {
+            return chordError;
+        }
+
+        return FastMath.scalb( 1.0d, FastMath.getExponent( chordError ) );
+    }
+
+    /**
+     * Computes the largest angular step for which the chords of a circular
+     * arc stay within the chord error, from the sagitta of each chord.
+     * <p>
+     * This is also conservative for an elliptical arc if the radius of its
+     * major axis is given, as the arc is then a contraction of that circle.
+     *
+     * @param radius     The radius of the arc
+     * @param chordError The maximum distance between the arc and its chords
+     * @return the angular step, in degrees
+     */
+    public static double getChordErrorGrads( final double radius,
+                                             final double chordError ) {
+        if ( !( radius > chordError ) || !( chordError > 0.0d ) ) {
+            return MAXIMUM_CHORD_ERROR_GRADS;
+        }
+
+        final double step = 2.0d * FastMath.acos( 1.0d - ( chordError
+                                                            / radius ) );
+        return FastMath.min( MAXIMUM_CHORD_ERROR_GRADS,
+                             FastMath.toDegrees( step ) );
+    }
+}// class Vectorization
@@ -36,5 +36,6 @@ package com.mhschmieder.fxdxfparser.geometry;
 public enum VectorizationMode {
     GRADS,
     SCALE_GRADS,
-    VERTEX;
+    VERTEX,
+    CHORD_ERROR;
 }// enum VectorizationMode
@@ -31,19 +31,18 @@
 package com.mhschmieder.fxdxfparser.loader;
 
 import com.mhschmieder.fxdxfparser.entity.DxfEntity;
-import com.mhschmieder.fxdxfparser.geometry.DxfShapeContainer;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
+import com.mhschmieder.fxdxfparser.geometry.Point;
 import com.mhschmieder.fxdxfparser.reader.DxfGroupCodes;
 import com.mhschmieder.fxdxfparser.reader.DxfPairContainer;
 import com.mhschmieder.fxdxfparser.structure.DxfDocument;
 import com.mhschmieder.jcommons.lang.NumberUtilities;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
-import javafx.geometry.Point2D;
-import javafx.scene.transform.Affine;
-
-public final class DxfBlock implements DxfDrawable, DxfEntityContainer {
+public final class DxfBlock implements DxfEntityContainer {
 
     private final DxfDocument _dxfDoc;
     private final List< DxfEntity > _entities;
@@ -54,10 +53,14 @@ public final class DxfBlock implements DxfDrawable, DxfEntityContainer {
     /**
      * Punto de inserción
      */
-    private Point2D _origin;
+    private Point _origin;
     private int _flags;
     private PropertyOverriding _propertyOverriding;
 
+    // Límites del bloque, calculados bajo demanda
+    private Extents2D _extents;
+    private boolean _computingExtents;
+
     // **** Propiedades provisionales: ****
     /**
      * Tipo de línea byBlock
@@ -69,6 +72,9 @@ public final class DxfBlock implements DxfDrawable, DxfEntityContainer {
      */
     private int _colorIndex;
 
+    // Datos que un conversor guarda con el bloque, como plantillas
+    private Object _conversionCache;
+
     // Atributos del bloque
     // private ArrayList< DxfAttrib > _attributes;
 
@@ -94,7 +100,7 @@ public final class DxfBlock implements DxfDrawable, DxfEntityContainer {
                             final double px,
                             final double py,
                             final int pflags ) {
-        _origin = new Point2D( px, py );
+        _origin = new Point( px, py, 0.0d );
         _name = pname;
         _flags = pflags;
         _colorIndex = 7;
@@ -144,30 +150,43 @@ public final class DxfBlock implements DxfDrawable, DxfEntityContainer {
         // }
     }
 
-    @Override
-    public boolean convertToFxShapes( final DxfShapeContainer geometryContainer,
-                                      final Affine transform,
-                                      final double strokeScale ) {
-        if ( ( _entities == null ) || _entities.isEmpty() ) {
-            return true;
+    /**
+     * Returns the union of the bounds of all entities in this block, in block
+     * coordinates, computed on first use and cached thereafter.
+     * <p>
+     * Malformed files can contain blocks that insert themselves, directly or
+     * indirectly; such a cyclic reference contributes no bounds.
+     *
+     * @return the bounds of the block, which are empty if it has no geometry
+     */
+    public Extents2D getExtents() {
+        if ( _extents != null ) {
+            return _extents;
+        }
+        if ( _computingExtents ) {
+            return new Extents2D();
         }
 
-        int numberOfFailures = 0;
-        for ( final DxfEntity dxfEntity : _entities ) {
-            dxfEntity.setCurrentPropertyOverriding( _propertyOverriding );
-            final boolean succeeded = dxfEntity.convertToFxShapes(
-                    geometryContainer,
-                    transform,
-                    strokeScale );
-            if ( !succeeded ) {
-                numberOfFailures++;
+        _computingExtents = true;
+        try {
+            final Extents2D extents = new Extents2D();
+            for ( final DxfEntity dxfEntity : _entities ) {
+                extents.add( dxfEntity.getExtents() );
             }
-            dxfEntity.setCurrentPropertyOverriding( null );
+            _extents = extents;
+        }
+        finally {
+            _computingExtents = false;
         }
 
-        final boolean retval = numberOfFailures == 0;
+        return _extents;
+    }
 
-        return retval;
+    /**
+     * @return an unmodifiable view of the entities owned by this block
+     */
+    public List< DxfEntity > getEntities() {
+        return Collections.unmodifiableList( _entities );
     }
 
     public int getCurrentColorIndex() {
@@ -199,6 +218,31 @@ public final class DxfBlock implements DxfDrawable, DxfEntityContainer {
         _colorIndex = color;
     }
 
+    /**
+     * @return the document that this block belongs to
+     */
+    public DxfDocument getDocument() {
+        return _dxfDoc;
+    }
+
+    /**
+     * Returns the data that a converter keeps with this block between
+     * conversions, such as the block templates of the JavaFX conversion.
+     *
+     * @return the data of the converter, or {@code null} if it has none
+     */
+    public Object getConversionCache() {
+        return _conversionCache;
+    }
+
+    public void setConversionCache( final Object conversionCache ) {
+        _conversionCache = conversionCache;
+    }
+
+    public PropertyOverriding getPropertyOverriding() {
+        return _propertyOverriding;
+    }
+
     public void setPropertyOverriding( final PropertyOverriding propertyOverriding ) {
         _propertyOverriding = propertyOverriding;
     }
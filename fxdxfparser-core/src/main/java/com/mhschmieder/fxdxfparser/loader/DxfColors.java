@@ -30,14 +30,16 @@
  */
 package com.mhschmieder.fxdxfparser.loader;
 
-import javafx.scene.paint.Color;
-
 public final class DxfColors {
 
     public static final int NUMBER_OF_DXF_COLORS = 255;
     public static final int COLOR_BY_BLOCK_INDEX = 0;
     public static final int COLOR_BY_LAYER_INDEX = 256;
-    public static final Color COLOR_DEFAULT = Color.rgb( 255, 255, 255 );
+    // The default color as packed 0xRRGGBB.
+    public static final int RGB_DEFAULT = 0xFFFFFF;
+    // The DXF Color Index whose color the default color is, so that both are
+    // remapped together, such as for light and dark backgrounds.
+    public static final int DEFAULT_COLOR_INDEX = 7;
     // Color lookup from DXF Color Index (1 to 255) to standard RGB Colors.
     private static final int[][] RGB_COLORS = {
             // Colores
@@ -326,36 +328,23 @@ public final class DxfColors {
             { 214, 214, 214 },
             { 255, 255, 255 }
     };
-    // JavaFX Color values in RGB format.
-    private static Color[] _rgbColors = null;
 
-    public static Color indexToColor( final int dxfColorIndex ) {
-        // If this is the first time the method has been called, use the
-        // lookup table to make JavaFX colors from the cached RGB values.
-        if ( _rgbColors == null ) {
-            _rgbColors = new Color[ NUMBER_OF_DXF_COLORS ];
-            for ( int i = 0; i < NUMBER_OF_DXF_COLORS; i++ ) {
-                _rgbColors[ i ] = Color.rgb( RGB_COLORS[ i ][ 0 ],
-                                             RGB_COLORS[ i ][ 1 ],
-                                             RGB_COLORS[ i ][ 2 ] );
-            }
+    /**
+     * Looks up a DXF Color Index, such as for headless parsing and for other
+     * output formats than JavaFX.
+     *
+     * @param dxfColorIndex The DXF Color Index, already adjusted for the
+     *                      color-by-block and color-by-layer flags
+     * @return the color as packed 0xRRGGBB, or {@link #RGB_DEFAULT} if the
+     *         index is out of range
+     */
+    public static int indexToRgb( final int dxfColorIndex ) {
+        if ( ( dxfColorIndex <= COLOR_BY_BLOCK_INDEX )
+             || ( dxfColorIndex >= COLOR_BY_LAYER_INDEX ) ) {
+            return RGB_DEFAULT;
         }
 
-        // As DXF Color Index of zero is a special flag to get the color from
-        // the parent vs. an actual color table lookup index, we must adjust the
-        // DXF Color Index before using it to look up the RGB color values.
-        final int rgbColorIndex = dxfColorIndex - 1;
-
-        // Ignore the two extrema as they are special flags for color-by-parent
-        // and color-by-layer. Use the default color in those cases, as the
-        // color index should have already been adjusted outside this call, to
-        // one that is within range of the DXF color lookup table for RGB's.
-        final Color rgbColor =
-                ( dxfColorIndex > COLOR_BY_BLOCK_INDEX ) && ( dxfColorIndex
-                                                              < COLOR_BY_LAYER_INDEX )
-                ? _rgbColors[ rgbColorIndex ]
-                : COLOR_DEFAULT;
-
-        return rgbColor;
+        final int[] rgb = RGB_COLORS[ dxfColorIndex - 1 ];
+        return ( rgb[ 0 ] << 16 ) | ( rgb[ 1 ] << 8 ) | rgb[ 2 ];
     }
 }// class DxfColors
@@ -32,7 +32,9 @@ package com.mhschmieder.fxdxfparser.loader;
 
 import org.apache.commons.math3.util.FastMath;
 
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * DxfLayer representa la definición de una capa de Autocad. La información es
@@ -68,11 +70,22 @@ public final class DxfLayer {
      */
     private String linetype;
 
+    /**
+     * tipo de línea de la capa, resuelto a partir de su nombre
+     */
+    private DxfLineType lineType;
+
     /**
      * _estado actual de la capa: activado/desactivado
      */
     private int state;
 
+    /**
+     * Clientes interesados en los cambios de _estado de la capa
+     */
+    private final List< DxfLayerListener > listeners
+            = new CopyOnWriteArrayList<>();
+
     protected DxfLayer() {
     }
 
@@ -106,6 +119,18 @@ public final class DxfLayer {
         return linetype;
     }
 
+    /**
+     * @return the line type of the layer, or {@code null} if it has not been
+     *         resolved from its name yet
+     */
+    public DxfLineType getLineType() {
+        return lineType;
+    }
+
+    public void setLineType( final DxfLineType pLineType ) {
+        lineType = pLineType;
+    }
+
     /**
      * Obtiene el nombre de la capa
      *
@@ -132,8 +157,29 @@ public final class DxfLayer {
      * @param pOn true si se quiere hacer visible la capa
      */
     public void setLayerOn( final boolean pOn ) {
-        state = ( pOn
-                  ? LAYER_ON
-                  : LAYER_OFF );
+        final int newState = ( pOn
+                               ? LAYER_ON
+                               : LAYER_OFF );
+        if ( newState == state ) {
+            return;
+        }
+
+        state = newState;
+
+        // Only notify on actual changes, as listeners may do expensive work
+        // such as invalidating cached rendering of this layer's entities.
+        for ( final DxfLayerListener listener : listeners ) {
+            listener.layerStateChanged( this );
+        }
+    }
+
+    public void addLayerListener( final DxfLayerListener listener ) {
+        if ( listener != null ) {
+            listeners.add( listener );
+        }
+    }
+
+    public void removeLayerListener( final DxfLayerListener listener ) {
+        listeners.remove( listener );
     }
 }// final class DxfLayer
@@ -30,26 +30,17 @@
  */
 package com.mhschmieder.fxdxfparser.loader;
 
-import com.mhschmieder.fxdxfparser.geometry.DxfShapeContainer;
-
-import javafx.scene.transform.Affine;
-
-public interface DxfDrawable {
+/**
+ * This interface is for clients that need to react to a {@link DxfLayer}
+ * being switched on or off after the document was loaded, such as caches of
+ * rendered output that depend on the layer state.
+ */
+public interface DxfLayerListener {
 
     /**
-     * This is the method to call for converting parsed DXF geometry into JavaFX
-     * 2D Shapes. This version of the method throws out the z-coordinate rather
-     * than providing a projection plane.
+     * Notification that the on/off state of a layer has changed.
      *
-     * @param dxfShapeContainer The Scene Graph Group container for all graphics
-     *                          required to represent this entity
-     * @param transform         The combined transform to apply; including any
-     *                          from nested blocks
-     * @param strokeScale       The initial stroke scale to approximate the
-     *                          client's preferred line thickness
-     * @return {@code true} if the shapes were successfully converted to JavaFX
+     * @param layer The layer whose state changed
      */
-    boolean convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
-                               final Affine transform,
-                               final double strokeScale );
-}// interface DxfDrawable
+    void layerStateChanged( final DxfLayer layer );
+}// interface DxfLayerListener
@@ -30,9 +30,15 @@
  */
 package com.mhschmieder.fxdxfparser.loader;
 
+import org.apache.commons.math3.util.FastMath;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * DxfLineType contiene la definición de un linetype de Autocad. La información
@@ -45,6 +51,10 @@ import java.util.List;
  */
 public final class DxfLineType {
 
+    // The most dash arrays kept per line type, as there are usually only a
+    // few distinct scales per drawing.
+    private static final int MAXIMUM_CACHED_SCALES = 32;
+
     private final String _name;
     private final String _desc;
 
@@ -56,6 +66,14 @@ public final class DxfLineType {
     private final int _flags;
     private final int _complexFlags;
 
+    // The alternating dash and gap lengths at unit scale, or null if the
+    // pattern is not defined and the description has to be used instead.
+    private final double[] _dashPattern;
+
+    // The dash arrays that have been made so far, by line type scale.
+    private final Map< Double, List< Double > > _dashArrays
+            = new ConcurrentHashMap<>();
+
     public DxfLineType( final String pName,
                         final int pFlags,
                         final int pComplexFlags,
@@ -70,6 +88,63 @@ public final class DxfLineType {
         _patternItemCount = pNumItems;
         _pattern = pPattern;
         _patternLength = pPatternLength;
+
+        _dashPattern = makeDashPattern( pPattern );
+    }
+
+    /**
+     * Converts a DXF pattern, in which positive lengths are dashes, negative
+     * lengths are gaps and zero lengths are dots, into strictly alternating
+     * dash and gap lengths that start with a dash, as JavaFX and SVG expect.
+     * <p>
+     * Adjacent elements of the same kind are merged, also across the end of
+     * the pattern, so a pattern that starts with a gap begins at its first
+     * dash instead, which only shifts its phase.
+     *
+     * @return the dash pattern, which is empty if the pattern has no gaps or
+     *         no length, or {@code null} if there is no pattern
+     */
+    private static double[] makeDashPattern( final double[] pattern ) {
+        if ( ( pattern == null ) || ( pattern.length == 0 ) ) {
+            return null;
+        }
+
+        int firstDashIndex = 0;
+        while ( ( firstDashIndex < pattern.length )
+                && ( pattern[ firstDashIndex ] < 0.0d ) ) {
+            firstDashIndex++;
+        }
+        if ( firstDashIndex == pattern.length ) {
+            return new double[ 0 ];
+        }
+
+        final double[] dashPattern = new double[ pattern.length ];
+        int numberOfDashes = 0;
+        double totalLength = 0.0d;
+        boolean previousIsGap = true;
+        for ( int i = 0; i < pattern.length; i++ ) {
+            final double element = pattern[ ( firstDashIndex + i )
+                                            % pattern.length ];
+            final boolean isGap = element < 0.0d;
+            final double length = FastMath.abs( element );
+            if ( ( numberOfDashes > 0 ) && ( isGap == previousIsGap ) ) {
+                dashPattern[ numberOfDashes - 1 ] += length;
+            }
+            else {
+                dashPattern[ numberOfDashes++ ] = length;
+            }
+            previousIsGap = isGap;
+            totalLength += length;
+        }
+
+        // A trailing dash continues into the leading dash.
+        if ( ( numberOfDashes % 2 ) == 1 ) {
+            dashPattern[ 0 ] += dashPattern[ --numberOfDashes ];
+        }
+
+        return ( ( numberOfDashes < 2 ) || !( totalLength > 0.0d ) )
+               ? new double[ 0 ]
+               : Arrays.copyOf( dashPattern, numberOfDashes );
     }
 
     /**
@@ -106,6 +181,58 @@ public final class DxfLineType {
         return _patternItemCount == 0;
     }
 
+    /**
+     * Returns the dash array of this line type, made from its pattern of dash
+     * and gap lengths and shared by all shapes that use the same scale.
+     *
+     * @param lineTypeScale The combined scale of the pattern
+     * @return an unmodifiable list of alternating dash and gap lengths, which
+     *         is empty if the line should be drawn solid
+     */
+    public List< Double > getDashArray( final double lineTypeScale ) {
+        final Double key = Double.valueOf( lineTypeScale );
+        List< Double > dashArray = _dashArrays.get( key );
+        if ( dashArray == null ) {
+            dashArray = makeScaledDashArray( lineTypeScale );
+            if ( _dashArrays.size() < MAXIMUM_CACHED_SCALES ) {
+                _dashArrays.putIfAbsent( key, dashArray );
+            }
+        }
+
+        return dashArray;
+    }
+
+    private List< Double > makeScaledDashArray( final double lineTypeScale ) {
+        if ( isContinuous() || !( lineTypeScale > 0.0d ) ) {
+            return Collections.emptyList();
+        }
+
+        // Line types without a pattern are approximated from their
+        // description instead.
+        if ( _dashPattern == null ) {
+            return Collections.unmodifiableList( new ArrayList<>( makeDashArray(
+                    lineTypeScale ) ) );
+        }
+
+        final Double[] dashArray = new Double[ _dashPattern.length ];
+        for ( int i = 0; i < _dashPattern.length; i++ ) {
+            dashArray[ i ] = Double.valueOf( _dashPattern[ i ]
+                                             * lineTypeScale );
+        }
+
+        return Collections.unmodifiableList( Arrays.asList( dashArray ) );
+    }
+
+    /**
+     * Makes a dash array from the description of this line type, which only
+     * approximates the actual pattern.
+     *
+     * @param lineTypeScale The combined scale of the pattern
+     * @return a new list of alternating dash and gap lengths
+     * @deprecated Use {@link #getDashArray}, which follows the pattern and is
+     *             cached
+     */
+    @Deprecated
     @SuppressWarnings( "nls" )
     public Collection< Double > makeDashArray( final double lineTypeScale ) {
         // Clean up the descriptor to balance on/off patterns.
@@ -0,0 +1,260 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.query;
+
+import com.mhschmieder.fxdxfparser.entity.DxfArc;
+import com.mhschmieder.fxdxfparser.entity.DxfCircle;
+import com.mhschmieder.fxdxfparser.entity.DxfEllipse;
+import com.mhschmieder.fxdxfparser.entity.DxfEntity;
+import com.mhschmieder.fxdxfparser.entity.DxfGeometryTraversal;
+import com.mhschmieder.fxdxfparser.entity.DxfLine;
+import com.mhschmieder.fxdxfparser.entity.DxfLwPolyline;
+import com.mhschmieder.fxdxfparser.entity.DxfPolyFaceMesh;
+import com.mhschmieder.fxdxfparser.entity.DxfPolygonMesh;
+import com.mhschmieder.fxdxfparser.entity.DxfPolyline;
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.CoordinateBuffer;
+import com.mhschmieder.fxdxfparser.geometry.EllipticalArc2D;
+import com.mhschmieder.fxdxfparser.geometry.SegmentIntersector;
+import com.mhschmieder.fxdxfparser.render.DxfGeometrySink;
+import com.mhschmieder.fxdxfparser.render.DxfStyle;
+import com.mhschmieder.fxdxfparser.structure.DxfDocument;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This finds the points where the linework of a drawing crosses itself, such
+ * as for snapping to intersections and for cleaning up overshoots in survey
+ * and civil drawings, with a {@link SegmentIntersector} per layer or for a
+ * set of layers.
+ * <p>
+ * Only Lines, Lightweight Polylines, 2D and 3D Polylines, Arcs, Circles and
+ * Ellipses take part, with Block References expanded; curves and bulged
+ * segments are flattened with the fixed angular step of conversion, so the
+ * intersections of curves are as accurate as their flattening. Entities on
+ * switched-off layers are left out.
+ * <p>
+ * The segments are collected from the document on the calling thread, after
+ * which the layers are intersected in parallel. A finder is not thread-safe,
+ * as traversals of the document are not either.
+ */
+public final class DxfIntersectionFinder {
+
+    /**
+     * Collects the flattened segments of the supported entities, per layer.
+     */
+    private final class SegmentSink implements DxfGeometrySink {
+        private Set< String > _layerNames;
+        private SegmentIntersector _combinedIntersector;
+        private SegmentIntersector _intersector;
+
+        @Override
+        public void beginStyle( final DxfStyle style ) {
+            _intersector = null;
+            if ( !isSupported( style.getEntity() ) ) {
+                return;
+            }
+
+            final String layerName = style.getLayerName();
+            if ( ( _layerNames != null )
+                 && !_layerNames.contains( layerName ) ) {
+                return;
+            }
+
+            _intersector = ( _combinedIntersector != null )
+                           ? _combinedIntersector
+                           : _intersectors.computeIfAbsent( layerName,
+                                                            key -> new SegmentIntersector() );
+        }
+
+        @Override
+        public void polyline( final double[] coordinates,
+                              final int numberOfPoints,
+                              final boolean closed ) {
+            if ( _intersector != null ) {
+                _intersector.addPolyline( coordinates, numberOfPoints, closed );
+            }
+        }
+
+        @Override
+        public void polygon( final double[] coordinates,
+                             final int numberOfPoints ) {
+            // Filled areas are not linework.
+        }
+
+        @Override
+        public void arc( final double centerX,
+                         final double centerY,
+                         final double radius,
+                         final double startAngle,
+                         final double endAngle ) {
+            if ( _intersector == null ) {
+                return;
+            }
+
+            final CoordinateBuffer buffer = CoordinateBuffer.getScratchBuffer();
+            new EllipticalArc2D( centerX,
+                                 centerY,
+                                 radius,
+                                 startAngle,
+                                 endAngle )
+                    .vectorize( _geometryTraversal.getVectorization(), buffer );
+            _intersector.addPolyline( buffer.getArray(),
+                                      buffer.getNumberOfPoints(),
+                                      false );
+        }
+
+        @Override
+        public void circle( final double centerX,
+                            final double centerY,
+                            final double radius ) {
+            arc( centerX, centerY, radius, 0.0d, 360.0d );
+        }
+
+        @Override
+        public void endStyle() {
+            _intersector = null;
+        }
+    }
+
+    private final DxfDocument _dxfDoc;
+
+    private final SegmentSink _segmentSink;
+    private final DxfGeometryTraversal _geometryTraversal;
+
+    // The intersectors of the current search by layer, by layer name.
+    private final Map< String, SegmentIntersector > _intersectors;
+
+    /**
+     * Makes an intersection finder for the Model Space of a parsed document.
+     *
+     * @param dxfDoc The parsed document
+     */
+    public DxfIntersectionFinder( final DxfDocument dxfDoc ) {
+        _dxfDoc = dxfDoc;
+
+        _segmentSink = new SegmentSink();
+        _geometryTraversal = new DxfGeometryTraversal( _segmentSink );
+
+        _intersectors = new TreeMap<>();
+    }
+
+    public int getMaximumNestingDepth() {
+        return _geometryTraversal.getMaximumNestingDepth();
+    }
+
+    public void setMaximumNestingDepth( final int maximumNestingDepth ) {
+        _geometryTraversal.setMaximumNestingDepth( maximumNestingDepth );
+    }
+
+    /**
+     * Finds the intersections within each layer, intersecting the layers in
+     * parallel; linework on different layers is not intersected.
+     *
+     * @return the interleaved coordinates of the intersections, by layer
+     *         name, for the layers that have any
+     */
+    public Map< String, CoordinateBuffer > findIntersectionsByLayer() {
+        _intersectors.clear();
+        collectSegments( null, null );
+
+        final Map< String, CoordinateBuffer > intersections
+                = new ConcurrentHashMap<>();
+        _intersectors.entrySet().parallelStream().forEach( entry -> {
+            final CoordinateBuffer layerIntersections = entry.getValue()
+                    .findIntersections();
+            if ( layerIntersections.getNumberOfPoints() > 0 ) {
+                intersections.put( entry.getKey(), layerIntersections );
+            }
+        } );
+        _intersectors.clear();
+
+        return new TreeMap<>( intersections );
+    }
+
+    /**
+     * Finds the intersections of the linework of a set of layers, taken
+     * together.
+     *
+     * @param layerNames The names of the layers, or {@code null} for all
+     *                   layers
+     * @return the interleaved coordinates of the intersections, from left to
+     *         right
+     */
+    public CoordinateBuffer findIntersections( final Set< String > layerNames ) {
+        final SegmentIntersector intersector = new SegmentIntersector();
+        collectSegments( layerNames, intersector );
+
+        return intersector.findIntersections();
+    }
+
+    private void collectSegments( final Set< String > layerNames,
+                                  final SegmentIntersector combinedIntersector ) {
+        if ( _dxfDoc._modelSpace == null ) {
+            return;
+        }
+
+        _segmentSink._layerNames = layerNames;
+        _segmentSink._combinedIntersector = combinedIntersector;
+        try {
+            _geometryTraversal.emitBlock( _dxfDoc._modelSpace, new Affine2D() );
+        }
+        finally {
+            _segmentSink._layerNames = null;
+            _segmentSink._combinedIntersector = null;
+            _segmentSink._intersector = null;
+        }
+    }
+
+    /**
+     * Determines whether an entity is linework whose intersections are found,
+     * which excludes meshes, filled areas, text and infinite lines.
+     *
+     * @param dxfEntity The entity to check
+     * @return {@code true} if the segments of the entity are intersected
+     */
+    private static boolean isSupported( final DxfEntity dxfEntity ) {
+        if ( ( dxfEntity instanceof DxfPolyFaceMesh )
+             || ( dxfEntity instanceof DxfPolygonMesh ) ) {
+            return false;
+        }
+
+        return ( dxfEntity instanceof DxfLine )
+               || ( dxfEntity instanceof DxfLwPolyline )
+               || ( dxfEntity instanceof DxfPolyline )
+               || ( dxfEntity instanceof DxfArc )
+               || ( dxfEntity instanceof DxfCircle )
+               || ( dxfEntity instanceof DxfEllipse );
+    }
+}// class DxfIntersectionFinder
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.query;
+
+import com.mhschmieder.fxdxfparser.entity.DxfEntity;
+import com.mhschmieder.fxdxfparser.entity.DxfInsert;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This is the entity that was picked at a point, along with the Block
+ * References that it was found through, if it is part of a block.
+ */
+public final class DxfPickResult {
+
+    private final DxfEntity _entity;
+    private final List< DxfInsert > _insertPath;
+    private final double _distance;
+
+    public DxfPickResult( final DxfEntity entity,
+                          final List< DxfInsert > insertPath,
+                          final double distance ) {
+        _entity = entity;
+        _insertPath = Collections.unmodifiableList( insertPath );
+        _distance = distance;
+    }
+
+    /**
+     * @return the picked entity, which is never a Block Reference itself
+     */
+    public DxfEntity getEntity() {
+        return _entity;
+    }
+
+    /**
+     * @return the Block References that insert the block of the picked entity,
+     *         from the Model Space one inwards, which is empty if the entity is
+     *         in Model Space
+     */
+    public List< DxfInsert > getInsertPath() {
+        return _insertPath;
+    }
+
+    /**
+     * @return the Model Space entity that the picked entity belongs to, which
+     *         is the outermost Block Reference if there is one
+     */
+    public DxfEntity getModelSpaceEntity() {
+        return _insertPath.isEmpty()
+               ? _entity
+               : _insertPath.get( 0 );
+    }
+
+    /**
+     * @return the distance from the pick point to the entity, in Model Space
+     *         units
+     */
+    public double getDistance() {
+        return _distance;
+    }
+}// class DxfPickResult
@@ -0,0 +1,366 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.query;
+
+import com.mhschmieder.fxdxfparser.entity.DxfEntity;
+import com.mhschmieder.fxdxfparser.entity.DxfGeometryTraversal;
+import com.mhschmieder.fxdxfparser.entity.DxfInsert;
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.DistanceUtilities;
+import com.mhschmieder.fxdxfparser.geometry.DxfConversionOptions;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
+import com.mhschmieder.fxdxfparser.geometry.StrRTree;
+import com.mhschmieder.fxdxfparser.loader.DxfBlock;
+import com.mhschmieder.fxdxfparser.render.DxfGeometrySink;
+import com.mhschmieder.fxdxfparser.render.DxfStyle;
+import com.mhschmieder.fxdxfparser.structure.DxfDocument;
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This picks the entity nearest to a point of Model Space, from the geometry
+ * of the parsed document rather than from the JavaFX Scene Graph, so that
+ * picking is exact regardless of stroke widths and does not depend on how
+ * many shapes were converted.
+ * <p>
+ * Candidates are found with the spatial index of Model Space, and within
+ * Block References by mapping the pick window into block coordinates; large
+ * blocks get a spatial index of their own on first use. Lines, arcs, circles
+ * and polylines (including their bulged segments) are measured exactly in the
+ * coordinates of their block, as long as the transform of the block is a
+ * similarity; all other entities, and all entities under non-uniform scales,
+ * are measured from their emitted world-space geometry instead.
+ * <p>
+ * Entities on switched-off layers are never picked. A service is not
+ * thread-safe, as traversals of the document are not either.
+ */
+public final class DxfPickingService {
+
+    /**
+     * The number of entities from which a block gets its own spatial index,
+     * rather than testing the bounds of all of its entities.
+     */
+    public static final int MINIMUM_INDEXED_BLOCK_SIZE = 64;
+
+    /**
+     * Measures the distance from the pick point to emitted geometry.
+     */
+    private static final class DistanceSink implements DxfGeometrySink {
+        private double _x;
+        private double _y;
+        private double _distance;
+
+        @Override
+        public void beginStyle( final DxfStyle style ) {}
+
+        @Override
+        public void polyline( final double[] coordinates,
+                              final int numberOfPoints,
+                              final boolean closed ) {
+            _distance = FastMath.min( _distance,
+                                      DistanceUtilities.getPolylineDistance(
+                                              _x,
+                                              _y,
+                                              coordinates,
+                                              numberOfPoints,
+                                              closed ) );
+        }
+
+        @Override
+        public void polygon( final double[] coordinates,
+                             final int numberOfPoints ) {
+            polyline( coordinates, numberOfPoints, true );
+        }
+
+        @Override
+        public void arc( final double centerX,
+                         final double centerY,
+                         final double radius,
+                         final double startAngle,
+                         final double endAngle ) {
+            _distance = FastMath.min( _distance,
+                                      DistanceUtilities.getArcDistance(
+                                              _x,
+                                              _y,
+                                              centerX,
+                                              centerY,
+                                              radius,
+                                              startAngle,
+                                              endAngle ) );
+        }
+
+        @Override
+        public void circle( final double centerX,
+                            final double centerY,
+                            final double radius ) {
+            _distance = FastMath.min( _distance,
+                                      FastMath.abs( FastMath.hypot(
+                                              _x - centerX,
+                                              _y - centerY ) - radius ) );
+        }
+
+        @Override
+        public void endStyle() {}
+    }
+
+    private final DxfDocument _dxfDoc;
+
+    // Spatial indices of the large blocks, made on first use.
+    private final Map< DxfBlock, StrRTree< DxfEntity > > _blockIndices;
+
+    private final DistanceSink _distanceSink;
+    private final DxfGeometryTraversal _geometryTraversal;
+
+    private int _maximumNestingDepth;
+
+    // The state of the current pick: the pick point and window, the Block
+    // References that are being searched, and the nearest entity so far.
+    private double _x;
+    private double _y;
+    private double _tolerance;
+    private Extents2D _window;
+    private final List< DxfInsert > _insertPath;
+    private DxfEntity _nearestEntity;
+    private List< DxfInsert > _nearestInsertPath;
+    private double _nearestDistance;
+
+    /**
+     * Makes a picking service for the Model Space of a parsed document.
+     *
+     * @param dxfDoc The parsed document, which must not be cleared while
+     *               this service is in use
+     */
+    public DxfPickingService( final DxfDocument dxfDoc ) {
+        _dxfDoc = dxfDoc;
+        _blockIndices = new IdentityHashMap<>();
+
+        _distanceSink = new DistanceSink();
+        _geometryTraversal = new DxfGeometryTraversal( _distanceSink );
+
+        _maximumNestingDepth = DxfConversionOptions.DEFAULT_MAXIMUM_NESTING_DEPTH;
+
+        _insertPath = new ArrayList<>();
+    }
+
+    public int getMaximumNestingDepth() {
+        return _maximumNestingDepth;
+    }
+
+    /**
+     * @param maximumNestingDepth The maximum number of nested Block
+     *                            References that are searched
+     */
+    public void setMaximumNestingDepth( final int maximumNestingDepth ) {
+        if ( maximumNestingDepth < 1 ) {
+            throw new IllegalArgumentException();
+        }
+
+        _maximumNestingDepth = maximumNestingDepth;
+        _geometryTraversal.setMaximumNestingDepth( maximumNestingDepth );
+    }
+
+    /**
+     * Finds the entity nearest to a point, within a tolerance.
+     *
+     * @param x         The x-coordinate of the point, in Model Space
+     * @param y         The y-coordinate of the point, in Model Space
+     * @param tolerance The maximum distance from the point, in Model Space
+     *                  units, such as a few pixels at the view scale
+     * @return the nearest entity and the Block References that it was found
+     *         through, or {@code null} if no entity is within the tolerance
+     */
+    public DxfPickResult pick( final double x,
+                               final double y,
+                               final double tolerance ) {
+        if ( ( _dxfDoc._modelSpace == null ) || !( tolerance >= 0.0d ) ) {
+            return null;
+        }
+
+        _x = x;
+        _y = y;
+        _tolerance = tolerance;
+        _window = new Extents2D( x - tolerance,
+                                 y - tolerance,
+                                 x + tolerance,
+                                 y + tolerance );
+        _nearestEntity = null;
+        _nearestInsertPath = null;
+        _nearestDistance = Double.POSITIVE_INFINITY;
+
+        try {
+            final Affine2D identity = new Affine2D();
+            final Iterator< DxfEntity > candidates = _dxfDoc.query( _window )
+                    .iterator();
+            while ( candidates.hasNext() ) {
+                visit( candidates.next(),
+                       _dxfDoc._modelSpace,
+                       identity,
+                       x,
+                       y );
+            }
+
+            return ( _nearestEntity != null )
+                   ? new DxfPickResult( _nearestEntity,
+                                        _nearestInsertPath,
+                                        _nearestDistance )
+                   : null;
+        }
+        finally {
+            // Release the references, so that the service holds no results.
+            _window = null;
+            _insertPath.clear();
+            _nearestEntity = null;
+            _nearestInsertPath = null;
+        }
+    }
+
+    /**
+     * Measures an entity of a block, or searches the block that it inserts.
+     *
+     * @param dxfEntity The entity to measure
+     * @param block     The block that owns the entity
+     * @param transform The transform from the block to Model Space
+     * @param localX    The x-coordinate of the pick point in the block
+     * @param localY    The y-coordinate of the pick point in the block
+     */
+    private void visit( final DxfEntity dxfEntity,
+                        final DxfBlock block,
+                        final Affine2D transform,
+                        final double localX,
+                        final double localY ) {
+        if ( !dxfEntity.isLayerOn() ) {
+            return;
+        }
+
+        if ( dxfEntity instanceof DxfInsert ) {
+            visitInsert( ( DxfInsert ) dxfEntity, transform );
+            return;
+        }
+
+        double distance = Double.NaN;
+        if ( transform.getSimilarityOrientation() != 0 ) {
+            distance = dxfEntity.getDistance( localX, localY )
+                       * transform.getScale();
+        }
+        if ( Double.isNaN( distance ) ) {
+            _distanceSink._x = _x;
+            _distanceSink._y = _y;
+            _distanceSink._distance = Double.POSITIVE_INFINITY;
+            _geometryTraversal.emitEntities( block,
+                                             Collections.singletonList(
+                                                     dxfEntity ),
+                                             transform );
+            distance = _distanceSink._distance;
+        }
+
+        if ( ( distance <= _tolerance ) && ( distance < _nearestDistance ) ) {
+            _nearestEntity = dxfEntity;
+            _nearestInsertPath = new ArrayList<>( _insertPath );
+            _nearestDistance = distance;
+        }
+    }
+
+    private void visitInsert( final DxfInsert insert,
+                              final Affine2D contextTransform ) {
+        final DxfBlock block = insert.getBlock();
+        if ( ( block == null )
+             || ( _insertPath.size() >= _maximumNestingDepth ) ) {
+            return;
+        }
+
+        final Affine2D transform = new Affine2D();
+        transform.setToConcatenation( contextTransform,
+                                      insert.getBlockTransform() );
+        final Affine2D inverse = new Affine2D();
+        if ( !inverse.setToInverse( transform ) ) {
+            // A degenerate Block Reference has nothing to pick.
+            return;
+        }
+
+        final Extents2D localWindow = new Extents2D();
+        localWindow.addTransformed( _window,
+                                    inverse.getMxx(),
+                                    inverse.getMxy(),
+                                    inverse.getTx(),
+                                    inverse.getMyx(),
+                                    inverse.getMyy(),
+                                    inverse.getTy() );
+        final double localX = inverse.transformX( _x, _y );
+        final double localY = inverse.transformY( _x, _y );
+
+        _insertPath.add( insert );
+        try {
+            final List< DxfEntity > entities = block.getEntities();
+            if ( entities.size() >= MINIMUM_INDEXED_BLOCK_SIZE ) {
+                final Iterator< DxfEntity > candidates = getBlockIndex( block )
+                        .query( localWindow ).iterator();
+                while ( candidates.hasNext() ) {
+                    visit( candidates.next(),
+                           block,
+                           transform,
+                           localX,
+                           localY );
+                }
+            }
+            else {
+                for ( final DxfEntity dxfEntity : entities ) {
+                    if ( localWindow.intersects( dxfEntity.getExtents() ) ) {
+                        visit( dxfEntity,
+                               block,
+                               transform,
+                               localX,
+                               localY );
+                    }
+                }
+            }
+        }
+        finally {
+            _insertPath.remove( _insertPath.size() - 1 );
+        }
+    }
+
+    private StrRTree< DxfEntity > getBlockIndex( final DxfBlock block ) {
+        StrRTree< DxfEntity > blockIndex = _blockIndices.get( block );
+        if ( blockIndex == null ) {
+            blockIndex = new StrRTree<>( block.getEntities(),
+                                         DxfEntity::getExtents );
+            _blockIndices.put( block, blockIndex );
+        }
+
+        return blockIndex;
+    }
+}// class DxfPickingService
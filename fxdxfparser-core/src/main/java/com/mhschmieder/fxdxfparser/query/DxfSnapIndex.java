@@ -0,0 +1,376 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.query;
+
+import com.mhschmieder.fxdxfparser.entity.DxfEntity;
+import com.mhschmieder.fxdxfparser.entity.DxfInsert;
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.DxfConversionOptions;
+import com.mhschmieder.fxdxfparser.geometry.KdTree2D;
+import com.mhschmieder.fxdxfparser.geometry.SnapPointBuffer;
+import com.mhschmieder.fxdxfparser.geometry.SnapType;
+import com.mhschmieder.fxdxfparser.loader.DxfBlock;
+import com.mhschmieder.fxdxfparser.loader.DxfLayer;
+import com.mhschmieder.fxdxfparser.structure.DxfDocument;
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * This is an index of the points of a drawing that object snapping can lock
+ * onto, such as for measurement and markup tools: the endpoints and
+ * midpoints of lines, arcs and polyline segments, the centers and quadrant
+ * points of arcs, circles and ellipses, and point entities. The points of
+ * blocks are included for every Block Reference that inserts them.
+ * <p>
+ * The points are collected from chunks of the Model Space entities in
+ * parallel, and are then held in a primitive k-d tree, so that the nearest
+ * point within a radius is found in logarithmic time. An index is immutable
+ * once built, and may be queried from any thread; it does not need the
+ * document to be kept, other than for the layers of the entities, which are
+ * checked when querying so that switched-off layers are never snapped to;
+ * this includes the layers of all of the Block References that a point is
+ * nested in, as switching any of those off hides the point as well.
+ * <p>
+ * Since a large drawing can insert its blocks many times over, the number of
+ * points is limited; once the limit is reached, the remaining points are
+ * left out of the index, and it reports itself as truncated. Which points
+ * are left out then depends on the order in which the chunks were collected.
+ */
+public final class DxfSnapIndex {
+
+    /**
+     * The default maximum number of points in an index, which keeps its size
+     * to about a hundred megabytes while it is being built.
+     */
+    public static final int DEFAULT_MAXIMUM_NUMBER_OF_POINTS = 4_000_000;
+
+    // The number of Model Space entities that are collected as one task.
+    private static final int CHUNK_SIZE = 256;
+
+    // The layers of the Block References that Model Space entities are in.
+    private static final DxfLayer[] NO_INSERT_LAYERS = new DxfLayer[ 0 ];
+
+    private final SnapPointBuffer _points;
+    private final KdTree2D _tree;
+
+    private DxfSnapIndex( final SnapPointBuffer points ) {
+        _points = points;
+        _tree = new KdTree2D( points.getCoordinates(),
+                              points.getNumberOfPoints() );
+    }
+
+    /**
+     * Builds the snap index of the Model Space of a document in the
+     * background, so that it is ready shortly after the document is loaded.
+     * <p>
+     * The Model Space entities and the block table are copied before this
+     * returns, so the document may be converted and cleared while the index
+     * is built; clearing the document leaves the entities themselves and
+     * the blocks intact.
+     *
+     * @param dxfDoc The parsed document
+     * @return the future index
+     */
+    public static CompletableFuture< DxfSnapIndex > buildAsync( final DxfDocument dxfDoc ) {
+        final List< DxfEntity > entities = new ArrayList<>( getModelSpaceEntities(
+                dxfDoc ) );
+        final Map< String, DxfBlock > blocks = copyBlocks( dxfDoc );
+        return CompletableFuture.supplyAsync( () -> build( entities,
+                                                           blocks,
+                                                           DEFAULT_MAXIMUM_NUMBER_OF_POINTS,
+                                                           DxfConversionOptions.DEFAULT_MAXIMUM_NESTING_DEPTH ) );
+    }
+
+    /**
+     * Builds the snap index of the Model Space of a document, with the
+     * default limits.
+     *
+     * @param dxfDoc The parsed document
+     * @return the index
+     */
+    public static DxfSnapIndex build( final DxfDocument dxfDoc ) {
+        return build( dxfDoc,
+                      DEFAULT_MAXIMUM_NUMBER_OF_POINTS,
+                      DxfConversionOptions.DEFAULT_MAXIMUM_NESTING_DEPTH );
+    }
+
+    /**
+     * Builds the snap index of the Model Space of a document.
+     *
+     * @param dxfDoc                The parsed document
+     * @param maximumNumberOfPoints The maximum number of points to index
+     * @param maximumNestingDepth   The maximum number of nested Block
+     *                              References whose blocks are indexed
+     * @return the index
+     */
+    public static DxfSnapIndex build( final DxfDocument dxfDoc,
+                                      final int maximumNumberOfPoints,
+                                      final int maximumNestingDepth ) {
+        return build( getModelSpaceEntities( dxfDoc ),
+                      copyBlocks( dxfDoc ),
+                      maximumNumberOfPoints,
+                      maximumNestingDepth );
+    }
+
+    private static List< DxfEntity > getModelSpaceEntities( final DxfDocument dxfDoc ) {
+        return ( dxfDoc._modelSpace != null )
+               ? dxfDoc._modelSpace.getEntities()
+               : Collections.emptyList();
+    }
+
+    /**
+     * Copies the block table of a document, keyed as the document looks up
+     * the blocks of Block References, so that the blocks can still be found
+     * after the document is cleared.
+     */
+    private static Map< String, DxfBlock > copyBlocks( final DxfDocument dxfDoc ) {
+        final Map< String, DxfBlock > blocks = new HashMap<>();
+        final String[] blockNames = dxfDoc.getBlockNames();
+        if ( blockNames != null ) {
+            for ( final String blockName : blockNames ) {
+                if ( blockName != null ) {
+                    blocks.put( blockName.toUpperCase(),
+                                dxfDoc.getBlock( blockName ) );
+                }
+            }
+        }
+
+        return blocks;
+    }
+
+    private static DxfBlock getBlock( final Map< String, DxfBlock > blocks,
+                                      final DxfInsert insert ) {
+        // NOTE: Block References must have a valid Block Name.
+        final String blockName = insert.getBlockName();
+        if ( ( blockName == null ) || blockName.trim().isEmpty() ) {
+            return null;
+        }
+
+        return blocks.get( blockName.toUpperCase() );
+    }
+
+    private static DxfSnapIndex build( final List< DxfEntity > entities,
+                                       final Map< String, DxfBlock > blocks,
+                                       final int maximumNumberOfPoints,
+                                       final int maximumNestingDepth ) {
+        final int numberOfEntities = entities.size();
+        final int numberOfChunks = ( numberOfEntities + CHUNK_SIZE - 1 )
+                                   / CHUNK_SIZE;
+
+        // The chunks share a budget of points, and are joined in order so
+        // that, unless the budget runs out, the index does not depend on
+        // which chunk finishes first.
+        final AtomicInteger budget = new AtomicInteger( maximumNumberOfPoints );
+        final SnapPointBuffer[] chunkPoints = IntStream.range( 0, numberOfChunks )
+                .parallel()
+                .mapToObj( chunk -> collectPoints( entities,
+                                                   blocks,
+                                                   chunk * CHUNK_SIZE,
+                                                   FastMath.min( ( chunk + 1 )
+                                                             * CHUNK_SIZE,
+                                                             numberOfEntities ),
+                                                   budget,
+                                                   maximumNestingDepth ) )
+                .toArray( SnapPointBuffer[]::new );
+
+        final SnapPointBuffer points = new SnapPointBuffer();
+        for ( final SnapPointBuffer chunk : chunkPoints ) {
+            points.addAll( chunk );
+        }
+
+        return new DxfSnapIndex( points );
+    }
+
+    private static SnapPointBuffer collectPoints( final List< DxfEntity > entities,
+                                                  final Map< String, DxfBlock > blocks,
+                                                  final int start,
+                                                  final int end,
+                                                  final AtomicInteger budget,
+                                                  final int maximumNestingDepth ) {
+        final SnapPointBuffer buffer = new SnapPointBuffer( budget );
+
+        // The transforms of the nested blocks, re-used for each level.
+        final Affine2D[] transforms = new Affine2D[ maximumNestingDepth + 1 ];
+        transforms[ 0 ] = new Affine2D();
+
+        for ( int i = start; ( i < end ) && !buffer.isTruncated(); i++ ) {
+            final DxfEntity dxfEntity = entities.get( i );
+            if ( dxfEntity != null ) {
+                buffer.setGroup( dxfEntity );
+                collectPoints( buffer,
+                               blocks,
+                               dxfEntity,
+                               transforms,
+                               NO_INSERT_LAYERS,
+                               0 );
+            }
+        }
+
+        return buffer;
+    }
+
+    private static void collectPoints( final SnapPointBuffer buffer,
+                                       final Map< String, DxfBlock > blocks,
+                                       final DxfEntity dxfEntity,
+                                       final Affine2D[] transforms,
+                                       final DxfLayer[] insertLayers,
+                                       final int level ) {
+        if ( !( dxfEntity instanceof DxfInsert ) ) {
+            buffer.setTransform( transforms[ level ] );
+            buffer.setOwner( dxfEntity );
+            buffer.setPath( insertLayers );
+            dxfEntity.addSnapPoints( buffer );
+            return;
+        }
+
+        final DxfInsert insert = ( DxfInsert ) dxfEntity;
+        final DxfBlock block = getBlock( blocks, insert );
+        if ( ( block == null ) || ( level >= ( transforms.length - 1 ) ) ) {
+            return;
+        }
+
+        if ( transforms[ level + 1 ] == null ) {
+            transforms[ level + 1 ] = new Affine2D();
+        }
+        transforms[ level + 1 ].setToConcatenation( transforms[ level ],
+                                                    insert.getBlockTransform() );
+        final DxfLayer[] blockInsertLayers = Arrays.copyOf( insertLayers,
+                                                            insertLayers.length
+                                                                    + 1 );
+        blockInsertLayers[ insertLayers.length ] = insert.getLayer();
+        for ( final DxfEntity blockEntity : block.getEntities() ) {
+            if ( buffer.isTruncated() ) {
+                return;
+            }
+            if ( blockEntity != null ) {
+                collectPoints( buffer,
+                               blocks,
+                               blockEntity,
+                               transforms,
+                               blockInsertLayers,
+                               level + 1 );
+            }
+        }
+    }
+
+    /**
+     * Finds the nearest snap point to a location, within a radius.
+     *
+     * @param x      The x-coordinate of the location, in Model Space
+     * @param y      The y-coordinate of the location, in Model Space
+     * @param radius The maximum distance from the location, in Model Space
+     *               units, such as a few pixels at the view scale
+     * @return the nearest snap point, or {@code null} if there is none within
+     *         the radius
+     */
+    public DxfSnapPoint findNearest( final double x,
+                                     final double y,
+                                     final double radius ) {
+        return findNearest( x, y, radius, EnumSet.allOf( SnapType.class ) );
+    }
+
+    /**
+     * Finds the nearest snap point of the given types to a location, within
+     * a radius.
+     *
+     * @param x         The x-coordinate of the location, in Model Space
+     * @param y         The y-coordinate of the location, in Model Space
+     * @param radius    The maximum distance from the location, in Model Space
+     *                  units, such as a few pixels at the view scale
+     * @param snapTypes The types of points to snap to
+     * @return the nearest snap point, or {@code null} if there is none within
+     *         the radius
+     */
+    public DxfSnapPoint findNearest( final double x,
+                                     final double y,
+                                     final double radius,
+                                     final Set< SnapType > snapTypes ) {
+        final int nearest = _tree.findNearest( x,
+                                               y,
+                                               radius,
+                                               index -> snapTypes.contains(
+                                                       _points.getSnapType(
+                                                               index ) )
+                                                        && isLayerOn( index ) );
+        if ( nearest < 0 ) {
+            return null;
+        }
+
+        final double[] coordinates = _points.getCoordinates();
+        return new DxfSnapPoint( coordinates[ 2 * nearest ],
+                                 coordinates[ ( 2 * nearest ) + 1 ],
+                                 _points.getSnapType( nearest ),
+                                 ( DxfEntity ) _points.getOwner( nearest ),
+                                 ( DxfEntity ) _points.getGroup( nearest ) );
+    }
+
+    private boolean isLayerOn( final int index ) {
+        if ( !( ( DxfEntity ) _points.getOwner( index ) ).isLayerOn()
+             || !( ( DxfEntity ) _points.getGroup( index ) ).isLayerOn() ) {
+            return false;
+        }
+
+        for ( final DxfLayer insertLayer : ( DxfLayer[] ) _points.getPath(
+                index ) ) {
+            if ( !insertLayer.isLayerOn() ) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the number of points in the index
+     */
+    public int size() {
+        return _tree.size();
+    }
+
+    /**
+     * @return {@code true} if points were left out of the index, because the
+     *         drawing has more of them than the limit
+     */
+    public boolean isTruncated() {
+        return _points.isTruncated();
+    }
+}// class DxfSnapIndex
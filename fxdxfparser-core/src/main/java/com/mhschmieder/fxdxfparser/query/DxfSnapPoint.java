@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.query;
+
+import com.mhschmieder.fxdxfparser.entity.DxfEntity;
+import com.mhschmieder.fxdxfparser.geometry.SnapType;
+
+/**
+ * This is a point of the drawing that object snapping locked onto, in Model
+ * Space coordinates, along with the entity that it belongs to.
+ */
+public final class DxfSnapPoint {
+
+    private final double _x;
+    private final double _y;
+    private final SnapType _snapType;
+    private final DxfEntity _entity;
+    private final DxfEntity _modelSpaceEntity;
+
+    public DxfSnapPoint( final double x,
+                         final double y,
+                         final SnapType snapType,
+                         final DxfEntity entity,
+                         final DxfEntity modelSpaceEntity ) {
+        _x = x;
+        _y = y;
+        _snapType = snapType;
+        _entity = entity;
+        _modelSpaceEntity = modelSpaceEntity;
+    }
+
+    public double getX() {
+        return _x;
+    }
+
+    public double getY() {
+        return _y;
+    }
+
+    public SnapType getSnapType() {
+        return _snapType;
+    }
+
+    /**
+     * @return the entity that the point belongs to, which is never a Block
+     *         Reference itself
+     */
+    public DxfEntity getEntity() {
+        return _entity;
+    }
+
+    /**
+     * @return the Model Space entity that the point belongs to, which is the
+     *         outermost Block Reference if the entity is part of a block
+     */
+    public DxfEntity getModelSpaceEntity() {
+        return _modelSpaceEntity;
+    }
+}// class DxfSnapPoint
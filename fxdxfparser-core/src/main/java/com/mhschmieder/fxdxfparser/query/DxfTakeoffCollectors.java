@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.query;
+
+import com.mhschmieder.fxdxfparser.entity.DxfEntityInstance;
+import com.mhschmieder.fxdxfparser.entity.DxfInsert;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * These are collectors of quantity takeoffs from the entity instances of a
+ * document, such as for cost estimation, which can be used on parallel
+ * streams:
+ *
+ * <pre>
+ * Map&lt;String, Double&gt; lengths = dxfDoc.streamModelSpaceInstances( true )
+ *         .collect( DxfTakeoffCollectors.lengthByLayer() );
+ * </pre>
+ *
+ * All quantities are in Model Space units, and all totals are sorted by name.
+ * Entities on switched-off layers are included, as takeoffs cover the whole
+ * drawing; filter the stream to leave them out.
+ */
+public final class DxfTakeoffCollectors {
+
+    /**
+     * @return a collector of the total length of linework per layer, for the
+     *         layers that have any
+     */
+    public static Collector< DxfEntityInstance, ?, Map< String, Double > > lengthByLayer() {
+        return sumByLayer( DxfEntityInstance::getLength );
+    }
+
+    /**
+     * @return a collector of the total area enclosed by closed polylines,
+     *         circles and full ellipses per layer, for the layers that have
+     *         any
+     */
+    public static Collector< DxfEntityInstance, ?, Map< String, Double > > areaByLayer() {
+        return sumByLayer( DxfEntityInstance::getArea );
+    }
+
+    /**
+     * @return a collector of the total perimeter of the entities that enclose
+     *         an area per layer, for the layers that have any
+     */
+    public static Collector< DxfEntityInstance, ?, Map< String, Double > > perimeterByLayer() {
+        return sumByLayer( instance -> ( instance.getArea() > 0.0d )
+                                       ? instance.getLength()
+                                       : 0.0d );
+    }
+
+    /**
+     * @return a collector of the number of Block References per block name;
+     *         with nested Block References expanded, the references within
+     *         blocks are counted as many times as their blocks are inserted
+     */
+    public static Collector< DxfEntityInstance, ?, Map< String, Long > > insertCountByBlock() {
+        return Collectors.filtering( instance -> getBlockName( instance ) != null,
+                                     Collectors.groupingBy( DxfTakeoffCollectors::getBlockName,
+                                                            TreeMap::new,
+                                                            Collectors.counting() ) );
+    }
+
+    private static String getBlockName( final DxfEntityInstance instance ) {
+        return ( instance.getEntity() instanceof DxfInsert )
+               ? ( ( DxfInsert ) instance.getEntity() ).getBlockName()
+               : null;
+    }
+
+    // Sums a quantity per layer, in a primitive accumulator per layer, and
+    // leaves out the layers where it is zero.
+    private static Collector< DxfEntityInstance, ?, Map< String, Double > > sumByLayer( final ToDoubleFunction< DxfEntityInstance > quantity ) {
+        return Collector.of( HashMap< String, double[] >::new,
+                             ( totals, instance ) -> {
+                                 final double value = quantity
+                                         .applyAsDouble( instance );
+                                 if ( value != 0.0d ) {
+                                     totals.computeIfAbsent(
+                                             instance.getLayerName(),
+                                             layerName -> new double[ 1 ] )[ 0 ]
+                                             += value;
+                                 }
+                             },
+                             ( totals, otherTotals ) -> {
+                                 otherTotals.forEach( ( layerName, total ) -> totals
+                                         .merge( layerName,
+                                                 total,
+                                                 ( left, right ) -> {
+                                                     left[ 0 ] += right[ 0 ];
+                                                     return left;
+                                                 } ) );
+                                 return totals;
+                             },
+                             totals -> {
+                                 final Map< String, Double > sums = new TreeMap<>();
+                                 totals.forEach( ( layerName, total ) -> sums
+                                         .put( layerName, total[ 0 ] ) );
+                                 return sums;
+                             } );
+    }
+}// class DxfTakeoffCollectors
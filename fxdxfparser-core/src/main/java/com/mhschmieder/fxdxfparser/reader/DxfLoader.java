@@ -30,51 +30,32 @@
  */
 package com.mhschmieder.fxdxfparser.reader;
 
-import com.mhschmieder.fxdxfparser.geometry.DxfShapeContainer;
-import com.mhschmieder.fxdxfparser.loader.DxfBlock;
 import com.mhschmieder.fxdxfparser.physics.DxfDistanceUnit;
+import com.mhschmieder.fxdxfparser.query.DxfSnapIndex;
 import com.mhschmieder.fxdxfparser.structure.DxfDocument;
 import com.mhschmieder.fxdxfparser.structure.DxfStatus;
 import com.mhschmieder.jcommons.io.FileStatus;
 
 import java.io.BufferedReader;
-
-import javafx.scene.transform.Affine;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * DxfLoader imports an AutoCAD DXF file into JavaFX as 2D Scene Graph Nodes.
+ * DxfLoader imports an AutoCAD DXF file as a {@link DxfDocument}; conversion
+ * to 2D JavaFX Scene Graph Nodes is added by the DxfFxLoader of the
+ * fxdxfparser module.
  */
 public class DxfLoader {
 
     private String _currentBlock;
     private DxfDocument _dxfDoc;
 
+    private boolean _snapIndexEnabled;
+    private CompletableFuture< DxfSnapIndex > _snapIndex;
+
     public DxfLoader() {
         _currentBlock = DxfDocument.MODEL_BLOCK;
-    }
-
-    /**
-     * Convert the loaded document's Model Space Block to a flat 2D slice at
-     * z=0, using JavaFX Shapes as the target, hosted by a geometry container
-     * that holds the generic JavaFX Shape conversions.
-     *
-     * @param dxfShapeContainer The Geometry Container for the generic converted
-     *                          Shapes, as JavaFX Geometry Nodes
-     */
-    public final void convertToFxShapes( final DxfShapeContainer dxfShapeContainer ) {
-        // Vectorize the entire Model Space block into generic shapes.
-        final DxfBlock dxfBlock = _dxfDoc.getBlock( _currentBlock );
-        final Affine defaultAffine = new Affine();
-        final double defaultStrokeScale = 1.0d;
-        dxfBlock.convertToFxShapes( dxfShapeContainer,
-                                    defaultAffine,
-                                    defaultStrokeScale );
-
-        // Clear the now-redundant and unneeded Model Space Block.
-        dxfBlock.clearBlock();
-
-        // Also clear the now-redundant DXF Document container.
-        clearDocument();
+        _snapIndexEnabled = false;
+        _snapIndex = null;
     }
 
     /**
@@ -87,6 +68,33 @@ public class DxfLoader {
         }
     }
 
+    public final boolean isSnapIndexEnabled() {
+        return _snapIndexEnabled;
+    }
+
+    /**
+     * Sets whether loading Model Space also builds a snap index of it in the
+     * background, for object snapping by measurement and markup tools.
+     *
+     * @param snapIndexEnabled {@code true} if loading Model Space should also
+     *                         build a snap index
+     */
+    public final void setSnapIndexEnabled( final boolean snapIndexEnabled ) {
+        _snapIndexEnabled = snapIndexEnabled;
+    }
+
+    /**
+     * Returns the snap index of the last loaded Model Space, which is built in
+     * the background and is kept after the document is cleared.
+     *
+     * @return the future snap index, or {@code null} if no snap index was
+     *         built for the last loaded Model Space
+     * @see #setSnapIndexEnabled
+     */
+    public final CompletableFuture< DxfSnapIndex > getSnapIndex() {
+        return _snapIndex;
+    }
+
     /**
      * Obtiene el nombre del bloque que se añadirá a la escena.
      *
@@ -186,10 +194,16 @@ public class DxfLoader {
             // Invoke the DXF Pre-loader, for Model Space only (i.e. ignore
             // Paper Space, as we don't use it and thus it is wasteful).
             setCurrentBlock( DxfDocument.MODEL_BLOCK );
+            _snapIndex = null;
             loadDocument( bufferedReader, true, graphicsImportLoggingEnabled );
             if ( !isDocumentValid() ) {
                 return FileStatus.READ_ERROR;
             }
+
+            // Build the snap index while the caller converts the document.
+            if ( _snapIndexEnabled ) {
+                _snapIndex = DxfSnapIndex.buildAsync( _dxfDoc );
+            }
         }
         catch ( final OutOfMemoryError oome ) {
             // NOTE: The DXF Parser now folds this into the general error
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.render;
+
+/**
+ * This is the receiver of the flattened, world-space geometry of a DXF
+ * document, for output targets other than the JavaFX Scene Graph, such as
+ * vector exporters, rasterizers, spatial indices and statistics collectors.
+ * <p>
+ * The geometry is emitted by a
+ * {@link com.mhschmieder.fxdxfparser.entity.DxfGeometryTraversal}, which has
+ * already expanded the Block References and resolved the by-block and
+ * by-layer properties. The primitives of each entity are bracketed by
+ * {@link #beginStyle} and {@link #endStyle}; entities that have no 2D
+ * geometry emit nothing at all.
+ * <p>
+ * Coordinate arrays are owned by the traversal and re-used for the next
+ * primitive, so must be copied if they are to be kept. Angles are in
+ * degrees, counter-clockwise from the positive x-axis, as in DXF.
+ */
+public interface DxfGeometrySink {
+
+    /**
+     * Starts the primitives of an entity.
+     *
+     * @param style The resolved style of the entity, which is re-used by the
+     *              traversal once {@link #endStyle} has been called
+     */
+    void beginStyle( final DxfStyle style );
+
+    /**
+     * Receives an open or closed sequence of line segments.
+     *
+     * @param coordinates    The interleaved x and y coordinates
+     * @param numberOfPoints The number of points in use
+     * @param closed         {@code true} if the last point connects back to
+     *                       the first point
+     */
+    void polyline( final double[] coordinates,
+                   final int numberOfPoints,
+                   final boolean closed );
+
+    /**
+     * Receives the outline of an area entity, such as a Solid or a 3D Face,
+     * which implicitly closes.
+     *
+     * @param coordinates    The interleaved x and y coordinates
+     * @param numberOfPoints The number of points in use
+     */
+    void polygon( final double[] coordinates,
+                  final int numberOfPoints );
+
+    /**
+     * Receives a circular arc, which is always swept counter-clockwise from
+     * the start angle to the end angle.
+     *
+     * @param centerX    The x-coordinate of the center
+     * @param centerY    The y-coordinate of the center
+     * @param radius     The radius
+     * @param startAngle The start angle, in degrees
+     * @param endAngle   The end angle, in degrees
+     */
+    void arc( final double centerX,
+              final double centerY,
+              final double radius,
+              final double startAngle,
+              final double endAngle );
+
+    /**
+     * Receives a full circle.
+     *
+     * @param centerX The x-coordinate of the center
+     * @param centerY The y-coordinate of the center
+     * @param radius  The radius
+     */
+    void circle( final double centerX,
+                 final double centerY,
+                 final double radius );
+
+    /**
+     * Ends the primitives of the entity that was started by the last call to
+     * {@link #beginStyle}.
+     */
+    void endStyle();
+}// interface DxfGeometrySink
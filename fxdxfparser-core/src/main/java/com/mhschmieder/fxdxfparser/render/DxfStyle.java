@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.render;
+
+import com.mhschmieder.fxdxfparser.entity.DxfEntity;
+import com.mhschmieder.fxdxfparser.loader.DxfLineType;
+
+/**
+ * This is the resolved style of an entity, as passed to a
+ * {@link DxfGeometrySink}: the by-block and by-layer color and line type have
+ * been replaced by those in effect for the current Block Reference.
+ * <p>
+ * The traversal re-uses a single instance for all entities, so sinks that
+ * keep styles must copy them.
+ */
+public final class DxfStyle {
+
+    private DxfEntity _entity;
+    private String _layerName;
+    private int _colorIndex;
+    private int _colorRgb;
+    private DxfLineType _lineType;
+    private double _lineTypeScale;
+
+    public DxfStyle() {}
+
+    public DxfStyle( final DxfStyle style ) {
+        setTo( style._entity,
+               style._layerName,
+               style._colorIndex,
+               style._colorRgb,
+               style._lineType,
+               style._lineTypeScale );
+    }
+
+    public void setTo( final DxfEntity entity,
+                       final String layerName,
+                       final int colorIndex,
+                       final int colorRgb,
+                       final DxfLineType lineType,
+                       final double lineTypeScale ) {
+        _entity = entity;
+        _layerName = layerName;
+        _colorIndex = colorIndex;
+        _colorRgb = colorRgb;
+        _lineType = lineType;
+        _lineTypeScale = lineTypeScale;
+    }
+
+    /**
+     * @return the entity whose primitives are being emitted
+     */
+    public DxfEntity getEntity() {
+        return _entity;
+    }
+
+    public String getLayerName() {
+        return _layerName;
+    }
+
+    /**
+     * @return the DXF Color Index, between 1 and 255, or 0 if by-block colors
+     *         were left unresolved
+     */
+    public int getColorIndex() {
+        return _colorIndex;
+    }
+
+    /**
+     * @return the color, as packed 0xRRGGBB
+     */
+    public int getColorRgb() {
+        return _colorRgb;
+    }
+
+    /**
+     * @return the line type, or {@code null} if it is not defined or if
+     *         by-block line types were left unresolved
+     */
+    public DxfLineType getLineType() {
+        return _lineType;
+    }
+
+    /**
+     * @return the combined scale of the line type pattern, in world units,
+     *         including the scale of the enclosing Block References
+     */
+    public double getLineTypeScale() {
+        return _lineTypeScale;
+    }
+
+    public boolean isContinuous() {
+        return ( _lineType == null ) || _lineType.isContinuous();
+    }
+}// class DxfStyle
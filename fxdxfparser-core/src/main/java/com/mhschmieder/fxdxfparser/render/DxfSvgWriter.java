@@ -0,0 +1,743 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.render;
+
+import com.mhschmieder.fxdxfparser.entity.DxfEntity;
+import com.mhschmieder.fxdxfparser.entity.DxfGeometryTraversal;
+import com.mhschmieder.fxdxfparser.entity.DxfInsert;
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
+import com.mhschmieder.fxdxfparser.geometry.Vectorization;
+import com.mhschmieder.fxdxfparser.loader.DxfBlock;
+import com.mhschmieder.fxdxfparser.loader.DxfColors;
+import com.mhschmieder.fxdxfparser.loader.DxfLineType;
+import com.mhschmieder.fxdxfparser.structure.DxfDocument;
+import org.apache.commons.math3.util.FastMath;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This writes the Model Space of a DXF document as SVG, streaming the paths
+ * to a {@link Writer} straight from the parsed entities rather than from
+ * converted JavaFX nodes, so that memory use does not grow with the size of
+ * the drawing.
+ * <p>
+ * Consecutive entities on the same layer share a group, and consecutive
+ * entities with the same stroke share a path, so that the drawing order is
+ * kept. Entities on switched-off layers are left out, and line types become
+ * dash arrays.
+ * <p>
+ * Optionally, blocks that are inserted repeatedly from Model Space are
+ * written once as symbols, which each of their Block References then uses.
+ * By-block colors and line types inside the symbols are inherited from the
+ * referencing element, as SVG inheritance has the same semantics.
+ * <p>
+ * The y-axis is flipped, so that the drawing is upright in SVG coordinates.
+ * A writer is not thread-safe, but may be re-used for several documents.
+ */
+public final class DxfSvgWriter {
+
+    /**
+     * The default number of decimal places of the written coordinates.
+     */
+    public static final int DEFAULT_PRECISION = 4;
+
+    /**
+     * The default number of Model Space Block References of a block, from
+     * which on it is written as a symbol when symbols are enabled.
+     */
+    public static final int DEFAULT_MINIMUM_SYMBOL_REFERENCES = 2;
+
+    private static final int MAXIMUM_PRECISION = 9;
+
+    // The default stroke width, relative to the larger drawing dimension.
+    private static final double DEFAULT_STROKE_WIDTH_RATIO = 1.0e-3d;
+
+    // The number of buffered characters from which on they are written out.
+    private static final int FLUSH_THRESHOLD = 8192;
+
+    // Coordinates beyond this magnitude are not rounded to fixed point.
+    private static final double MAXIMUM_FIXED_POINT_VALUE = 1.0e15d;
+
+    // The stroke color that stands for an unresolved by-block color.
+    private static final int CURRENT_COLOR = -1;
+
+    /**
+     * This receives the geometry from the traversal, and appends it to the
+     * path that is currently open.
+     */
+    private final class PathSink implements DxfGeometrySink {
+
+        @Override
+        public void beginStyle( final DxfStyle style ) {
+            beginLayer( style.getLayerName() );
+
+            final int colorRgb
+                    = ( style.getColorIndex() == DxfColors.COLOR_BY_BLOCK_INDEX )
+                      ? CURRENT_COLOR
+                      : style.getColorRgb();
+            final DxfLineType lineType = style.getLineType();
+            final double lineTypeScale = ( ( lineType == null )
+                                           || lineType.isContinuous() )
+                                         ? 0.0d
+                                         : style.getLineTypeScale();
+            if ( _pathOpen && ( colorRgb == _pathColorRgb )
+                 && ( lineType == _pathLineType )
+                 && ( lineTypeScale == _pathLineTypeScale ) ) {
+                return;
+            }
+
+            closePath();
+            openPath( colorRgb, lineType, lineTypeScale );
+        }
+
+        @Override
+        public void polyline( final double[] coordinates,
+                              final int numberOfPoints,
+                              final boolean closed ) {
+            _buffer.append( 'M' );
+            for ( int i = 0; i < numberOfPoints; i++ ) {
+                if ( i > 0 ) {
+                    _buffer.append( ' ' );
+                }
+                appendPoint( coordinates[ 2 * i ], coordinates[ ( 2 * i ) + 1 ] );
+            }
+            if ( closed ) {
+                _buffer.append( 'Z' );
+            }
+            flushIfFull();
+        }
+
+        @Override
+        public void polygon( final double[] coordinates,
+                             final int numberOfPoints ) {
+            polyline( coordinates, numberOfPoints, true );
+        }
+
+        @Override
+        public void arc( final double centerX,
+                         final double centerY,
+                         final double radius,
+                         final double startAngle,
+                         final double endAngle ) {
+            double sweepAngle = endAngle - startAngle;
+            if ( sweepAngle <= 0.0d ) {
+                sweepAngle += 360.0d;
+            }
+            if ( sweepAngle >= 360.0d ) {
+                circle( centerX, centerY, radius );
+                return;
+            }
+
+            final double startRadians = FastMath.toRadians( startAngle );
+            final double endRadians = FastMath.toRadians( endAngle );
+
+            // Counter-clockwise in DXF is the negative sweep direction once
+            // the y-axis is flipped.
+            _buffer.append( 'M' );
+            appendPoint( centerX + ( radius * FastMath.cos( startRadians ) ),
+                         centerY + ( radius * FastMath.sin( startRadians ) ) );
+            appendArcCommand( radius, sweepAngle > 180.0d );
+            appendPoint( centerX + ( radius * FastMath.cos( endRadians ) ),
+                         centerY + ( radius * FastMath.sin( endRadians ) ) );
+            flushIfFull();
+        }
+
+        @Override
+        public void circle( final double centerX,
+                            final double centerY,
+                            final double radius ) {
+            // A single arc command cannot start and end at the same point,
+            // so the circle is made of two halves.
+            _buffer.append( 'M' );
+            appendPoint( centerX + radius, centerY );
+            appendArcCommand( radius, true );
+            appendPoint( centerX - radius, centerY );
+            appendArcCommand( radius, true );
+            appendPoint( centerX + radius, centerY );
+            _buffer.append( 'Z' );
+            flushIfFull();
+        }
+
+        @Override
+        public void endStyle() {
+            // The path stays open, for the next entity with the same stroke.
+        }
+    }
+
+    private final DxfGeometryTraversal _traversal;
+    private final Affine2D _identityTransform;
+    private final StringBuilder _buffer;
+
+    private double _strokeWidth;
+    private int _precision;
+    private long _precisionFactor;
+    private boolean _symbolsEnabled;
+    private int _minimumSymbolReferences;
+
+    // The destination of the document that is currently being written.
+    private Writer _writer;
+    private double _currentStrokeWidth;
+    private boolean _writingSymbol;
+
+    // The layer group that is open, or null if there is none.
+    private String _groupLayerName;
+
+    // The stroke of the path that is open, if any.
+    private boolean _pathOpen;
+    private int _pathColorRgb;
+    private DxfLineType _pathLineType;
+    private double _pathLineTypeScale;
+
+    public DxfSvgWriter() {
+        _traversal = new DxfGeometryTraversal( new PathSink() );
+        _identityTransform = new Affine2D();
+        _buffer = new StringBuilder( 2 * FLUSH_THRESHOLD );
+
+        _strokeWidth = 0.0d;
+        setPrecision( DEFAULT_PRECISION );
+        _symbolsEnabled = false;
+        _minimumSymbolReferences = DEFAULT_MINIMUM_SYMBOL_REFERENCES;
+    }
+
+    public double getStrokeWidth() {
+        return _strokeWidth;
+    }
+
+    /**
+     * Sets the stroke width of all paths, in drawing units.
+     *
+     * @param strokeWidth The stroke width, or zero to derive it from the size
+     *                    of the drawing
+     */
+    public void setStrokeWidth( final double strokeWidth ) {
+        _strokeWidth = strokeWidth;
+    }
+
+    public int getPrecision() {
+        return _precision;
+    }
+
+    /**
+     * Sets the number of decimal places of the written coordinates, which
+     * trades the size of the output against its accuracy.
+     *
+     * @param precision The number of decimal places, between 0 and 9
+     */
+    public void setPrecision( final int precision ) {
+        if ( ( precision < 0 ) || ( precision > MAXIMUM_PRECISION ) ) {
+            throw new IllegalArgumentException();
+        }
+
+        _precision = precision;
+        _precisionFactor = 1L;
+        for ( int i = 0; i < precision; i++ ) {
+            _precisionFactor *= 10L;
+        }
+    }
+
+    public boolean isSymbolsEnabled() {
+        return _symbolsEnabled;
+    }
+
+    /**
+     * Sets whether repeatedly inserted blocks are written once as symbols,
+     * which makes the output smaller for drawings with many Block References.
+     *
+     * @param symbolsEnabled {@code true} to write repeated blocks as symbols
+     */
+    public void setSymbolsEnabled( final boolean symbolsEnabled ) {
+        _symbolsEnabled = symbolsEnabled;
+    }
+
+    public int getMinimumSymbolReferences() {
+        return _minimumSymbolReferences;
+    }
+
+    public void setMinimumSymbolReferences( final int minimumSymbolReferences ) {
+        _minimumSymbolReferences = minimumSymbolReferences;
+    }
+
+    /**
+     * Sets the parameterization for flattening the curves that cannot be
+     * written as circular arcs.
+     *
+     * @param vectorization The parameterization of the flattening
+     */
+    public void setVectorization( final Vectorization vectorization ) {
+        _traversal.setVectorization( vectorization );
+    }
+
+    public void setMaximumNestingDepth( final int maximumNestingDepth ) {
+        _traversal.setMaximumNestingDepth( maximumNestingDepth );
+    }
+
+    /**
+     * Writes the Model Space of a document as a standalone SVG document.
+     * <p>
+     * The output is written in chunks as it is made; the writer is flushed but
+     * not closed.
+     *
+     * @param dxfDoc The document to write
+     * @param writer The destination of the SVG markup, which should be
+     *               buffered and use the UTF-8 encoding
+     * @throws IOException if the writer fails
+     */
+    public void write( final DxfDocument dxfDoc,
+                       final Writer writer ) throws IOException {
+        _writer = writer;
+        try {
+            final Extents2D extents = dxfDoc.getModelSpaceExtents();
+            _currentStrokeWidth = getStrokeWidth( extents );
+            writeHeader( extents );
+
+            final DxfBlock modelSpace = dxfDoc._modelSpace;
+            if ( modelSpace != null ) {
+                final Map< DxfBlock, String > symbolIds = _symbolsEnabled
+                                                          ? findSymbols( modelSpace )
+                                                          : Collections.emptyMap();
+                if ( !symbolIds.isEmpty() ) {
+                    writeSymbols( symbolIds );
+                }
+                writeModelSpace( modelSpace, symbolIds );
+            }
+
+            closeGroup();
+            _buffer.append( "</svg>\n" ); //$NON-NLS-1$
+            flush();
+            writer.flush();
+        }
+        catch ( final UncheckedIOException uioe ) {
+            throw uioe.getCause();
+        }
+        finally {
+            _writer = null;
+            _buffer.setLength( 0 );
+            _groupLayerName = null;
+            _pathOpen = false;
+            _pathLineType = null;
+            _writingSymbol = false;
+        }
+    }
+
+    private double getStrokeWidth( final Extents2D extents ) {
+        if ( _strokeWidth > 0.0d ) {
+            return _strokeWidth;
+        }
+
+        final double strokeWidth = extents.isEmpty()
+                                   ? 0.0d
+                                   : DEFAULT_STROKE_WIDTH_RATIO
+                                     * extents.getMaximumDimension();
+        return ( strokeWidth > 0.0d )
+               ? strokeWidth
+               : 1.0d;
+    }
+
+    @SuppressWarnings( "nls" )
+    private void writeHeader( final Extents2D extents ) {
+        // The stroke width is added as a margin, so that outer strokes are not
+        // clipped and drawings that are a single line are not empty.
+        final double margin = _currentStrokeWidth;
+        final double minX = extents.isEmpty()
+                            ? 0.0d
+                            : extents.getMinX();
+        final double maxY = extents.isEmpty()
+                            ? 0.0d
+                            : extents.getMaxY();
+
+        _buffer.append( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" );
+        _buffer.append( "<svg xmlns=\"http://www.w3.org/2000/svg\"" );
+        _buffer.append( " xmlns:xlink=\"http://www.w3.org/1999/xlink\"" );
+        _buffer.append( " viewBox=\"" );
+        appendNumber( minX - margin );
+        _buffer.append( ' ' );
+        appendNumber( -( maxY + margin ) );
+        _buffer.append( ' ' );
+        appendNumber( ( extents.isEmpty()
+                        ? 0.0d
+                        : extents.getWidth() ) + ( 2.0d * margin ) );
+        _buffer.append( ' ' );
+        appendNumber( ( extents.isEmpty()
+                        ? 0.0d
+                        : extents.getHeight() ) + ( 2.0d * margin ) );
+        _buffer.append( "\" fill=\"none\" stroke-width=\"" );
+        appendNumber( _currentStrokeWidth );
+        _buffer.append( "\" stroke-linecap=\"round\"" );
+        _buffer.append( " stroke-linejoin=\"round\" color=\"" );
+        appendColor( DxfColors.RGB_DEFAULT );
+        _buffer.append( "\">\n" );
+        flushIfFull();
+    }
+
+    /**
+     * Finds the blocks that are inserted often enough from Model Space to be
+     * written as symbols, and names them in the order of first use.
+     */
+    private Map< DxfBlock, String > findSymbols( final DxfBlock modelSpace ) {
+        final Map< DxfBlock, int[] > referenceCounts = new IdentityHashMap<>();
+        final List< DxfEntity > entities = modelSpace.getEntities();
+        for ( final DxfEntity dxfEntity : entities ) {
+            final DxfBlock block = getSymbolCandidate( dxfEntity );
+            if ( block != null ) {
+                referenceCounts.computeIfAbsent( block,
+                                                 key -> new int[ 1 ] )[ 0 ]++;
+            }
+        }
+
+        final Map< DxfBlock, String > symbolIds = new IdentityHashMap<>();
+        for ( final DxfEntity dxfEntity : entities ) {
+            final DxfBlock block = getSymbolCandidate( dxfEntity );
+            if ( ( block != null ) && !symbolIds.containsKey( block )
+                 && ( referenceCounts.get( block )[ 0 ]
+                      >= _minimumSymbolReferences ) ) {
+                symbolIds.put( block, "block" + symbolIds.size() ); //$NON-NLS-1$
+            }
+        }
+
+        return symbolIds;
+    }
+
+    private static DxfBlock getSymbolCandidate( final DxfEntity dxfEntity ) {
+        if ( !( dxfEntity instanceof DxfInsert )
+             || !dxfEntity.isLayerOn() ) {
+            return null;
+        }
+
+        return ( ( DxfInsert ) dxfEntity ).getBlock();
+    }
+
+    @SuppressWarnings( "nls" )
+    private void writeSymbols( final Map< DxfBlock, String > symbolIds ) {
+        // The contents of a symbol are one nesting level deeper than Model
+        // Space, and their by-block properties are left to the use elements.
+        final int maximumNestingDepth = _traversal.getMaximumNestingDepth();
+        _traversal.setMaximumNestingDepth( maximumNestingDepth - 1 );
+        _writingSymbol = true;
+        try {
+            _buffer.append( "<defs>\n" );
+            for ( final Map.Entry< DxfBlock, String > symbolId : symbolIds
+                    .entrySet() ) {
+                final DxfBlock block = symbolId.getKey();
+                _buffer.append( "<symbol id=\"" ).append( symbolId.getValue() );
+                _buffer.append( "\" data-block=\"" );
+                appendEscaped( block.getName() );
+                _buffer.append( "\" overflow=\"visible\">\n" );
+                _traversal.emitBlock( block,
+                                      _identityTransform,
+                                      DxfColors.COLOR_BY_BLOCK_INDEX,
+                                      null );
+                closeGroup();
+                _buffer.append( "</symbol>\n" );
+                flushIfFull();
+            }
+            _buffer.append( "</defs>\n" );
+        }
+        finally {
+            _writingSymbol = false;
+            _traversal.setMaximumNestingDepth( maximumNestingDepth );
+        }
+    }
+
+    private void writeModelSpace( final DxfBlock modelSpace,
+                                  final Map< DxfBlock, String > symbolIds ) {
+        // Runs of entities between the symbol references are expanded as
+        // usual, so that the drawing order is kept.
+        final List< DxfEntity > entities = modelSpace.getEntities();
+        int runStart = 0;
+        for ( int i = 0; i < entities.size(); i++ ) {
+            final DxfEntity dxfEntity = entities.get( i );
+            final DxfBlock block = symbolIds.isEmpty()
+                                   ? null
+                                   : getSymbolCandidate( dxfEntity );
+            final String symbolId = ( block != null )
+                                    ? symbolIds.get( block )
+                                    : null;
+            if ( symbolId == null ) {
+                continue;
+            }
+
+            if ( runStart < i ) {
+                _traversal.emitEntities( modelSpace,
+                                         entities.subList( runStart, i ),
+                                         _identityTransform );
+            }
+            writeUse( ( DxfInsert ) dxfEntity, symbolId );
+            runStart = i + 1;
+        }
+
+        if ( runStart < entities.size() ) {
+            _traversal.emitEntities( modelSpace,
+                                     entities.subList( runStart,
+                                                       entities.size() ),
+                                     _identityTransform );
+        }
+    }
+
+    @SuppressWarnings( "nls" )
+    private void writeUse( final DxfInsert insert,
+                           final String symbolId ) {
+        beginLayer( insert.getLayer().getName() );
+        closePath();
+
+        // The transform is conjugated by the flip of the y-axis.
+        final Affine2D transform = insert.getBlockTransform();
+        _buffer.append( "<use xlink:href=\"#" ).append( symbolId );
+        _buffer.append( "\" transform=\"matrix(" );
+        appendNumber( transform.getMxx() );
+        _buffer.append( ' ' );
+        appendNumber( -transform.getMyx() );
+        _buffer.append( ' ' );
+        appendNumber( -transform.getMxy() );
+        _buffer.append( ' ' );
+        appendNumber( transform.getMyy() );
+        _buffer.append( ' ' );
+        appendNumber( transform.getTx() );
+        _buffer.append( ' ' );
+        appendNumber( -transform.getTy() );
+        _buffer.append( ")\" color=\"" );
+        appendColor( insert.getColorRgb() );
+        _buffer.append( '"' );
+
+        // The stroke width is inherited in the scaled coordinates of the
+        // symbol, so it is compensated here to stay the same everywhere.
+        final double lengthScale = transform.getLengthScale();
+        if ( lengthScale > 0.0d ) {
+            _buffer.append( " stroke-width=\"" );
+            appendNumber( _currentStrokeWidth / lengthScale );
+            _buffer.append( '"' );
+        }
+
+        final DxfLineType lineType = insert.getLineType();
+        if ( ( lineType != null ) && !lineType.isContinuous() ) {
+            appendDashArray( lineType,
+                             insert._dxfDoc.getGlobalLineTypeScale()
+                             * insert._lineTypeScale );
+        }
+        _buffer.append( "/>\n" );
+        flushIfFull();
+    }
+
+    private void beginLayer( final String layerName ) {
+        if ( ( _groupLayerName != null )
+             && Objects.equals( _groupLayerName, layerName ) ) {
+            return;
+        }
+
+        closeGroup();
+        _buffer.append( "<g data-layer=\"" ); //$NON-NLS-1$
+        appendEscaped( ( layerName != null )
+                       ? layerName
+                       : "" ); //$NON-NLS-1$
+        _buffer.append( "\">\n" ); //$NON-NLS-1$
+        _groupLayerName = ( layerName != null )
+                          ? layerName
+                          : ""; //$NON-NLS-1$
+    }
+
+    private void closeGroup() {
+        closePath();
+        if ( _groupLayerName != null ) {
+            _buffer.append( "</g>\n" ); //$NON-NLS-1$
+            _groupLayerName = null;
+        }
+    }
+
+    @SuppressWarnings( "nls" )
+    private void openPath( final int colorRgb,
+                           final DxfLineType lineType,
+                           final double lineTypeScale ) {
+        _buffer.append( "<path stroke=\"" );
+        if ( colorRgb == CURRENT_COLOR ) {
+            _buffer.append( "currentColor" );
+        }
+        else {
+            appendColor( colorRgb );
+        }
+        _buffer.append( '"' );
+
+        // Inside symbols, a missing dash array is inherited from the use
+        // element, so continuous lines have to say so explicitly.
+        if ( ( lineType != null ) && !lineType.isContinuous() ) {
+            appendDashArray( lineType, lineTypeScale );
+        }
+        else if ( _writingSymbol && ( lineType != null ) ) {
+            _buffer.append( " stroke-dasharray=\"none\"" );
+        }
+        _buffer.append( " d=\"" );
+
+        _pathOpen = true;
+        _pathColorRgb = colorRgb;
+        _pathLineType = lineType;
+        _pathLineTypeScale = lineTypeScale;
+    }
+
+    private void closePath() {
+        if ( _pathOpen ) {
+            _buffer.append( "\"/>\n" ); //$NON-NLS-1$
+            _pathOpen = false;
+            _pathLineType = null;
+        }
+    }
+
+    @SuppressWarnings( "nls" )
+    private void appendDashArray( final DxfLineType lineType,
+                                  final double lineTypeScale ) {
+        final List< Double > dashArray = lineType.getDashArray( lineTypeScale );
+        _buffer.append( " stroke-dasharray=\"" );
+        if ( dashArray.isEmpty() ) {
+            _buffer.append( "none" );
+        }
+        for ( int i = 0; i < dashArray.size(); i++ ) {
+            if ( i > 0 ) {
+                _buffer.append( ' ' );
+            }
+            appendNumber( dashArray.get( i ).doubleValue() );
+        }
+        _buffer.append( '"' );
+    }
+
+    private void appendArcCommand( final double radius,
+                                   final boolean largeArc ) {
+        _buffer.append( 'A' );
+        appendNumber( radius );
+        _buffer.append( ' ' );
+        appendNumber( radius );
+        _buffer.append( largeArc
+                        ? " 0 1 0 " //$NON-NLS-1$
+                        : " 0 0 0 " ); //$NON-NLS-1$
+    }
+
+    private void appendPoint( final double x,
+                              final double y ) {
+        appendNumber( x );
+        _buffer.append( ' ' );
+        appendNumber( -y );
+    }
+
+    /**
+     * Appends a number in fixed point with the current precision, without
+     * trailing zeros, and without the garbage of formatting it as a string.
+     */
+    private void appendNumber( final double value ) {
+        final double scaledValue = value * _precisionFactor;
+        if ( !( FastMath.abs( scaledValue ) < MAXIMUM_FIXED_POINT_VALUE ) ) {
+            _buffer.append( Double.isFinite( value )
+                            ? value
+                            : 0.0d );
+            return;
+        }
+
+        long fixedPoint = FastMath.round( scaledValue );
+        if ( fixedPoint < 0L ) {
+            _buffer.append( '-' );
+            fixedPoint = -fixedPoint;
+        }
+        _buffer.append( fixedPoint / _precisionFactor );
+
+        long fraction = fixedPoint % _precisionFactor;
+        if ( fraction == 0L ) {
+            return;
+        }
+
+        int numberOfDigits = _precision;
+        while ( ( fraction % 10L ) == 0L ) {
+            fraction /= 10L;
+            numberOfDigits--;
+        }
+        _buffer.append( '.' );
+        long placeValue = 1L;
+        for ( int i = 1; i < numberOfDigits; i++ ) {
+            placeValue *= 10L;
+        }
+        for ( ; placeValue > fraction; placeValue /= 10L ) {
+            _buffer.append( '0' );
+        }
+        _buffer.append( fraction );
+    }
+
+    private void appendColor( final int colorRgb ) {
+        _buffer.append( '#' );
+        for ( int shift = 20; shift >= 0; shift -= 4 ) {
+            _buffer.append( Character.forDigit( ( colorRgb >> shift ) & 0xF,
+                                                16 ) );
+        }
+    }
+
+    @SuppressWarnings( "nls" )
+    private void appendEscaped( final String text ) {
+        for ( int i = 0; i < text.length(); i++ ) {
+            final char c = text.charAt( i );
+            switch ( c ) {
+                case '&':
+                    _buffer.append( "&amp;" );
+                    break;
+                case '<':
+                    _buffer.append( "&lt;" );
+                    break;
+                case '>':
+                    _buffer.append( "&gt;" );
+                    break;
+                case '"':
+                    _buffer.append( "&quot;" );
+                    break;
+                default:
+                    _buffer.append( c );
+                    break;
+            }
+        }
+    }
+
+    private void flushIfFull() {
+        if ( _buffer.length() >= FLUSH_THRESHOLD ) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        try {
+            _writer.append( _buffer );
+            _buffer.setLength( 0 );
+        }
+        catch ( final IOException ioe ) {
+            // The geometry sink cannot throw checked exceptions, so this is
+            // unwrapped again by the write method.
+            throw new UncheckedIOException( ioe );
+        }
+    }
+}// class DxfSvgWriter
@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.render;
+
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * This is a single rasterized tile of a DXF document, stored as packed ARGB
+ * pixels so that it can be weighed exactly and spilled to disk without any
+ * dependency on the JavaFX toolkit being active.
+ * <p>
+ * The tile also records the names of the layers whose entities were drawn
+ * into it, and optionally the area of Model Space that it covers, so that
+ * switching a layer on or off only invalidates the tiles that actually
+ * contain that layer.
+ */
+public final class DxfTile {
+
+    // Approximate fixed cost of the tile object and its layer set.
+    private static final long TILE_OVERHEAD_BYTES = 64L;
+
+    private final int _width;
+    private final int _height;
+    private final int[] _pixels;
+    private final Set< String > _layerNames;
+    private final Extents2D _bounds;
+
+    /**
+     * Makes a tile without bounds, which is dropped whenever a layer of its
+     * document is switched on.
+     *
+     * @param width      The width of the tile, in pixels
+     * @param height     The height of the tile, in pixels
+     * @param pixels     The tile pixels as packed ARGB, in row-major order;
+     *                   this array is taken over by the tile and not copied
+     * @param layerNames The names of the layers that contributed to the tile
+     */
+    public DxfTile( final int width,
+                    final int height,
+                    final int[] pixels,
+                    final Collection< String > layerNames ) {
+        this( width, height, pixels, layerNames, null );
+    }
+
+    /**
+     * @param width      The width of the tile, in pixels
+     * @param height     The height of the tile, in pixels
+     * @param pixels     The tile pixels as packed ARGB, in row-major order;
+     *                   this array is taken over by the tile and not copied
+     * @param layerNames The names of the layers that contributed to the tile
+     * @param bounds     The area of Model Space that the tile covers,
+     *                   including any margin that strokes of entities outside
+     *                   of it can reach, or {@code null} if unknown
+     */
+    public DxfTile( final int width,
+                    final int height,
+                    final int[] pixels,
+                    final Collection< String > layerNames,
+                    final Extents2D bounds ) {
+        if ( ( width <= 0 ) || ( height <= 0 ) || ( pixels == null ) || (
+                pixels.length < ( width * height ) ) ) {
+            throw new IllegalArgumentException();
+        }
+
+        _width = width;
+        _height = height;
+        _pixels = pixels;
+
+        // NOTE: Layer names are upper-cased to match the document's layer
+        // table, which is not case-sensitive.
+        final Set< String > names = new HashSet<>( layerNames.size() );
+        for ( final String layerName : layerNames ) {
+            names.add( layerName.toUpperCase( Locale.ENGLISH ) );
+        }
+        _layerNames = Collections.unmodifiableSet( names );
+
+        _bounds = ( bounds != null )
+                  ? new Extents2D( bounds.getMinX(),
+                                   bounds.getMinY(),
+                                   bounds.getMaxX(),
+                                   bounds.getMaxY() )
+                  : null;
+    }
+
+    public int getWidth() {
+        return _width;
+    }
+
+    public int getHeight() {
+        return _height;
+    }
+
+    /**
+     * @return the packed ARGB pixels, which must not be modified
+     */
+    public int[] getPixels() {
+        return _pixels;
+    }
+
+    public Set< String > getLayerNames() {
+        return _layerNames;
+    }
+
+    /**
+     * @return the area of Model Space that the tile covers, which must not be
+     *         modified, or {@code null} if unknown
+     */
+    public Extents2D getBounds() {
+        return _bounds;
+    }
+
+    public boolean containsLayer( final String layerName ) {
+        return _layerNames.contains( layerName.toUpperCase( Locale.ENGLISH ) );
+    }
+
+    /**
+     * @return the approximate number of bytes of heap used by this tile
+     */
+    public long getByteWeight() {
+        return ( 4L * _pixels.length ) + TILE_OVERHEAD_BYTES
+               + ( 32L * _layerNames.size() );
+    }
+}// class DxfTile
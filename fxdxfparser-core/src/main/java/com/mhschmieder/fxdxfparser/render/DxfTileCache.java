@@ -0,0 +1,663 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.render;
+
+import com.mhschmieder.fxdxfparser.entity.DxfEntity;
+import com.mhschmieder.fxdxfparser.entity.DxfInsert;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
+import com.mhschmieder.fxdxfparser.loader.DxfBlock;
+import com.mhschmieder.fxdxfparser.loader.DxfLayer;
+import com.mhschmieder.fxdxfparser.loader.DxfLayerListener;
+import com.mhschmieder.fxdxfparser.structure.DxfDocument;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * This is a memory-bounded cache of rasterized {@link DxfTile tiles}, so that
+ * repeated pans over the same area of a large drawing are served from the
+ * cache instead of traversing the document's entities again.
+ * <p>
+ * Tiles are evicted in least-recently-used order by byte weight. If a spill
+ * directory is provided, evicted tiles are written there and are promoted back
+ * to memory on their next use, until the disk budget is also exhausted.
+ * <p>
+ * Once a document is {@link #attach attached}, switching any of its layers off
+ * invalidates only the tiles that contain entities of that layer; all other
+ * tiles are carried over to the new layer visibility state. Switching a layer
+ * on invalidates only the tiles whose {@link DxfTile#getBounds bounds} overlap
+ * entities of that layer, as found through the spatial index of the document,
+ * since tiles do not record the layers that were off when they were drawn;
+ * tiles without bounds can't be checked, so are invalidated as well.
+ * <p>
+ * All methods are synchronized, as tiles are usually rendered and requested
+ * from different threads.
+ */
+public final class DxfTileCache {
+
+    // Marker for the start of a spilled tile file, to detect stale files.
+    private static final int SPILL_FILE_MAGIC = 0x44585454;
+
+    /**
+     * Record of a tile that was spilled to disk. The layer names are kept in
+     * memory so that invalidation never has to read spilled tiles back.
+     */
+    private static final class SpilledTile {
+        private final Path _file;
+        private final long _fileBytes;
+        private final Set< String > _layerNames;
+        private final Extents2D _bounds;
+
+        private SpilledTile( final Path file,
+                             final long fileBytes,
+                             final Set< String > layerNames,
+                             final Extents2D bounds ) {
+            _file = file;
+            _fileBytes = fileBytes;
+            _layerNames = layerNames;
+            _bounds = bounds;
+        }
+    }
+
+    private final long _maximumMemoryBytes;
+    private final long _maximumDiskBytes;
+    private final Path _spillDirectory;
+
+    // Both tiers are kept in access order, so iteration starts at the least
+    // recently used tile.
+    private final LinkedHashMap< DxfTileKey, DxfTile > _memoryTier
+            = new LinkedHashMap<>( 256, 0.75f, true );
+    private final LinkedHashMap< DxfTileKey, SpilledTile > _diskTier
+            = new LinkedHashMap<>( 256, 0.75f, true );
+
+    private long _memoryBytes;
+    private long _diskBytes;
+
+    // Per attached document: its layer listener and last known visibility.
+    private final Map< Long, DxfDocument > _documents = new HashMap<>();
+    private final Map< Long, DxfLayerListener > _layerListeners
+            = new HashMap<>();
+    private final Map< Long, Integer > _layerVisibilityHashes
+            = new HashMap<>();
+
+    /**
+     * Makes a cache that is bounded by memory only.
+     *
+     * @param maximumMemoryBytes The maximum combined weight of all tiles that
+     *                           are held in memory
+     */
+    public DxfTileCache( final long maximumMemoryBytes ) {
+        this( maximumMemoryBytes, null, 0L );
+    }
+
+    /**
+     * Makes a cache with an optional on-disk spill tier.
+     *
+     * @param maximumMemoryBytes The maximum combined weight of all tiles that
+     *                           are held in memory
+     * @param spillDirectory     The directory for tiles evicted from memory,
+     *                           or {@code null} to discard them instead
+     * @param maximumDiskBytes   The maximum combined size of spilled tiles
+     */
+    public DxfTileCache( final long maximumMemoryBytes,
+                         final Path spillDirectory,
+                         final long maximumDiskBytes ) {
+        if ( maximumMemoryBytes <= 0L ) {
+            throw new IllegalArgumentException();
+        }
+
+        _maximumMemoryBytes = maximumMemoryBytes;
+        _spillDirectory = spillDirectory;
+        _maximumDiskBytes = ( spillDirectory != null )
+                            ? maximumDiskBytes
+                            : 0L;
+    }
+
+    /**
+     * Makes the key for a tile of the given document, using the current layer
+     * visibility state of that document.
+     *
+     * @param dxfDoc The document that the tile is rendered from
+     * @param zoom   The zoom level of the tile
+     * @param tileX  The column of the tile within the zoom level
+     * @param tileY  The row of the tile within the zoom level
+     * @return the key to use for storing and looking up the tile
+     */
+    public static DxfTileKey makeKey( final DxfDocument dxfDoc,
+                                      final int zoom,
+                                      final int tileX,
+                                      final int tileY ) {
+        return new DxfTileKey( dxfDoc.getDocumentId(),
+                               zoom,
+                               tileX,
+                               tileY,
+                               dxfDoc.getLayerVisibilityHash() );
+    }
+
+    /**
+     * Listens to the layers of a document, including its default layer, so
+     * that layer toggles invalidate only the affected tiles.
+     *
+     * @param dxfDoc The document to track layer state changes for
+     */
+    public synchronized void attach( final DxfDocument dxfDoc ) {
+        final Long documentId = dxfDoc.getDocumentId();
+        if ( _documents.containsKey( documentId ) ) {
+            return;
+        }
+
+        final DxfLayerListener layerListener = layer -> layerStateChanged(
+                dxfDoc,
+                layer );
+        dxfDoc.addLayerListener( layerListener );
+
+        _documents.put( documentId, dxfDoc );
+        _layerListeners.put( documentId, layerListener );
+        _layerVisibilityHashes.put( documentId,
+                                    dxfDoc.getLayerVisibilityHash() );
+    }
+
+    /**
+     * Stops listening to the layers of a document and drops all of its tiles.
+     *
+     * @param dxfDoc The document to stop tracking
+     */
+    public synchronized void detach( final DxfDocument dxfDoc ) {
+        final Long documentId = dxfDoc.getDocumentId();
+        final DxfLayerListener layerListener = _layerListeners.remove(
+                documentId );
+        if ( layerListener != null ) {
+            dxfDoc.removeLayerListener( layerListener );
+        }
+
+        _documents.remove( documentId );
+        _layerVisibilityHashes.remove( documentId );
+
+        invalidateDocument( documentId );
+    }
+
+    /**
+     * Looks up a tile, promoting it back to memory if it was spilled to disk.
+     *
+     * @param key The key of the tile
+     * @return the cached tile, or {@code null} if it is not cached
+     */
+    public synchronized DxfTile get( final DxfTileKey key ) {
+        final DxfTile tile = _memoryTier.get( key );
+        if ( tile != null ) {
+            return tile;
+        }
+
+        final SpilledTile spilledTile = _diskTier.remove( key );
+        if ( spilledTile == null ) {
+            return null;
+        }
+
+        _diskBytes -= spilledTile._fileBytes;
+        final DxfTile restoredTile = readSpilledTile( spilledTile );
+        deleteSpillFile( spilledTile._file );
+        if ( restoredTile != null ) {
+            putInMemory( key, restoredTile );
+        }
+
+        return restoredTile;
+    }
+
+    /**
+     * Stores a tile, replacing any tile that was cached under the same key.
+     *
+     * @param key  The key of the tile
+     * @param tile The rendered tile
+     */
+    public synchronized void put( final DxfTileKey key,
+                                  final DxfTile tile ) {
+        removeFromDisk( key );
+        putInMemory( key, tile );
+    }
+
+    /**
+     * Drops all tiles that were rendered at the given zoom level, such as
+     * after a change of the rendering settings for that level.
+     *
+     * @param documentId The unique identifier of the document
+     * @param zoom       The zoom level to invalidate
+     */
+    public synchronized void invalidateZoomLevel( final long documentId,
+                                                  final int zoom ) {
+        removeIf( key -> ( key.getDocumentId() == documentId ) && (
+                key.getZoom() == zoom ) );
+    }
+
+    /**
+     * Drops all tiles of a document, at all zoom levels.
+     *
+     * @param documentId The unique identifier of the document
+     */
+    public synchronized void invalidateDocument( final long documentId ) {
+        removeIf( key -> key.getDocumentId() == documentId );
+    }
+
+    /**
+     * Drops all tiles of the given document that contain entities of the
+     * given layer, regardless of layer visibility state.
+     *
+     * @param documentId The unique identifier of the document
+     * @param layerName  The name of the layer whose tiles are now invalid
+     */
+    public synchronized void invalidateLayer( final long documentId,
+                                              final String layerName ) {
+        final Iterator< Map.Entry< DxfTileKey, DxfTile > > memoryIterator
+                = _memoryTier.entrySet().iterator();
+        while ( memoryIterator.hasNext() ) {
+            final Map.Entry< DxfTileKey, DxfTile > entry
+                    = memoryIterator.next();
+            if ( ( entry.getKey().getDocumentId() == documentId )
+                 && entry.getValue().containsLayer( layerName ) ) {
+                _memoryBytes -= entry.getValue().getByteWeight();
+                memoryIterator.remove();
+            }
+        }
+
+        final String normalizedLayerName = layerName.toUpperCase(
+                Locale.ENGLISH );
+        final Iterator< Map.Entry< DxfTileKey, SpilledTile > > diskIterator
+                = _diskTier.entrySet().iterator();
+        while ( diskIterator.hasNext() ) {
+            final Map.Entry< DxfTileKey, SpilledTile > entry
+                    = diskIterator.next();
+            if ( ( entry.getKey().getDocumentId() == documentId )
+                 && entry.getValue()._layerNames.contains(
+                    normalizedLayerName ) ) {
+                _diskBytes -= entry.getValue()._fileBytes;
+                deleteSpillFile( entry.getValue()._file );
+                diskIterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops all tiles from both tiers.
+     */
+    public synchronized void clear() {
+        removeIf( key -> true );
+    }
+
+    public synchronized long getMemoryBytes() {
+        return _memoryBytes;
+    }
+
+    public synchronized long getDiskBytes() {
+        return _diskBytes;
+    }
+
+    public synchronized int size() {
+        return _memoryTier.size() + _diskTier.size();
+    }
+
+    private synchronized void layerStateChanged( final DxfDocument dxfDoc,
+                                                 final DxfLayer layer ) {
+        final long documentId = dxfDoc.getDocumentId();
+        final Integer previousHash = _layerVisibilityHashes.get( documentId );
+        final int currentHash = dxfDoc.getLayerVisibilityHash();
+        _layerVisibilityHashes.put( documentId, currentHash );
+        if ( ( previousHash == null ) || ( previousHash == currentHash ) ) {
+            return;
+        }
+
+        // Tiles that contain the switched-off layer, or that lack the
+        // entities of the switched-on layer, are now wrong; all other tiles
+        // of the previous visibility state are still pixel-identical for the
+        // new state, so they are re-keyed rather than re-rendered.
+        if ( layer.isLayerOn() ) {
+            invalidateOverlappingTiles( dxfDoc, layer, previousHash );
+        }
+        else {
+            invalidateLayer( documentId, layer.getName() );
+        }
+
+        final List< DxfTileKey > carriedOverMemoryKeys = new ArrayList<>();
+        for ( final DxfTileKey key : _memoryTier.keySet() ) {
+            if ( ( key.getDocumentId() == documentId ) && (
+                    key.getLayerVisibilityHash() == previousHash ) ) {
+                carriedOverMemoryKeys.add( key );
+            }
+        }
+        for ( final DxfTileKey key : carriedOverMemoryKeys ) {
+            // A tile may have been spilled by an earlier tile that was
+            // carried over, in which case it is carried over on disk below.
+            final DxfTile tile = _memoryTier.remove( key );
+            if ( tile == null ) {
+                continue;
+            }
+            _memoryBytes -= tile.getByteWeight();
+
+            final DxfTileKey currentKey = key.withLayerVisibilityHash(
+                    currentHash );
+            removeFromDisk( currentKey );
+            putInMemory( currentKey, tile );
+        }
+
+        final List< DxfTileKey > carriedOverDiskKeys = new ArrayList<>();
+        for ( final DxfTileKey key : _diskTier.keySet() ) {
+            if ( ( key.getDocumentId() == documentId ) && (
+                    key.getLayerVisibilityHash() == previousHash ) ) {
+                carriedOverDiskKeys.add( key );
+            }
+        }
+        for ( final DxfTileKey key : carriedOverDiskKeys ) {
+            final SpilledTile spilledTile = _diskTier.remove( key );
+            final DxfTileKey currentKey = key.withLayerVisibilityHash(
+                    currentHash );
+
+            // A tile that is already cached for the new state is kept over
+            // the carried-over copy, which is then dropped.
+            if ( _memoryTier.containsKey( currentKey ) ) {
+                _diskBytes -= spilledTile._fileBytes;
+                deleteSpillFile( spilledTile._file );
+                continue;
+            }
+
+            removeFromDisk( currentKey );
+            _diskTier.put( currentKey, spilledTile );
+        }
+    }
+
+    /**
+     * Drops the tiles of a previous visibility state that overlap entities of
+     * a switched-on layer, as those were not drawn into them.
+     */
+    private void invalidateOverlappingTiles( final DxfDocument dxfDoc,
+                                             final DxfLayer layer,
+                                             final int previousHash ) {
+        final long documentId = dxfDoc.getDocumentId();
+        final Map< DxfBlock, Boolean > blocksOnLayer = new IdentityHashMap<>();
+        final Predicate< Extents2D > overlapsLayer = bounds -> ( bounds
+                == null ) || dxfDoc.query( bounds ).anyMatch(
+                        entity -> isOnLayer( entity, layer, blocksOnLayer ) );
+
+        final Iterator< Map.Entry< DxfTileKey, DxfTile > > memoryIterator
+                = _memoryTier.entrySet().iterator();
+        while ( memoryIterator.hasNext() ) {
+            final Map.Entry< DxfTileKey, DxfTile > entry
+                    = memoryIterator.next();
+            if ( ( entry.getKey().getDocumentId() == documentId )
+                 && ( entry.getKey().getLayerVisibilityHash() == previousHash )
+                 && overlapsLayer.test( entry.getValue().getBounds() ) ) {
+                _memoryBytes -= entry.getValue().getByteWeight();
+                memoryIterator.remove();
+            }
+        }
+
+        final Iterator< Map.Entry< DxfTileKey, SpilledTile > > diskIterator
+                = _diskTier.entrySet().iterator();
+        while ( diskIterator.hasNext() ) {
+            final Map.Entry< DxfTileKey, SpilledTile > entry
+                    = diskIterator.next();
+            if ( ( entry.getKey().getDocumentId() == documentId )
+                 && ( entry.getKey().getLayerVisibilityHash() == previousHash )
+                 && overlapsLayer.test( entry.getValue()._bounds ) ) {
+                _diskBytes -= entry.getValue()._fileBytes;
+                deleteSpillFile( entry.getValue()._file );
+                diskIterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Checks whether a Model Space entity draws anything on a layer, which
+     * for a Block Reference is the case if it is on the layer itself, or if
+     * its block has entities on the layer at any level of nesting.
+     */
+    private static boolean isOnLayer( final DxfEntity dxfEntity,
+                                      final DxfLayer layer,
+                                      final Map< DxfBlock, Boolean > blocksOnLayer ) {
+        if ( dxfEntity.getLayer() == layer ) {
+            return true;
+        }
+        if ( !( dxfEntity instanceof DxfInsert ) ) {
+            return false;
+        }
+
+        final DxfBlock block = ( ( DxfInsert ) dxfEntity ).getBlock();
+        if ( block == null ) {
+            return false;
+        }
+
+        final Boolean blockOnLayer = blocksOnLayer.get( block );
+        if ( blockOnLayer != null ) {
+            return blockOnLayer.booleanValue();
+        }
+
+        // A block that (invalidly) inserts itself is not searched again.
+        blocksOnLayer.put( block, Boolean.FALSE );
+        boolean onLayer = false;
+        for ( final DxfEntity blockEntity : block.getEntities() ) {
+            if ( ( blockEntity != null )
+                 && isOnLayer( blockEntity, layer, blocksOnLayer ) ) {
+                onLayer = true;
+                break;
+            }
+        }
+        blocksOnLayer.put( block, Boolean.valueOf( onLayer ) );
+
+        return onLayer;
+    }
+
+    private void putInMemory( final DxfTileKey key,
+                              final DxfTile tile ) {
+        final DxfTile previousTile = _memoryTier.put( key, tile );
+        if ( previousTile != null ) {
+            _memoryBytes -= previousTile.getByteWeight();
+        }
+        _memoryBytes += tile.getByteWeight();
+
+        // Evict in least-recently-used order, but never the tile just added.
+        final Iterator< Map.Entry< DxfTileKey, DxfTile > > iterator
+                = _memoryTier.entrySet().iterator();
+        while ( ( _memoryBytes > _maximumMemoryBytes ) && iterator.hasNext() ) {
+            final Map.Entry< DxfTileKey, DxfTile > eldest = iterator.next();
+            if ( eldest.getKey().equals( key ) ) {
+                break;
+            }
+
+            final DxfTile evictedTile = eldest.getValue();
+            _memoryBytes -= evictedTile.getByteWeight();
+            iterator.remove();
+
+            spill( eldest.getKey(), evictedTile );
+        }
+    }
+
+    private void spill( final DxfTileKey key,
+                        final DxfTile tile ) {
+        if ( ( _spillDirectory == null ) || ( _maximumDiskBytes <= 0L ) ) {
+            return;
+        }
+
+        final SpilledTile spilledTile = writeSpilledTile( key, tile );
+        if ( spilledTile == null ) {
+            return;
+        }
+
+        _diskTier.put( key, spilledTile );
+        _diskBytes += spilledTile._fileBytes;
+
+        final Iterator< Map.Entry< DxfTileKey, SpilledTile > > iterator
+                = _diskTier.entrySet().iterator();
+        while ( ( _diskBytes > _maximumDiskBytes ) && iterator.hasNext() ) {
+            final SpilledTile evictedTile = iterator.next().getValue();
+            _diskBytes -= evictedTile._fileBytes;
+            deleteSpillFile( evictedTile._file );
+            iterator.remove();
+        }
+    }
+
+    private SpilledTile writeSpilledTile( final DxfTileKey key,
+                                          final DxfTile tile ) {
+        final List< byte[] > encodedLayerNames = new ArrayList<>(
+                tile.getLayerNames().size() );
+        int headerBytes = 4 * Integer.BYTES;
+        for ( final String layerName : tile.getLayerNames() ) {
+            final byte[] encodedLayerName = layerName.getBytes(
+                    StandardCharsets.UTF_8 );
+            encodedLayerNames.add( encodedLayerName );
+            headerBytes += Integer.BYTES + encodedLayerName.length;
+        }
+
+        final int[] pixels = tile.getPixels();
+        final int pixelCount = tile.getWidth() * tile.getHeight();
+        final ByteBuffer buffer = ByteBuffer.allocate( headerBytes + ( pixelCount
+                                                                       * Integer.BYTES ) );
+        buffer.putInt( SPILL_FILE_MAGIC );
+        buffer.putInt( tile.getWidth() );
+        buffer.putInt( tile.getHeight() );
+        buffer.putInt( encodedLayerNames.size() );
+        for ( final byte[] encodedLayerName : encodedLayerNames ) {
+            buffer.putInt( encodedLayerName.length );
+            buffer.put( encodedLayerName );
+        }
+        buffer.asIntBuffer().put( pixels, 0, pixelCount );
+        buffer.position( buffer.capacity() );
+        buffer.flip();
+
+        final Path file = _spillDirectory.resolve( key.toFileName() );
+        try {
+            Files.createDirectories( _spillDirectory );
+            try ( FileChannel channel = FileChannel.open( file,
+                                                          StandardOpenOption.CREATE,
+                                                          StandardOpenOption.TRUNCATE_EXISTING,
+                                                          StandardOpenOption.WRITE ) ) {
+                while ( buffer.hasRemaining() ) {
+                    channel.write( buffer );
+                }
+            }
+        }
+        catch ( final IOException ioe ) {
+            // NOTE: A failed spill is not an error for a cache; the tile is
+            // simply rendered again the next time it is needed.
+            deleteSpillFile( file );
+            return null;
+        }
+
+        return new SpilledTile( file,
+                                buffer.capacity(),
+                                tile.getLayerNames(),
+                                tile.getBounds() );
+    }
+
+    private static DxfTile readSpilledTile( final SpilledTile spilledTile ) {
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap( Files.readAllBytes(
+                    spilledTile._file ) );
+            if ( buffer.getInt() != SPILL_FILE_MAGIC ) {
+                return null;
+            }
+
+            final int width = buffer.getInt();
+            final int height = buffer.getInt();
+            final int numberOfLayerNames = buffer.getInt();
+            for ( int i = 0; i < numberOfLayerNames; i++ ) {
+                // The layer names are already known from the spill record.
+                buffer.position( buffer.position() + buffer.getInt() );
+            }
+
+            final int[] pixels = new int[ width * height ];
+            buffer.asIntBuffer().get( pixels );
+
+            return new DxfTile( width,
+                                height,
+                                pixels,
+                                spilledTile._layerNames,
+                                spilledTile._bounds );
+        }
+        catch ( final IOException | RuntimeException e ) {
+            // A missing or truncated spill file is treated as a cache miss.
+            return null;
+        }
+    }
+
+    private void removeFromDisk( final DxfTileKey key ) {
+        final SpilledTile spilledTile = _diskTier.remove( key );
+        if ( spilledTile != null ) {
+            _diskBytes -= spilledTile._fileBytes;
+            deleteSpillFile( spilledTile._file );
+        }
+    }
+
+    private void removeIf( final Predicate< DxfTileKey > filter ) {
+        final Iterator< Map.Entry< DxfTileKey, DxfTile > > memoryIterator
+                = _memoryTier.entrySet().iterator();
+        while ( memoryIterator.hasNext() ) {
+            final Map.Entry< DxfTileKey, DxfTile > entry
+                    = memoryIterator.next();
+            if ( filter.test( entry.getKey() ) ) {
+                _memoryBytes -= entry.getValue().getByteWeight();
+                memoryIterator.remove();
+            }
+        }
+
+        final Iterator< Map.Entry< DxfTileKey, SpilledTile > > diskIterator
+                = _diskTier.entrySet().iterator();
+        while ( diskIterator.hasNext() ) {
+            final Map.Entry< DxfTileKey, SpilledTile > entry
+                    = diskIterator.next();
+            if ( filter.test( entry.getKey() ) ) {
+                _diskBytes -= entry.getValue()._fileBytes;
+                deleteSpillFile( entry.getValue()._file );
+                diskIterator.remove();
+            }
+        }
+    }
+
+    private static void deleteSpillFile( final Path file ) {
+        try {
+            Files.deleteIfExists( file );
+        }
+        catch ( final IOException ioe ) {
+            // Nothing more can be done; the file is orphaned but harmless.
+        }
+    }
+}// class DxfTileCache
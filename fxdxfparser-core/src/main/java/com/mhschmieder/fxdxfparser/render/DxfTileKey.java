@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.render;
+
+/**
+ * This is the immutable key for a single rasterized tile of a DXF document.
+ * <p>
+ * The layer visibility hash is part of the key so that a tile rendered with
+ * one set of layers switched off is never served for another set; see
+ * {@link com.mhschmieder.fxdxfparser.structure.DxfDocument#getLayerVisibilityHash()}.
+ */
+public final class DxfTileKey {
+
+    private final long _documentId;
+    private final int _zoom;
+    private final int _tileX;
+    private final int _tileY;
+    private final int _layerVisibilityHash;
+
+    public DxfTileKey( final long documentId,
+                       final int zoom,
+                       final int tileX,
+                       final int tileY,
+                       final int layerVisibilityHash ) {
+        _documentId = documentId;
+        _zoom = zoom;
+        _tileX = tileX;
+        _tileY = tileY;
+        _layerVisibilityHash = layerVisibilityHash;
+    }
+
+    public long getDocumentId() {
+        return _documentId;
+    }
+
+    public int getZoom() {
+        return _zoom;
+    }
+
+    public int getTileX() {
+        return _tileX;
+    }
+
+    public int getTileY() {
+        return _tileY;
+    }
+
+    public int getLayerVisibilityHash() {
+        return _layerVisibilityHash;
+    }
+
+    /**
+     * Makes a copy of this key for a different layer visibility state, which
+     * is how tiles that are unaffected by a layer toggle are carried over.
+     *
+     * @param layerVisibilityHash The layer visibility hash for the new key
+     * @return a key that only differs in its layer visibility hash
+     */
+    public DxfTileKey withLayerVisibilityHash( final int layerVisibilityHash ) {
+        return new DxfTileKey( _documentId,
+                               _zoom,
+                               _tileX,
+                               _tileY,
+                               layerVisibilityHash );
+    }
+
+    /**
+     * @return a name that is unique per key and is safe to use as a file name
+     */
+    @SuppressWarnings( "nls" )
+    public String toFileName() {
+        return "tile_" + _documentId + "_" + _zoom + "_" + _tileX + "_"
+               + _tileY + "_" + Integer.toHexString( _layerVisibilityHash )
+               + ".bin";
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = ( prime * result ) + ( int ) ( _documentId ^ ( _documentId
+                                                                >>> 32 ) );
+        result = ( prime * result ) + _zoom;
+        result = ( prime * result ) + _tileX;
+        result = ( prime * result ) + _tileY;
+        result = ( prime * result ) + _layerVisibilityHash;
+        return result;
+    }
+
+    @Override
+    public boolean equals( final Object obj ) {
+        if ( this == obj ) {
+            return true;
+        }
+        if ( obj == null ) {
+            return false;
+        }
+        if ( getClass() != obj.getClass() ) {
+            return false;
+        }
+        final DxfTileKey other = ( DxfTileKey ) obj;
+
+        return ( _documentId == other._documentId ) && ( _zoom == other._zoom )
+               && ( _tileX == other._tileX ) && ( _tileY == other._tileY )
+               && ( _layerVisibilityHash == other._layerVisibilityHash );
+    }
+
+    @SuppressWarnings( "nls" )
+    @Override
+    public String toString() {
+        return "DxfTileKey[" + _documentId + ", " + _zoom + ", " + _tileX
+               + ", " + _tileY + ", " + _layerVisibilityHash + "]";
+    }
+}// class DxfTileKey
@@ -31,18 +31,33 @@
 package com.mhschmieder.fxdxfparser.structure;
 
 import com.mhschmieder.fxdxfparser.entity.DxfEntity;
+import com.mhschmieder.fxdxfparser.entity.DxfEntityInstance;
+import com.mhschmieder.fxdxfparser.entity.DxfGeometryTraversal;
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.DxfConversionOptions;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
+import com.mhschmieder.fxdxfparser.geometry.StrRTree;
 import com.mhschmieder.fxdxfparser.loader.DxfBlock;
 import com.mhschmieder.fxdxfparser.loader.DxfLayer;
+import com.mhschmieder.fxdxfparser.loader.DxfLayerListener;
 import com.mhschmieder.fxdxfparser.loader.DxfLineType;
 import com.mhschmieder.fxdxfparser.loader.PropertyOverriding;
 import com.mhschmieder.fxdxfparser.physics.DxfDistanceUnit;
+import com.mhschmieder.fxdxfparser.render.DxfGeometrySink;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public final class DxfDocument {
 
@@ -58,6 +73,15 @@ public final class DxfDocument {
     public static final String PAPER_BLOCK = "*PAPER_SPACE";
     //$NON-NLS-1$
 
+    // Source of unique identifiers for documents loaded in this session.
+    private static final AtomicLong DOCUMENT_ID_COUNTER = new AtomicLong();
+
+    // Contribution of the switched-off default layer to the visibility hash.
+    private static final int DEFAULT_LAYER_VISIBILITY_HASH = 0x5DEECE66;
+
+    // Unique identifier of this document, for keying caches across documents.
+    private final long _documentId = DOCUMENT_ID_COUNTER.incrementAndGet();
+
     // Encapsulation of status of read and unread entities.
     public final DxfStatus _dxfStatus;
     // Capa por defecto
@@ -77,8 +101,8 @@ public final class DxfDocument {
     private Map< String, DxfBlock > _blocks = new HashMap<>( 50 );
     // Distance Unit, referred to as Model Space Unit of Measurement.
     private DxfDistanceUnit _distanceUnit;
-    // Escala linetype global
-    private double _linetypeScale;
+    // Escala linetype global; $LTSCALE is optional, and defaults to 1
+    private double _linetypeScale = 1.0d;
     // Limites
     private double _limitsMinX;
     private double _limitsMinY;
@@ -93,6 +117,30 @@ public final class DxfDocument {
     // Bloques usados como flechas de cota (dimension)
     private List< String > _arrows;
 
+    // Spatial index over the bounds of the Model Space entities.
+    private StrRTree< DxfEntity > _modelSpaceIndex;
+
+    // Count of layer state changes, for invalidating converted geometry.
+    private final AtomicLong _layerStateVersion = new AtomicLong();
+
+    // Clients of the layer state changes of this document, for all of its
+    // layers including the default layer.
+    private final List< DxfLayerListener > _layerListeners
+            = new CopyOnWriteArrayList<>();
+
+    // Listener that counts the layer state changes of this document, and
+    // passes them on to the clients of the document.
+    private final DxfLayerListener _layerStateListener = layer -> {
+        _layerStateVersion.incrementAndGet();
+        for ( final DxfLayerListener listener : _layerListeners ) {
+            listener.layerStateChanged( layer );
+        }
+    };
+
+    // Flattened coordinates of curved entities, re-used across conversions.
+    private final DxfTessellationCache _tessellationCache
+            = new DxfTessellationCache();
+
     // =================== T A B L A S
     // ---- LAYERS
     private Map< String, DxfLayer > _tblLayer = new HashMap<>( 10 );
@@ -109,6 +157,8 @@ public final class DxfDocument {
                      ? new DxfStatus()
                      : null;
 
+        _defaultLayer.addLayerListener( _layerStateListener );
+
         // Estos dos bloques son fijos
         _modelSpace = new DxfBlock( this, MODEL_BLOCK, 0.0d, 0.0d, 0, 20 );
         addBlock( _modelSpace );
@@ -143,8 +193,12 @@ public final class DxfDocument {
                           final int pColor,
                           final String pLinetype ) {
         final String layerName = pName.toUpperCase();
-        _tblLayer.put( layerName,
-                       new DxfLayer( layerName, pFlags, pColor, pLinetype ) );
+        final DxfLayer layer = new DxfLayer( layerName,
+                                             pFlags,
+                                             pColor,
+                                             pLinetype );
+        layer.addLayerListener( _layerStateListener );
+        _tblLayer.put( layerName, layer );
     }
 
     public void addLineType( final String pName,
@@ -194,6 +248,8 @@ public final class DxfDocument {
             _tblLineType.clear();
             _tblLineType = null;
         }
+        _modelSpaceIndex = null;
+        _tessellationCache.clear();
     }
 
     /**
@@ -218,6 +274,55 @@ public final class DxfDocument {
         return blockNames;
     }
 
+    /**
+     * Returns the identifier of this document, which is unique for the
+     * lifetime of the application and is therefore safe to use as part of the
+     * key for caches that are shared between several loaded documents.
+     *
+     * @return the unique identifier of this document
+     */
+    public long getDocumentId() {
+        return _documentId;
+    }
+
+    /**
+     * Returns the cache of the flattened coordinates of the curved entities
+     * of this document, such as to adjust its memory budget.
+     *
+     * @return the tessellation cache of this document
+     */
+    public DxfTessellationCache getTessellationCache() {
+        return _tessellationCache;
+    }
+
+    /**
+     * Returns a counter of the changes to the on/off state of the layers of
+     * this document, which is cheaper to compare than the layer visibility
+     * hash and never collides.
+     *
+     * @return the number of layer state changes so far
+     */
+    public long getLayerStateVersion() {
+        return _layerStateVersion.get();
+    }
+
+    /**
+     * Adds a listener for switching any layer of this document on or off,
+     * which unlike listening to each of {@link #getLayers()} also covers the
+     * default layer of entities whose layer is not in the layer table.
+     *
+     * @param listener The listener to add
+     */
+    public void addLayerListener( final DxfLayerListener listener ) {
+        if ( listener != null ) {
+            _layerListeners.add( listener );
+        }
+    }
+
+    public void removeLayerListener( final DxfLayerListener listener ) {
+        _layerListeners.remove( listener );
+    }
+
     public DxfDistanceUnit getDistanceUnit() {
         return _distanceUnit;
     }
@@ -284,6 +389,48 @@ public final class DxfDocument {
         return layerNames;
     }
 
+    /**
+     * @return all of the layers defined in the LAYER table of the document
+     */
+    public Collection< DxfLayer > getLayers() {
+        if ( _tblLayer == null ) {
+            return Collections.emptyList();
+        }
+
+        return Collections.unmodifiableCollection( _tblLayer.values() );
+    }
+
+    /**
+     * Computes a hash of the current on/off state of all layers, so that
+     * cached rendering can be keyed by the visibility state it was made with.
+     * <p>
+     * The hash only depends on which layers are switched off, and not on the
+     * iteration order of the layer table.
+     *
+     * @return a hash of the set of layers that are currently switched off
+     */
+    public int getLayerVisibilityHash() {
+        // The default layer has no name to hash, so gets a fixed value.
+        int visibilityHash = _defaultLayer.isLayerOn()
+                             ? 0
+                             : DEFAULT_LAYER_VISIBILITY_HASH;
+        if ( _tblLayer == null ) {
+            return visibilityHash;
+        }
+
+        for ( final DxfLayer layer : _tblLayer.values() ) {
+            if ( !layer.isLayerOn() ) {
+                // Spread the bits of each name hash before combining them, as
+                // XOR of raw String hashes collides too easily for similar
+                // layer names such as "A-WALL" and "A-WALK".
+                final int nameHash = layer.getName().hashCode() * 0x9E3779B9;
+                visibilityHash ^= nameHash ^ ( nameHash >>> 16 );
+            }
+        }
+
+        return visibilityHash;
+    }
+
     public double getLimitsMaxX() {
         return _limitsMaxX;
     }
@@ -327,6 +474,136 @@ public final class DxfDocument {
                 }
             }
         }
+
+        // Resolve the layer and line type names once for all entities, now
+        // that the tables are complete, rather than on every conversion.
+        resolveReferences();
+
+        // Bulk-load the spatial index now that all blocks are known, as the
+        // bounds of Block References depend on the bounds of their blocks.
+        buildModelSpaceIndex();
+    }
+
+    private void resolveReferences() {
+        _defaultLayer.setLineType( getLineType( _defaultLayer
+                .getLineTypeName() ) );
+        for ( final DxfLayer layer : _tblLayer.values() ) {
+            layer.setLineType( getLineType( layer.getLineTypeName() ) );
+        }
+
+        for ( final DxfBlock block : _blocks.values() ) {
+            for ( final DxfEntity dxfEntity : block.getEntities() ) {
+                dxfEntity.resolveReferences();
+            }
+        }
+    }
+
+    private void buildModelSpaceIndex() {
+        final List< DxfEntity > entities = ( _modelSpace != null )
+                                           ? _modelSpace.getEntities()
+                                           : Collections.emptyList();
+        _modelSpaceIndex = new StrRTree<>( entities, DxfEntity::getExtents );
+    }
+
+    /**
+     * Finds the Model Space entities whose bounds intersect the given window.
+     * <p>
+     * The spatial index is built when parsing finishes; if this document was
+     * assembled some other way, the index is built on first query instead.
+     *
+     * @param window The query window, in Model Space coordinates
+     * @return a sequential stream of the entities that intersect the window
+     */
+    public Stream< DxfEntity > query( final Extents2D window ) {
+        if ( _modelSpaceIndex == null ) {
+            buildModelSpaceIndex();
+        }
+
+        return _modelSpaceIndex.query( window );
+    }
+
+    /**
+     * @return a spliterator over the Model Space entities, in drawing order,
+     *         which is SIZED and SUBSIZED so that parallel streams split it
+     *         evenly
+     */
+    public Spliterator< DxfEntity > getModelSpaceSpliterator() {
+        return ( _modelSpace != null )
+               ? _modelSpace.getEntities().spliterator()
+               : Spliterators.emptySpliterator();
+    }
+
+    /**
+     * Streams the Model Space entities, without expanding Block References.
+     *
+     * @param parallel {@code true} for a parallel stream
+     * @return a stream of the Model Space entities
+     */
+    public Stream< DxfEntity > streamModelSpace( final boolean parallel ) {
+        return StreamSupport.stream( getModelSpaceSpliterator(), parallel );
+    }
+
+    /**
+     * Returns a spliterator over the Model Space entities and, after each
+     * Block Reference, the entities of the block that it inserts, along with
+     * their transforms to Model Space. The blocks of Dimensions are not
+     * expanded, as they are annotation rather than drawing content.
+     * <p>
+     * The number of instances is counted up front, so the spliterator is
+     * SIZED and SUBSIZED, and splits by the number of instances rather than
+     * of Model Space entities. The document must not change while it is used.
+     *
+     * @param maximumNestingDepth The maximum number of nesting levels,
+     *                            counting Model Space; a depth of one leaves
+     *                            all Block References unexpanded
+     * @return a spliterator over the entity instances of Model Space
+     */
+    public Spliterator< DxfEntityInstance > getModelSpaceInstanceSpliterator( final int maximumNestingDepth ) {
+        return ( _modelSpace != null )
+               ? new DxfEntityInstanceSpliterator( _modelSpace.getEntities(),
+                                                   maximumNestingDepth )
+               : Spliterators.emptySpliterator();
+    }
+
+    /**
+     * Streams the entities of Model Space with all Block References expanded,
+     * up to the default nesting depth, such as for quantity takeoffs.
+     *
+     * @param parallel {@code true} for a parallel stream
+     * @return a stream of the entity instances of Model Space
+     * @see #getModelSpaceInstanceSpliterator(int)
+     */
+    public Stream< DxfEntityInstance > streamModelSpaceInstances( final boolean parallel ) {
+        return StreamSupport.stream( getModelSpaceInstanceSpliterator(
+                DxfConversionOptions.DEFAULT_MAXIMUM_NESTING_DEPTH ), parallel );
+    }
+
+    /**
+     * Emits the geometry of Model Space, with all Block References expanded,
+     * to a geometry sink; use a {@link DxfGeometryTraversal} directly to
+     * change how curves are flattened or how deep blocks may nest.
+     *
+     * @param sink The receiver of the world-space geometry
+     */
+    public void emitGeometry( final DxfGeometrySink sink ) {
+        if ( _modelSpace == null ) {
+            return;
+        }
+
+        new DxfGeometryTraversal( sink ).emitBlock( _modelSpace,
+                                                    new Affine2D() );
+    }
+
+    /**
+     * @return the bounds of all Model Space entities, which are empty if there
+     *         are none with geometry
+     */
+    public Extents2D getModelSpaceExtents() {
+        if ( _modelSpaceIndex == null ) {
+            buildModelSpaceIndex();
+        }
+
+        return _modelSpaceIndex.getExtents();
     }
 
     public DxfBlock getBlock( final String name ) {
@@ -0,0 +1,308 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.structure;
+
+import com.mhschmieder.fxdxfparser.entity.DxfEntity;
+import com.mhschmieder.fxdxfparser.entity.DxfEntityInstance;
+import com.mhschmieder.fxdxfparser.entity.DxfInsert;
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.loader.DxfBlock;
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * This walks the Model Space entities and, depth-first, the entities of the
+ * blocks that their Block References insert, as entity instances; each Block
+ * Reference comes ahead of the entities of its block.
+ * <p>
+ * The number of instances below each Model Space entity is counted up front,
+ * so that the spliterator knows its exact size, and splits into halves of
+ * about the same number of instances rather than of Model Space entities.
+ * Splits are only made between Model Space entities.
+ */
+final class DxfEntityInstanceSpliterator implements Spliterator< DxfEntityInstance > {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final List< DxfEntity > _entities;
+    private final int _maximumNestingDepth;
+
+    // The number of instances ahead of each Model Space entity, and in total.
+    private final long[] _offsets;
+
+    private int _index;
+    private final int _fence;
+    private long _remaining;
+
+    private final Affine2D _identity;
+    private DxfEntity _modelSpaceEntity;
+
+    // The stack of the blocks being walked, as parallel arrays by level. The
+    // transforms are made anew for each Block Reference, as the instances
+    // keep them.
+    private List< DxfEntity >[] _blockEntities;
+    private int[] _nextEntityIndices;
+    private Affine2D[] _transforms;
+    private String[] _layerNames;
+    private int _depth;
+
+    /**
+     * Makes a spliterator over all of the given Model Space entities.
+     *
+     * @param entities            The Model Space entities
+     * @param maximumNestingDepth The maximum number of nesting levels,
+     *                            counting Model Space, as for a geometry
+     *                            traversal
+     */
+    DxfEntityInstanceSpliterator( final List< DxfEntity > entities,
+                                  final int maximumNestingDepth ) {
+        this( entities,
+              maximumNestingDepth,
+              countInstances( entities, maximumNestingDepth ),
+              0,
+              entities.size() );
+    }
+
+    @SuppressWarnings( { "unchecked", "rawtypes" } )
+    private DxfEntityInstanceSpliterator( final List< DxfEntity > entities,
+                                          final int maximumNestingDepth,
+                                          final long[] offsets,
+                                          final int index,
+                                          final int fence ) {
+        _entities = entities;
+        _maximumNestingDepth = maximumNestingDepth;
+        _offsets = offsets;
+        _index = index;
+        _fence = fence;
+        _remaining = offsets[ fence ] - offsets[ index ];
+
+        _identity = new Affine2D();
+
+        _blockEntities = new List[ INITIAL_CAPACITY ];
+        _nextEntityIndices = new int[ INITIAL_CAPACITY ];
+        _transforms = new Affine2D[ INITIAL_CAPACITY ];
+        _layerNames = new String[ INITIAL_CAPACITY ];
+        _depth = 0;
+    }
+
+    @Override
+    public boolean tryAdvance( final Consumer< ? super DxfEntityInstance > action ) {
+        while ( _depth > 0 ) {
+            final int level = _depth - 1;
+            final List< DxfEntity > entities = _blockEntities[ level ];
+            if ( _nextEntityIndices[ level ] >= entities.size() ) {
+                pop();
+                continue;
+            }
+
+            final DxfEntity dxfEntity = entities
+                    .get( _nextEntityIndices[ level ]++ );
+            final String layerName = dxfEntity.isOnLayerZero()
+                                     ? _layerNames[ level ]
+                                     : dxfEntity.getLayerName();
+            accept( action,
+                    new DxfEntityInstance( dxfEntity,
+                                           _transforms[ level ],
+                                           layerName,
+                                           _modelSpaceEntity ) );
+            return true;
+        }
+
+        if ( _index >= _fence ) {
+            return false;
+        }
+
+        _modelSpaceEntity = _entities.get( _index++ );
+        accept( action,
+                new DxfEntityInstance( _modelSpaceEntity,
+                                       _identity,
+                                       _modelSpaceEntity.getLayerName(),
+                                       _modelSpaceEntity ) );
+        return true;
+    }
+
+    private void accept( final Consumer< ? super DxfEntityInstance > action,
+                         final DxfEntityInstance instance ) {
+        _remaining--;
+
+        // The entities of a block follow the Block Reference that inserts
+        // it, so the block is entered before the reference is passed on.
+        final DxfEntity dxfEntity = instance.getEntity();
+        if ( dxfEntity instanceof DxfInsert ) {
+            final DxfInsert insert = ( DxfInsert ) dxfEntity;
+            final DxfBlock block = insert.getBlock();
+            if ( ( block != null )
+                 && isExpanded( _depth + 1, _maximumNestingDepth ) ) {
+                push( block.getEntities(),
+                      concatenate( instance.getTransform(),
+                                   insert.getBlockTransform() ),
+                      instance.getLayerName() );
+            }
+        }
+
+        action.accept( instance );
+    }
+
+    @Override
+    public Spliterator< DxfEntityInstance > trySplit() {
+        // Splitting inside the expansion of a Model Space entity would break
+        // the encounter order.
+        if ( ( _depth > 0 ) || ( ( _fence - _index ) < 2 ) ) {
+            return null;
+        }
+
+        // Split where about half of the instances are on either side.
+        final long half = _offsets[ _index ]
+                          + ( ( _offsets[ _fence ] - _offsets[ _index ] ) / 2 );
+        int middle = Arrays.binarySearch( _offsets, _index + 1, _fence, half );
+        if ( middle < 0 ) {
+            middle = -middle - 1;
+        }
+        middle = FastMath.max( _index + 1, FastMath.min( middle, _fence - 1 ) );
+
+        final DxfEntityInstanceSpliterator prefix
+                = new DxfEntityInstanceSpliterator( _entities,
+                                                    _maximumNestingDepth,
+                                                    _offsets,
+                                                    _index,
+                                                    middle );
+        _remaining -= prefix._remaining;
+        _index = middle;
+
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return _remaining;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+
+    private void push( final List< DxfEntity > entities,
+                       final Affine2D transform,
+                       final String layerName ) {
+        if ( _depth >= _transforms.length ) {
+            final int capacity = 2 * _transforms.length;
+            _blockEntities = Arrays.copyOf( _blockEntities, capacity );
+            _nextEntityIndices = Arrays.copyOf( _nextEntityIndices, capacity );
+            _transforms = Arrays.copyOf( _transforms, capacity );
+            _layerNames = Arrays.copyOf( _layerNames, capacity );
+        }
+
+        _blockEntities[ _depth ] = entities;
+        _nextEntityIndices[ _depth ] = 0;
+        _transforms[ _depth ] = transform;
+        _layerNames[ _depth ] = layerName;
+        _depth++;
+    }
+
+    private void pop() {
+        _depth--;
+        _blockEntities[ _depth ] = null;
+        _transforms[ _depth ] = null;
+        _layerNames[ _depth ] = null;
+    }
+
+    private static Affine2D concatenate( final Affine2D first,
+                                         final Affine2D second ) {
+        final Affine2D transform = new Affine2D();
+        transform.setToConcatenation( first, second );
+        return transform;
+    }
+
+    // Determines whether the block of a Block Reference is walked, given the
+    // number of blocks that would then be nested below Model Space.
+    private static boolean isExpanded( final int numberOfBlocks,
+                                       final int maximumNestingDepth ) {
+        return numberOfBlocks < maximumNestingDepth;
+    }
+
+    private static long[] countInstances( final List< DxfEntity > entities,
+                                          final int maximumNestingDepth ) {
+        // The counts of the blocks are kept by the number of blocks nested
+        // above them, as deeper copies may be cut short by the depth limit.
+        final Map< DxfBlock, long[] > blockCounts = new IdentityHashMap<>();
+
+        final int numberOfEntities = entities.size();
+        final long[] offsets = new long[ numberOfEntities + 1 ];
+        for ( int i = 0; i < numberOfEntities; i++ ) {
+            offsets[ i + 1 ] = offsets[ i ] + countInstances( entities.get( i ),
+                                                              0,
+                                                              maximumNestingDepth,
+                                                              blockCounts );
+        }
+
+        return offsets;
+    }
+
+    private static long countInstances( final DxfEntity dxfEntity,
+                                        final int numberOfBlocks,
+                                        final int maximumNestingDepth,
+                                        final Map< DxfBlock, long[] > blockCounts ) {
+        if ( !( dxfEntity instanceof DxfInsert ) ) {
+            return 1L;
+        }
+
+        final DxfBlock block = ( ( DxfInsert ) dxfEntity ).getBlock();
+        if ( ( block == null )
+             || !isExpanded( numberOfBlocks + 1, maximumNestingDepth ) ) {
+            return 1L;
+        }
+
+        final long[] counts = blockCounts.computeIfAbsent( block, key -> {
+            final long[] unknownCounts = new long[ maximumNestingDepth ];
+            Arrays.fill( unknownCounts, -1L );
+            return unknownCounts;
+        } );
+        if ( counts[ numberOfBlocks + 1 ] < 0L ) {
+            long count = 0L;
+            for ( final DxfEntity blockEntity : block.getEntities() ) {
+                count += countInstances( blockEntity,
+                                         numberOfBlocks + 1,
+                                         maximumNestingDepth,
+                                         blockCounts );
+            }
+            counts[ numberOfBlocks + 1 ] = count;
+        }
+
+        return 1L + counts[ numberOfBlocks + 1 ];
+    }
+}// class DxfEntityInstanceSpliterator
@@ -0,0 +1,280 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.structure;
+
+import com.mhschmieder.fxdxfparser.entity.DxfEntity;
+import com.mhschmieder.fxdxfparser.geometry.Vectorization;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * This is a memory-bounded cache of the flattened coordinates of curved
+ * entities, so that re-converting a document (such as after a change of theme,
+ * stroke width or layer visibility) does not tessellate every arc again.
+ * <p>
+ * The coordinates are in the local coordinates of each entity, so they are
+ * valid for every Block Reference to it, and are keyed by the entity and the
+ * parameterization of its vectorization. Callers should quantize any adaptive
+ * tolerance, such as via {@link Vectorization#quantizeChordError}, so that
+ * nearby zoom levels share their cached coordinates.
+ * <p>
+ * Entries are evicted in least-recently-used order once the byte budget is
+ * exceeded, and are held softly so that the garbage collector may also
+ * reclaim them under memory pressure. All methods are synchronized, as
+ * conversions may run on background threads.
+ */
+public final class DxfTessellationCache {
+
+    /**
+     * Default budget for the cached coordinates of a document, in bytes.
+     */
+    public static final long DEFAULT_MAXIMUM_BYTES = 32L * 1024L * 1024L;
+
+    // Approximate weight of each entry beyond its coordinates: the key, the
+    // reference, the map node and the array header.
+    private static final int ENTRY_OVERHEAD_BYTES = 112;
+
+    /**
+     * The key of a cached tessellation. Entities are compared by identity, as
+     * they are mutable and have no value semantics.
+     */
+    private static final class TessellationKey {
+        private final DxfEntity _entity;
+        private final int _mode;
+        private final long _valueBits;
+
+        private TessellationKey( final DxfEntity entity,
+                                 final Vectorization vectorization ) {
+            _entity = entity;
+            _mode = vectorization.getMode().ordinal();
+
+            // Every mode keeps its single parameter in the same value, which
+            // the grads accessor returns regardless of the mode.
+            _valueBits = Double.doubleToLongBits( vectorization.getGrads() );
+        }
+
+        @Override
+        public boolean equals( final Object other ) {
+            if ( !( other instanceof TessellationKey ) ) {
+                return false;
+            }
+            final TessellationKey key = ( TessellationKey ) other;
+            return ( _entity == key._entity ) && ( _mode == key._mode )
+                   && ( _valueBits == key._valueBits );
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = System.identityHashCode( _entity );
+            hash = ( 31 * hash ) + _mode;
+            hash = ( 31 * hash ) + Long.hashCode( _valueBits );
+            return hash;
+        }
+    }
+
+    /**
+     * A softly held tessellation, which remembers its key and weight so that
+     * it can be dropped from the cache once the garbage collector clears it.
+     */
+    private static final class TessellationReference
+            extends SoftReference< double[] > {
+        private final TessellationKey _key;
+        private final long _bytes;
+
+        private TessellationReference( final TessellationKey key,
+                                       final double[] coordinates,
+                                       final ReferenceQueue< double[] > queue ) {
+            super( coordinates, queue );
+            _key = key;
+            _bytes = ENTRY_OVERHEAD_BYTES + ( 8L * coordinates.length );
+        }
+    }
+
+    // Kept in access order, so iteration starts at the least recently used.
+    private final LinkedHashMap< TessellationKey, TessellationReference > _entries
+            = new LinkedHashMap<>( 256, 0.75f, true );
+
+    private final ReferenceQueue< double[] > _clearedReferences
+            = new ReferenceQueue<>();
+
+    private long _maximumBytes;
+    private long _bytes;
+
+    public DxfTessellationCache() {
+        this( DEFAULT_MAXIMUM_BYTES );
+    }
+
+    /**
+     * @param maximumBytes The maximum combined weight of the cached
+     *                     coordinates; zero disables the cache
+     */
+    public DxfTessellationCache( final long maximumBytes ) {
+        setMaximumBytes( maximumBytes );
+    }
+
+    public synchronized long getMaximumBytes() {
+        return _maximumBytes;
+    }
+
+    public synchronized void setMaximumBytes( final long maximumBytes ) {
+        if ( maximumBytes < 0L ) {
+            throw new IllegalArgumentException();
+        }
+
+        _maximumBytes = maximumBytes;
+        evict();
+    }
+
+    /**
+     * @return the approximate weight of the cached coordinates, in bytes
+     */
+    public synchronized long getBytes() {
+        return _bytes;
+    }
+
+    public synchronized int size() {
+        return _entries.size();
+    }
+
+    /**
+     * Gets the cached coordinates of an entity. The returned array is shared,
+     * so must not be modified.
+     *
+     * @param entity        The curved entity
+     * @param vectorization The parameterization its arcs were vectorized with
+     * @return the interleaved x and y coordinates, or {@code null} if they
+     *         are not cached
+     */
+    public synchronized double[] get( final DxfEntity entity,
+                                      final Vectorization vectorization ) {
+        purgeClearedReferences();
+
+        final TessellationKey key = new TessellationKey( entity,
+                                                         vectorization );
+        final TessellationReference reference = _entries.get( key );
+        if ( reference == null ) {
+            return null;
+        }
+
+        final double[] coordinates = reference.get();
+        if ( coordinates == null ) {
+            remove( key );
+        }
+
+        return coordinates;
+    }
+
+    /**
+     * Caches the coordinates of an entity. The array is retained as is, so
+     * must not be modified afterwards.
+     *
+     * @param entity        The curved entity
+     * @param vectorization The parameterization its arcs were vectorized with
+     * @param coordinates   The interleaved x and y coordinates
+     */
+    public synchronized void put( final DxfEntity entity,
+                                  final Vectorization vectorization,
+                                  final double[] coordinates ) {
+        purgeClearedReferences();
+
+        final TessellationKey key = new TessellationKey( entity,
+                                                         vectorization );
+        final TessellationReference reference = new TessellationReference(
+                key,
+                coordinates,
+                _clearedReferences );
+        if ( reference._bytes > _maximumBytes ) {
+            return;
+        }
+
+        remove( key );
+        _entries.put( key, reference );
+        _bytes += reference._bytes;
+        evict();
+    }
+
+    /**
+     * Drops all of the cached coordinates of an entity, such as after its
+     * geometry is edited.
+     *
+     * @param entity The entity to drop
+     */
+    public synchronized void invalidate( final DxfEntity entity ) {
+        final Iterator< TessellationReference > it = _entries.values()
+                .iterator();
+        while ( it.hasNext() ) {
+            final TessellationReference reference = it.next();
+            if ( reference._key._entity == entity ) {
+                _bytes -= reference._bytes;
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        _entries.clear();
+        _bytes = 0L;
+        purgeClearedReferences();
+    }
+
+    private void remove( final TessellationKey key ) {
+        final TessellationReference reference = _entries.remove( key );
+        if ( reference != null ) {
+            _bytes -= reference._bytes;
+        }
+    }
+
+    private void evict() {
+        final Iterator< TessellationReference > it = _entries.values()
+                .iterator();
+        while ( ( _bytes > _maximumBytes ) && it.hasNext() ) {
+            _bytes -= it.next()._bytes;
+            it.remove();
+        }
+    }
+
+    private void purgeClearedReferences() {
+        Reference< ? extends double[] > cleared;
+        while ( ( cleared = _clearedReferences.poll() ) != null ) {
+            final TessellationReference reference
+                    = ( TessellationReference ) cleared;
+
+            // The entry may already have been replaced by a newer one.
+            if ( _entries.remove( reference._key, reference ) ) {
+                _bytes -= reference._bytes;
+            }
+        }
+    }
+}// class DxfTessellationCache
@@ -28,15 +28,20 @@
  *
  * Project: https://github.com/mhschmieder/fxdxfparser
  */
-module fxdxfparser {
+/**
+ * The parser and the JavaFX-free model of DXF documents, with its geometry,
+ * queries and output targets other than the JavaFX Scene Graph, for headless
+ * use; conversion to JavaFX Shapes is in the fxdxfparser module.
+ */
+module fxdxfparser.core {
     exports com.mhschmieder.fxdxfparser.entity;
     exports com.mhschmieder.fxdxfparser.geometry;
     exports com.mhschmieder.fxdxfparser.loader;
     exports com.mhschmieder.fxdxfparser.physics;
+    exports com.mhschmieder.fxdxfparser.query;
     exports com.mhschmieder.fxdxfparser.reader;
+    exports com.mhschmieder.fxdxfparser.render;
     exports com.mhschmieder.fxdxfparser.structure;
     requires commons.math3;
-    requires javafx.base;
-    requires javafx.graphics;
     requires jcommons;
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.geometry;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This is the Vector API implementation of
+ * {@link CoordinateTransforms#transform}, which is only loaded once that class
+ * has found the (optional) incubator module to be present.
+ * <p>
+ * It is compiled separately from the rest of the library, by the
+ * {@code vector} Maven profile, as javac warns about any compilation that
+ * uses an incubator module.
+ * <p>
+ * Each vector holds several interleaved points, so the diagonal of the matrix
+ * is multiplied with the vector as loaded, and the off-diagonal with the
+ * vector after swapping the x and y of each point.
+ */
+final class VectorCoordinateTransforms implements CoordinateTransforms.Kernel {
+
+    private static final VectorSpecies< Double > SPECIES
+            = DoubleVector.SPECIES_PREFERRED;
+
+    // The lanes that hold y-coordinates.
+    private static final VectorMask< Double > ODD_LANES = VectorMask.fromLong(
+            SPECIES,
+            0xAAAAAAAAAAAAAAAAL );
+
+    private static final VectorShuffle< Double > SWAP_PAIRS
+            = VectorShuffle.fromOp( SPECIES, i -> i ^ 1 );
+
+    VectorCoordinateTransforms() {}
+
+    @Override
+    public boolean isUsable() {
+        // A single lane can't hold a point, so doesn't gain anything.
+        return SPECIES.length() >= 2;
+    }
+
+    @Override
+    public void transform( final double[] source,
+                           final double[] destination,
+                           final int numberOfPoints,
+                           final Affine2D transform ) {
+        final DoubleVector diagonal = DoubleVector
+                .broadcast( SPECIES, transform.getMxx() )
+                .blend( transform.getMyy(), ODD_LANES );
+        final DoubleVector offDiagonal = DoubleVector
+                .broadcast( SPECIES, transform.getMxy() )
+                .blend( transform.getMyx(), ODD_LANES );
+        final DoubleVector translation = DoubleVector
+                .broadcast( SPECIES, transform.getTx() )
+                .blend( transform.getTy(), ODD_LANES );
+
+        final int numberOfCoordinates = 2 * numberOfPoints;
+        final int upperBound = SPECIES.loopBound( numberOfCoordinates );
+        int i = 0;
+        for ( ; i < upperBound; i += SPECIES.length() ) {
+            final DoubleVector points = DoubleVector.fromArray( SPECIES,
+                                                                source,
+                                                                i );
+            points.mul( diagonal )
+                    .add( points.rearrange( SWAP_PAIRS ).mul( offDiagonal ) )
+                    .add( translation )
+                    .intoArray( destination, i );
+        }
+
+        CoordinateTransforms.transformScalar( source,
+                                              destination,
+                                              i / 2,
+                                              numberOfPoints,
+                                              transform );
+    }
+}// class VectorCoordinateTransforms
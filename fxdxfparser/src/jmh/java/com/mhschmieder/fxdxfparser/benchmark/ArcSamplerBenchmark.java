@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.benchmark;
+
+import com.mhschmieder.fxdxfparser.geometry.ArcSampler;
+import com.mhschmieder.fxdxfparser.geometry.EllipticalArc2D;
+import com.mhschmieder.fxdxfparser.geometry.Vertex;
+import org.apache.commons.math3.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost per sampled point of vectorizing an elliptical arc, for
+ * the original per-point trigonometric evaluation versus the incremental
+ * rotation of {@link ArcSampler}.
+ * <p>
+ * Run with: {@code mvn -Pjmh verify -Djmh.includes=ArcSamplerBenchmark}
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class ArcSamplerBenchmark {
+
+    // A full ellipse at one-degree steps, as for a large arc.
+    private static final int NUMBER_OF_POINTS = 361;
+
+    private EllipticalArc2D _arc;
+    private double[] _coordinates;
+
+    @Setup
+    public void setup() {
+        _arc = new EllipticalArc2D( 10.0d,
+                                    20.0d,
+                                    30.0d,
+                                    5.0d,
+                                    -2.5d,
+                                    15.0d,
+                                    12.0d,
+                                    372.0d );
+        _coordinates = new double[ 2 * NUMBER_OF_POINTS ];
+    }
+
+    /**
+     * The original algorithm: trigonometry, a modulo and an object per point.
+     */
+    @Benchmark
+    @OperationsPerInvocation( NUMBER_OF_POINTS )
+    public Vertex[] trigonometricPerPoint() {
+        final double totalAngle = _arc.getTotalAngle();
+        final double grads = totalAngle / ( NUMBER_OF_POINTS - 1 );
+        final Vertex[] vertices = new Vertex[ NUMBER_OF_POINTS ];
+        final double cx = _arc.getCenterX();
+        final double cy = _arc.getCenterY();
+        final double maX = _arc.getEndMajorAxisX();
+        final double maY = _arc.getEndMajorAxisY();
+        final double miX = _arc.getEndMinorAxisX();
+        final double miY = _arc.getEndMinorAxisY();
+        double g = _arc.getStartAngle();
+        for ( int i = 0; i < NUMBER_OF_POINTS; i++, g += grads ) {
+            g %= 360d;
+            final double r = FastMath.toRadians( g );
+            final double cosR = FastMath.cos( r );
+            final double sinR = FastMath.sin( r );
+            vertices[ i ] = new Vertex( ( maX * cosR ) + ( miX * sinR ) + cx,
+                                        ( maY * cosR ) + ( miY * sinR ) + cy );
+        }
+
+        return vertices;
+    }
+
+    /**
+     * The incremental rotation, writing into a re-used primitive array.
+     */
+    @Benchmark
+    @OperationsPerInvocation( NUMBER_OF_POINTS )
+    public double[] incrementalRotation() {
+        _arc.sample( _arc.getTotalAngle(), NUMBER_OF_POINTS, _coordinates, 0 );
+        return _coordinates;
+    }
+
+    /**
+     * The public API as used by the converters, which still returns vertices.
+     */
+    @Benchmark
+    @OperationsPerInvocation( NUMBER_OF_POINTS )
+    public Vertex[] normalizeGradients() {
+        return _arc.normalizeGradients( 1.0d );
+    }
+}// class ArcSamplerBenchmark
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.benchmark;
+
+import com.mhschmieder.fxdxfparser.fx.TransformUtilities;
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.CoordinateTransforms;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javafx.scene.transform.Affine;
+
+/**
+ * Measures the single-thread (that is, per core) throughput in points of the
+ * bulk coordinate transform, with and without the Vector API, against the
+ * equivalent bulk transform of JavaFX.
+ * <p>
+ * The scalar and vectorized cases run the same code, in forks that are
+ * started without and with the incubator module respectively; the latter
+ * only differs if the Vector API implementation is built by the vector
+ * profile.
+ * <p>
+ * Run with:
+ * {@code mvn -Pjmh,vector verify -Djmh.includes=CoordinateTransformBenchmark}
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@Threads( 1 )
+@State( Scope.Thread )
+public class CoordinateTransformBenchmark {
+
+    // Enough for a long polyline, while still fitting in the L2 cache.
+    private static final int NUMBER_OF_POINTS = 4096;
+
+    private double[] _source;
+    private double[] _destination;
+
+    private Affine2D _transform;
+    private Affine _fxTransform;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random( 42L );
+        _source = new double[ 2 * NUMBER_OF_POINTS ];
+        for ( int i = 0; i < _source.length; i++ ) {
+            _source[ i ] = 1000.0d * random.nextDouble();
+        }
+        _destination = new double[ 2 * NUMBER_OF_POINTS ];
+
+        _transform = new Affine2D();
+        _transform.setToRotateScaleTranslate( 30.0d, 2.0d, 2.0d, 100.0d, 50.0d );
+        _fxTransform = TransformUtilities.toAffine( _transform );
+    }
+
+    @Benchmark
+    @OperationsPerInvocation( NUMBER_OF_POINTS )
+    public double[] scalar() {
+        CoordinateTransforms.transform( _source,
+                                        _destination,
+                                        NUMBER_OF_POINTS,
+                                        _transform );
+        return _destination;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation( NUMBER_OF_POINTS )
+    @Fork( value = 1, jvmArgsAppend = "--add-modules="
+                                      + CoordinateTransforms.VECTOR_MODULE_NAME )
+    public double[] vectorized() {
+        CoordinateTransforms.transform( _source,
+                                        _destination,
+                                        NUMBER_OF_POINTS,
+                                        _transform );
+        return _destination;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation( NUMBER_OF_POINTS )
+    public double[] javaFx() {
+        _fxTransform.transform2DPoints( _source,
+                                        0,
+                                        _destination,
+                                        0,
+                                        NUMBER_OF_POINTS );
+        return _destination;
+    }
+}// class CoordinateTransformBenchmark
@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.benchmark;
+
+import com.mhschmieder.fxdxfparser.fx.DxfEntityConverter;
+import com.mhschmieder.fxdxfparser.fx.DxfShapeContainer;
+import com.mhschmieder.fxdxfparser.geometry.TransformMode;
+import com.mhschmieder.fxdxfparser.structure.DxfDocument;
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.geometry.Bounds;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.transform.Affine;
+import javafx.stage.Stage;
+
+/**
+ * Measures the pulse (frame) times of panning a converted drawing, for each
+ * {@link TransformMode}. Unlike the JMH benchmarks this needs a screen, as
+ * the pulses are those of a showing Stage, so it is a plain application:
+ * <p>
+ * {@code mvn -Pjmh test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.mhschmieder.fxdxfparser.benchmark.PulseTimingHarness}
+ * <p>
+ * The mean and 95th percentile of the intervals between pulses are printed
+ * per mode; a steady 16.7 ms means the scene kept up with a 60 Hz display.
+ */
+public final class PulseTimingHarness {
+
+    private static final int NUMBER_OF_ROWS = 100;
+    private static final int CELLS_PER_ROW = 100;
+
+    private static final int NUMBER_OF_WARMUP_PULSES = 60;
+    private static final int NUMBER_OF_MEASURED_PULSES = 300;
+
+    private static final double SCENE_WIDTH = 1280.0d;
+    private static final double SCENE_HEIGHT = 800.0d;
+
+    public static void main( final String[] args ) throws Exception {
+        final DxfDocument dxfDoc = SyntheticDrawings.makeGridDocument(
+                NUMBER_OF_ROWS,
+                CELLS_PER_ROW );
+
+        final CountDownLatch startupLatch = new CountDownLatch( 1 );
+        Platform.startup( startupLatch::countDown );
+        startupLatch.await();
+
+        for ( final TransformMode transformMode : TransformMode.values() ) {
+            final long[] intervals = measure( dxfDoc, transformMode );
+            Arrays.sort( intervals );
+
+            long sum = 0L;
+            for ( final long interval : intervals ) {
+                sum += interval;
+            }
+            final double meanMillis = 1.0e-6d * sum / intervals.length;
+            final double p95Millis = 1.0e-6d * intervals[ ( int ) ( 0.95d
+                    * ( intervals.length - 1 ) ) ];
+
+            System.out.printf( "%-8s mean %7.2f ms  p95 %7.2f ms%n", //$NON-NLS-1$
+                               transformMode,
+                               meanMillis,
+                               p95Millis );
+        }
+
+        Platform.exit();
+    }
+
+    private static long[] measure( final DxfDocument dxfDoc,
+                                   final TransformMode transformMode )
+            throws InterruptedException {
+        final long[] intervals = new long[ NUMBER_OF_MEASURED_PULSES ];
+        final CountDownLatch doneLatch = new CountDownLatch( 1 );
+
+        Platform.runLater( () -> {
+            final DxfShapeContainer dxfShapeContainer = new DxfShapeContainer();
+            dxfShapeContainer.getConversionOptions()
+                    .setTransformMode( transformMode );
+            DxfEntityConverter.convertBlock( dxfDoc._modelSpace,
+                                             dxfShapeContainer,
+                                             new Affine(),
+                                             1.0d );
+
+            // Fit the drawing to the scene, then pan it by a pixel per pulse.
+            final Bounds bounds = dxfShapeContainer.getBoundsInLocal();
+            final double scale = FastMath.min( SCENE_WIDTH / bounds.getWidth(),
+                                           SCENE_HEIGHT / bounds.getHeight() );
+            dxfShapeContainer.setScaleX( scale );
+            dxfShapeContainer.setScaleY( -scale );
+
+            final Stage stage = new Stage();
+            stage.setScene( new Scene( new Group( dxfShapeContainer ),
+                                       SCENE_WIDTH,
+                                       SCENE_HEIGHT ) );
+            stage.show();
+
+            new AnimationTimer() {
+                private int _pulseIndex = -NUMBER_OF_WARMUP_PULSES;
+                private long _previousNanos;
+
+                @Override
+                public void handle( final long nowNanos ) {
+                    if ( _pulseIndex >= 0 ) {
+                        intervals[ _pulseIndex ] = nowNanos - _previousNanos;
+                    }
+                    _previousNanos = nowNanos;
+
+                    if ( ++_pulseIndex >= NUMBER_OF_MEASURED_PULSES ) {
+                        stop();
+                        stage.close();
+                        doneLatch.countDown();
+                        return;
+                    }
+
+                    dxfShapeContainer.setTranslateX( ( _pulseIndex % 200 )
+                            - 100.0d );
+                }
+            }.start();
+        } );
+
+        doneLatch.await();
+        return intervals;
+    }
+}// class PulseTimingHarness
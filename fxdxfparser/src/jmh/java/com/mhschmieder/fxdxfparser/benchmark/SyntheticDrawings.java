@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.benchmark;
+
+import com.mhschmieder.fxdxfparser.reader.DxfLoader;
+import com.mhschmieder.fxdxfparser.reader.DxfReaderException;
+import com.mhschmieder.fxdxfparser.structure.DxfDocument;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+
+/**
+ * Generates DXF drawings in memory for the benchmarks, so that they do not
+ * depend on drawing files that cannot be distributed with the library.
+ * <p>
+ * The drawing is a grid of rows, each of which inserts a cell block that
+ * contains a line, an arc, a circle and a bulged polyline, so that the shapes
+ * are two levels of Block References deep, as in a typical floor plan.
+ */
+final class SyntheticDrawings {
+
+    private final StringBuilder _dxf = new StringBuilder( 1 << 16 );
+
+    private SyntheticDrawings() {}
+
+    /**
+     * Makes and parses a synthetic drawing.
+     *
+     * @param numberOfRows  The number of row Block References in Model Space
+     * @param cellsPerRow   The number of cell Block References per row
+     * @return the parsed document
+     * @throws DxfReaderException if the generated drawing could not be parsed
+     */
+    static DxfDocument makeGridDocument( final int numberOfRows,
+                                         final int cellsPerRow )
+            throws DxfReaderException {
+        final SyntheticDrawings drawing = new SyntheticDrawings();
+        drawing.appendGrid( numberOfRows, cellsPerRow );
+
+        final DxfLoader loader = new DxfLoader();
+        loader.loadDocument( new BufferedReader( new StringReader( drawing._dxf
+                .toString() ) ), true, false );
+        return loader.getDocument();
+    }
+
+    @SuppressWarnings( "nls" )
+    private void appendGrid( final int numberOfRows,
+                             final int cellsPerRow ) {
+        pair( 0, "SECTION" );
+        pair( 2, "TABLES" );
+        pair( 0, "TABLE" );
+        pair( 2, "LAYER" );
+        pair( 0, "LAYER" );
+        pair( 2, "0" );
+        pair( 70, 0 );
+        pair( 62, 7 );
+        pair( 6, "CONTINUOUS" );
+        pair( 0, "ENDTAB" );
+        pair( 0, "ENDSEC" );
+
+        pair( 0, "SECTION" );
+        pair( 2, "BLOCKS" );
+
+        beginBlock( "CELL" );
+        pair( 0, "LINE" );
+        pair( 8, "0" );
+        point( 10, 0.0d, 0.0d );
+        point( 11, 1.0d, 1.0d );
+        pair( 0, "ARC" );
+        pair( 8, "0" );
+        point( 10, 0.5d, 0.5d );
+        pair( 40, 0.4d );
+        pair( 50, 10.0d );
+        pair( 51, 200.0d );
+        pair( 0, "CIRCLE" );
+        pair( 8, "0" );
+        point( 10, 0.5d, 0.5d );
+        pair( 40, 0.25d );
+        pair( 0, "LWPOLYLINE" );
+        pair( 8, "0" );
+        pair( 90, 3 );
+        pair( 70, 1 );
+        pair( 10, 0.0d );
+        pair( 20, 0.0d );
+        pair( 42, 0.5d );
+        pair( 10, 1.0d );
+        pair( 20, 0.0d );
+        pair( 10, 1.0d );
+        pair( 20, 1.0d );
+        pair( 0, "ENDBLK" );
+
+        beginBlock( "ROW" );
+        for ( int i = 0; i < cellsPerRow; i++ ) {
+            insert( "CELL", 1.5d * i, 0.0d, 1.0d, 15.0d * ( i % 24 ) );
+        }
+        pair( 0, "ENDBLK" );
+
+        pair( 0, "ENDSEC" );
+
+        pair( 0, "SECTION" );
+        pair( 2, "ENTITIES" );
+        for ( int j = 0; j < numberOfRows; j++ ) {
+            insert( "ROW", 0.0d, 1.5d * j, 1.0d + ( 0.01d * j ), 0.0d );
+        }
+        pair( 0, "ENDSEC" );
+        pair( 0, "EOF" );
+    }
+
+    @SuppressWarnings( "nls" )
+    private void beginBlock( final String name ) {
+        pair( 0, "BLOCK" );
+        pair( 8, "0" );
+        pair( 2, name );
+        pair( 70, 0 );
+        point( 10, 0.0d, 0.0d );
+    }
+
+    @SuppressWarnings( "nls" )
+    private void insert( final String blockName,
+                         final double x,
+                         final double y,
+                         final double scale,
+                         final double rotationAngleDegrees ) {
+        pair( 0, "INSERT" );
+        pair( 8, "0" );
+        pair( 2, blockName );
+        point( 10, x, y );
+        pair( 41, scale );
+        pair( 42, scale );
+        pair( 50, rotationAngleDegrees );
+    }
+
+    private void point( final int code,
+                        final double x,
+                        final double y ) {
+        pair( code, x );
+        pair( code + 10, y );
+        pair( code + 20, 0.0d );
+    }
+
+    private void pair( final int code,
+                       final Object value ) {
+        _dxf.append( code ).append( '\n' ).append( value ).append( '\n' );
+    }
+}// class SyntheticDrawings
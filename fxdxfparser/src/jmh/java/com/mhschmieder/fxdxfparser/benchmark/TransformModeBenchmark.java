@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.benchmark;
+
+import com.mhschmieder.fxdxfparser.fx.DxfEntityConverter;
+import com.mhschmieder.fxdxfparser.fx.DxfShapeContainer;
+import com.mhschmieder.fxdxfparser.geometry.TransformMode;
+import com.mhschmieder.fxdxfparser.reader.DxfReaderException;
+import com.mhschmieder.fxdxfparser.structure.DxfDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import javafx.geometry.Bounds;
+import javafx.scene.transform.Affine;
+
+/**
+ * Compares the {@link TransformMode transform modes} for the cost of
+ * converting a drawing of nested Block References, and for the cost of the
+ * first bounds computation of the converted nodes, which JavaFX has to do
+ * before the first pulse that shows them.
+ * <p>
+ * Pulse times need a running JavaFX toolkit and a screen, so are measured by
+ * {@link PulseTimingHarness} instead.
+ * <p>
+ * Run with: {@code mvn -Pjmh verify -Djmh.includes=TransformModeBenchmark}
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class TransformModeBenchmark {
+
+    // 100 rows of 100 cells of 4 entities each is 40,000 shapes.
+    private static final int NUMBER_OF_ROWS = 100;
+    private static final int CELLS_PER_ROW = 100;
+
+    @Param( { "ATTACHED", "BAKED", "GROUPED" } )
+    public TransformMode transformMode;
+
+    private DxfDocument _dxfDoc;
+
+    @Setup( Level.Trial )
+    public void setup() throws DxfReaderException {
+        _dxfDoc = SyntheticDrawings.makeGridDocument( NUMBER_OF_ROWS,
+                                                      CELLS_PER_ROW );
+    }
+
+    DxfShapeContainer convert() {
+        final DxfShapeContainer dxfShapeContainer = new DxfShapeContainer();
+        dxfShapeContainer.getConversionOptions()
+                .setTransformMode( transformMode );
+        DxfEntityConverter.convertBlock( _dxfDoc._modelSpace,
+                                         dxfShapeContainer,
+                                         new Affine(),
+                                         1.0d );
+        return dxfShapeContainer;
+    }
+
+    /**
+     * A freshly converted container per invocation, as JavaFX caches the
+     * bounds of each node once they are computed.
+     */
+    @State( Scope.Thread )
+    public static class ConvertedContainer {
+
+        DxfShapeContainer _dxfShapeContainer;
+
+        @Setup( Level.Invocation )
+        public void setup( final TransformModeBenchmark benchmark ) {
+            _dxfShapeContainer = benchmark.convert();
+        }
+    }
+
+    @Benchmark
+    public DxfShapeContainer convertToFxShapes() {
+        return convert();
+    }
+
+    @Benchmark
+    public Bounds computeBounds( final ConvertedContainer convertedContainer ) {
+        return convertedContainer._dxfShapeContainer.getBoundsInLocal();
+    }
+}// class TransformModeBenchmark
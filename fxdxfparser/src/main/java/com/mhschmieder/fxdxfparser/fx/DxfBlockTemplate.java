@@ -0,0 +1,298 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.fx;
+
+import com.mhschmieder.fxdxfparser.loader.DxfBlock;
+import com.mhschmieder.fxdxfparser.loader.DxfLineType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javafx.scene.Node;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+import javafx.scene.shape.Shape;
+import javafx.scene.transform.Affine;
+
+/**
+ * This is the geometry of a {@link DxfBlock}, converted once in block
+ * coordinates and merged into one list of path elements per stroke style, so
+ * that each Block Reference only adds one Path per style that shares those
+ * path elements, instead of converting every entity of the block again.
+ * <p>
+ * A template depends on the by-block color and line type that it was made
+ * for, and on which layers were switched on at the time.
+ */
+public final class DxfBlockTemplate {
+
+    /**
+     * The merged outlines of all shapes of the block that share a style.
+     */
+    private static final class StyleGroup {
+        private final Paint _stroke;
+        private final List< Double > _dashArray;
+        private final double _strokeScale;
+        private final List< PathElement > _elements;
+
+        private StyleGroup( final Paint stroke,
+                            final List< Double > dashArray,
+                            final double strokeScale ) {
+            _stroke = stroke;
+            _dashArray = dashArray;
+            _strokeScale = strokeScale;
+            _elements = new ArrayList<>();
+        }
+
+        private boolean hasStyle( final Paint stroke,
+                                  final List< Double > dashArray,
+                                  final double strokeScale ) {
+            return Objects.equals( _stroke, stroke )
+                   && _dashArray.equals( dashArray )
+                   && ( Double.compare( _strokeScale, strokeScale ) == 0 );
+        }
+    }
+
+    /**
+     * The by-block color and line type that a template was made for.
+     */
+    private static final class TemplateKey {
+        private final int _colorIndex;
+        private final DxfLineType _lineType;
+
+        private TemplateKey( final int colorIndex,
+                             final DxfLineType lineType ) {
+            _colorIndex = colorIndex;
+            _lineType = lineType;
+        }
+
+        @Override
+        public boolean equals( final Object other ) {
+            if ( !( other instanceof TemplateKey ) ) {
+                return false;
+            }
+            final TemplateKey key = ( TemplateKey ) other;
+            return ( _colorIndex == key._colorIndex )
+                   && ( _lineType == key._lineType );
+        }
+
+        @Override
+        public int hashCode() {
+            return ( 31 * _colorIndex ) + System.identityHashCode( _lineType );
+        }
+    }
+
+    /**
+     * The templates of a block, kept as the conversion cache of the block,
+     * and the layer state of the document that they were made for.
+     */
+    private static final class BlockTemplates {
+        private final Map< TemplateKey, DxfBlockTemplate > _templates;
+        private final long _layerStateVersion;
+
+        private BlockTemplates( final long layerStateVersion ) {
+            _templates = new HashMap<>( 4 );
+            _layerStateVersion = layerStateVersion;
+        }
+    }
+
+    private final List< StyleGroup > _styleGroups;
+
+    private DxfBlockTemplate( final List< StyleGroup > styleGroups ) {
+        _styleGroups = styleGroups;
+    }
+
+    /**
+     * Returns the template of a block for the given by-block color and line
+     * type, which is made on first use. Templates are discarded whenever a
+     * layer of the document is switched on or off.
+     *
+     * @param block      The block to get the template of
+     * @param colorIndex The by-block color index of the Block Reference
+     * @param lineType   The by-block line type of the Block Reference
+     * @return the template, or {@code null} if the block cannot be instanced
+     */
+    static DxfBlockTemplate getTemplate( final DxfBlock block,
+                                         final int colorIndex,
+                                         final DxfLineType lineType ) {
+        final long layerStateVersion = block.getDocument()
+                .getLayerStateVersion();
+        final Object conversionCache = block.getConversionCache();
+        BlockTemplates blockTemplates = ( conversionCache instanceof BlockTemplates )
+                                        ? ( BlockTemplates ) conversionCache
+                                        : null;
+        if ( ( blockTemplates == null )
+             || ( blockTemplates._layerStateVersion != layerStateVersion ) ) {
+            blockTemplates = new BlockTemplates( layerStateVersion );
+            block.setConversionCache( blockTemplates );
+        }
+
+        final Map< TemplateKey, DxfBlockTemplate > templates
+                = blockTemplates._templates;
+        final TemplateKey key = new TemplateKey( colorIndex, lineType );
+        if ( templates.containsKey( key ) ) {
+            return templates.get( key );
+        }
+
+        final int currentColorIndex = block.getCurrentColorIndex();
+        final DxfLineType currentLineType = block.getCurrentLineType();
+        block.setCurrentColor( colorIndex );
+        block.setCurrentLineType( lineType );
+        try {
+            final DxfBlockTemplate template = makeTemplate( block );
+            templates.put( key, template );
+            return template;
+        }
+        finally {
+            block.setCurrentColor( currentColorIndex );
+            block.setCurrentLineType( currentLineType );
+        }
+    }
+
+    /**
+     * Makes the template of a block for its current by-block color and line
+     * type, by converting it into a scratch container in block coordinates.
+     *
+     * @param block The block to make the template of
+     * @return the template of the block, or {@code null} if any of its shapes
+     *         cannot be expressed as path elements
+     */
+    static DxfBlockTemplate makeTemplate( final DxfBlock block ) {
+        // The scratch container has the default conversion options, so that
+        // the template is exact and independent of the view scale, and its
+        // unit stroke width leaves the stroke scale of each shape as its
+        // stroke width.
+        final DxfShapeContainer scratchContainer = new DxfShapeContainer();
+        DxfEntityConverter.convertBlock( block,
+                                         scratchContainer,
+                                         new Affine(),
+                                         1.0d );
+
+        // Shapes are grouped in order of first appearance of their style;
+        // this can change the stacking order of overlapping outlines of
+        // different styles, but not their appearance otherwise.
+        final List< StyleGroup > styleGroups = new ArrayList<>();
+        for ( final Node node : scratchContainer.getChildren() ) {
+            if ( !( node instanceof Shape ) ) {
+                return null;
+            }
+            final Shape shape = ( Shape ) node;
+
+            // The transforms are applied to the path elements, so strokes
+            // and dashes have to be scaled to compensate.
+            final double lengthScale = PathUtilities.getLengthScale(
+                    shape.getLocalToParentTransform() );
+            final double strokeScale = shape.getStrokeWidth() * lengthScale;
+            final List< Double > dashArray = new ArrayList<>(
+                    shape.getStrokeDashArray().size() );
+            for ( final Double dash : shape.getStrokeDashArray() ) {
+                dashArray.add( Double.valueOf( dash.doubleValue()
+                                               * lengthScale ) );
+            }
+
+            final Paint stroke = shape.getStroke();
+            StyleGroup styleGroup = null;
+            for ( final StyleGroup candidate : styleGroups ) {
+                if ( candidate.hasStyle( stroke, dashArray, strokeScale ) ) {
+                    styleGroup = candidate;
+                    break;
+                }
+            }
+            if ( styleGroup == null ) {
+                styleGroup = new StyleGroup( stroke, dashArray, strokeScale );
+                styleGroups.add( styleGroup );
+            }
+
+            if ( !PathUtilities.appendShape( styleGroup._elements, shape ) ) {
+                return null;
+            }
+        }
+
+        // Release the scratch shapes, which are no longer needed.
+        scratchContainer.clearShapes();
+
+        return new DxfBlockTemplate( Collections.unmodifiableList(
+                styleGroups ) );
+    }
+
+    /**
+     * Adds one Path per style of this template to a container, which shares
+     * the path elements of this template.
+     *
+     * @param dxfShapeContainer The Scene Graph Group container for the paths
+     * @param transform         The combined transform of the Block Reference
+     * @param strokeScale       The stroke scale of the Block Reference
+     */
+    public void addInstance( final DxfShapeContainer dxfShapeContainer,
+                             final Affine transform,
+                             final double strokeScale ) {
+        for ( final StyleGroup styleGroup : _styleGroups ) {
+            final Path path = new Path( styleGroup._elements );
+
+            path.setStroke( styleGroup._stroke );
+
+            // The merged outlines are wireframe only.
+            path.setFill( null );
+
+            if ( !styleGroup._dashArray.isEmpty() ) {
+                path.getStrokeDashArray().setAll( styleGroup._dashArray );
+            }
+
+            dxfShapeContainer.addShape( strokeScale * styleGroup._strokeScale,
+                                        path,
+                                        transform );
+        }
+    }
+
+    /**
+     * @return the number of Paths that each Block Reference adds
+     */
+    public int getNumberOfStyles() {
+        return _styleGroups.size();
+    }
+
+    /**
+     * @return the number of path elements that are shared by all Block
+     *         References
+     */
+    public int getNumberOfPathElements() {
+        int numberOfPathElements = 0;
+        for ( final StyleGroup styleGroup : _styleGroups ) {
+            numberOfPathElements += styleGroup._elements.size();
+        }
+
+        return numberOfPathElements;
+    }
+}// class DxfBlockTemplate
@@ -0,0 +1,476 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.fx;
+
+import com.mhschmieder.fxdxfparser.entity.DxfEntity;
+import com.mhschmieder.fxdxfparser.entity.DxfInsert;
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.DxfConversionOptions;
+import com.mhschmieder.fxdxfparser.geometry.TransformMode;
+import com.mhschmieder.fxdxfparser.loader.DxfBlock;
+import com.mhschmieder.fxdxfparser.loader.DxfLayer;
+import com.mhschmieder.fxdxfparser.loader.DxfLineType;
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+
+import javafx.scene.transform.Affine;
+
+/**
+ * This converts the entities of a block, and of all the blocks that it
+ * inserts, to JavaFX Shapes by iterating over an explicit stack of nested
+ * Block References rather than by recursion, so that deeply nested drawings
+ * cannot overflow the call stack.
+ * <p>
+ * The transform of each nesting level is composed in a primitive matrix that
+ * is re-used for that level, and a JavaFX transform is only made for levels
+ * that actually add shapes. Nesting deeper than the maximum nesting depth of
+ * the conversion options is skipped, which also stops self-referencing
+ * blocks, and the conversion stops once its shape budget is spent.
+ * <p>
+ * If the transform mode is {@link TransformMode#GROUPED}, each level is
+ * converted into a Group of its own that carries the transform of its Block
+ * Reference.
+ * <p>
+ * If layer groups are enabled, the shapes of each entity go to the Group of
+ * its layer instead, where entities on layer "0" within a block take on the
+ * layer of the Block Reference that inserts them. Block References are then
+ * neither instanced nor grouped by transform.
+ * <p>
+ * If the node index is enabled, the shapes are indexed by the handle of the
+ * entity of the converted block that they belong to, which is the outermost
+ * Block Reference for the shapes of nested blocks.
+ * <p>
+ * Traversals are pooled per thread; more than one can be active at a time on
+ * a thread, as making a block template converts that block from within the
+ * traversal that needs the template.
+ */
+public final class DxfBlockTraversal {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private static final ThreadLocal< ArrayDeque< DxfBlockTraversal > > POOL
+            = ThreadLocal.withInitial( ArrayDeque::new );
+
+    // The stack of nested blocks, as parallel arrays indexed by level; the
+    // primitive transforms are allocated once per level and then re-used.
+    private DxfBlock[] _blocks;
+    private List< DxfEntity >[] _entities;
+    private int[] _nextEntityIndices;
+    private Affine2D[] _transforms;
+    private Affine[] _fxTransforms;
+    private double[] _strokeScales;
+    private int[] _colorIndices;
+    private DxfLineType[] _lineTypes;
+    private DxfLayer[] _layers;
+    private boolean[] _grouped;
+    private int _depth;
+
+    // The transform of the context of a Block Reference that is converted on
+    // its own, which is not on the stack itself.
+    private final Affine2D _insertContextTransform;
+
+    private DxfShapeContainer _dxfShapeContainer;
+    private DxfConversionOptions _conversionOptions;
+    private boolean _layerGroupsEnabled;
+    private boolean _indexingHandles;
+    private long _shapeLimit;
+    private boolean _shapeBudgetSpent;
+    private int _numberOfFailures;
+
+    @SuppressWarnings( { "unchecked", "rawtypes" } )
+    private DxfBlockTraversal() {
+        _blocks = new DxfBlock[ INITIAL_CAPACITY ];
+        _entities = new List[ INITIAL_CAPACITY ];
+        _nextEntityIndices = new int[ INITIAL_CAPACITY ];
+        _transforms = new Affine2D[ INITIAL_CAPACITY ];
+        for ( int i = 0; i < INITIAL_CAPACITY; i++ ) {
+            _transforms[ i ] = new Affine2D();
+        }
+        _fxTransforms = new Affine[ INITIAL_CAPACITY ];
+        _strokeScales = new double[ INITIAL_CAPACITY ];
+        _colorIndices = new int[ INITIAL_CAPACITY ];
+        _lineTypes = new DxfLineType[ INITIAL_CAPACITY ];
+        _layers = new DxfLayer[ INITIAL_CAPACITY ];
+        _grouped = new boolean[ INITIAL_CAPACITY ];
+        _depth = 0;
+
+        _insertContextTransform = new Affine2D();
+    }
+
+    /**
+     * Converts the entities of a block, including those of nested blocks.
+     *
+     * @param block             The block to convert
+     * @param dxfShapeContainer The Scene Graph Group container for the shapes
+     * @param transform         The combined transform to apply to the block
+     * @param strokeScale       The initial stroke scale
+     * @return {@code true} if all entities that are directly owned by the
+     *         block were converted, and the shape budget was not spent
+     */
+    public static boolean convertBlock( final DxfBlock block,
+                                        final DxfShapeContainer dxfShapeContainer,
+                                        final Affine transform,
+                                        final double strokeScale ) {
+        final DxfBlockTraversal traversal = acquire( dxfShapeContainer );
+        try {
+            traversal.push( block,
+                            transform,
+                            strokeScale,
+                            block.getCurrentColorIndex(),
+                            block.getCurrentLineType(),
+                            null );
+            traversal._indexingHandles = traversal._conversionOptions
+                    .isNodeIndexEnabled();
+            traversal.run();
+
+            return ( traversal._numberOfFailures == 0 )
+                   && !traversal._shapeBudgetSpent;
+        }
+        finally {
+            release( traversal );
+        }
+    }
+
+    /**
+     * Converts the block of a Block Reference, including nested blocks.
+     *
+     * @param insert            The Block Reference to convert
+     * @param dxfShapeContainer The Scene Graph Group container for the shapes
+     * @param transform         The combined transform of the block that
+     *                          contains the Block Reference
+     * @param strokeScale       The stroke scale of the block that contains
+     *                          the Block Reference
+     * @return {@code true} if the referenced block was converted
+     */
+    public static boolean convertInsert( final DxfInsert insert,
+                                         final DxfShapeContainer dxfShapeContainer,
+                                         final Affine transform,
+                                         final double strokeScale ) {
+        final DxfBlockTraversal traversal = acquire( dxfShapeContainer );
+        try {
+            TransformUtilities.setTo( traversal._insertContextTransform,
+                                     transform );
+            if ( !traversal.enterInsert( insert,
+                                         traversal._insertContextTransform,
+                                         strokeScale,
+                                         false,
+                                         null ) ) {
+                return false;
+            }
+            traversal.run();
+
+            return true;
+        }
+        finally {
+            release( traversal );
+        }
+    }
+
+    private static DxfBlockTraversal acquire( final DxfShapeContainer dxfShapeContainer ) {
+        final DxfBlockTraversal pooledTraversal = POOL.get().pollFirst();
+        final DxfBlockTraversal traversal = ( pooledTraversal != null )
+                                            ? pooledTraversal
+                                            : new DxfBlockTraversal();
+
+        final DxfConversionOptions conversionOptions = dxfShapeContainer
+                .getConversionOptions();
+        final int maximumNumberOfShapes = conversionOptions
+                .getMaximumNumberOfShapes();
+        traversal._dxfShapeContainer = dxfShapeContainer;
+        traversal._conversionOptions = conversionOptions;
+        traversal._layerGroupsEnabled = conversionOptions
+                .isLayerGroupsEnabled();
+        traversal._indexingHandles = false;
+        traversal._shapeLimit = ( maximumNumberOfShapes > 0 )
+                                ? ( long ) dxfShapeContainer.getNumberOfShapes()
+                                  + maximumNumberOfShapes
+                                : Long.MAX_VALUE;
+        traversal._shapeBudgetSpent = false;
+        traversal._numberOfFailures = 0;
+
+        return traversal;
+    }
+
+    private static void release( final DxfBlockTraversal traversal ) {
+        while ( traversal._depth > 0 ) {
+            traversal.pop();
+        }
+        if ( traversal._layerGroupsEnabled ) {
+            traversal._dxfShapeContainer.setCurrentLayer( null );
+        }
+        if ( traversal._indexingHandles ) {
+            traversal._dxfShapeContainer.setCurrentHandle(
+                    DxfNodeIndex.NO_HANDLE );
+        }
+        traversal._dxfShapeContainer = null;
+        traversal._conversionOptions = null;
+
+        POOL.get().addFirst( traversal );
+    }
+
+    private void run() {
+        while ( _depth > 0 ) {
+            final int level = _depth - 1;
+            final List< DxfEntity > entities = _entities[ level ];
+            if ( _nextEntityIndices[ level ] >= entities.size() ) {
+                pop();
+                continue;
+            }
+            if ( _dxfShapeContainer.getNumberOfShapes() >= _shapeLimit ) {
+                _shapeBudgetSpent = true;
+                break;
+            }
+
+            final DxfEntity dxfEntity = entities
+                    .get( _nextEntityIndices[ level ]++ );
+
+            // The by-block properties are restored for each entity, as they
+            // are shared by all nesting levels that insert the same block.
+            final DxfBlock block = _blocks[ level ];
+            block.setCurrentColor( _colorIndices[ level ] );
+            block.setCurrentLineType( _lineTypes[ level ] );
+
+            dxfEntity.setCurrentPropertyOverriding( block
+                    .getPropertyOverriding() );
+            if ( _indexingHandles && ( level == 0 ) ) {
+                _dxfShapeContainer.setCurrentHandle( DxfNodeIndex.parseHandle(
+                        dxfEntity.getHandle() ) );
+            }
+            if ( _layerGroupsEnabled ) {
+                _dxfShapeContainer.setCurrentLayer( getEffectiveLayer(
+                        dxfEntity,
+                        _layers[ level ] ) );
+            }
+            final boolean succeeded;
+            try {
+                succeeded = ( dxfEntity instanceof DxfInsert )
+                            ? convertNestedInsert( ( DxfInsert ) dxfEntity,
+                                                   level )
+                            : DxfEntityConverter.convertToFxShapesCulled(
+                                    dxfEntity,
+                                    _dxfShapeContainer,
+                                    getFxTransform( level ),
+                                    _strokeScales[ level ] );
+            }
+            finally {
+                dxfEntity.setCurrentPropertyOverriding( null );
+            }
+
+            // Only failures of the entities of the outermost block count, as
+            // was always the case for nested blocks.
+            if ( !succeeded && ( level == 0 ) ) {
+                _numberOfFailures++;
+            }
+        }
+    }
+
+    private boolean convertNestedInsert( final DxfInsert insert,
+                                         final int level ) {
+        if ( _conversionOptions.isBelowMinimumPixelSize( insert.getExtents(),
+                                                         _transforms[ level ] ) ) {
+            return DxfEntityConverter.convertToFxStub( insert,
+                                                       _dxfShapeContainer,
+                                                       getFxTransform( level ),
+                                                       _strokeScales[ level ] );
+        }
+
+        return enterInsert( insert,
+                            _transforms[ level ],
+                            _strokeScales[ level ],
+                            _grouped[ level ],
+                            _layers[ level ] );
+    }
+
+    /**
+     * Returns the layer that an entity is shown on, which for entities on
+     * layer "0" within a Block Reference is the layer of the Block Reference.
+     */
+    private static DxfLayer getEffectiveLayer( final DxfEntity dxfEntity,
+                                               final DxfLayer inheritedLayer ) {
+        return ( ( inheritedLayer != null ) && dxfEntity.isOnLayerZero() )
+               ? inheritedLayer
+               : dxfEntity.getLayer();
+    }
+
+    private boolean enterInsert( final DxfInsert insert,
+                                 final Affine2D contextTransform,
+                                 final double contextStrokeScale,
+                                 final boolean contextGrouped,
+                                 final DxfLayer contextLayer ) {
+        // Ignore blocks if they are on switched-off layers, unless they are
+        // converted to the hidden Groups of those layers.
+        if ( !insert.isLayerOn() && !_layerGroupsEnabled ) {
+            return false;
+        }
+
+        final DxfBlock block = insert.getBlock();
+        if ( block == null ) {
+            return false;
+        }
+
+        if ( _depth >= _conversionOptions.getMaximumNestingDepth() ) {
+            return false;
+        }
+
+        // The transform is composed in the slot of the next level, which is
+        // only pushed if the block is not instanced instead.
+        ensureCapacity( _depth + 1 );
+        final Affine2D blockTransform = _transforms[ _depth ];
+        blockTransform.setToConcatenation( contextTransform,
+                                           insert.getBlockTransform() );
+
+        final DxfLineType lineType = insert.getLineType();
+        final int colorIndex = insert.getRealColorIndex();
+        final double strokeScale = insert.getStrokeScale() * contextStrokeScale;
+
+        final boolean grouped = !_layerGroupsEnabled && ( _conversionOptions
+                .getTransformMode() == TransformMode.GROUPED );
+        final Affine fxTransform = grouped
+                                   ? TransformUtilities.toAffine( blockTransform )
+                                   : null;
+        if ( grouped ) {
+            // The Group of a Block Reference is relative to the Group of the
+            // enclosing Block Reference, if there is one.
+            final Affine relativeTransform = contextGrouped
+                                             ? TransformUtilities.toAffine(
+                                                     insert.getBlockTransform() )
+                                             : fxTransform;
+            _dxfShapeContainer.beginTransformGroup( relativeTransform,
+                                                    fxTransform );
+        }
+
+        if ( _conversionOptions.isBlockInstancingEnabled()
+             && !_layerGroupsEnabled ) {
+            final DxfBlockTemplate template = DxfBlockTemplate.getTemplate(
+                    block,
+                    colorIndex,
+                    lineType );
+            if ( template != null ) {
+                template.addInstance( _dxfShapeContainer,
+                                      grouped
+                                      ? fxTransform
+                                      : TransformUtilities.toAffine(
+                                              blockTransform ),
+                                      strokeScale );
+                if ( grouped ) {
+                    _dxfShapeContainer.endTransformGroup();
+                }
+                return true;
+            }
+        }
+
+        push( block,
+              fxTransform,
+              strokeScale,
+              colorIndex,
+              lineType,
+              getEffectiveLayer( insert, contextLayer ) );
+        _grouped[ _depth - 1 ] = grouped;
+
+        return true;
+    }
+
+    /**
+     * Pushes a nesting level, whose primitive transform must already be set
+     * unless a JavaFX transform is given for it.
+     */
+    private void push( final DxfBlock block,
+                       final Affine fxTransform,
+                       final double strokeScale,
+                       final int colorIndex,
+                       final DxfLineType lineType,
+                       final DxfLayer layer ) {
+        ensureCapacity( _depth + 1 );
+        if ( fxTransform != null ) {
+            TransformUtilities.setTo( _transforms[ _depth ], fxTransform );
+        }
+        _blocks[ _depth ] = block;
+        _entities[ _depth ] = block.getEntities();
+        _nextEntityIndices[ _depth ] = 0;
+        _fxTransforms[ _depth ] = fxTransform;
+        _grouped[ _depth ] = false;
+        _strokeScales[ _depth ] = strokeScale;
+        _colorIndices[ _depth ] = colorIndex;
+        _lineTypes[ _depth ] = lineType;
+        _layers[ _depth ] = layer;
+        _depth++;
+    }
+
+    private void pop() {
+        _depth--;
+        if ( _grouped[ _depth ] ) {
+            _dxfShapeContainer.endTransformGroup();
+            _grouped[ _depth ] = false;
+        }
+
+        // Release the references, so that pooled traversals hold no shapes.
+        _blocks[ _depth ] = null;
+        _entities[ _depth ] = null;
+        _fxTransforms[ _depth ] = null;
+        _lineTypes[ _depth ] = null;
+        _layers[ _depth ] = null;
+    }
+
+    private Affine getFxTransform( final int level ) {
+        if ( _fxTransforms[ level ] == null ) {
+            // All shapes of a level share the same JavaFX transform.
+            _fxTransforms[ level ] = TransformUtilities.toAffine(
+                    _transforms[ level ] );
+        }
+
+        return _fxTransforms[ level ];
+    }
+
+    private void ensureCapacity( final int capacity ) {
+        if ( capacity <= _transforms.length ) {
+            return;
+        }
+
+        final int oldCapacity = _transforms.length;
+        final int newCapacity = FastMath.max( capacity, 2 * oldCapacity );
+        _blocks = Arrays.copyOf( _blocks, newCapacity );
+        _entities = Arrays.copyOf( _entities, newCapacity );
+        _nextEntityIndices = Arrays.copyOf( _nextEntityIndices, newCapacity );
+        _transforms = Arrays.copyOf( _transforms, newCapacity );
+        _fxTransforms = Arrays.copyOf( _fxTransforms, newCapacity );
+        _strokeScales = Arrays.copyOf( _strokeScales, newCapacity );
+        _colorIndices = Arrays.copyOf( _colorIndices, newCapacity );
+        _lineTypes = Arrays.copyOf( _lineTypes, newCapacity );
+        _layers = Arrays.copyOf( _layers, newCapacity );
+        _grouped = Arrays.copyOf( _grouped, newCapacity );
+        for ( int i = oldCapacity; i < newCapacity; i++ ) {
+            _transforms[ i ] = new Affine2D();
+        }
+    }
+}// class DxfBlockTraversal
@@ -0,0 +1,993 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.fx;
+
+import com.mhschmieder.fxdxfparser.entity.DxfArc;
+import com.mhschmieder.fxdxfparser.entity.DxfCircle;
+import com.mhschmieder.fxdxfparser.entity.DxfDimension;
+import com.mhschmieder.fxdxfparser.entity.DxfEllipse;
+import com.mhschmieder.fxdxfparser.entity.DxfEntity;
+import com.mhschmieder.fxdxfparser.entity.DxfFace3D;
+import com.mhschmieder.fxdxfparser.entity.DxfFaceDef;
+import com.mhschmieder.fxdxfparser.entity.DxfInsert;
+import com.mhschmieder.fxdxfparser.entity.DxfLine;
+import com.mhschmieder.fxdxfparser.entity.DxfLwPolyline;
+import com.mhschmieder.fxdxfparser.entity.DxfPoint;
+import com.mhschmieder.fxdxfparser.entity.DxfPolyFaceMesh;
+import com.mhschmieder.fxdxfparser.entity.DxfPolygonMesh;
+import com.mhschmieder.fxdxfparser.entity.DxfPolyline;
+import com.mhschmieder.fxdxfparser.entity.DxfRay;
+import com.mhschmieder.fxdxfparser.entity.DxfSolid;
+import com.mhschmieder.fxdxfparser.entity.DxfVertex;
+import com.mhschmieder.fxdxfparser.entity.DxfXLine;
+import com.mhschmieder.fxdxfparser.geometry.CoordinateBuffer;
+import com.mhschmieder.fxdxfparser.geometry.DxfConversionOptions;
+import com.mhschmieder.fxdxfparser.geometry.EllipticalArc2D;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
+import com.mhschmieder.fxdxfparser.geometry.Vectorization;
+import com.mhschmieder.fxdxfparser.loader.DxfBlock;
+import com.mhschmieder.fxdxfparser.loader.DxfLineType;
+import com.mhschmieder.fxdxfparser.structure.DxfTessellationCache;
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.collections.ObservableList;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Arc;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Ellipse;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Polyline;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Affine;
+import javafx.scene.transform.Rotate;
+import javafx.scene.transform.Transform;
+import javafx.scene.transform.Translate;
+
+/**
+ * This converts the entities of a DXF document to JavaFX Shapes, hosted by a
+ * {@link DxfShapeContainer}. The entities of the fxdxfparser.core module know
+ * nothing of JavaFX, so the conversion of each type of entity is kept here.
+ * <p>
+ * Blocks and Block References are converted by {@link DxfBlockTraversal},
+ * which comes back here for each of the entities that they contain.
+ */
+public final class DxfEntityConverter {
+
+    /**
+     * @param entity The entity to get the color of
+     * @return the JavaFX color of the entity
+     * @see DxfEntity#getRealColorIndex
+     */
+    public static Color getColor( final DxfEntity entity ) {
+        return DxfFxColors.indexToColor( entity.getRealColorIndex() );
+    }
+
+    /**
+     * Converts an entity to JavaFX Shapes.
+     *
+     * @param entity            The entity to convert
+     * @param dxfShapeContainer The Scene Graph Group container for all graphics
+     *                          required to represent this entity
+     * @param transform         The combined transform to apply; including any
+     *                          from nested blocks
+     * @param strokeScale       The initial stroke scale to approximate the
+     *                          client's preferred line thickness
+     * @return {@code true} if the entity was converted
+     */
+    public static boolean convertToFxShapes( final DxfEntity entity,
+                                             final DxfShapeContainer dxfShapeContainer,
+                                             final Affine transform,
+                                             final double strokeScale ) {
+        // NOTE: Sub-classes are checked ahead of the entities they extend.
+        if ( entity instanceof DxfLine ) {
+            return convertLine( ( DxfLine ) entity,
+                                dxfShapeContainer,
+                                transform,
+                                strokeScale );
+        }
+        else if ( entity instanceof DxfArc ) {
+            return convertArc( ( DxfArc ) entity,
+                               dxfShapeContainer,
+                               transform,
+                               strokeScale );
+        }
+        else if ( entity instanceof DxfCircle ) {
+            return convertCircle( ( DxfCircle ) entity,
+                                  dxfShapeContainer,
+                                  transform,
+                                  strokeScale );
+        }
+        else if ( entity instanceof DxfEllipse ) {
+            return convertEllipse( ( DxfEllipse ) entity,
+                                   dxfShapeContainer,
+                                   transform,
+                                   strokeScale );
+        }
+        else if ( entity instanceof DxfXLine ) {
+            return convertXLine( ( DxfXLine ) entity,
+                                 dxfShapeContainer,
+                                 transform,
+                                 strokeScale );
+        }
+        else if ( entity instanceof DxfRay ) {
+            return convertRay( ( DxfRay ) entity,
+                               dxfShapeContainer,
+                               transform,
+                               strokeScale );
+        }
+        else if ( entity instanceof DxfLwPolyline ) {
+            return convertLwPolyline( ( DxfLwPolyline ) entity,
+                                      dxfShapeContainer,
+                                      transform,
+                                      strokeScale );
+        }
+        else if ( entity instanceof DxfPolyFaceMesh ) {
+            return convertPolyFaceMesh( ( DxfPolyFaceMesh ) entity,
+                                        dxfShapeContainer,
+                                        transform,
+                                        strokeScale );
+        }
+        else if ( entity instanceof DxfPolygonMesh ) {
+            return convertPolygonMesh( ( DxfPolygonMesh ) entity,
+                                       dxfShapeContainer,
+                                       transform,
+                                       strokeScale );
+        }
+        else if ( entity instanceof DxfPolyline ) {
+            return convertPolyline( ( DxfPolyline ) entity,
+                                    dxfShapeContainer,
+                                    transform,
+                                    strokeScale );
+        }
+        else if ( entity instanceof DxfSolid ) {
+            return convertSolid( ( DxfSolid ) entity,
+                                 dxfShapeContainer,
+                                 transform,
+                                 strokeScale );
+        }
+        else if ( entity instanceof DxfFace3D ) {
+            return convertFace3D( ( DxfFace3D ) entity,
+                                  dxfShapeContainer,
+                                  transform,
+                                  strokeScale );
+        }
+        else if ( entity instanceof DxfDimension ) {
+            return convertDimension( ( DxfDimension ) entity,
+                                     dxfShapeContainer,
+                                     transform,
+                                     strokeScale );
+        }
+        else if ( entity instanceof DxfInsert ) {
+            // Nested Block References are traversed iteratively from here on.
+            return DxfBlockTraversal.convertInsert( ( DxfInsert ) entity,
+                                                    dxfShapeContainer,
+                                                    transform,
+                                                    strokeScale );
+        }
+        else if ( entity instanceof DxfPoint ) {
+            // TODO: Implement this, using the PDMODE and PDSIZE global
+            // variables to determine the shape to use for the "displayable
+            // point", vs. assuming just a point on screen (done as line with
+            // start=end).
+            return false;
+        }
+
+        return false; // nada que dibujar
+    }
+
+    /**
+     * Converts an entity to JavaFX Shapes unless its projected size is below
+     * the minimum pixel size of the container's conversion options, in which
+     * case a cheaper stand-in may be converted instead.
+     *
+     * @param entity            The entity to convert
+     * @param dxfShapeContainer The Scene Graph Group container for all graphics
+     *                          required to represent this entity
+     * @param transform         The combined transform to apply; including any
+     *                          from nested blocks
+     * @param strokeScale       The initial stroke scale to approximate the
+     *                          client's preferred line thickness
+     * @return {@code true} if the entity was converted or deliberately culled
+     */
+    public static boolean convertToFxShapesCulled( final DxfEntity entity,
+                                                   final DxfShapeContainer dxfShapeContainer,
+                                                   final Affine transform,
+                                                   final double strokeScale ) {
+        final DxfConversionOptions conversionOptions = dxfShapeContainer
+                .getConversionOptions();
+        final double transformScale = TransformUtilities.getTransformScale(
+                transform );
+        if ( conversionOptions.isBelowMinimumPixelSize( entity.getExtents(),
+                                                        transformScale ) ) {
+            // Only Block References have a stand-in; anything else that is
+            // too small on screen is not converted at all.
+            if ( entity instanceof DxfInsert ) {
+                return convertToFxStub( ( DxfInsert ) entity,
+                                        dxfShapeContainer,
+                                        transform,
+                                        strokeScale );
+            }
+
+            return true;
+        }
+
+        return convertToFxShapes( entity,
+                                  dxfShapeContainer,
+                                  transform,
+                                  strokeScale );
+    }
+
+    /**
+     * Converts a stand-in for a Block Reference for when it is too small on
+     * screen to be worth converting in full, which is an outline of its
+     * bounds if the container's conversion options stub tiny inserts, and
+     * otherwise nothing at all.
+     *
+     * @param insert            The Block Reference to convert a stand-in for
+     * @param dxfShapeContainer The Scene Graph Group container for all graphics
+     *                          required to represent this entity
+     * @param transform         The combined transform to apply; including any
+     *                          from nested blocks
+     * @param strokeScale       The initial stroke scale to approximate the
+     *                          client's preferred line thickness
+     * @return {@code true} unless the stand-in failed to convert
+     */
+    public static boolean convertToFxStub( final DxfInsert insert,
+                                           final DxfShapeContainer dxfShapeContainer,
+                                           final Affine transform,
+                                           final double strokeScale ) {
+        if ( !dxfShapeContainer.getConversionOptions().isStubbingTinyInserts() ) {
+            return true;
+        }
+
+        // Ignore blocks if they are on switched-off layers.
+        if ( !isLayerConverted( insert, dxfShapeContainer ) ) {
+            return false;
+        }
+
+        // NOTE: The bounds already include the Block Reference transform, so
+        // the stub only needs the transform of the enclosing block, and the
+        // stroke is not scaled by the Block Reference either.
+        final Extents2D extents = insert.getExtents();
+        final Rectangle stub = new Rectangle( extents.getMinX(),
+                                              extents.getMinY(),
+                                              extents.getWidth(),
+                                              extents.getHeight() );
+
+        stub.setStroke( getColor( insert ) );
+
+        // The stub is an outline-only stand-in.
+        stub.setFill( null );
+
+        dxfShapeContainer.addShape( strokeScale, stub, transform );
+
+        return true;
+    }
+
+    /**
+     * Converts all of the entities of a block, and of the blocks that they
+     * insert, to JavaFX Shapes.
+     *
+     * @param block             The block to convert
+     * @param dxfShapeContainer The Scene Graph Group container for all graphics
+     *                          required to represent the block
+     * @param transform         The combined transform to apply; including any
+     *                          from nested blocks
+     * @param strokeScale       The initial stroke scale to approximate the
+     *                          client's preferred line thickness
+     * @return {@code true} unless the conversion was cut short
+     */
+    public static boolean convertBlock( final DxfBlock block,
+                                        final DxfShapeContainer dxfShapeContainer,
+                                        final Affine transform,
+                                        final double strokeScale ) {
+        if ( block.getEntitiesCount() == 0 ) {
+            return true;
+        }
+
+        // Nested blocks are converted by an iterative traversal, so that
+        // deeply nested drawings cannot overflow the call stack.
+        return DxfBlockTraversal.convertBlock( block,
+                                               dxfShapeContainer,
+                                               transform,
+                                               strokeScale );
+    }
+
+    /**
+     * Entities on switched-off layers are normally not converted at all, but
+     * if the container keeps a Group per layer, they are converted anyway, as
+     * the Group of their layer is then hidden instead.
+     *
+     * @param entity            The entity to convert
+     * @param dxfShapeContainer The Scene Graph Group container for the shapes
+     * @return {@code true} if the entity is to be converted to shapes
+     */
+    private static boolean isLayerConverted( final DxfEntity entity,
+                                             final DxfShapeContainer dxfShapeContainer ) {
+        return entity.isLayerOn() || dxfShapeContainer.getConversionOptions()
+                .isLayerGroupsEnabled();
+    }
+
+    private static double getLineTypeScale( final DxfEntity entity ) {
+        return entity._dxfDoc.getGlobalLineTypeScale() * entity._lineTypeScale;
+    }
+
+    private static boolean convertLine( final DxfLine dxfLine,
+                                        final DxfShapeContainer dxfShapeContainer,
+                                        final Affine transform,
+                                        final double strokeScale ) {
+        if ( !isLayerConverted( dxfLine, dxfShapeContainer ) ) {
+            return false;
+        }
+
+        final Color color = getColor( dxfLine );
+        final DxfLineType lineType = dxfLine.getLineType();
+
+        final Line line = new Line( dxfLine.getStartX(),
+                                    dxfLine.getStartY(),
+                                    dxfLine.getEndX(),
+                                    dxfLine.getEndY() );
+
+        line.setStroke( color );
+
+        PolylineShapeUtilities.applyLineType( line,
+                                              lineType,
+                                              getLineTypeScale( dxfLine ) );
+
+        dxfShapeContainer.addShape( strokeScale, line, transform );
+
+        return true;
+    }
+
+    private static boolean convertArc( final DxfArc dxfArc,
+                                       final DxfShapeContainer dxfShapeContainer,
+                                       final Affine transform,
+                                       final double strokeScale ) {
+        if ( !isLayerConverted( dxfArc, dxfShapeContainer ) ) {
+            return false;
+        }
+
+        final Color color = getColor( dxfArc );
+        final DxfLineType lineType = dxfArc.getLineType();
+
+        // Both DXF and JavaFX set zero degrees to the positive x-axis and
+        // measure angles counter-clockwise, but JavaFX confuses matters by
+        // asking for an angle extent instead of an end angle, so we essentially
+        // have to invert the angle differential and then do a simple test to
+        // determine angle stroke direction (which we compensate using a 360
+        // degree offset). Accurate documentation was hard to come by!
+        final double startAngle = dxfArc.getStartAngle();
+        final double endAngle = dxfArc.getEndAngle();
+        double arcExtentDeg = startAngle - endAngle;
+        if ( endAngle < startAngle ) {
+            arcExtentDeg -= 360d;
+        }
+        final Arc arc = new Arc( dxfArc.getCenterX(),
+                                 dxfArc.getCenterY(),
+                                 dxfArc.getRadius(),
+                                 dxfArc.getRadius(),
+                                 -startAngle,
+                                 arcExtentDeg );
+
+        arc.setStroke( color );
+
+        // Arc is an outline-only entity.
+        arc.setFill( null );
+
+        PolylineShapeUtilities.applyLineType( arc,
+                                              lineType,
+                                              getLineTypeScale( dxfArc ) );
+
+        dxfShapeContainer.addShape( strokeScale, arc, transform );
+
+        return true;
+    }
+
+    private static boolean convertCircle( final DxfCircle dxfCircle,
+                                          final DxfShapeContainer dxfShapeContainer,
+                                          final Affine transform,
+                                          final double strokeScale ) {
+        if ( !isLayerConverted( dxfCircle, dxfShapeContainer ) ) {
+            return false;
+        }
+
+        final Color color = getColor( dxfCircle );
+        final DxfLineType lineType = dxfCircle.getLineType();
+
+        final Circle circle = new Circle( dxfCircle.getCenterX(),
+                                          dxfCircle.getCenterY(),
+                                          dxfCircle.getRadius() );
+
+        circle.setStroke( color );
+
+        // Circle is an outline-only entity.
+        circle.setFill( null );
+
+        PolylineShapeUtilities.applyLineType( circle,
+                                              lineType,
+                                              getLineTypeScale( dxfCircle ) );
+
+        dxfShapeContainer.addShape( strokeScale, circle, transform );
+        return true;
+    }
+
+    private static boolean convertEllipse( final DxfEllipse dxfEllipse,
+                                           final DxfShapeContainer dxfShapeContainer,
+                                           final Affine transform,
+                                           final double strokeScale ) {
+        if ( !isLayerConverted( dxfEllipse, dxfShapeContainer ) ) {
+            return false;
+        }
+
+        final Color color = getColor( dxfEllipse );
+        final DxfLineType lineType = dxfEllipse.getLineType();
+
+        final double centerX = dxfEllipse.getCenterX();
+        final double centerY = dxfEllipse.getCenterY();
+        final double endMajorAxisOffsetX = dxfEllipse.getEndMajorAxisOffsetX();
+        final double endMajorAxisOffsetY = dxfEllipse.getEndMajorAxisOffsetY();
+        final double ratioMinorAxis = dxfEllipse.getRatioMinorAxis();
+        final double startAngle = dxfEllipse.getStartAngle();
+        final double endAngle = dxfEllipse.getEndAngle();
+        final boolean closed = dxfEllipse.isClosed();
+
+        // TODO: Find out why Block References have a translational offset
+        // issue along the y-axis, for open and closed ellipses, and are
+        // affected dramatically by transform order, and then maybe simplify the
+        // transform order to apply the passed in transform last, if we continue
+        // to bypass direct shape translation when the passed-in transform is
+        // not the identify matrix (as is the case for a Block Reference).
+        if ( ( lineType == null ) || lineType.isContinuous() ) {
+            if ( closed ) {
+                if ( ratioMinorAxis == 1 ) {
+                    final double radius = FastMath.hypot( endMajorAxisOffsetX,
+                                                          endMajorAxisOffsetY );
+                    final Circle circle = new Circle( centerX,
+                                                      centerY,
+                                                      radius );
+
+                    circle.setStroke( color );
+
+                    // Ellipse is an outline-only entity.
+                    circle.setFill( null );
+
+                    dxfShapeContainer.addShape( strokeScale, circle, transform );
+
+                    return true;
+                }
+                else if ( transform.isIdentity() ) {
+                    // NOTE: The ellipse must be made at the zero origin so
+                    // that the rotation and translation factors can be applied
+                    // in the correct order.
+                    final double radiusMajor = FastMath.hypot(
+                            endMajorAxisOffsetX,
+                            endMajorAxisOffsetY );
+                    final double radiusMinor = radiusMajor * ratioMinorAxis;
+                    final Ellipse ellipse = new Ellipse( 0.0d,
+                                                         0.0d,
+                                                         radiusMajor,
+                                                         radiusMinor );
+
+                    // Find the rotation of the ellipse via the major axis, and
+                    // translate to its center, in the correct order.
+                    final double theta = FastMath.atan2( endMajorAxisOffsetY,
+                                                         endMajorAxisOffsetX );
+                    final Rotate rotate
+                            = new Rotate( FastMath.toDegrees( theta ) );
+                    final Translate translate = new Translate( centerX,
+                                                               centerY );
+
+                    // NOTE: The transform that is passed in must be applied
+                    // last (which means it must be first), as it could be
+                    // from a Block Reference, so the container puts it ahead
+                    // of these, but this also means that we might see a
+                    // translational offset that is incorrect?
+                    final ObservableList< Transform > transforms
+                            = ellipse.getTransforms();
+                    transforms.add( translate );
+                    transforms.add( rotate );
+
+                    ellipse.setStroke( color );
+
+                    // Ellipse is an outline-only entity.
+                    ellipse.setFill( null );
+
+                    dxfShapeContainer.addShape( strokeScale, ellipse, transform );
+
+                    return true;
+                }
+            }
+            else if ( transform.isIdentity() ) {
+                // Both DXF and JavaFX set zero degrees to the positive x-axis
+                // and measure angles counter-clockwise, but JavaFX confuses
+                // matters by asking for an angle extent instead of an end
+                // angle, so we essentially have to invert the angle
+                // differential and then do a simple test to determine angle
+                // stroke direction (which we compensate using a 360 degree
+                // offset). Accurate documentation was hard to come by!
+                // NOTE: The arc must be made at the zero origin so that the
+                // rotation and translation factors can be applied in the
+                // correct order.
+                final double radiusMajor = FastMath.hypot( endMajorAxisOffsetX,
+                                                           endMajorAxisOffsetY );
+                final double radiusMinor = radiusMajor * ratioMinorAxis;
+                double arcExtentDeg = startAngle - endAngle;
+                if ( endAngle < startAngle ) {
+                    arcExtentDeg -= 360d;
+                }
+                final Arc arc = new Arc( 0.0d, // centerX,
+                                         0.0d, // centerY,
+                                         radiusMajor,
+                                         radiusMinor,
+                                         -startAngle,
+                                         arcExtentDeg );
+
+                // Find the rotation of the arc via the major axis, and
+                // translate to its center, in the correct order.
+                // TODO: verify the 90 degree offset of the rotation angle. We
+                // have only one test file that hits this code so far and it
+                // doesn't work correctly otherwise. But there doesn't seem to
+                // be a strong rationale for why the Normal to the Major Axis
+                // angle relative to the x-axis is needed.
+                final double theta = FastMath.atan2( endMajorAxisOffsetY,
+                                                     endMajorAxisOffsetX );
+                final Rotate rotate = new Rotate(
+                        FastMath.toDegrees( theta ) - 90d );
+                final Translate translate = new Translate( centerX, centerY );
+
+                // NOTE: The transform that is passed in must be applied last
+                // (which means it must be first), as it could be from a Block
+                // Reference, so the container puts it ahead of these, but
+                // this also means that we might see a translational offset
+                // that is incorrect?
+                final ObservableList< Transform > transforms
+                        = arc.getTransforms();
+                transforms.add( translate );
+                transforms.add( rotate );
+
+                arc.setStroke( color );
+
+                // Ellipse is an outline-only entity.
+                arc.setFill( null );
+
+                dxfShapeContainer.addShape( strokeScale, arc, transform );
+
+                return true;
+            }
+        }
+
+        // The vectorized ellipse is cached in local coordinates, so that later
+        // conversions at the same tolerance only copy it.
+        final Vectorization vectorization = PolylineShapeUtilities
+                .makeVectorization( dxfShapeContainer, transform );
+        final DxfTessellationCache tessellationCache = dxfEllipse._dxfDoc
+                .getTessellationCache();
+        double[] coordinates = tessellationCache.get( dxfEllipse,
+                                                      vectorization );
+        if ( coordinates == null ) {
+            final EllipticalArc2D arc = dxfEllipse.makeArc();
+
+            final CoordinateBuffer buffer = CoordinateBuffer.getScratchBuffer();
+            arc.vectorize( vectorization, buffer );
+            coordinates = buffer.toArray();
+            tessellationCache.put( dxfEllipse, vectorization, coordinates );
+        }
+
+        PolylineShapeUtilities.convertToFxShapes( dxfShapeContainer,
+                                                  transform,
+                                                  strokeScale,
+                                                  color,
+                                                  lineType,
+                                                  getLineTypeScale( dxfEllipse ),
+                                                  coordinates,
+                                                  coordinates.length,
+                                                  closed );
+
+        return true;
+    }
+
+    private static boolean convertRay( final DxfRay ray,
+                                       final DxfShapeContainer dxfShapeContainer,
+                                       final Affine transform,
+                                       final double strokeScale ) {
+        // Assume 300 meters maximum dimension along any axis, and use this to
+        // multiply the unit vector for ray direction. Add this to the start
+        // point to get an end point for simple line representation.
+        final double endPointX = ray.getBasePointX()
+                                 + ( 300d * ray.getDirectionX() );
+        final double endPointY = ray.getBasePointY()
+                                 + ( 300d * ray.getDirectionY() );
+
+        return convertInfiniteLine( ray,
+                                    dxfShapeContainer,
+                                    transform,
+                                    strokeScale,
+                                    ray.getBasePointX(),
+                                    ray.getBasePointY(),
+                                    endPointX,
+                                    endPointY );
+    }
+
+    private static boolean convertXLine( final DxfXLine xLine,
+                                         final DxfShapeContainer dxfShapeContainer,
+                                         final Affine transform,
+                                         final double strokeScale ) {
+        // Assume 300 meters maximum dimension along any axis, and use this to
+        // multiply the unit vector for ray direction. Add this to the start
+        // point to get an end point for simple line representation.
+        final double startPointX = xLine.getBasePointX()
+                                   - ( 150d * xLine.getDirectionX() );
+        final double startPointY = xLine.getBasePointY()
+                                   - ( 150d * xLine.getDirectionY() );
+        final double endPointX = xLine.getBasePointX()
+                                 + ( 150d * xLine.getDirectionX() );
+        final double endPointY = xLine.getBasePointY()
+                                 + ( 150d * xLine.getDirectionY() );
+
+        return convertInfiniteLine( xLine,
+                                    dxfShapeContainer,
+                                    transform,
+                                    strokeScale,
+                                    startPointX,
+                                    startPointY,
+                                    endPointX,
+                                    endPointY );
+    }
+
+    private static boolean convertInfiniteLine( final DxfRay ray,
+                                                final DxfShapeContainer dxfShapeContainer,
+                                                final Affine transform,
+                                                final double strokeScale,
+                                                final double startPointX,
+                                                final double startPointY,
+                                                final double endPointX,
+                                                final double endPointY ) {
+        if ( !isLayerConverted( ray, dxfShapeContainer ) ) {
+            return false;
+        }
+
+        final Color color = getColor( ray );
+        final DxfLineType lineType = ray.getLineType();
+
+        final Line line = new Line( startPointX,
+                                    startPointY,
+                                    endPointX,
+                                    endPointY );
+
+        line.setStroke( color );
+
+        PolylineShapeUtilities.applyLineType( line,
+                                              lineType,
+                                              getLineTypeScale( ray ) );
+
+        dxfShapeContainer.addShape( strokeScale, line, transform );
+
+        return true;
+    }
+
+    private static boolean convertLwPolyline( final DxfLwPolyline lwPolyline,
+                                              final DxfShapeContainer dxfShapeContainer,
+                                              final Affine transform,
+                                              final double strokeScale ) {
+        if ( !isLayerConverted( lwPolyline, dxfShapeContainer ) ) {
+            return false;
+        }
+        if ( lwPolyline.isDegenerate() ) {
+            return false;
+        }
+
+        if ( PolylineShapeUtilities.convertToFxShapes( dxfShapeContainer,
+                                                       transform,
+                                                       strokeScale,
+                                                       lwPolyline,
+                                                       lwPolyline.getLevelsOfDetail(),
+                                                       lwPolyline.needClose() ) ) {
+            return true;
+        }
+
+        return PolylineShapeUtilities.convertToFxShapes( dxfShapeContainer,
+                                                         transform,
+                                                         strokeScale,
+                                                         lwPolyline,
+                                                         true,
+                                                         lwPolyline.getPolyVertices(),
+                                                         null,
+                                                         lwPolyline.needClose(),
+                                                         lwPolyline.hasWidth() );
+    }
+
+    private static boolean convertPolyline( final DxfPolyline polyline,
+                                            final DxfShapeContainer dxfShapeContainer,
+                                            final Affine transform,
+                                            final double strokeScale ) {
+        if ( !isLayerConverted( polyline, dxfShapeContainer ) ) {
+            return false;
+        }
+        if ( polyline.isDegenerate() ) {
+            return false;
+        }
+
+        if ( PolylineShapeUtilities.convertToFxShapes( dxfShapeContainer,
+                                                       transform,
+                                                       strokeScale,
+                                                       polyline,
+                                                       polyline.getLevelsOfDetail(),
+                                                       polyline.needClose() ) ) {
+            return true;
+        }
+
+        final boolean succeeded = PolylineShapeUtilities.convertToFxShapes(
+                dxfShapeContainer,
+                transform,
+                strokeScale,
+                polyline,
+                polyline.isVertex2D(),
+                polyline.getPolyVertices(),
+                polyline.getVertices(),
+                polyline.needClose(),
+                false );
+
+        return succeeded;
+    }
+
+    private static boolean convertPolyFaceMesh( final DxfPolyFaceMesh polyFaceMesh,
+                                                final DxfShapeContainer dxfShapeContainer,
+                                                final Affine transform,
+                                                final double strokeScale ) {
+        if ( !isLayerConverted( polyFaceMesh, dxfShapeContainer ) ) {
+            return false;
+        }
+
+        final List< DxfFaceDef > faces = polyFaceMesh.getFaces();
+        if ( faces.isEmpty() ) {
+            return true;
+        }
+
+        // Make a closed polygon wireframe for each face.
+        final Color color = getColor( polyFaceMesh );
+        final List< DxfVertex > vertices = polyFaceMesh.getVertices();
+        for ( final DxfFaceDef face : faces ) {
+            final int numberOfVertices = DxfPolyFaceMesh.getNumberOfVertices(
+                    face );
+
+            final List< Double > coordinates = new ArrayList<>(
+                    2 * numberOfVertices );
+            for ( int i = 0; i < numberOfVertices; i++ ) {
+                // NOTE: All of these are base 1 to 0.
+                final DxfVertex vertex = vertices.get( face._iv[ i ] - 1 );
+
+                final int j = 2 * i;
+                coordinates.add( j, Double.valueOf( vertex._x ) );
+                coordinates.add( j + 1, Double.valueOf( vertex._y ) );
+            }
+
+            final Polygon polygon = new Polygon();
+            final ObservableList< Double > polygonCoordinates
+                    = polygon.getPoints();
+            polygonCoordinates.addAll( coordinates );
+
+            // Polyface3D is supposed to be filled with its stroke color.
+            // NOTE: We are better off sticking with wireframe-only for now.
+            polygon.setFill( null ); // color );
+
+            polygon.setStroke( color );
+
+            dxfShapeContainer.addShape( strokeScale, polygon, transform );
+        }
+
+        return true;
+    }
+
+    private static boolean convertPolygonMesh( final DxfPolygonMesh polygonMesh,
+                                               final DxfShapeContainer dxfShapeContainer,
+                                               final Affine transform,
+                                               final double strokeScale ) {
+        if ( !isLayerConverted( polygonMesh, dxfShapeContainer ) ) {
+            return false;
+        }
+
+        final Color color = getColor( polygonMesh );
+        final List< DxfVertex > vertices = polygonMesh.getVertices();
+        final int mCount = polygonMesh.getMCount();
+        final int nCount = polygonMesh.getNCount();
+        for ( int n = 0; n < nCount; n++ ) {
+            final List< Double > coordinates = new ArrayList<>( 2 * mCount );
+            for ( int m = 0; m < mCount; m++ ) {
+                final DxfVertex vertex = vertices.get( ( nCount * m ) + n );
+
+                final int j = 2 * m;
+                coordinates.add( j, Double.valueOf( vertex._x ) );
+                coordinates.add( j + 1, Double.valueOf( vertex._y ) );
+            }
+
+            if ( polygonMesh.isMClosed() ) {
+                final Polygon polygon = new Polygon();
+                final ObservableList< Double > polygonCoordinates
+                        = polygon.getPoints();
+                polygonCoordinates.addAll( coordinates );
+
+                // Polygon3D is supposed to be treated like a wireframe.
+                polygon.setFill( null );
+
+                polygon.setStroke( color );
+
+                dxfShapeContainer.addShape( strokeScale, polygon, transform );
+            }
+            else {
+                final Polyline polyline = new Polyline();
+                final ObservableList< Double > polylineCoordinates
+                        = polyline.getPoints();
+                polylineCoordinates.addAll( coordinates );
+
+                polyline.setStroke( color );
+
+                dxfShapeContainer.addShape( strokeScale, polyline, transform );
+            }
+        }
+
+        for ( int m = 0; m < mCount; m++ ) {
+            final List< Double > coordinates = new ArrayList<>( 2 * nCount );
+            for ( int n = 0; n < nCount; n++ ) {
+                final DxfVertex vertex = vertices.get( ( nCount * m ) + n );
+
+                final int j = 2 * n;
+                coordinates.add( j, Double.valueOf( vertex._x ) );
+                coordinates.add( j + 1, Double.valueOf( vertex._y ) );
+            }
+
+            if ( polygonMesh.isNClosed() ) {
+                final Polygon polygon = new Polygon();
+                final ObservableList< Double > polygonCoordinates
+                        = polygon.getPoints();
+                polygonCoordinates.addAll( coordinates );
+
+                // By default, Polygons are filled, but we only want a
+                // wireframe (to be verified).
+                polygon.setFill( null );
+
+                polygon.setStroke( color );
+
+                dxfShapeContainer.addShape( strokeScale, polygon, transform );
+            }
+            else {
+                final Polyline polyline = new Polyline();
+                final ObservableList< Double > polylineCoordinates
+                        = polyline.getPoints();
+                polylineCoordinates.addAll( coordinates );
+
+                polyline.setStroke( color );
+
+                dxfShapeContainer.addShape( strokeScale, polyline, transform );
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean convertSolid( final DxfSolid solid,
+                                         final DxfShapeContainer dxfShapeContainer,
+                                         final Affine transform,
+                                         final double strokeScale ) {
+        if ( !isLayerConverted( solid, dxfShapeContainer ) ) {
+            return false;
+        }
+
+        final Color color = getColor( solid );
+
+        // NOTE: AutoCAD does not necessarily use the four points in the
+        // order in which they are given; it treats them as a pair of pairs,
+        // and may change the order, resulting in illegal self-intersection.
+        final int numberOfVertices = solid.getNumberOfVertices();
+        final List< Double > coordinates = new ArrayList<>(
+                2 * numberOfVertices );
+        for ( int i = 0; i < numberOfVertices; i++ ) {
+            final int j = 2 * i;
+            coordinates.add( j, Double.valueOf( solid.getVertexX( i ) ) );
+            coordinates.add( j + 1, Double.valueOf( solid.getVertexY( i ) ) );
+        }
+
+        final Polygon polygon = new Polygon();
+        final ObservableList< Double > polygonCoordinates = polygon.getPoints();
+        polygonCoordinates.addAll( coordinates );
+
+        // Solid is supposed to be filled with its stroke color.
+        // NOTE: We are better off sticking with wireframe-only for now.
+        // TODO: Only fill if extrusion is perpendicular to the XY-plane.
+        polygon.setFill( null ); // color );
+
+        polygon.setStroke( color );
+
+        dxfShapeContainer.addShape( strokeScale, polygon, transform );
+
+        return true;
+    }
+
+    private static boolean convertFace3D( final DxfFace3D face3D,
+                                          final DxfShapeContainer dxfShapeContainer,
+                                          final Affine transform,
+                                          final double strokeScale ) {
+        if ( !isLayerConverted( face3D, dxfShapeContainer ) ) {
+            return false;
+        }
+
+        final Color color = getColor( face3D );
+
+        final int numberOfVertices = face3D.getNumberOfVertices();
+
+        // NOTE: AutoCAD does not necessarily use the four points in the
+        // order in which they are given; it treats them as a pair of pairs,
+        // and may change the order, resulting in illegal self-intersection.
+        final List< Double > coordinates = new ArrayList<>(
+                2 * numberOfVertices );
+        for ( int i = 0; i < numberOfVertices; i++ ) {
+            final int j = 2 * i;
+            coordinates.add( j, Double.valueOf( face3D.getVertexX( i ) ) );
+            coordinates.add( j + 1, Double.valueOf( face3D.getVertexY( i ) ) );
+        }
+
+        // TODO: Eliminate common edges if the DXF flag for "isEdgeVisible" is
+        // off for that edge (is it being checked via the invisible flags?).
+        final Polygon polygon = new Polygon();
+        final ObservableList< Double > polygonCoordinates = polygon.getPoints();
+        polygonCoordinates.addAll( coordinates );
+
+        // Face3D is supposed to be filled with its stroke color.
+        // NOTE: We are better off sticking with wireframe-only for now.
+        // TODO: Only fill if shading is turned on (via invisible flags?).
+        polygon.setFill( null ); // color );
+
+        polygon.setStroke( color );
+
+        dxfShapeContainer.addShape( strokeScale, polygon, transform );
+
+        return true;
+    }
+
+    private static boolean convertDimension( final DxfDimension dimension,
+                                             final DxfShapeContainer dxfShapeContainer,
+                                             final Affine transform,
+                                             final double strokeScale ) {
+        if ( !isLayerConverted( dimension, dxfShapeContainer ) ) {
+            return false;
+        }
+
+        final DxfBlock blk = dimension._dxfDoc.getBlock( dimension
+                .getBlockName() );
+        blk.setCurrentColor( dimension.getRealColorIndex() );
+        convertBlock( blk, dxfShapeContainer, transform, strokeScale );
+
+        return true;
+    }
+}// class DxfEntityConverter
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.fx;
+
+import com.mhschmieder.fxdxfparser.loader.DxfColors;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+/**
+ * This holds the JavaFX colors of the DXF Color Index, which are made when
+ * this class is first used, and so are safely published to conversions on
+ * any thread.
+ */
+public final class DxfFxColors {
+
+    // JavaFX Color values in RGB format.
+    private static final Color[] RGB_COLORS_FX
+            = new Color[ DxfColors.NUMBER_OF_DXF_COLORS ];
+    private static final Color DEFAULT_COLOR = toColor( DxfColors.RGB_DEFAULT );
+
+    /**
+     * The color of out-of-range color indices, which was
+     * {@code DxfColors.COLOR_DEFAULT} before parsing was split from JavaFX.
+     *
+     * @deprecated Use {@link #indexToColor} with
+     *             {@link DxfColors#DEFAULT_COLOR_INDEX}, or
+     *             {@link DxfColors#RGB_DEFAULT} where JavaFX isn't needed
+     */
+    @Deprecated
+    public static final Color COLOR_DEFAULT = DEFAULT_COLOR;
+
+    // Reverse lookup from the JavaFX Color values to their DXF Color Index,
+    // by identity, as several indices share the same RGB values.
+    private static final Map< Paint, Integer > COLOR_INDICES
+            = new IdentityHashMap<>( DxfColors.NUMBER_OF_DXF_COLORS + 1 );
+
+    static {
+        for ( int i = 0; i < DxfColors.NUMBER_OF_DXF_COLORS; i++ ) {
+            RGB_COLORS_FX[ i ] = toColor( DxfColors.indexToRgb( i + 1 ) );
+            COLOR_INDICES.put( RGB_COLORS_FX[ i ], Integer.valueOf( i + 1 ) );
+        }
+        COLOR_INDICES.put( DEFAULT_COLOR,
+                           Integer.valueOf( DxfColors.DEFAULT_COLOR_INDEX ) );
+    }
+
+    private static Color toColor( final int rgb ) {
+        return Color.rgb( ( rgb >> 16 ) & 0xFF, ( rgb >> 8 ) & 0xFF, rgb & 0xFF );
+    }
+
+    public static Color indexToColor( final int dxfColorIndex ) {
+        // As DXF Color Index of zero is a special flag to get the color from
+        // the parent vs. an actual color table lookup index, we must adjust the
+        // DXF Color Index before using it to look up the RGB color values.
+        final int rgbColorIndex = dxfColorIndex - 1;
+
+        // Ignore the two extrema as they are special flags for color-by-parent
+        // and color-by-layer. Use the default color in those cases, as the
+        // color index should have already been adjusted outside this call, to
+        // one that is within range of the DXF color lookup table for RGB's.
+        final Color rgbColor = ( dxfColorIndex > DxfColors.COLOR_BY_BLOCK_INDEX )
+                               && ( dxfColorIndex
+                                    < DxfColors.COLOR_BY_LAYER_INDEX )
+                               ? RGB_COLORS_FX[ rgbColorIndex ]
+                               : DEFAULT_COLOR;
+
+        return rgbColor;
+    }
+
+    /**
+     * Finds the DXF Color Index of a color that was looked up with
+     * {@link #indexToColor}. The lookup is by identity rather than by value,
+     * as several indices share the same RGB values, so other colors are not
+     * found even if they are equal.
+     *
+     * @param color The color to find the DXF Color Index of
+     * @return the DXF Color Index (1 to 255) of the color, or
+     *         {@link DxfColors#COLOR_BY_BLOCK_INDEX} if it is not a looked up
+     *         color
+     */
+    public static int colorToIndex( final Paint color ) {
+        final Integer colorIndex = COLOR_INDICES.get( color );
+        return ( colorIndex != null )
+               ? colorIndex.intValue()
+               : DxfColors.COLOR_BY_BLOCK_INDEX;
+    }
+}// class DxfFxColors
@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.fx;
+
+import com.mhschmieder.fxdxfparser.loader.DxfBlock;
+import com.mhschmieder.fxdxfparser.reader.DxfLoader;
+
+import javafx.scene.transform.Affine;
+
+/**
+ * DxfFxLoader imports an AutoCAD DXF file into JavaFX as 2D Scene Graph Nodes,
+ * either converted up front or virtualized to the view.
+ */
+public class DxfFxLoader extends DxfLoader {
+
+    public DxfFxLoader() {
+        super();
+    }
+
+    /**
+     * Convert the loaded document's Model Space Block to a flat 2D slice at
+     * z=0, using JavaFX Shapes as the target, hosted by a geometry container
+     * that holds the generic JavaFX Shape conversions.
+     *
+     * @param dxfShapeContainer The Geometry Container for the generic converted
+     *                          Shapes, as JavaFX Geometry Nodes
+     */
+    public final void convertToFxShapes( final DxfShapeContainer dxfShapeContainer ) {
+        // Vectorize the entire Model Space block into generic shapes.
+        final DxfBlock dxfBlock = getDocument().getBlock( getCurrentBlock() );
+        final Affine defaultAffine = new Affine();
+        final double defaultStrokeScale = 1.0d;
+        DxfEntityConverter.convertBlock( dxfBlock,
+                                         dxfShapeContainer,
+                                         defaultAffine,
+                                         defaultStrokeScale );
+
+        // Clear the now-redundant and unneeded Model Space Block.
+        dxfBlock.clearBlock();
+
+        // Also clear the now-redundant DXF Document container.
+        clearDocument();
+    }
+
+    /**
+     * Makes a virtualized container for the loaded document's Model Space,
+     * which only converts the entities that are in view, as an alternative to
+     * converting everything up front via {@link #convertToFxShapes}.
+     * <p>
+     * The document is kept, as the container needs it for as long as it is in
+     * use; call {@link #clearDocument} once the container is discarded.
+     *
+     * @return a container that is populated by its view updates
+     */
+    public final DxfVirtualShapeContainer makeVirtualShapeContainer() {
+        return new DxfVirtualShapeContainer( getDocument() );
+    }
+}// class DxfFxLoader
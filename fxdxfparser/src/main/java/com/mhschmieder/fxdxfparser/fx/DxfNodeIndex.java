@@ -0,0 +1,258 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.fx;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javafx.scene.Node;
+
+/**
+ * This is a compact index from entity handles to the JavaFX Nodes that were
+ * converted for them, for looking up the shapes of an entity in constant time,
+ * such as to highlight the selection.
+ * <p>
+ * Handles are keyed by their primitive value, in an open-addressing table with
+ * linear probing, so that the index holds no per-entry objects other than the
+ * lists of handles that have more than one node. Handle zero is not used by
+ * DXF, so it marks free slots.
+ * <p>
+ * The index is not synchronized, as it is only changed along with the Scene
+ * Graph that holds its nodes.
+ */
+public final class DxfNodeIndex {
+
+    /**
+     * The value of a missing or invalid handle, which is never indexed.
+     */
+    public static final long NO_HANDLE = 0L;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Multiplier for Fibonacci hashing, which spreads sequential handles.
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private long[] _handles;
+
+    // The single node of each handle, or the list of its nodes.
+    private Object[] _nodes;
+
+    private int _size;
+    private int _shift;
+
+    public DxfNodeIndex() {
+        allocate( INITIAL_CAPACITY );
+    }
+
+    /**
+     * Parses the hexadecimal handle of an entity to its primitive value.
+     *
+     * @param handle The handle, as found in the DXF file
+     * @return the value of the handle, or {@link #NO_HANDLE} if it is missing
+     *         or invalid
+     */
+    public static long parseHandle( final String handle ) {
+        if ( ( handle == null ) || handle.isEmpty()
+             || ( handle.length() > 16 ) ) {
+            return NO_HANDLE;
+        }
+
+        try {
+            return Long.parseUnsignedLong( handle, 16 );
+        }
+        catch ( final NumberFormatException nfe ) {
+            return NO_HANDLE;
+        }
+    }
+
+    /**
+     * Adds a node for a handle, after any nodes that it already has.
+     *
+     * @param handle The value of the handle
+     * @param node   The node to add
+     */
+    @SuppressWarnings( "unchecked" )
+    public void add( final long handle,
+                     final Node node ) {
+        if ( handle == NO_HANDLE ) {
+            return;
+        }
+
+        final int slot = findSlot( handle );
+        final Object nodes = _nodes[ slot ];
+        if ( nodes == null ) {
+            _handles[ slot ] = handle;
+            _nodes[ slot ] = node;
+            if ( ++_size > ( _handles.length >>> 1 ) ) {
+                rehash( _handles.length << 1 );
+            }
+        }
+        else if ( nodes instanceof List ) {
+            ( ( List< Node > ) nodes ).add( node );
+        }
+        else {
+            final List< Node > nodeList = new ArrayList<>( 4 );
+            nodeList.add( ( Node ) nodes );
+            nodeList.add( node );
+            _nodes[ slot ] = nodeList;
+        }
+    }
+
+    /**
+     * @param handle The value of the handle
+     * @return the nodes of the handle, in the order they were added, or an
+     *         empty list if it has none
+     */
+    @SuppressWarnings( "unchecked" )
+    public List< Node > getNodes( final long handle ) {
+        if ( handle == NO_HANDLE ) {
+            return Collections.emptyList();
+        }
+
+        final Object nodes = _nodes[ findSlot( handle ) ];
+        if ( nodes == null ) {
+            return Collections.emptyList();
+        }
+
+        return ( nodes instanceof List )
+               ? Collections.unmodifiableList( ( List< Node > ) nodes )
+               : Collections.singletonList( ( Node ) nodes );
+    }
+
+    /**
+     * @param handle The hexadecimal handle, as found in the DXF file
+     * @return the nodes of the handle, in the order they were added, or an
+     *         empty list if it has none
+     */
+    public List< Node > getNodes( final String handle ) {
+        return getNodes( parseHandle( handle ) );
+    }
+
+    /**
+     * Removes all nodes of a handle.
+     *
+     * @param handle The value of the handle
+     * @return {@code true} if the handle had any nodes
+     */
+    public boolean remove( final long handle ) {
+        if ( handle == NO_HANDLE ) {
+            return false;
+        }
+
+        int slot = findSlot( handle );
+        if ( _nodes[ slot ] == null ) {
+            return false;
+        }
+
+        // Shift later entries of the probe sequence back into the gap, so that
+        // lookups never stop at a free slot before reaching their entry.
+        final int mask = _handles.length - 1;
+        int next = slot;
+        while ( true ) {
+            next = ( next + 1 ) & mask;
+            if ( _nodes[ next ] == null ) {
+                break;
+            }
+            final int home = getHomeSlot( _handles[ next ] );
+            if ( ( ( next - home ) & mask ) >= ( ( next - slot ) & mask ) ) {
+                _handles[ slot ] = _handles[ next ];
+                _nodes[ slot ] = _nodes[ next ];
+                slot = next;
+            }
+        }
+        _handles[ slot ] = NO_HANDLE;
+        _nodes[ slot ] = null;
+        _size--;
+
+        return true;
+    }
+
+    /**
+     * @return the number of handles that have nodes
+     */
+    public int size() {
+        return _size;
+    }
+
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /**
+     * Removes all handles, releasing the table if it had grown.
+     */
+    public void clear() {
+        if ( _handles.length > INITIAL_CAPACITY ) {
+            allocate( INITIAL_CAPACITY );
+        }
+        else {
+            Arrays.fill( _handles, NO_HANDLE );
+            Arrays.fill( _nodes, null );
+        }
+        _size = 0;
+    }
+
+    private int getHomeSlot( final long handle ) {
+        return ( int ) ( ( handle * HASH_MULTIPLIER ) >>> _shift );
+    }
+
+    // Returns the slot of the handle, or the free slot where it belongs.
+    private int findSlot( final long handle ) {
+        final int mask = _handles.length - 1;
+        int slot = getHomeSlot( handle );
+        while ( ( _nodes[ slot ] != null ) && ( _handles[ slot ] != handle ) ) {
+            slot = ( slot + 1 ) & mask;
+        }
+
+        return slot;
+    }
+
+    private void allocate( final int capacity ) {
+        _handles = new long[ capacity ];
+        _nodes = new Object[ capacity ];
+        _shift = Long.numberOfLeadingZeros( capacity - 1L );
+    }
+
+    private void rehash( final int capacity ) {
+        final long[] oldHandles = _handles;
+        final Object[] oldNodes = _nodes;
+        allocate( capacity );
+        for ( int i = 0; i < oldHandles.length; i++ ) {
+            if ( oldNodes[ i ] != null ) {
+                final int slot = findSlot( oldHandles[ i ] );
+                _handles[ slot ] = oldHandles[ i ];
+                _nodes[ slot ] = oldNodes[ i ];
+            }
+        }
+    }
+}// class DxfNodeIndex
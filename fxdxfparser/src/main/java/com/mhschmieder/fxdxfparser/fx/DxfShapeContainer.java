@@ -0,0 +1,751 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.fx;
+
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import com.mhschmieder.fxdxfparser.geometry.CoordinateBuffer;
+import com.mhschmieder.fxdxfparser.geometry.CoordinateTransforms;
+import com.mhschmieder.fxdxfparser.geometry.DxfConversionOptions;
+import com.mhschmieder.fxdxfparser.geometry.TransformMode;
+import com.mhschmieder.fxdxfparser.loader.DxfColors;
+import com.mhschmieder.fxdxfparser.loader.DxfLayer;
+import com.mhschmieder.fxdxfparser.loader.DxfLayerListener;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.ObservableList;
+import javafx.geometry.Point2D;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Polyline;
+import javafx.scene.shape.Shape;
+import javafx.scene.shape.StrokeType;
+import javafx.scene.transform.NonInvertibleTransformException;
+import javafx.scene.transform.Transform;
+
+/**
+ * This container allows for encapsulation of multiple JavaFX Shapes for a
+ * {@link Group}, for nested grouping and to avoid passing multiple JavaFX
+ * Shapes to the {@link Group} base class.
+ */
+public class DxfShapeContainer extends Group implements ExplicitlyBounded {
+
+    /**
+     * A Group that was begun for a Block Reference, and the state to restore
+     * once it ends.
+     */
+    private static final class TransformGroup {
+        private final Group _group;
+        private final Group _parentTarget;
+        private final Transform _parentGroupTransform;
+
+        private TransformGroup( final Group group,
+                                final Group parentTarget,
+                                final Transform parentGroupTransform ) {
+            _group = group;
+            _parentTarget = parentTarget;
+            _parentGroupTransform = parentGroupTransform;
+        }
+    }
+
+    /**
+     * Stroke width, to be applied to the entire JavaFX Shapes Group.
+     */
+    protected final DoubleProperty strokeWidth;
+
+    /**
+     * Minimum point for the Shapes Group; usually from Drawing Limits.
+     */
+    private final double _minX;
+    private final double _minY;
+
+    /**
+     * Maximum point for the Shapes Group; usually from Drawing Limits.
+     */
+    private final double _maxX;
+    private final double _maxY;
+
+    /**
+     * Group that receives newly added shapes, if not this container itself.
+     */
+    private Group _shapeTarget;
+
+    /**
+     * Number of shapes added since the shapes were last cleared.
+     */
+    private int _numberOfShapes;
+
+    /**
+     * Groups begun for Block References, innermost first, and the combined
+     * transform of the innermost one and its inverse (made on demand).
+     */
+    private final Deque< TransformGroup > _transformGroups;
+    private Transform _groupTransform;
+    private Transform _groupInverse;
+
+    /**
+     * View-dependent options for the conversion of entities to shapes.
+     */
+    private DxfConversionOptions _conversionOptions;
+
+    /**
+     * Groups of the shapes of each layer, in order of first use, when layer
+     * groups are enabled, and the layer whose Group receives new shapes.
+     */
+    private final Map< DxfLayer, Group > _layerGroups;
+    private DxfLayer _currentLayer;
+
+    /**
+     * Shows or hides the Group of a layer when the layer is switched on or
+     * off; this must happen on the JavaFX Application Thread, as for any
+     * change to a live Scene Graph. The layers belong to the document and
+     * keep this container reachable until {@link #dispose()} or
+     * {@link #clearShapes()} removes the listener from them.
+     */
+    private final DxfLayerListener _layerGroupListener;
+
+    /**
+     * Colors of the palette that the strokes of shapes are bound to when
+     * color groups are enabled, indexed by DXF Color Index; made on first
+     * use, and kept when the shapes are cleared.
+     */
+    private final ObjectProperty< Paint >[] _colorGroups;
+
+    /**
+     * Index of the added shapes by the handle of their entity, when the node
+     * index is enabled, and the handle that new shapes are indexed by.
+     */
+    private final DxfNodeIndex _nodeIndex;
+    private long _currentHandle;
+
+    // Default constructor, when bounds are not known.
+    public DxfShapeContainer() {
+        // Always call the super-constructor first!
+        this( 0.0d, 0.0d, 0.0d, 0.0d );
+    }
+
+    // Fully qualified constructor, when bounds are known.
+    // NOTE: It is safer to invoke this constructor than to reset an existing
+    // container and then set its bounds and units, as clearing a Group's
+    // children may run on a deferred thread.
+    public DxfShapeContainer( final double minX,
+                              final double minY,
+                              final double maxX,
+                              final double maxY ) {
+        // Always call the superclass constructor first!
+        super();
+
+        _minX = minX;
+        _minY = minY;
+        _maxX = maxX;
+        _maxY = maxY;
+
+        strokeWidth = new SimpleDoubleProperty( 1.0d );
+
+        _conversionOptions = new DxfConversionOptions();
+
+        _transformGroups = new ArrayDeque<>();
+
+        _layerGroups = new LinkedHashMap<>();
+        _currentLayer = null;
+        _layerGroupListener = layer -> {
+            final Group layerGroup = _layerGroups.get( layer );
+            if ( layerGroup != null ) {
+                layerGroup.setVisible( layer.isLayerOn() );
+            }
+        };
+
+        @SuppressWarnings( { "unchecked", "rawtypes" } )
+        final ObjectProperty< Paint >[] colorGroups =
+                new ObjectProperty[ DxfColors.NUMBER_OF_DXF_COLORS + 1 ];
+        _colorGroups = colorGroups;
+
+        _nodeIndex = new DxfNodeIndex();
+        _currentHandle = DxfNodeIndex.NO_HANDLE;
+    }
+
+    public final void addShape( final double strokeScale,
+                                final Shape newChild ) {
+        final Group shapeTarget = ( _shapeTarget != null )
+                                  ? _shapeTarget
+                                  : getCurrentLayerGroup();
+        shapeTarget.getChildren().add( newChild );
+        _numberOfShapes++;
+
+        if ( _conversionOptions.isNodeIndexEnabled() ) {
+            _nodeIndex.add( _currentHandle, newChild );
+        }
+
+        // Make sure that any changes to stroke width are inherited.
+        newChild.strokeWidthProperty()
+                .bind( strokeWidthProperty().multiply( strokeScale ) );
+
+        // NOTE: Centered stroke is default, but better safe than sorry, as
+        // outside stroke can crash the application if shape is non-manifold.
+        newChild.setStrokeType( StrokeType.CENTERED );
+
+        // Make sure that any changes to the palette are inherited as well.
+        if ( _conversionOptions.isColorGroupsEnabled() ) {
+            final int colorIndex = DxfFxColors.colorToIndex( newChild
+                    .getStroke() );
+            if ( colorIndex != DxfColors.COLOR_BY_BLOCK_INDEX ) {
+                newChild.strokeProperty().bind( getColorGroup( colorIndex ) );
+            }
+        }
+    }
+
+    /**
+     * Adds a shape along with the combined transform from the coordinates of
+     * its entity, applied according to the transform mode of the conversion
+     * options. Any transforms that the shape already has are applied first.
+     *
+     * @param strokeScale The stroke scale, for shapes that keep the transform
+     * @param newChild    The shape to add
+     * @param transform   The combined transform of the entity of the shape
+     */
+    public final void addShape( final double strokeScale,
+                                final Shape newChild,
+                                final Transform transform ) {
+        switch ( _conversionOptions.getTransformMode() ) {
+            case BAKED:
+                addBakedShape( strokeScale, newChild, transform );
+                break;
+            case GROUPED:
+                addGroupedShape( strokeScale, newChild, transform );
+                break;
+            case ATTACHED:
+            default:
+                newChild.getTransforms().add( 0, transform );
+                addShape( strokeScale, newChild );
+                break;
+        }
+    }
+
+    /**
+     * Adds a Polyline or Polygon whose points are given as primitive
+     * coordinates; when the transform is baked, the coordinates are
+     * transformed in bulk before they are boxed into the points of the shape.
+     *
+     * @param strokeScale         The stroke scale, for shapes that keep the
+     *                            transform
+     * @param newChild            The Polyline or Polygon to add
+     * @param points              The (empty) points of the shape
+     * @param coordinates         The interleaved x and y coordinates, which
+     *                            are left unchanged
+     * @param numberOfCoordinates The number of coordinates in use
+     * @param transform           The combined transform of the entity of the
+     *                            shape
+     */
+    public final void addShape( final double strokeScale,
+                                final Shape newChild,
+                                final ObservableList< Double > points,
+                                final double[] coordinates,
+                                final int numberOfCoordinates,
+                                final Transform transform ) {
+        if ( _conversionOptions.getTransformMode() != TransformMode.BAKED ) {
+            points.setAll( CoordinateBuffer.asList( coordinates,
+                                                    numberOfCoordinates ) );
+            addShape( strokeScale, newChild, transform );
+            return;
+        }
+
+        final ObservableList< Transform > transforms = newChild.getTransforms();
+        transforms.add( 0, transform );
+        final Transform localTransform = newChild.getLocalToParentTransform();
+        if ( localTransform.isIdentity() ) {
+            transforms.clear();
+            points.setAll( CoordinateBuffer.asList( coordinates,
+                                                    numberOfCoordinates ) );
+            addShape( strokeScale, newChild );
+            return;
+        }
+
+        bakeCoordinates( points,
+                         coordinates,
+                         numberOfCoordinates,
+                         localTransform );
+        finishBakedShape( strokeScale, newChild, localTransform );
+    }
+
+    private void addBakedShape( final double strokeScale,
+                                final Shape newChild,
+                                final Transform transform ) {
+        // Paths of Block References share their elements with a template,
+        // so they keep their transform rather than transforming the template.
+        if ( newChild instanceof Path ) {
+            newChild.getTransforms().add( 0, transform );
+            addShape( strokeScale, newChild );
+            return;
+        }
+
+        final ObservableList< Transform > transforms = newChild.getTransforms();
+        transforms.add( 0, transform );
+        final Transform localTransform = newChild.getLocalToParentTransform();
+        if ( localTransform.isIdentity() ) {
+            transforms.clear();
+            addShape( strokeScale, newChild );
+            return;
+        }
+
+        final Shape bakedChild;
+        if ( newChild instanceof Line ) {
+            final Line line = ( Line ) newChild;
+            final Point2D start = localTransform.transform( line.getStartX(),
+                                                            line.getStartY() );
+            final Point2D end = localTransform.transform( line.getEndX(),
+                                                          line.getEndY() );
+            line.setStartX( start.getX() );
+            line.setStartY( start.getY() );
+            line.setEndX( end.getX() );
+            line.setEndY( end.getY() );
+            bakedChild = line;
+        }
+        else if ( newChild instanceof Polyline ) {
+            bakePoints( ( ( Polyline ) newChild ).getPoints(), localTransform );
+            bakedChild = newChild;
+        }
+        else if ( newChild instanceof Polygon ) {
+            bakePoints( ( ( Polygon ) newChild ).getPoints(), localTransform );
+            bakedChild = newChild;
+        }
+        else {
+            final Path path = new Path();
+            if ( !PathUtilities.appendShape( path.getElements(), newChild ) ) {
+                // Shapes without a path equivalent keep their transforms.
+                addShape( strokeScale, newChild );
+                return;
+            }
+            path.setStroke( newChild.getStroke() );
+            path.setFill( newChild.getFill() );
+            path.getStrokeDashArray().setAll( newChild.getStrokeDashArray() );
+            bakedChild = path;
+        }
+        finishBakedShape( strokeScale, bakedChild, localTransform );
+    }
+
+    private void finishBakedShape( final double strokeScale,
+                                   final Shape bakedChild,
+                                   final Transform localTransform ) {
+        bakedChild.getTransforms().clear();
+
+        // The stroke and its dashes are no longer scaled by the transform, so
+        // they are scaled here instead; this is exact for uniform scales.
+        final double lengthScale = PathUtilities.getLengthScale(
+                localTransform );
+        final ObservableList< Double > dashArray = bakedChild
+                .getStrokeDashArray();
+        for ( int i = 0; i < dashArray.size(); i++ ) {
+            dashArray.set( i, Double.valueOf( dashArray.get( i ).doubleValue()
+                                              * lengthScale ) );
+        }
+
+        addShape( strokeScale * lengthScale, bakedChild );
+    }
+
+    private static void bakePoints( final ObservableList< Double > points,
+                                    final Transform transform ) {
+        final int numberOfCoordinates = points.size();
+        final double[] coordinates = new double[ numberOfCoordinates ];
+        for ( int i = 0; i < numberOfCoordinates; i++ ) {
+            coordinates[ i ] = points.get( i ).doubleValue();
+        }
+        bakeCoordinates( points, coordinates, numberOfCoordinates, transform );
+    }
+
+    private static void bakeCoordinates( final ObservableList< Double > points,
+                                         final double[] coordinates,
+                                         final int numberOfCoordinates,
+                                         final Transform transform ) {
+        final Affine2D affine = new Affine2D();
+        TransformUtilities.setTo( affine, transform );
+        final double[] bakedCoordinates = new double[ numberOfCoordinates ];
+        CoordinateTransforms.transform( coordinates,
+                                        bakedCoordinates,
+                                        numberOfCoordinates / 2,
+                                        affine );
+        points.setAll( CoordinateBuffer.asList( bakedCoordinates,
+                                                numberOfCoordinates ) );
+    }
+
+    private void addGroupedShape( final double strokeScale,
+                                  final Shape newChild,
+                                  final Transform transform ) {
+        // The usual case is that the shape is in the coordinates of the
+        // innermost Block Reference, whose Group already has the transform.
+        if ( transform != _groupTransform ) {
+            final Transform relativeTransform = getGroupRelativeTransform(
+                    transform );
+            if ( !relativeTransform.isIdentity() ) {
+                newChild.getTransforms().add( 0, relativeTransform );
+            }
+        }
+
+        addShape( strokeScale, newChild );
+    }
+
+    private Transform getGroupRelativeTransform( final Transform transform ) {
+        if ( _groupTransform == null ) {
+            return transform;
+        }
+
+        try {
+            if ( _groupInverse == null ) {
+                _groupInverse = _groupTransform.createInverse();
+            }
+            return _groupInverse.createConcatenation( transform );
+        }
+        catch ( final NonInvertibleTransformException nite ) {
+            // A degenerate Block Reference has nothing to show anyway.
+            return transform;
+        }
+    }
+
+    /**
+     * Begins a Group for a Block Reference, when the transform mode is
+     * {@link TransformMode#GROUPED}; subsequently added shapes go to this
+     * Group until it is ended.
+     *
+     * @param relativeTransform The transform of the Block Reference relative
+     *                          to the enclosing Group
+     * @param combinedTransform The combined transform of the Block Reference,
+     *                          which is the transform that its entities are
+     *                          converted with
+     */
+    public final void beginTransformGroup( final Transform relativeTransform,
+                                           final Transform combinedTransform ) {
+        final Group parentTarget = _shapeTarget;
+        final Group group = new Group();
+        group.getTransforms().add( relativeTransform );
+        ( ( parentTarget != null )
+          ? parentTarget
+          : this ).getChildren().add( group );
+
+        _transformGroups.push( new TransformGroup( group,
+                                                   parentTarget,
+                                                   _groupTransform ) );
+        _shapeTarget = group;
+        _groupTransform = combinedTransform;
+        _groupInverse = null;
+    }
+
+    /**
+     * Ends the innermost Group that was begun, and drops it if it is empty.
+     */
+    public final void endTransformGroup() {
+        final TransformGroup transformGroup = _transformGroups.pop();
+        if ( transformGroup._group.getChildren().isEmpty() ) {
+            ( ( transformGroup._parentTarget != null )
+              ? transformGroup._parentTarget
+              : this ).getChildren().remove( transformGroup._group );
+        }
+
+        _shapeTarget = transformGroup._parentTarget;
+        _groupTransform = transformGroup._parentGroupTransform;
+        _groupInverse = null;
+    }
+
+    /**
+     * @return the combined transform of the innermost Group that was begun,
+     *         or {@code null} if the shapes are not added to such a Group
+     */
+    public final Transform getGroupTransform() {
+        return _groupTransform;
+    }
+
+    /**
+     * Redirects subsequently added shapes to a nested group, such as to keep
+     * the shapes of each entity together so they can be detached as a unit.
+     *
+     * @param shapeTarget The group to add shapes to, or {@code null} to add
+     *                    them directly to this container again
+     */
+    protected final void setShapeTarget( final Group shapeTarget ) {
+        _shapeTarget = shapeTarget;
+    }
+
+    /**
+     * Sets the layer whose Group receives subsequently added shapes, when
+     * layer groups are enabled in the conversion options; nested groups that
+     * shapes are redirected to take precedence.
+     *
+     * @param layer The layer of the entity that is converted next, or
+     *              {@code null} to add shapes directly to this container
+     */
+    public final void setCurrentLayer( final DxfLayer layer ) {
+        _currentLayer = layer;
+    }
+
+    private Group getCurrentLayerGroup() {
+        if ( ( _currentLayer == null )
+             || !_conversionOptions.isLayerGroupsEnabled() ) {
+            return this;
+        }
+
+        Group layerGroup = _layerGroups.get( _currentLayer );
+        if ( layerGroup == null ) {
+            layerGroup = new Group();
+            layerGroup.setVisible( _currentLayer.isLayerOn() );
+            getChildren().add( layerGroup );
+            _layerGroups.put( _currentLayer, layerGroup );
+            _currentLayer.addLayerListener( _layerGroupListener );
+        }
+
+        return layerGroup;
+    }
+
+    /**
+     * Returns the Group of the shapes of a layer, whose visibility follows
+     * the on/off state of the layer.
+     *
+     * @param layer The layer to get the Group of
+     * @return the Group of the layer, or {@code null} if no shapes were added
+     *         for the layer, or if layer groups are not enabled
+     */
+    public final Group getLayerGroup( final DxfLayer layer ) {
+        return _layerGroups.get( layer );
+    }
+
+    private void clearLayerGroups() {
+        for ( final DxfLayer layer : _layerGroups.keySet() ) {
+            layer.removeLayerListener( _layerGroupListener );
+        }
+        _layerGroups.clear();
+        _currentLayer = null;
+    }
+
+    private ObjectProperty< Paint > getColorGroup( final int colorIndex ) {
+        ObjectProperty< Paint > colorGroup = _colorGroups[ colorIndex ];
+        if ( colorGroup == null ) {
+            colorGroup = new SimpleObjectProperty<>( DxfFxColors.indexToColor(
+                    colorIndex ) );
+            _colorGroups[ colorIndex ] = colorGroup;
+        }
+
+        return colorGroup;
+    }
+
+    /**
+     * Returns the color of a DXF Color Index in the palette of this
+     * container, which is the standard color unless it was changed.
+     *
+     * @param colorIndex The DXF Color Index, from 1 to 255
+     * @return the color of the DXF Color Index
+     */
+    public final Paint getColor( final int colorIndex ) {
+        if ( ( colorIndex <= DxfColors.COLOR_BY_BLOCK_INDEX )
+             || ( colorIndex > DxfColors.NUMBER_OF_DXF_COLORS ) ) {
+            throw new IllegalArgumentException();
+        }
+
+        final ObjectProperty< Paint > colorGroup = _colorGroups[ colorIndex ];
+        return ( colorGroup != null )
+               ? colorGroup.get()
+               : DxfFxColors.indexToColor( colorIndex );
+    }
+
+    /**
+     * Changes the color of a DXF Color Index in the palette of this container,
+     * which changes the stroke of all shapes of that color that were added
+     * while color groups were enabled, without converting them again. The
+     * default color changes along with {@link DxfColors#DEFAULT_COLOR_INDEX}.
+     *
+     * @param colorIndex The DXF Color Index, from 1 to 255
+     * @param color      The new color, or {@code null} for the standard color
+     */
+    public final void setColor( final int colorIndex,
+                                final Paint color ) {
+        if ( ( colorIndex <= DxfColors.COLOR_BY_BLOCK_INDEX )
+             || ( colorIndex > DxfColors.NUMBER_OF_DXF_COLORS ) ) {
+            throw new IllegalArgumentException();
+        }
+
+        final Paint standardColor = DxfFxColors.indexToColor( colorIndex );
+        if ( ( _colorGroups[ colorIndex ] == null )
+             && ( ( color == null ) || ( color == standardColor ) ) ) {
+            // Leave the palette unchanged, rather than make its color group.
+            return;
+        }
+
+        getColorGroup( colorIndex ).set( ( color != null )
+                                         ? color
+                                         : standardColor );
+    }
+
+    /**
+     * Changes the colors of the palette of this container in one pass, such
+     * as to switch between light and dark backgrounds.
+     *
+     * @param palette The new colors, indexed by DXF Color Index; indices that
+     *                are beyond the palette, or whose color is {@code null},
+     *                are set to the standard color
+     */
+    public final void setColorPalette( final Paint[] palette ) {
+        for ( int i = 1; i <= DxfColors.NUMBER_OF_DXF_COLORS; i++ ) {
+            setColor( i,
+                      ( i < palette.length )
+                      ? palette[ i ]
+                      : null );
+        }
+    }
+
+    /**
+     * Sets the handle that subsequently added shapes are indexed by, when the
+     * node index is enabled in the conversion options.
+     *
+     * @param handle The value of the handle of the entity that is converted
+     *               next, or {@link DxfNodeIndex#NO_HANDLE} to not index
+     *               shapes
+     */
+    public final void setCurrentHandle( final long handle ) {
+        _currentHandle = handle;
+    }
+
+    /**
+     * Returns the index of the added shapes by the handle of their entity,
+     * which is empty unless the node index is enabled in the conversion
+     * options.
+     *
+     * @return the index of the shapes by the handle of their entity
+     */
+    public final DxfNodeIndex getNodeIndex() {
+        return _nodeIndex;
+    }
+
+    public final DxfConversionOptions getConversionOptions() {
+        return _conversionOptions;
+    }
+
+    public final void setConversionOptions( final DxfConversionOptions conversionOptions ) {
+        if ( conversionOptions == null ) {
+            throw new IllegalArgumentException();
+        }
+
+        _conversionOptions = conversionOptions;
+    }
+
+    /**
+     * It is sometimes necessary to bind one stroke width with another.
+     *
+     * @return the stroke width property
+     */
+    public final DoubleProperty strokeWidthProperty() {
+        return strokeWidth;
+    }
+
+    /**
+     * Reinterprets min and max as a {@link Rectangle2D boundary}.
+     */
+    @Override
+    public final Rectangle2D getExplicitBounds() {
+        final double width = _maxX - _minX;
+        final double height = _maxY - _minY;
+        final Rectangle2D explicitBounds = new Rectangle2D( _minX,
+                                                            _minY,
+                                                            width,
+                                                            height );
+
+        return explicitBounds;
+    }
+
+    @Override
+    public final boolean hasExplicitBounds() {
+        final double width = _maxX - _minX;
+        final double height = _maxY - _minY;
+
+        final boolean limitsValid = ( width > 0.0d ) && ( height > 0.0d );
+
+        return limitsValid;
+    }
+
+    public final double getStrokeWidth() {
+        return strokeWidth.get();
+    }
+
+    /**
+     * Sets the stroke on child {@link javafx.scene.shape.Shape shapes} to a
+     * uniform scale in this node's frame of reference.
+     *
+     * @param pStrokeWidth The width of the stroke, roughly in pixels
+     */
+    public final void setStrokeWidth( final double pStrokeWidth ) {
+        strokeWidth.set( pStrokeWidth );
+    }
+
+    /**
+     * Stops the Groups of the layers from following the on/off state of the
+     * layers, without clearing the shapes.
+     * <p>
+     * The layers belong to the document, which usually outlives this
+     * container, so this must be invoked when the container is discarded
+     * while it still holds layer groups; otherwise the document keeps the
+     * container and all of its shapes from being garbage collected.
+     */
+    public void dispose() {
+        clearLayerGroups();
+    }
+
+    public final void reset() {
+        // Clear the added shapes to ensure they can be garbage collected.
+        clearShapes();
+    }
+
+    public final void clearShapes() {
+        // Stop listening to the layers, so that the document does not keep
+        // the cleared shapes alive.
+        clearLayerGroups();
+        _nodeIndex.clear();
+        _currentHandle = DxfNodeIndex.NO_HANDLE;
+
+        getChildren().clear();
+        _numberOfShapes = 0;
+    }
+
+    /**
+     * Returns the number of shapes added since the shapes were last cleared,
+     * including those added to nested groups, such as for shape budgets.
+     *
+     * @return the number of shapes added to this container
+     */
+    public final int getNumberOfShapes() {
+        return _numberOfShapes;
+    }
+}// class DxfShapeContainer
@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.fx;
+
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
+import com.mhschmieder.fxdxfparser.render.DxfTile;
+
+import java.util.Collection;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+
+/**
+ * This is a utility class for going between rendered JavaFX images and the
+ * toolkit-independent {@link DxfTile} rasters of the fxdxfparser.core module.
+ */
+public final class DxfTileImages {
+
+    /**
+     * Makes a tile from a rendered image, such as a snapshot of a
+     * {@link DxfShapeContainer}.
+     *
+     * @param image      The rendered image for the tile
+     * @param layerNames The names of the layers that contributed to the tile
+     * @return a tile that holds a copy of the image pixels
+     */
+    public static DxfTile fromImage( final Image image,
+                                     final Collection< String > layerNames ) {
+        return fromImage( image, layerNames, null );
+    }
+
+    /**
+     * Makes a tile from a rendered image, such as a snapshot of a
+     * {@link DxfShapeContainer}.
+     *
+     * @param image      The rendered image for the tile
+     * @param layerNames The names of the layers that contributed to the tile
+     * @param bounds     The area of Model Space that the tile covers, or
+     *                   {@code null} if unknown
+     * @return a tile that holds a copy of the image pixels
+     */
+    public static DxfTile fromImage( final Image image,
+                                     final Collection< String > layerNames,
+                                     final Extents2D bounds ) {
+        final int width = ( int ) image.getWidth();
+        final int height = ( int ) image.getHeight();
+        final int[] pixels = new int[ width * height ];
+
+        final PixelReader pixelReader = image.getPixelReader();
+        pixelReader.getPixels( 0,
+                               0,
+                               width,
+                               height,
+                               PixelFormat.getIntArgbInstance(),
+                               pixels,
+                               0,
+                               width );
+
+        return new DxfTile( width, height, pixels, layerNames, bounds );
+    }
+
+    /**
+     * @param tile The tile to copy
+     * @return a new JavaFX image with a copy of the tile pixels
+     */
+    public static WritableImage toImage( final DxfTile tile ) {
+        final int width = tile.getWidth();
+        final int height = tile.getHeight();
+        final WritableImage image = new WritableImage( width, height );
+        image.getPixelWriter().setPixels( 0,
+                                          0,
+                                          width,
+                                          height,
+                                          PixelFormat.getIntArgbInstance(),
+                                          tile.getPixels(),
+                                          0,
+                                          width );
+        return image;
+    }
+}// class DxfTileImages
@@ -0,0 +1,377 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.fx;
+
+import com.mhschmieder.fxdxfparser.entity.DxfEntity;
+import com.mhschmieder.fxdxfparser.entity.DxfInsert;
+import com.mhschmieder.fxdxfparser.geometry.DxfConversionOptions;
+import com.mhschmieder.fxdxfparser.geometry.Extents2D;
+import com.mhschmieder.fxdxfparser.loader.DxfLayer;
+import com.mhschmieder.fxdxfparser.loader.DxfLayerListener;
+import com.mhschmieder.fxdxfparser.structure.DxfDocument;
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.transform.Affine;
+
+/**
+ * This container keeps a parsed {@link DxfDocument} and only converts the
+ * Model Space entities that intersect the current view (plus a margin) into
+ * JavaFX Shapes, so that memory use and pulse time scale with what is on
+ * screen rather than with the size of the drawing.
+ * <p>
+ * The shapes of each entity are held in their own {@link Group}, so that they
+ * can be detached as a unit when the entity leaves the view. Detached groups
+ * are kept in a bounded least-recently-used pool and are re-attached without
+ * re-conversion if their entity comes back into view while still pooled.
+ * <p>
+ * As the shapes are grouped per entity, layer groups are not used here, and
+ * the entities of switched-off layers are not converted. Instead, switching a
+ * layer of the document on or off re-converts the entities that it affects,
+ * for which this container listens to the layers until {@link #dispose()}.
+ * <p>
+ * The document must not be cleared while this container is in use, and all
+ * methods must be invoked on the JavaFX Application Thread, which includes
+ * switching the layers of the document on or off.
+ */
+public final class DxfVirtualShapeContainer extends DxfShapeContainer {
+
+    /**
+     * Default margin around the view, as a fraction of the view size, so that
+     * short pans do not immediately require conversion of new entities.
+     */
+    public static final double DEFAULT_VIEW_MARGIN = 0.25d;
+
+    /**
+     * Default number of detached entity groups to keep for re-use.
+     */
+    public static final int DEFAULT_POOL_SIZE = 4096;
+
+    private final DxfDocument _dxfDoc;
+
+    // Draw order of each Model Space entity, which is its order in the file.
+    private final Map< DxfEntity, Integer > _drawOrder;
+
+    // Groups of the entities that are currently attached to this container.
+    private final Map< DxfEntity, Group > _materializedEntities
+            = new IdentityHashMap<>();
+
+    // Detached groups, in least-recently-used order.
+    private final LinkedHashMap< DxfEntity, Group > _recycledEntities;
+
+    // Re-converts the entities that are affected by a layer being switched.
+    private final DxfLayerListener _layerListener;
+
+    private double _viewMargin;
+
+    // The most recent view, to bring back up to date after layer changes.
+    private Rectangle2D _viewBounds;
+    private double _viewScale;
+
+    // Zoom band of the converted shapes, as these depend on the view scale.
+    private int _zoomBand;
+
+    /**
+     * Makes a virtualized container for the Model Space of a parsed document,
+     * using the bounds of its entities as the explicit bounds.
+     *
+     * @param dxfDoc The parsed document, which must not be cleared while
+     *               this container is in use
+     */
+    public DxfVirtualShapeContainer( final DxfDocument dxfDoc ) {
+        this( dxfDoc, DEFAULT_POOL_SIZE );
+    }
+
+    /**
+     * Makes a virtualized container for the Model Space of a parsed document,
+     * using the bounds of its entities as the explicit bounds.
+     *
+     * @param dxfDoc   The parsed document, which must not be cleared while
+     *                 this container is in use
+     * @param poolSize The maximum number of detached entity groups to keep
+     */
+    public DxfVirtualShapeContainer( final DxfDocument dxfDoc,
+                                     final int poolSize ) {
+        // Always call the superclass constructor first!
+        super( dxfDoc.getModelSpaceExtents().getMinX(),
+               dxfDoc.getModelSpaceExtents().getMinY(),
+               dxfDoc.getModelSpaceExtents().getMaxX(),
+               dxfDoc.getModelSpaceExtents().getMaxY() );
+
+        _dxfDoc = dxfDoc;
+        _viewMargin = DEFAULT_VIEW_MARGIN;
+        _zoomBand = getConversionOptions().getZoomBand();
+
+        // Conversions are redone per zoom band here, so polylines can safely
+        // be simplified, and arcs vectorized, for the view scale. Block
+        // References are materialized often, so they share block templates.
+        getConversionOptions().setLevelOfDetailEnabled( true );
+        getConversionOptions().setAdaptiveVectorizationEnabled( true );
+        getConversionOptions().setBlockInstancingEnabled( true );
+        getConversionOptions().setLayerGroupsEnabled( false );
+
+        final List< DxfEntity > entities = dxfDoc._modelSpace.getEntities();
+        _drawOrder = new HashMap<>( ( 4 * entities.size() ) / 3 + 1 );
+        for ( int i = 0; i < entities.size(); i++ ) {
+            _drawOrder.put( entities.get( i ), Integer.valueOf( i ) );
+        }
+
+        _recycledEntities = new LinkedHashMap< DxfEntity, Group >( 256,
+                                                                  0.75f,
+                                                                  true ) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry< DxfEntity, Group > eldest ) {
+                if ( size() <= poolSize ) {
+                    return false;
+                }
+
+                // The shapes of the evicted entity are no longer indexed.
+                getNodeIndex().remove( DxfNodeIndex.parseHandle( eldest
+                        .getKey().getHandle() ) );
+                return true;
+            }
+        };
+
+        _viewBounds = null;
+        _viewScale = 1.0d;
+
+        _layerListener = this::layerStateChanged;
+        dxfDoc.addLayerListener( _layerListener );
+    }
+
+    public final DxfDocument getDocument() {
+        return _dxfDoc;
+    }
+
+    public final double getViewMargin() {
+        return _viewMargin;
+    }
+
+    /**
+     * @param viewMargin The margin around the view, as a fraction of the view
+     *                   size, within which entities are also converted
+     */
+    public final void setViewMargin( final double viewMargin ) {
+        _viewMargin = FastMath.max( 0.0d, viewMargin );
+    }
+
+    /**
+     * @return the number of entities whose shapes are currently attached
+     */
+    public final int getMaterializedEntityCount() {
+        return _materializedEntities.size();
+    }
+
+    /**
+     * Brings the attached shapes up to date with a new view, converting the
+     * entities that came into view and detaching those that left it.
+     *
+     * @param viewBounds The visible area, in Model Space coordinates
+     * @param viewScale  The current view scale, in pixels per drawing unit
+     */
+    public void updateView( final Rectangle2D viewBounds,
+                            final double viewScale ) {
+        _viewBounds = viewBounds;
+        _viewScale = viewScale;
+
+        // Layer groups would bypass the Group of each entity, and would keep
+        // the shapes of switched-off layers, so they stay off here.
+        final DxfConversionOptions conversionOptions = getConversionOptions();
+        conversionOptions.setLayerGroupsEnabled( false );
+
+        // Entities that were culled, stubbed or simplified for their screen
+        // size must be re-converted once the zoom level differs enough.
+        conversionOptions.setViewScale( viewScale );
+        final int zoomBand = conversionOptions.getZoomBand();
+        if ( ( zoomBand != _zoomBand ) && conversionOptions.isViewDependent() ) {
+            invalidate();
+        }
+        _zoomBand = zoomBand;
+
+        final double marginX = _viewMargin * viewBounds.getWidth();
+        final double marginY = _viewMargin * viewBounds.getHeight();
+        final Extents2D window = new Extents2D( viewBounds.getMinX() - marginX,
+                                                viewBounds.getMinY() - marginY,
+                                                viewBounds.getMaxX() + marginX,
+                                                viewBounds.getMaxY() + marginY );
+
+        final Map< DxfEntity, Group > visibleEntities = new IdentityHashMap<>(
+                _materializedEntities.size() + 16 );
+        _dxfDoc.query( window ).forEach( entity -> visibleEntities.put(
+                entity,
+                null ) );
+
+        // Detach the entities that left the view, keeping them for re-use.
+        boolean childrenChanged = false;
+        final Iterator< Map.Entry< DxfEntity, Group > > iterator
+                = _materializedEntities.entrySet().iterator();
+        while ( iterator.hasNext() ) {
+            final Map.Entry< DxfEntity, Group > entry = iterator.next();
+            if ( !visibleEntities.containsKey( entry.getKey() ) ) {
+                _recycledEntities.put( entry.getKey(), entry.getValue() );
+                iterator.remove();
+                childrenChanged = true;
+            }
+        }
+
+        // Attach the entities that came into view, re-using pooled groups.
+        for ( final DxfEntity entity : visibleEntities.keySet() ) {
+            if ( _materializedEntities.containsKey( entity ) ) {
+                continue;
+            }
+
+            Group entityGroup = _recycledEntities.remove( entity );
+            if ( entityGroup == null ) {
+                entityGroup = materialize( entity );
+            }
+            _materializedEntities.put( entity, entityGroup );
+            childrenChanged = true;
+        }
+
+        if ( childrenChanged ) {
+            updateChildren();
+        }
+    }
+
+    /**
+     * Discards all converted shapes, attached and pooled, so that the next
+     * view update converts the visible entities again; this is needed after
+     * changes that affect conversion, other than switching layers on or off.
+     */
+    public void invalidate() {
+        _materializedEntities.clear();
+        _recycledEntities.clear();
+        clearShapes();
+    }
+
+    /**
+     * Stops re-converting entities when the layers of the document are
+     * switched on or off, in addition to what the superclass stops doing.
+     * <p>
+     * The layers belong to the document, which usually outlives this
+     * container, so this must be invoked when the container is discarded.
+     */
+    @Override
+    public void dispose() {
+        _dxfDoc.removeLayerListener( _layerListener );
+        super.dispose();
+    }
+
+    /**
+     * Discards the shapes of the entities that are on a switched layer, and
+     * of all Block References, as their blocks may have entities on it, then
+     * re-converts those that are still in the most recent view.
+     *
+     * @param layer The layer that was switched on or off
+     */
+    private void layerStateChanged( final DxfLayer layer ) {
+        final boolean materializedChanged = _materializedEntities.keySet()
+                .removeIf( entity -> isAffectedBy( entity, layer ) );
+        _recycledEntities.keySet()
+                .removeIf( entity -> isAffectedBy( entity, layer ) );
+
+        if ( _viewBounds != null ) {
+            updateView( _viewBounds, _viewScale );
+        }
+        else if ( materializedChanged ) {
+            updateChildren();
+        }
+    }
+
+    private boolean isAffectedBy( final DxfEntity entity,
+                                  final DxfLayer layer ) {
+        if ( ( entity.getLayer() != layer )
+             && !( entity instanceof DxfInsert ) ) {
+            return false;
+        }
+
+        // The shapes of the discarded entity are no longer indexed.
+        getNodeIndex().remove( DxfNodeIndex.parseHandle( entity
+                .getHandle() ) );
+        return true;
+    }
+
+    /**
+     * Converts a single entity into its own group of shapes.
+     *
+     * @param entity The entity to convert
+     * @return the group holding the shapes of the entity
+     */
+    private Group materialize( final DxfEntity entity ) {
+        final Group entityGroup = new Group();
+        setShapeTarget( entityGroup );
+        if ( getConversionOptions().isNodeIndexEnabled() ) {
+            setCurrentHandle( DxfNodeIndex.parseHandle( entity.getHandle() ) );
+        }
+        try {
+            DxfEntityConverter.convertToFxShapesCulled( entity,
+                                                        this,
+                                                        new Affine(),
+                                                        1.0d );
+        }
+        finally {
+            setShapeTarget( null );
+            setCurrentHandle( DxfNodeIndex.NO_HANDLE );
+        }
+
+        return entityGroup;
+    }
+
+    // Re-attaches the groups of all materialized entities in draw order, as
+    // later entities in the file must be drawn on top of earlier ones.
+    private void updateChildren() {
+        final List< DxfEntity > entities = new ArrayList<>(
+                _materializedEntities.keySet() );
+        entities.sort( Comparator.comparingInt( entity -> _drawOrder
+                .getOrDefault( entity, Integer.valueOf( Integer.MAX_VALUE ) )
+                .intValue() ) );
+
+        final List< Node > entityGroups = new ArrayList<>( entities.size() );
+        for ( final DxfEntity entity : entities ) {
+            entityGroups.add( _materializedEntities.get( entity ) );
+        }
+
+        getChildren().setAll( entityGroups );
+    }
+}// class DxfVirtualShapeContainer
@@ -28,7 +28,7 @@
  *
  * Project: https://github.com/mhschmieder/fxdxfparser
  */
-package com.mhschmieder.fxdxfparser.geometry;
+package com.mhschmieder.fxdxfparser.fx;
 
 import javafx.geometry.Rectangle2D;
 
@@ -0,0 +1,306 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.fx;
+
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.List;
+
+import javafx.scene.shape.Arc;
+import javafx.scene.shape.ArcType;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.ClosePath;
+import javafx.scene.shape.CubicCurveTo;
+import javafx.scene.shape.Ellipse;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.PathElement;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Polyline;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.Shape;
+import javafx.scene.transform.Transform;
+
+/**
+ * This is a utility class for re-expressing the JavaFX Shapes that entities
+ * are converted to as {@link PathElement path elements}, with the transforms
+ * of each shape applied to its coordinates, so that the outlines of many
+ * shapes can be merged into a single Path.
+ * <p>
+ * Conic shapes are approximated by cubic Bézier curves, which unlike arcs
+ * stay exact under any affine transform of their control points.
+ */
+public final class PathUtilities {
+
+    /**
+     * Largest angular extent of each Bézier segment of a conic shape, in
+     * degrees; the radial error of a quarter arc is about 0.03% of its radius.
+     */
+    public static final double MAXIMUM_BEZIER_DEGREES = 90.0d;
+
+    /**
+     * Appends the outline of a shape to a list of path elements, in the
+     * coordinates of the parent of the shape.
+     *
+     * @param elements The path elements to append to
+     * @param shape    The shape to append; it must not be in a scene, so that
+     *                 its local transform consists of its transforms only
+     * @return {@code true} if the shape was appended; {@code false} if its
+     *         type has no path equivalent, in which case nothing is appended
+     */
+    public static boolean appendShape( final List< PathElement > elements,
+                                       final Shape shape ) {
+        final Transform transform = shape.getLocalToParentTransform();
+        if ( shape instanceof Line ) {
+            final Line line = ( Line ) shape;
+            elements.add( makeMoveTo( transform,
+                                      line.getStartX(),
+                                      line.getStartY() ) );
+            elements.add( makeLineTo( transform,
+                                      line.getEndX(),
+                                      line.getEndY() ) );
+        }
+        else if ( shape instanceof Polyline ) {
+            appendPoints( elements,
+                          transform,
+                          ( ( Polyline ) shape ).getPoints(),
+                          false );
+        }
+        else if ( shape instanceof Polygon ) {
+            appendPoints( elements,
+                          transform,
+                          ( ( Polygon ) shape ).getPoints(),
+                          true );
+        }
+        else if ( shape instanceof Rectangle ) {
+            final Rectangle rectangle = ( Rectangle ) shape;
+            final double minX = rectangle.getX();
+            final double minY = rectangle.getY();
+            final double maxX = minX + rectangle.getWidth();
+            final double maxY = minY + rectangle.getHeight();
+            elements.add( makeMoveTo( transform, minX, minY ) );
+            elements.add( makeLineTo( transform, maxX, minY ) );
+            elements.add( makeLineTo( transform, maxX, maxY ) );
+            elements.add( makeLineTo( transform, minX, maxY ) );
+            elements.add( new ClosePath() );
+        }
+        else if ( shape instanceof Circle ) {
+            final Circle circle = ( Circle ) shape;
+            appendEllipticalArc( elements,
+                                 transform,
+                                 circle.getCenterX(),
+                                 circle.getCenterY(),
+                                 circle.getRadius(),
+                                 circle.getRadius(),
+                                 0.0d,
+                                 360.0d );
+            elements.add( new ClosePath() );
+        }
+        else if ( shape instanceof Ellipse ) {
+            final Ellipse ellipse = ( Ellipse ) shape;
+            appendEllipticalArc( elements,
+                                 transform,
+                                 ellipse.getCenterX(),
+                                 ellipse.getCenterY(),
+                                 ellipse.getRadiusX(),
+                                 ellipse.getRadiusY(),
+                                 0.0d,
+                                 360.0d );
+            elements.add( new ClosePath() );
+        }
+        else if ( shape instanceof Arc ) {
+            final Arc arc = ( Arc ) shape;
+            appendEllipticalArc( elements,
+                                 transform,
+                                 arc.getCenterX(),
+                                 arc.getCenterY(),
+                                 arc.getRadiusX(),
+                                 arc.getRadiusY(),
+                                 arc.getStartAngle(),
+                                 arc.getLength() );
+            if ( arc.getType() == ArcType.ROUND ) {
+                elements.add( makeLineTo( transform,
+                                          arc.getCenterX(),
+                                          arc.getCenterY() ) );
+            }
+            if ( arc.getType() != ArcType.OPEN ) {
+                elements.add( new ClosePath() );
+            }
+        }
+        else {
+            return false;
+        }
+
+        return true;
+    }
+
+    private static void appendPoints( final List< PathElement > elements,
+                                      final Transform transform,
+                                      final List< Double > points,
+                                      final boolean closed ) {
+        final int numberOfPoints = points.size() / 2;
+        if ( numberOfPoints < 1 ) {
+            return;
+        }
+
+        elements.add( makeMoveTo( transform,
+                                  points.get( 0 ).doubleValue(),
+                                  points.get( 1 ).doubleValue() ) );
+        for ( int i = 1; i < numberOfPoints; i++ ) {
+            elements.add( makeLineTo( transform,
+                                      points.get( 2 * i ).doubleValue(),
+                                      points.get( ( 2 * i ) + 1 )
+                                              .doubleValue() ) );
+        }
+        if ( closed ) {
+            elements.add( new ClosePath() );
+        }
+    }
+
+    /**
+     * Appends an elliptical arc, using the angle conventions of the JavaFX
+     * {@link Arc}: angles are in degrees, and positive angles go from the
+     * positive x-axis towards the negative y-axis.
+     *
+     * @param elements   The path elements to append to
+     * @param transform  The transform to apply to the arc
+     * @param centerX    The x-coordinate of the center of the arc
+     * @param centerY    The y-coordinate of the center of the arc
+     * @param radiusX    The horizontal radius of the arc
+     * @param radiusY    The vertical radius of the arc
+     * @param startAngle The start angle of the arc
+     * @param length     The angular extent of the arc
+     */
+    public static void appendEllipticalArc( final List< PathElement > elements,
+                                            final Transform transform,
+                                            final double centerX,
+                                            final double centerY,
+                                            final double radiusX,
+                                            final double radiusY,
+                                            final double startAngle,
+                                            final double length ) {
+        final int numberOfSegments = FastMath.max( 1,
+                                                   ( int ) FastMath.ceil(
+                                                           FastMath.abs( length )
+                                                           / MAXIMUM_BEZIER_DEGREES ) );
+        final double segmentAngle = FastMath.toRadians( length )
+                                    / numberOfSegments;
+
+        // Length of the tangent handles of a unit arc of the segment angle.
+        final double handle = ( 4.0d / 3.0d )
+                              * FastMath.tan( 0.25d * segmentAngle );
+
+        double angle = FastMath.toRadians( startAngle );
+        double cos = FastMath.cos( angle );
+        double sin = FastMath.sin( angle );
+        elements.add( makeMoveTo( transform,
+                                  centerX + ( radiusX * cos ),
+                                  centerY - ( radiusY * sin ) ) );
+        for ( int i = 0; i < numberOfSegments; i++ ) {
+            final double control1X = cos - ( handle * sin );
+            final double control1Y = sin + ( handle * cos );
+
+            angle += segmentAngle;
+            cos = FastMath.cos( angle );
+            sin = FastMath.sin( angle );
+
+            final double control2X = cos + ( handle * sin );
+            final double control2Y = sin - ( handle * cos );
+
+            elements.add( makeCubicCurveTo( transform,
+                                            centerX + ( radiusX * control1X ),
+                                            centerY - ( radiusY * control1Y ),
+                                            centerX + ( radiusX * control2X ),
+                                            centerY - ( radiusY * control2Y ),
+                                            centerX + ( radiusX * cos ),
+                                            centerY - ( radiusY * sin ) ) );
+        }
+    }
+
+    private static MoveTo makeMoveTo( final Transform transform,
+                                      final double x,
+                                      final double y ) {
+        return new MoveTo( transformX( transform, x, y ),
+                           transformY( transform, x, y ) );
+    }
+
+    private static LineTo makeLineTo( final Transform transform,
+                                      final double x,
+                                      final double y ) {
+        return new LineTo( transformX( transform, x, y ),
+                           transformY( transform, x, y ) );
+    }
+
+    private static CubicCurveTo makeCubicCurveTo( final Transform transform,
+                                                  final double control1X,
+                                                  final double control1Y,
+                                                  final double control2X,
+                                                  final double control2Y,
+                                                  final double x,
+                                                  final double y ) {
+        return new CubicCurveTo( transformX( transform, control1X, control1Y ),
+                                 transformY( transform, control1X, control1Y ),
+                                 transformX( transform, control2X, control2Y ),
+                                 transformY( transform, control2X, control2Y ),
+                                 transformX( transform, x, y ),
+                                 transformY( transform, x, y ) );
+    }
+
+    private static double transformX( final Transform transform,
+                                      final double x,
+                                      final double y ) {
+        return ( transform.getMxx() * x ) + ( transform.getMxy() * y )
+               + transform.getTx();
+    }
+
+    private static double transformY( final Transform transform,
+                                      final double x,
+                                      final double y ) {
+        return ( transform.getMyx() * x ) + ( transform.getMyy() * y )
+               + transform.getTy();
+    }
+
+    /**
+     * Returns the factor by which the given transform scales areas, as a
+     * length; this is the scale of strokes and dashes that are transformed
+     * along with the geometry.
+     *
+     * @param transform The transform to evaluate
+     * @return the square root of the absolute determinant of the transform
+     */
+    public static double getLengthScale( final Transform transform ) {
+        return FastMath.sqrt( FastMath.abs( ( transform.getMxx()
+                                              * transform.getMyy() )
+                                            - ( transform.getMxy()
+                                                * transform.getMyx() ) ) );
+    }
+}// class PathUtilities
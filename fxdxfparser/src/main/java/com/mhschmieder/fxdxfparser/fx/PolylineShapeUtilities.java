@@ -0,0 +1,345 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.fx;
+
+import com.mhschmieder.fxdxfparser.entity.DxfEntity;
+import com.mhschmieder.fxdxfparser.entity.DxfVertex;
+import com.mhschmieder.fxdxfparser.geometry.CoordinateBuffer;
+import com.mhschmieder.fxdxfparser.geometry.DxfConversionOptions;
+import com.mhschmieder.fxdxfparser.geometry.PolyVertex;
+import com.mhschmieder.fxdxfparser.geometry.PolylineLevelsOfDetail;
+import com.mhschmieder.fxdxfparser.geometry.PolylineUtilities;
+import com.mhschmieder.fxdxfparser.geometry.Vectorization;
+import com.mhschmieder.fxdxfparser.geometry.Vertex;
+import com.mhschmieder.fxdxfparser.loader.DxfLineType;
+import com.mhschmieder.fxdxfparser.structure.DxfTessellationCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.collections.ObservableList;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Polyline;
+import javafx.scene.shape.Shape;
+import javafx.scene.transform.Affine;
+
+/**
+ * This is a utility class for converting polylines, and other entities that
+ * are flattened to polylines, to JavaFX Polylines and Polygons.
+ */
+public final class PolylineShapeUtilities {
+
+    public static boolean convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
+                                             final Affine transform,
+                                             final double strokeScale,
+                                             final DxfEntity entity,
+                                             final boolean isVertex2D,
+                                             final List< PolyVertex > polyVertices,
+                                             final List< DxfVertex > dxfVertices,
+                                             final boolean closedPolyline,
+                                             final boolean hasWidth ) {
+        final Color color = DxfEntityConverter.getColor( entity );
+        final DxfLineType lineType = entity.getLineType();
+        final double lineTypeScale = entity._dxfDoc.getGlobalLineTypeScale()
+                                     * entity._lineTypeScale;
+
+        if ( isVertex2D && PolylineUtilities.hasBulge( polyVertices ) ) {
+            // Bulged polylines are tessellated once per vectorization, and
+            // then copied from the document's cache on later conversions.
+            final Vectorization vec = makeVectorization( dxfShapeContainer,
+                                                         transform );
+            final DxfTessellationCache tessellationCache = entity._dxfDoc
+                    .getTessellationCache();
+            double[] coordinates = tessellationCache.get( entity, vec );
+            if ( coordinates == null ) {
+                final CoordinateBuffer buffer = CoordinateBuffer
+                        .getScratchBuffer();
+                PolylineUtilities.flatten( vec,
+                                           polyVertices,
+                                           closedPolyline,
+                                           buffer );
+                coordinates = buffer.toArray();
+                tessellationCache.put( entity, vec, coordinates );
+            }
+
+            if ( coordinates.length == 0 ) {
+                return false;
+            }
+
+            convertToFxShapes( dxfShapeContainer,
+                               transform,
+                               strokeScale,
+                               color,
+                               lineType,
+                               lineTypeScale,
+                               coordinates,
+                               coordinates.length,
+                               closedPolyline );
+
+            return true;
+        }
+
+        // The points are flattened into the scratch buffer of this thread, as
+        // they are only needed until they are copied into the JavaFX shape.
+        final CoordinateBuffer buffer = CoordinateBuffer.getScratchBuffer();
+        if ( isVertex2D ) {
+            final Vectorization vec = makeVectorization( dxfShapeContainer,
+                                                         transform );
+            PolylineUtilities.flatten( vec,
+                                       polyVertices,
+                                       closedPolyline,
+                                       buffer );
+        }
+        else {
+            // These were originally 3D points in AutoCAD, so LineType and
+            // other 2D flags don't apply, meaning we can just go straight
+            // ahead and simply these into regular Polylines and Polygons.
+            buffer.ensureAdditionalCapacity( 2 * dxfVertices.size() );
+            for ( final DxfVertex dxfVertex : dxfVertices ) {
+                if ( dxfVertex != null ) {
+                    buffer.add( dxfVertex._x, dxfVertex._y );
+                }
+            }
+        }
+
+        if ( buffer.size() == 0 ) {
+            return false;
+        }
+
+        convertToFxShapes( dxfShapeContainer,
+                           transform,
+                           strokeScale,
+                           color,
+                           lineType,
+                           lineTypeScale,
+                           buffer.getArray(),
+                           buffer.size(),
+                           closedPolyline );
+
+        return true;
+    }
+
+    public static void convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
+                                          final Affine transform,
+                                          final double strokeScale,
+                                          final Color color,
+                                          final DxfLineType lineType,
+                                          final double lineTypeScale,
+                                          final Vertex[] vertices,
+                                          final boolean closedPolyline ) {
+        // NOTE: This is duplicated logic in some contexts, as it is too
+        // complicated at the moment to refactor the structure of the calls and
+        // also risky to other potential targets other than 2D JavaFX Geometry.
+        if ( ( lineType == null ) || lineType.isContinuous() ) {
+            if ( ( vertices == null ) || ( vertices.length < 1 ) ) {
+                return;
+            }
+        }
+
+        final int numberOfVertices = vertices.length;
+        final int numberOfCoordinates = 2 * numberOfVertices;
+        final List< Double > coordinates
+                = new ArrayList<>( numberOfCoordinates );
+        for ( int i = 0; i < numberOfVertices; i++ ) {
+            final int j = 2 * i;
+            final Vertex vertex = vertices[ i ];
+            coordinates.add( j, Double.valueOf( vertex._x ) );
+            coordinates.add( j + 1, Double.valueOf( vertex._y ) );
+        }
+
+        if ( closedPolyline ) {
+            final Polygon polygon = new Polygon();
+            final ObservableList< Double > polygonCoordinates
+                    = polygon.getPoints();
+            polygonCoordinates.setAll( coordinates );
+
+            // Polygons are supposed to be treated like a wireframe.
+            polygon.setFill( null );
+
+            polygon.setStroke( color );
+
+            applyLineType( polygon, lineType, lineTypeScale );
+
+            dxfShapeContainer.addShape( strokeScale, polygon, transform );
+        }
+        else {
+            final Polyline polyline = new Polyline();
+            final ObservableList< Double > polylineCoordinates
+                    = polyline.getPoints();
+            polylineCoordinates.setAll( coordinates );
+
+            polyline.setStroke( color );
+
+            applyLineType( polyline, lineType, lineTypeScale );
+
+            dxfShapeContainer.addShape( strokeScale, polyline, transform );
+        }
+    }
+
+    /**
+     * Applies the dash array of a line type to the stroke of a shape; the
+     * dash arrays are shared across shapes, so this does not allocate.
+     *
+     * @param shape         The shape to apply the line type to
+     * @param lineType      The line type, or {@code null} for a solid line
+     * @param lineTypeScale The combined scale of the line type pattern
+     */
+    public static void applyLineType( final Shape shape,
+                                      final DxfLineType lineType,
+                                      final double lineTypeScale ) {
+        if ( ( lineType == null ) || lineType.isContinuous() ) {
+            return;
+        }
+
+        final List< Double > dashArray = lineType.getDashArray( lineTypeScale );
+        if ( !dashArray.isEmpty() ) {
+            shape.getStrokeDashArray().setAll( dashArray );
+        }
+    }
+
+    /**
+     * Makes the vectorization for arcs that are converted into the given
+     * container: adaptive to the view scale if so enabled by its conversion
+     * options, and otherwise the fixed {@link PolylineUtilities#NUMBER_OF_GRADS}. Adaptive
+     * chord errors are quantized, so that cached tessellations are re-used.
+     *
+     * @param dxfShapeContainer The container that the arcs are converted into
+     * @param transform         The combined transform to apply to the arcs
+     * @return the vectorization to use for the arcs
+     */
+    public static Vectorization makeVectorization( final DxfShapeContainer dxfShapeContainer,
+                                                   final Affine transform ) {
+        return PolylineUtilities.makeVectorization(
+                dxfShapeContainer.getConversionOptions(),
+                TransformUtilities.getTransformScale( transform ) );
+    }
+
+    /**
+     * Converts the level of detail of a polyline that suits the view scale of
+     * the container's conversion options, if level of detail is enabled.
+     *
+     * @param dxfShapeContainer The Scene Graph Group container for the shape
+     * @param transform         The combined transform to apply
+     * @param strokeScale       The initial stroke scale
+     * @param entity            The polyline entity, for its style
+     * @param levelsOfDetail    The levels of detail of the polyline, or
+     *                          {@code null} if it has none
+     * @param closedPolyline    {@code true} to make a Polygon vs. a Polyline
+     * @return {@code true} if converted; {@code false} if the caller should
+     *         convert the exact polyline instead
+     */
+    public static boolean convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
+                                             final Affine transform,
+                                             final double strokeScale,
+                                             final DxfEntity entity,
+                                             final PolylineLevelsOfDetail levelsOfDetail,
+                                             final boolean closedPolyline ) {
+        final DxfConversionOptions conversionOptions = dxfShapeContainer
+                .getConversionOptions();
+        if ( ( levelsOfDetail == null )
+             || !conversionOptions.isLevelOfDetailEnabled() ) {
+            return false;
+        }
+
+        final double[] coordinates = levelsOfDetail.selectCoordinates(
+                conversionOptions.getTolerance( TransformUtilities
+                        .getTransformScale( transform ) ) );
+        final double lineTypeScale = entity._dxfDoc.getGlobalLineTypeScale()
+                                     * entity._lineTypeScale;
+        convertToFxShapes( dxfShapeContainer,
+                           transform,
+                           strokeScale,
+                           DxfEntityConverter.getColor( entity ),
+                           entity.getLineType(),
+                           lineTypeScale,
+                           coordinates,
+                           coordinates.length,
+                           closedPolyline );
+
+        return true;
+    }
+
+    /**
+     * This is the counterpart of the {@link Vertex} array version, for when
+     * the coordinates are already available as an interleaved array.
+     *
+     * @param dxfShapeContainer The Scene Graph Group container for the shape
+     * @param transform         The combined transform to apply
+     * @param strokeScale       The initial stroke scale
+     * @param color             The stroke color
+     * @param lineType          The line type, or {@code null} if continuous
+     * @param lineTypeScale     The combined scale of the line type pattern
+     * @param coordinates       The interleaved x and y coordinates
+     * @param numberOfCoordinates The number of coordinates in use
+     * @param closedPolyline    {@code true} to make a Polygon vs. a Polyline
+     */
+    public static void convertToFxShapes( final DxfShapeContainer dxfShapeContainer,
+                                          final Affine transform,
+                                          final double strokeScale,
+                                          final Color color,
+                                          final DxfLineType lineType,
+                                          final double lineTypeScale,
+                                          final double[] coordinates,
+                                          final int numberOfCoordinates,
+                                          final boolean closedPolyline ) {
+        if ( ( coordinates == null ) || ( numberOfCoordinates < 2 ) ) {
+            return;
+        }
+
+        final Shape shape;
+        final ObservableList< Double > points;
+        if ( closedPolyline ) {
+            final Polygon polygon = new Polygon();
+            points = polygon.getPoints();
+
+            // Polygons are supposed to be treated like a wireframe.
+            polygon.setFill( null );
+            shape = polygon;
+        }
+        else {
+            final Polyline polyline = new Polyline();
+            points = polyline.getPoints();
+            shape = polyline;
+        }
+
+        shape.setStroke( color );
+
+        applyLineType( shape, lineType, lineTypeScale );
+
+        dxfShapeContainer.addShape( strokeScale,
+                                    shape,
+                                    points,
+                                    coordinates,
+                                    numberOfCoordinates,
+                                    transform );
+    }
+}// class PolylineShapeUtilities
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2026 Mark Schmieder. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the fxdxfparser Library
+ *
+ * You should have received a copy of the MIT License along with the fxdxfparser
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxdxfparser
+ */
+package com.mhschmieder.fxdxfparser.fx;
+
+import com.mhschmieder.fxdxfparser.geometry.Affine2D;
+import org.apache.commons.math3.util.FastMath;
+
+import javafx.scene.transform.Affine;
+import javafx.scene.transform.Transform;
+
+/**
+ * This is a utility class for going between the JavaFX transforms and the
+ * primitive transforms of the fxdxfparser.core module.
+ */
+public final class TransformUtilities {
+
+    /**
+     * @param transform The transform to copy
+     * @return a new JavaFX transform with the values of the given transform
+     */
+    public static Affine toAffine( final Affine2D transform ) {
+        return new Affine( transform.getMxx(),
+                           transform.getMxy(),
+                           transform.getTx(),
+                           transform.getMyx(),
+                           transform.getMyy(),
+                           transform.getTy() );
+    }
+
+    /**
+     * Copies the 2D part of a JavaFX transform.
+     *
+     * @param target    The transform to set
+     * @param transform The transform to copy
+     */
+    public static void setTo( final Affine2D target,
+                              final Transform transform ) {
+        target.setTo( transform.getMxx(),
+                      transform.getMxy(),
+                      transform.getTx(),
+                      transform.getMyx(),
+                      transform.getMyy(),
+                      transform.getTy() );
+    }
+
+    /**
+     * Returns the largest factor by which the given transform can stretch a
+     * length, which is the larger of the lengths of its two column vectors.
+     *
+     * @param transform The transform to evaluate
+     * @return the approximate scale factor of the transform
+     */
+    public static double getTransformScale( final Transform transform ) {
+        final double scaleX = FastMath.hypot( transform.getMxx(),
+                                              transform.getMyx() );
+        final double scaleY = FastMath.hypot( transform.getMxy(),
+                                              transform.getMyy() );
+        return FastMath.max( scaleX, scaleY );
+    }
+}// class TransformUtilities